@@ -0,0 +1,70 @@
+package br.com.devluisoliveira.agenteroteiro.benchmark;
+
+import br.com.devluisoliveira.agenteroteiro.core.application.service.ContentDownloadService;
+import br.com.devluisoliveira.agenteroteiro.core.application.service.SrtConverterService;
+import br.com.devluisoliveira.agenteroteiro.core.application.service.enums.AgentType;
+import br.com.devluisoliveira.agenteroteiro.core.application.service.enums.DurationType;
+import br.com.devluisoliveira.agenteroteiro.core.domain.entity.ContentGeneration;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDateTime;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Exportação do conteúdo gerado: legenda SRT do roteiro e pacote ZIP de download, para roteiros
+ * de 5 a 30 minutos.
+ *
+ * O pacote é escrito em um stream que descarta os bytes, medindo só a montagem e a compressão.
+ * O conteúdo não tem áudio no MinIO, então o serviço é montado sem o MinioService.
+ *
+ * Execução: mvn -Pjmh test-compile exec:exec -Djmh.include=ContentExportBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ContentExportBenchmark {
+
+    @Param({"MINUTES_5", "MINUTES_15", "MINUTES_30"})
+    private DurationType duration;
+
+    private final SrtConverterService srtConverterService = new SrtConverterService();
+    private final ContentDownloadService contentDownloadService = new ContentDownloadService(srtConverterService, null);
+    private final OutputStream discard = OutputStream.nullOutputStream();
+
+    private String script;
+    private ContentGeneration content;
+
+    @Setup
+    public void setup() {
+        ScriptFixtures.silenceLogging();
+        script = ScriptFixtures.script(duration);
+        content = ContentGeneration.builder()
+                .contentId(UUID.randomUUID())
+                .title("A arte de aceitar o que não controlamos")
+                .agentType(AgentType.STOICISM)
+                .text(script)
+                .textShort(ScriptFixtures.script(DurationType.SECONDS_60))
+                .description(ScriptFixtures.description())
+                .tags(ScriptFixtures.tags())
+                .createdAt(LocalDateTime.of(2024, 5, 1, 10, 30))
+                .build();
+    }
+
+    /** SrtConverterService.converterParaSRT sobre o roteiro completo. */
+    @Benchmark
+    public String converterParaSRT() {
+        return srtConverterService.converterParaSRT(script);
+    }
+
+    /** ContentDownloadService.writeContentPackage: textos, SRT e metadados compactados em ZIP. */
+    @Benchmark
+    public void writeContentPackage() throws IOException {
+        contentDownloadService.writeContentPackage(content, discard);
+    }
+}
@@ -0,0 +1,193 @@
+package br.com.devluisoliveira.agenteroteiro.benchmark;
+
+import br.com.devluisoliveira.agenteroteiro.core.application.mapper.GenericGeneraMapper;
+import br.com.devluisoliveira.agenteroteiro.core.application.service.context.GenerationContext;
+import br.com.devluisoliveira.agenteroteiro.core.application.service.enums.AgentType;
+import br.com.devluisoliveira.agenteroteiro.core.application.service.enums.ContentType;
+import br.com.devluisoliveira.agenteroteiro.core.application.service.enums.DurationType;
+import br.com.devluisoliveira.agenteroteiro.core.port.in.dto.ContentGenerationRequest;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compara o transporte da requisição até o handler no formato antigo (HashMap&lt;String, Object&gt;
+ * lido com instanceof/toString a cada campo, duração e versão curta recalculadas a cada consulta)
+ * com o GenerationContext tipado, montado uma vez com os campos derivados.
+ *
+ * Execução: mvn -Pjmh test-compile exec:exec -Djmh.include=GenerationContextBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class GenerationContextBenchmark {
+
+    private static final ContentType[] SECTIONS = ContentType.values();
+
+    private final GenericGeneraMapper mapper = new GenericGeneraMapper();
+    private ContentGenerationRequest request;
+
+    @Setup
+    public void setup() {
+        request = new ContentGenerationRequest();
+        request.setProcessId(UUID.randomUUID().toString());
+        request.setAgentType(AgentType.GENERIC);
+        request.setContentTypes(List.of(ContentType.TITLE, ContentType.DESCRIPTION, ContentType.TAGS,
+                ContentType.SCRIPT, ContentType.SHORTS_IDEA));
+        request.setTitle("A arte de aceitar o que não controlamos");
+        request.setTheme("Dicotomia do controle");
+        request.setNotes("Usar exemplos do cotidiano moderno");
+        request.setVideoTopic("Estoicismo no trabalho");
+        request.setTargetAudience("Jovens adultos");
+        request.setToneStyle("Sereno e encorajador");
+        request.setDurationType(DurationType.MINUTES_20);
+        request.setAdditionalContext("Citar Epicteto e Sêneca");
+        request.setGenerateShortVersion(true);
+    }
+
+    /** Caminho antigo: mapa montado por requisição e lido campo a campo pelo handler e pelo serviço. */
+    @Benchmark
+    public void legacyRequestMap(Blackhole blackhole) {
+        Map<String, Object> map = convertRequestToMap(request);
+
+        blackhole.consume(getStringValue(map, "processId"));
+        blackhole.consume(getStringValue(map, "title"));
+        blackhole.consume(getStringValue(map, "theme"));
+        blackhole.consume(getStringValue(map, "notes"));
+        blackhole.consume(getStringValue(map, "videoTopic"));
+        blackhole.consume(getStringValue(map, "targetAudience"));
+        blackhole.consume(getStringValue(map, "toneStyle"));
+        blackhole.consume(getIntegerValue(map, "targetDuration", 10));
+        blackhole.consume(getStringValue(map, "language"));
+        blackhole.consume(getBooleanValue(map, "includeCallToAction", true));
+        blackhole.consume(getBooleanValue(map, "optimizeForSEO", true));
+        blackhole.consume(getStringValue(map, "additionalContext"));
+        blackhole.consume(map.get("agentType") instanceof AgentType agentType ? agentType : AgentType.GENERIC);
+        blackhole.consume(extractDurationType(map));
+        for (ContentType section : SECTIONS) {
+            blackhole.consume(hasContentType(map, section)
+                    && (section != ContentType.SHORTS_IDEA || shouldIncludeShortVersion(map)));
+        }
+    }
+
+    /** Caminho novo: contexto imutável, derivados calculados na construção. */
+    @Benchmark
+    public void typedContext(Blackhole blackhole) {
+        GenerationContext context = mapper.toContext(request);
+
+        blackhole.consume(context.getProcessId());
+        blackhole.consume(context.getTitle());
+        blackhole.consume(context.getTheme());
+        blackhole.consume(context.getNotes());
+        blackhole.consume(context.getVideoTopic());
+        blackhole.consume(context.getTargetAudience());
+        blackhole.consume(context.getToneStyle());
+        blackhole.consume(context.getTargetMinutes());
+        blackhole.consume(context.getLanguage());
+        blackhole.consume(context.isIncludeCallToAction());
+        blackhole.consume(context.isOptimizeForSEO());
+        blackhole.consume(context.getAdditionalContext());
+        blackhole.consume(context.getAgentType());
+        blackhole.consume(context.getDurationType());
+        for (ContentType section : SECTIONS) {
+            blackhole.consume(context.hasSection(section));
+        }
+    }
+
+    private static Map<String, Object> convertRequestToMap(ContentGenerationRequest request) {
+        Map<String, Object> requestMap = new HashMap<>();
+        requestMap.put("processId", request.getProcessId());
+        requestMap.put("agentType", request.getAgentType());
+        requestMap.put("contentTypes", request.getContentTypes());
+        requestMap.put("title", request.getTitle());
+        requestMap.put("theme", request.getTheme());
+        requestMap.put("notes", request.getNotes());
+        requestMap.put("videoTopic", request.getVideoTopic());
+        requestMap.put("targetAudience", request.getTargetAudience());
+        requestMap.put("toneStyle", request.getToneStyle());
+        requestMap.put("durationType", request.getDurationType());
+        requestMap.put("targetDuration", request.getDurationType() != null ? request.getTargetDuration() : null);
+        requestMap.put("additionalContext", request.getAdditionalContext());
+        requestMap.put("includeCallToAction", request.getIncludeCallToAction());
+        requestMap.put("optimizeForSEO", request.getOptimizeForSEO());
+        requestMap.put("language", request.getLanguage());
+        requestMap.put("generateAudio", request.getGenerateAudio());
+        requestMap.put("voiceType", request.getVoiceType());
+        requestMap.put("generateShortVersion", request.getGenerateShortVersion());
+        return requestMap;
+    }
+
+    private static String getStringValue(Map<String, Object> map, String key) {
+        Object value = map.get(key);
+        return value != null ? value.toString() : null;
+    }
+
+    private static Integer getIntegerValue(Map<String, Object> map, String key, Integer defaultValue) {
+        Object value = map.get(key);
+        if (value instanceof Number number) {
+            return number.intValue();
+        } else if (value instanceof String text) {
+            try {
+                return Integer.parseInt(text);
+            } catch (NumberFormatException e) {
+                return defaultValue;
+            }
+        }
+        return defaultValue;
+    }
+
+    private static Boolean getBooleanValue(Map<String, Object> map, String key, Boolean defaultValue) {
+        Object value = map.get(key);
+        if (value instanceof Boolean flag) {
+            return flag;
+        } else if (value instanceof String text) {
+            return Boolean.parseBoolean(text);
+        }
+        return defaultValue;
+    }
+
+    private static boolean hasContentType(Map<String, Object> map, ContentType contentType) {
+        if (map.get("contentTypes") instanceof Iterable<?> types) {
+            for (Object type : types) {
+                if (contentType.equals(type) || contentType.name().equals(type.toString())) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private static DurationType extractDurationType(Map<String, Object> map) {
+        Object durationType = map.get("durationType");
+        if (durationType instanceof DurationType type) {
+            return type;
+        } else if (durationType instanceof String text && !text.isEmpty()) {
+            try {
+                return DurationType.valueOf(text);
+            } catch (IllegalArgumentException e) {
+                return DurationType.MINUTES_5;
+            }
+        }
+        if (map.get("targetDuration") instanceof Integer minutes) {
+            return DurationType.findClosest(minutes);
+        }
+        return DurationType.MINUTES_5;
+    }
+
+    private static boolean shouldIncludeShortVersion(Map<String, Object> map) {
+        DurationType durationType = extractDurationType(map);
+        if (durationType == DurationType.SECONDS_30 || durationType == DurationType.SECONDS_60
+                || durationType == DurationType.MINUTES_3) {
+            return false;
+        }
+        return map.get("generateShortVersion") instanceof Boolean flag && flag;
+    }
+}
@@ -0,0 +1,137 @@
+package br.com.devluisoliveira.agenteroteiro.benchmark;
+
+import br.com.devluisoliveira.agenteroteiro.core.application.handler.GenericAgentHandler;
+import br.com.devluisoliveira.agenteroteiro.core.application.handler.PrayerAgentHandler;
+import br.com.devluisoliveira.agenteroteiro.core.application.service.PromptTemplateService;
+import br.com.devluisoliveira.agenteroteiro.core.application.service.agentStyle.GenericStyleApplier;
+import br.com.devluisoliveira.agenteroteiro.core.application.service.agentStyle.PhilosopherStyleService;
+import br.com.devluisoliveira.agenteroteiro.core.application.service.agentStyle.PrayerStyleApplier;
+import br.com.devluisoliveira.agenteroteiro.core.application.service.agentStyle.PrayerStyleService;
+import br.com.devluisoliveira.agenteroteiro.core.application.service.agentStyle.StoicStyleApplier;
+import br.com.devluisoliveira.agenteroteiro.core.application.service.agentStyle.StyleDescriptorRegistry;
+import br.com.devluisoliveira.agenteroteiro.core.application.service.context.GenerationContext;
+import br.com.devluisoliveira.agenteroteiro.core.application.service.enums.AgentType;
+import br.com.devluisoliveira.agenteroteiro.core.application.service.enums.ContentType;
+import br.com.devluisoliveira.agenteroteiro.core.application.service.enums.DurationType;
+import br.com.devluisoliveira.agenteroteiro.core.application.service.enums.PrayerStyle;
+import br.com.devluisoliveira.agenteroteiro.core.application.service.enums.PrayerType;
+import br.com.devluisoliveira.agenteroteiro.core.application.template.PromptTemplateRegistry;
+import br.com.devluisoliveira.agenteroteiro.core.port.in.dto.ContentGenerationRequest;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Montagem dos prompts enviados à IA, com as dependências reais montadas sem o contexto Spring:
+ * templates compilados do classpath e descritores de estilo pré-calculados.
+ *
+ * Execução: mvn -Pjmh test-compile exec:exec -Djmh.include=PromptBuildingBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PromptBuildingBenchmark {
+
+    private static final List<ContentType> CONTENT_TYPES = List.of(ContentType.TITLE, ContentType.DESCRIPTION,
+            ContentType.TAGS, ContentType.SCRIPT, ContentType.THUMBNAIL_IDEA, ContentType.SHORTS_IDEA);
+
+    @Param({"MINUTES_5", "MINUTES_15", "MINUTES_30"})
+    private DurationType duration;
+
+    private PromptTemplateService promptTemplateService;
+    private GenericAgentHandler genericAgentHandler;
+    private PrayerAgentHandler prayerAgentHandler;
+
+    private ContentGenerationRequest request;
+    private GenerationContext genericContext;
+    private GenerationContext prayerContext;
+
+    @Setup
+    public void setup() throws IOException {
+        ScriptFixtures.silenceLogging();
+
+        PromptTemplateRegistry promptTemplateRegistry = new PromptTemplateRegistry();
+        promptTemplateRegistry.loadTemplates();
+        StyleDescriptorRegistry styleDescriptorRegistry = new StyleDescriptorRegistry();
+        PrayerStyleService prayerStyleService = new PrayerStyleService(styleDescriptorRegistry);
+
+        promptTemplateService = new PromptTemplateService(List.of(
+                new GenericStyleApplier(),
+                new PrayerStyleApplier(prayerStyleService),
+                new StoicStyleApplier(new PhilosopherStyleService(styleDescriptorRegistry))),
+                promptTemplateRegistry);
+        genericAgentHandler = new GenericAgentHandler();
+        prayerAgentHandler = new PrayerAgentHandler(prayerStyleService, promptTemplateRegistry);
+
+        request = new ContentGenerationRequest();
+        request.setProcessId(UUID.randomUUID().toString());
+        request.setAgentType(AgentType.GENERIC);
+        request.setContentTypes(CONTENT_TYPES);
+        request.setTitle("A arte de aceitar o que não controlamos");
+        request.setTheme("Dicotomia do controle");
+        request.setNotes("Usar exemplos do cotidiano moderno");
+        request.setVideoTopic("Estoicismo no trabalho");
+        request.setTargetAudience("Jovens adultos");
+        request.setToneStyle("Sereno e encorajador");
+        request.setDurationType(duration);
+        request.setAdditionalContext("Citar Epicteto e Sêneca");
+        request.setGenerateShortVersion(true);
+
+        genericContext = GenerationContext.builder()
+                .processId(request.getProcessId())
+                .agentType(AgentType.GENERIC)
+                .contentTypes(CONTENT_TYPES)
+                .title(request.getTitle())
+                .theme(request.getTheme())
+                .notes(request.getNotes())
+                .videoTopic(request.getVideoTopic())
+                .targetAudience(request.getTargetAudience())
+                .toneStyle(request.getToneStyle())
+                .durationType(duration)
+                .additionalContext(request.getAdditionalContext())
+                .generateShortVersion(true)
+                .build();
+
+        prayerContext = GenerationContext.builder()
+                .processId(request.getProcessId())
+                .agentType(AgentType.PRAYER)
+                .contentTypes(CONTENT_TYPES)
+                .title("Oração para começar o dia com fé")
+                .theme("Confiança em Deus")
+                .durationType(duration)
+                .generateShortVersion(true)
+                .prayerType(PrayerType.GRATITUDE_WORSHIP)
+                .prayerStyle(PrayerStyle.CONTEMPLATIVE)
+                .biblePassage("Salmos 23")
+                .occasion("Manhã")
+                .personalizationName("Maria")
+                .bibleVersion("NVI")
+                .prayerStyleCharacteristics(prayerStyleService.getCombinedPrayerCharacteristics(
+                        PrayerStyle.CONTEMPLATIVE, PrayerType.GRATITUDE_WORSHIP))
+                .build();
+    }
+
+    /** PromptTemplateService.loadTemplateForRequest: template compilado + StyleApplier do agente. */
+    @Benchmark
+    public String loadTemplateForRequest() {
+        return promptTemplateService.loadTemplateForRequest(request);
+    }
+
+    /** GenericAgentHandler.preparePrompt: prompt montado em StringBuilder a partir do contexto. */
+    @Benchmark
+    public String genericPreparePrompt() {
+        return genericAgentHandler.preparePrompt(genericContext);
+    }
+
+    /** PrayerAgentHandler.preparePrompt, que delega para customizeTemplate. */
+    @Benchmark
+    public String prayerCustomizeTemplate() {
+        return prayerAgentHandler.preparePrompt(prayerContext);
+    }
+}
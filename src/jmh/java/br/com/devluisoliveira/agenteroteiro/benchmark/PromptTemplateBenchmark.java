@@ -0,0 +1,92 @@
+package br.com.devluisoliveira.agenteroteiro.benchmark;
+
+import br.com.devluisoliveira.agenteroteiro.core.application.template.PromptTemplate;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.util.FileCopyUtils;
+
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compara a montagem do prompt estoico no formato antigo (leitura do classpath a cada
+ * requisição + cadeia de String.replace) com o template compilado uma única vez.
+ *
+ * Execução: mvn -Pjmh test-compile exec:exec -Djmh.include=PromptTemplateBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PromptTemplateBenchmark {
+
+    private static final String TEMPLATE_PATH = "prompts/prompt_estoicism_specialist.txt";
+
+    private String rawTemplate;
+    private PromptTemplate compiledTemplate;
+    private Map<String, String> values;
+
+    @Setup
+    public void setup() throws IOException {
+        rawTemplate = readTemplate();
+        compiledTemplate = PromptTemplate.compile("prompt_estoicism_specialist.txt", rawTemplate);
+
+        values = new HashMap<>();
+        values.put("processId", "3f1c2a9e-5b7d-4e2a-9c1f-8a6b4d2e7f10");
+        values.put("title", "A arte de aceitar o que não controlamos");
+        values.put("theme", "Dicotomia do controle");
+        values.put("notes", "Usar exemplos do cotidiano moderno");
+        values.put("philosopher", "Epicteto");
+        values.put("targetDuration", "10");
+        values.put("language", "pt-BR");
+        values.put("philosopherStyle", "Direto, prático, com perguntas retóricas e exemplos simples.".repeat(4));
+        values.put("additionalContext", "Público jovem adulto; tom sereno e encorajador.");
+        values.put("contentTypesFormatted", "- SCRIPT\n- TITLE\n- DESCRIPTION\n- TAGS");
+        values.put("titleSection", "TÍTULO:\n[título]");
+        values.put("descriptionSection", "DESCRIÇÃO:\n[descrição]");
+        values.put("tagsSection", "TAGS:\n[tags]");
+        values.put("scriptSection", "ROTEIRO:\n[roteiro]");
+        values.put("thumbnailSection", "");
+        values.put("audioScriptSection", "");
+        values.put("shortVersionSection", "");
+    }
+
+    /** Caminho antigo: lê o arquivo a cada requisição e aplica um replace por placeholder. */
+    @Benchmark
+    public String legacyReadAndReplace() throws IOException {
+        return replaceAll(readTemplate());
+    }
+
+    /** Apenas a cadeia de replace, isolando o custo de I/O do caminho antigo. */
+    @Benchmark
+    public String legacyReplaceOnly() {
+        return replaceAll(rawTemplate);
+    }
+
+    /** Caminho novo: template compilado na inicialização, renderizado em uma passada. */
+    @Benchmark
+    public String compiledRender() {
+        return compiledTemplate.render(values);
+    }
+
+    private String replaceAll(String template) {
+        String result = template;
+        for (Map.Entry<String, String> entry : values.entrySet()) {
+            result = result.replace("{" + entry.getKey() + "}", entry.getValue());
+        }
+        return result;
+    }
+
+    private static String readTemplate() throws IOException {
+        ClassPathResource resource = new ClassPathResource(TEMPLATE_PATH);
+        try (InputStreamReader reader = new InputStreamReader(resource.getInputStream(), StandardCharsets.UTF_8)) {
+            return FileCopyUtils.copyToString(reader);
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package br.com.devluisoliveira.agenteroteiro.benchmark;
+
+import br.com.devluisoliveira.agenteroteiro.core.application.handler.GenericAgentHandler;
+import br.com.devluisoliveira.agenteroteiro.core.application.service.enums.ContentType;
+import br.com.devluisoliveira.agenteroteiro.core.application.service.enums.DurationType;
+import br.com.devluisoliveira.agenteroteiro.core.application.utils.ContentGenerationUtils;
+import br.com.devluisoliveira.agenteroteiro.core.application.utils.SectionHeaders;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Separação da resposta da IA em seções (ContentGenerationUtils.extractContentSections) com os
+ * cabeçalhos do agente genérico, para respostas com roteiros de 5 a 30 minutos.
+ *
+ * Execução: mvn -Pjmh test-compile exec:exec -Djmh.include=ResponseParsingBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ResponseParsingBenchmark {
+
+    @Param({"MINUTES_5", "MINUTES_15", "MINUTES_30"})
+    private DurationType duration;
+
+    private SectionHeaders sectionHeaders;
+    private String aiResponse;
+
+    @Setup
+    public void setup() {
+        ScriptFixtures.silenceLogging();
+        sectionHeaders = new GenericAgentHandler().getSectionHeaders();
+        aiResponse = ScriptFixtures.aiResponse(duration);
+    }
+
+    /** Resposta completa (título, descrição, tags, roteiro, thumbnail e versão curta) em uma passada. */
+    @Benchmark
+    public Map<ContentType, String> extractContentSections() {
+        return ContentGenerationUtils.extractContentSections(aiResponse, sectionHeaders);
+    }
+}
@@ -0,0 +1,84 @@
+package br.com.devluisoliveira.agenteroteiro.benchmark;
+
+import br.com.devluisoliveira.agenteroteiro.core.application.service.enums.DurationType;
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Fixtures dos benchmarks: roteiros em português com o tamanho estimado para a duração
+ * (DurationType.getEstimatedCharacterCount, ~750 caracteres por minuto) e a resposta completa da IA
+ * no formato de seções pedido pelos prompts.
+ *
+ * O texto é determinístico, para que execuções diferentes meçam exatamente a mesma entrada.
+ */
+final class ScriptFixtures {
+
+    private static final String[] PARAGRAPHS = {
+            "Você já parou para pensar em quantas das suas preocupações de hoje dependem realmente de você? "
+                    + "Epicteto dizia que algumas coisas estão sob nosso controle e outras não, e que a serenidade "
+                    + "começa quando aprendemos a separar umas das outras.",
+            "Imagine a sua manhã: o trânsito parado, a mensagem que não foi respondida, o chefe que mudou o prazo. "
+                    + "Nada disso está nas suas mãos. O que está nas suas mãos é a forma como você interpreta cada "
+                    + "um desses acontecimentos e a resposta que escolhe dar.",
+            "Sêneca escreveu que sofremos mais na imaginação do que na realidade. Quantas vezes ensaiamos conversas "
+                    + "difíceis que nunca aconteceram, ou sofremos por antecipação com resultados que nem chegaram? "
+                    + "A prática estoica nos convida a voltar para o presente.",
+            "Marco Aurélio, imperador de Roma, anotava todas as noites as próprias falhas e acertos. Não para se "
+                    + "condenar, mas para recomeçar no dia seguinte com mais clareza. Esse exame diário é um "
+                    + "exercício simples que qualquer pessoa pode adotar hoje mesmo.",
+            "Então, antes de dormir, pergunte a si mesmo: o que fiz de bom hoje? Onde perdi a calma? O que posso "
+                    + "fazer diferente amanhã? Três perguntas, alguns minutos, e uma mudança real na forma de "
+                    + "enxergar a própria vida."
+    };
+
+    private ScriptFixtures() {
+    }
+
+    /**
+     * Roteiro narrado com o tamanho estimado para a duração, em parágrafos separados por linha em branco
+     */
+    static String script(DurationType duration) {
+        int targetLength = duration.getEstimatedCharacterCount();
+        StringBuilder script = new StringBuilder(targetLength + PARAGRAPHS[0].length());
+        for (int i = 0; script.length() < targetLength; i++) {
+            if (!script.isEmpty()) {
+                script.append("\n\n");
+            }
+            script.append(PARAGRAPHS[i % PARAGRAPHS.length]);
+        }
+        return script.toString();
+    }
+
+    static String description() {
+        return "Neste vídeo, vamos explorar a dicotomia do controle, um dos ensinamentos centrais do estoicismo, "
+                + "e como aplicá-la no trabalho, nos relacionamentos e nas pequenas frustrações do dia a dia.\n\n"
+                + "Inscreva-se no canal e ative o sininho para receber os próximos vídeos.\n\n"
+                + "#estoicismo #filosofia #autoconhecimento";
+    }
+
+    static String tags() {
+        return "estoicismo, filosofia estoica, epicteto, sêneca, marco aurélio, dicotomia do controle, "
+                + "autoconhecimento, serenidade, ansiedade, desenvolvimento pessoal";
+    }
+
+    /**
+     * Resposta da IA com todas as seções do agente genérico e o roteiro da duração informada
+     */
+    static String aiResponse(DurationType duration) {
+        return "### TÍTULO DO VÍDEO\nA arte de aceitar o que não controlamos\n\n"
+                + "### DESCRIÇÃO DO VÍDEO\n" + description() + "\n\n"
+                + "### TAGS\n" + tags() + "\n\n"
+                + "### ROTEIRO\n" + script(duration) + "\n\n"
+                + "### IDEIA PARA THUMBNAIL\n1. Estátua de Marco Aurélio com o texto \"PARE DE SOFRER\"\n"
+                + "2. Pessoa serena no meio do trânsito\n3. Balança com \"controle\" e \"aceitação\"\n\n"
+                + "### VERSÃO CURTA\n" + PARAGRAPHS[0] + "\n\n" + PARAGRAPHS[4] + "\n";
+    }
+
+    /**
+     * Os handlers e serviços registram cada chamada em INFO; sem isso o benchmark mediria o console
+     */
+    static void silenceLogging() {
+        ((Logger) LoggerFactory.getLogger(org.slf4j.Logger.ROOT_LOGGER_NAME)).setLevel(Level.WARN);
+    }
+}
@@ -0,0 +1,71 @@
+package br.com.devluisoliveira.agenteroteiro.api.rest.controller;
+
+import br.com.devluisoliveira.agenteroteiro.core.domain.entity.User;
+import br.com.devluisoliveira.agenteroteiro.core.port.in.BatchGenerationPortIn;
+import br.com.devluisoliveira.agenteroteiro.core.port.in.dto.BatchGenerationRequest;
+import br.com.devluisoliveira.agenteroteiro.core.port.out.response.dto.BatchGenerationResponse;
+import br.com.devluisoliveira.agenteroteiro.shared.utils.SecurityUtil;
+import br.com.devluisoliveira.agenteroteiro.shared.validation.CustomOperation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.UUID;
+
+@RestController
+@RequestMapping("/batch")
+@RequiredArgsConstructor
+@Slf4j
+@Tag(name = "Batch Content Generator", description = "Endpoints para geração de conteúdo em lote")
+public class BatchGenerationController {
+
+    private final BatchGenerationPortIn batchGenerationPortIn;
+    private final SecurityUtil securityUtil;
+
+    @CustomOperation(summary = "Enfileirar a geração de um lote de orações e conteúdos estoicos")
+    @ApiResponse(responseCode = "202", description = "Lote enfileirado",
+            content = {@Content(mediaType = "application/json",
+                    schema = @Schema(implementation = BatchGenerationResponse.class))})
+    @PreAuthorize("hasAnyRole('USER')")
+    @PostMapping("/generate")
+    public ResponseEntity<BatchGenerationResponse> generateBatch(@RequestBody @Valid BatchGenerationRequest request) {
+        User user = securityUtil.getLoggedInUser();
+
+        log.info("Recebida solicitação de geração em lote do usuário: {}, orações: {}, estoicos: {}",
+                user.getUsername(), request.getPrayers().size(), request.getStoics().size());
+
+        try {
+            BatchGenerationResponse response = batchGenerationPortIn.submitBatch(user, request);
+
+            // A geração segue em background; o progresso é consultado em /batch/{batchId}
+            return ResponseEntity.accepted().body(response);
+        } catch (IllegalArgumentException e) {
+            log.warn("Lote recusado: {}", e.getMessage());
+            return ResponseEntity.badRequest()
+                    .body(BatchGenerationResponse.builder().status("ERROR").message(e.getMessage()).build());
+        } catch (IllegalStateException e) {
+            log.warn("Lote não enfileirado: {}", e.getMessage());
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .body(BatchGenerationResponse.builder().status("ERROR").message(e.getMessage()).build());
+        }
+    }
+
+    @CustomOperation(summary = "Consultar o progresso de um lote")
+    @PreAuthorize("hasAnyRole('USER')")
+    @GetMapping("/{batchId}")
+    public ResponseEntity<BatchGenerationResponse> getBatch(@PathVariable UUID batchId) {
+        User user = securityUtil.getLoggedInUser();
+
+        return batchGenerationPortIn.findBatch(user, batchId)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+}
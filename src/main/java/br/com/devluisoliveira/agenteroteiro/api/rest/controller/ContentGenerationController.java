@@ -8,6 +8,7 @@ import br.com.devluisoliveira.agenteroteiro.shared.utils.SecurityUtil;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
@@ -42,9 +43,15 @@ public class ContentGenerationController {
 
         GenerationResponseDto generationResponse = agentGenerationPortIn.initializeAgentGeneric(user, request);
 
-        log.info("[CONTROLLER_AGENT_GENERIC] - Processo de geração finalizado com sucesso: {}", generationResponse);
+        if ("ERROR".equals(generationResponse.getStatus())) {
+            log.warn("[CONTROLLER_AGENT_GENERIC] - Processo {} não enfileirado: {}",
+                    generationResponse.getProcessId(), generationResponse.getMessage());
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(generationResponse);
+        }
 
-        // Retorne a resposta apropriada aqui analisando a resposta do serviço ainda
-        return ResponseEntity.ok(new GenerationResponseDto());
+        log.info("[CONTROLLER_AGENT_GENERIC] - Processo de geração enfileirado: {}", generationResponse.getProcessId());
+
+        // A geração segue em background; o progresso é consultado em /youtube/status/{processId}
+        return ResponseEntity.accepted().body(generationResponse);
     }
 }
\ No newline at end of file
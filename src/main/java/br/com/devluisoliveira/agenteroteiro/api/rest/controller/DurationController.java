@@ -1,20 +1,27 @@
 package br.com.devluisoliveira.agenteroteiro.api.rest.controller;
 
+import br.com.devluisoliveira.agenteroteiro.core.application.service.cache.CatalogCache;
+import br.com.devluisoliveira.agenteroteiro.core.application.service.cache.CatalogPayload;
 import br.com.devluisoliveira.agenteroteiro.core.application.service.enums.DurationType;
 import br.com.devluisoliveira.agenteroteiro.core.port.out.response.dto.DurationOptionDto;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.CrossOrigin;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
 import java.util.Arrays;
-import java.util.List;
-import java.util.Map;
+import java.util.LinkedHashMap;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
 /**
@@ -28,28 +35,50 @@ import java.util.stream.Collectors;
 @RequestMapping("/public/duration-options")
 public class DurationController {
 
+    private final CatalogCache catalogCache;
+
     @Operation(summary = "Listar todas as opções de duração")
-    @GetMapping
-    public ResponseEntity<List<DurationOptionDto>> getAllDurationOptions() {
+    @GetMapping(produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<byte[]> getAllDurationOptions(
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
         log.debug("[DurationController.getAllDurationOptions] - Listando todas as opções de duração");
 
-        List<DurationOptionDto> options = Arrays.stream(DurationType.values())
+        CatalogPayload payload = catalogCache.get("duration-options", () -> Arrays.stream(DurationType.values())
                 .map(this::mapToDurationOptionDto)
-                .collect(Collectors.toList());
+                .collect(Collectors.toList()));
 
-        return ResponseEntity.ok(options);
+        return toResponse(payload, ifNoneMatch);
     }
 
     @Operation(summary = "Listar opções de duração agrupadas por categoria")
-    @GetMapping("/by-category")
-    public ResponseEntity<Map<String, List<DurationOptionDto>>> getDurationOptionsByCategory() {
+    @GetMapping(value = "/by-category", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<byte[]> getDurationOptionsByCategory(
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
         log.debug("[DurationController.getDurationOptionsByCategory] - Listando opções de duração por categoria");
 
-        Map<String, List<DurationOptionDto>> optionsByCategory = Arrays.stream(DurationType.values())
+        // LinkedHashMap mantém a ordem das categorias estável, e com ela o ETag
+        CatalogPayload payload = catalogCache.get("duration-options-by-category", () -> Arrays.stream(DurationType.values())
                 .map(this::mapToDurationOptionDto)
-                .collect(Collectors.groupingBy(DurationOptionDto::getCategory));
+                .collect(Collectors.groupingBy(DurationOptionDto::getCategory, LinkedHashMap::new, Collectors.toList())));
+
+        return toResponse(payload, ifNoneMatch);
+    }
+
+    /**
+     * Responde 304 quando o cliente já possui a versão atual do catálogo
+     */
+    private ResponseEntity<byte[]> toResponse(CatalogPayload payload, String ifNoneMatch) {
+        if (payload.matches(ifNoneMatch)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .eTag(payload.getETag())
+                    .build();
+        }
 
-        return ResponseEntity.ok(optionsByCategory);
+        return ResponseEntity.ok()
+                .eTag(payload.getETag())
+                .cacheControl(CacheControl.maxAge(1, TimeUnit.HOURS).cachePublic())
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(payload.getBody());
     }
 
     /**
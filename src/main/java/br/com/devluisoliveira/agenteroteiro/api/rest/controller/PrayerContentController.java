@@ -1,5 +1,7 @@
 package br.com.devluisoliveira.agenteroteiro.api.rest.controller;
 
+import br.com.devluisoliveira.agenteroteiro.core.application.service.ContentPersistenceService;
+import br.com.devluisoliveira.agenteroteiro.core.domain.entity.ContentGeneration;
 import br.com.devluisoliveira.agenteroteiro.core.domain.entity.User;
 import br.com.devluisoliveira.agenteroteiro.core.application.service.PrayerContentService;
 import br.com.devluisoliveira.agenteroteiro.core.application.service.enums.PrayerStyle;
@@ -17,12 +19,15 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.Arrays;
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
 @RestController
@@ -34,6 +39,7 @@ public class PrayerContentController {
 
     private final PrayerContentPortIn prayerContentPortIn;
     private final SecurityUtil securityUtil;
+    private final ContentPersistenceService contentPersistenceService;
 
     @CustomOperation(summary = "Gerar conteúdo de oração")
     @ApiResponse(responseCode = "200", description = "Conteúdo gerado com sucesso",
@@ -101,6 +107,30 @@ public class PrayerContentController {
         return ResponseEntity.ok(response);
     }
 
+    @CustomOperation(summary = "Ouvir o áudio de uma oração (sintetizado ao vivo se ainda não existir)")
+    @ApiResponse(responseCode = "200", description = "Áudio MP3 em streaming",
+            content = {@Content(mediaType = "audio/mpeg")})
+    @ApiResponse(responseCode = "404", description = "Conteúdo não encontrado")
+    @PreAuthorize("hasAnyRole('USER')")
+    @GetMapping(value = "/{contentId}/audio/stream", produces = "audio/mpeg")
+    public ResponseEntity<StreamingResponseBody> streamPrayerAudio(@PathVariable UUID contentId) {
+        User user = securityUtil.getLoggedInUser();
+
+        log.info("Recebida solicitação de áudio ao vivo para a oração ID: {}", contentId);
+
+        Optional<ContentGeneration> contentOpt = contentPersistenceService.getUserContentById(contentId, user);
+        if (contentOpt.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+
+        ContentGeneration content = contentOpt.get();
+        StreamingResponseBody body = out -> prayerContentPortIn.streamAudio(content, out);
+
+        return ResponseEntity.ok()
+                .contentType(MediaType.valueOf("audio/mpeg"))
+                .body(body);
+    }
+
     @GetMapping("/types")
     public ResponseEntity<List<PrayerType>> getAllPrayerTypes() {
         return ResponseEntity.ok(Arrays.asList(PrayerType.values()));
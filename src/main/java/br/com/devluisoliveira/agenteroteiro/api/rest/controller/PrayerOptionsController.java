@@ -1,5 +1,7 @@
 package br.com.devluisoliveira.agenteroteiro.api.rest.controller;
 
+import br.com.devluisoliveira.agenteroteiro.core.application.service.cache.CatalogCache;
+import br.com.devluisoliveira.agenteroteiro.core.application.service.cache.CatalogPayload;
 import br.com.devluisoliveira.agenteroteiro.core.application.service.enums.PrayerStyle;
 import br.com.devluisoliveira.agenteroteiro.core.application.service.enums.PrayerType;
 import br.com.devluisoliveira.agenteroteiro.core.port.out.response.dto.PrayerOptionDto;
@@ -7,14 +9,20 @@ import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.CrossOrigin;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
 import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
 /**
@@ -28,28 +36,49 @@ import java.util.stream.Collectors;
 @RequestMapping("/public/prayer-options")
 public class PrayerOptionsController {
 
+    private final CatalogCache catalogCache;
+
     @Operation(summary = "Listar todos os tipos de oração")
-    @GetMapping("/types")
-    public ResponseEntity<List<PrayerOptionDto>> getAllPrayerTypes() {
+    @GetMapping(value = "/types", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<byte[]> getAllPrayerTypes(
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
         log.debug("[PrayerOptionsController.getAllPrayerTypes] - Listando todos os tipos de oração");
 
-        List<PrayerOptionDto> types = Arrays.stream(PrayerType.values())
+        CatalogPayload payload = catalogCache.get("prayer-types", () -> Arrays.stream(PrayerType.values())
                 .map(this::mapToPrayerTypeDto)
-                .collect(Collectors.toList());
+                .collect(Collectors.toList()));
 
-        return ResponseEntity.ok(types);
+        return toResponse(payload, ifNoneMatch);
     }
 
     @Operation(summary = "Listar todos os estilos de oração")
-    @GetMapping("/styles")
-    public ResponseEntity<List<PrayerOptionDto>> getAllPrayerStyles() {
+    @GetMapping(value = "/styles", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<byte[]> getAllPrayerStyles(
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
         log.debug("[PrayerOptionsController.getAllPrayerStyles] - Listando todos os estilos de oração");
 
-        List<PrayerOptionDto> styles = Arrays.stream(PrayerStyle.values())
+        CatalogPayload payload = catalogCache.get("prayer-styles", () -> Arrays.stream(PrayerStyle.values())
                 .map(this::mapToPrayerStyleDto)
-                .collect(Collectors.toList());
+                .collect(Collectors.toList()));
+
+        return toResponse(payload, ifNoneMatch);
+    }
+
+    /**
+     * Responde 304 quando o cliente já possui a versão atual do catálogo
+     */
+    private ResponseEntity<byte[]> toResponse(CatalogPayload payload, String ifNoneMatch) {
+        if (payload.matches(ifNoneMatch)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .eTag(payload.getETag())
+                    .build();
+        }
 
-        return ResponseEntity.ok(styles);
+        return ResponseEntity.ok()
+                .eTag(payload.getETag())
+                .cacheControl(CacheControl.maxAge(1, TimeUnit.HOURS).cachePublic())
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(payload.getBody());
     }
 
     /**
@@ -14,7 +14,6 @@ import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.core.io.Resource;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
@@ -24,6 +23,7 @@ import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.Optional;
 import java.util.UUID;
@@ -78,7 +78,7 @@ public class UserContentController {
     @ApiResponse(responseCode = "200", description = "Pacote de conteúdo disponível para download")
     @ApiResponse(responseCode = "404", description = "Conteúdo não encontrado")
     @GetMapping("/{contentId}/download")
-    public ResponseEntity<Resource> downloadContentPackage(@PathVariable UUID contentId) {
+    public ResponseEntity<StreamingResponseBody> downloadContentPackage(@PathVariable UUID contentId) {
         User currentUser = securityUtil.getLoggedInUser();
         log.info("[UserContentController.downloadContentPackage] - Solicitando download de pacote para conteúdo ID: {} do usuário: {}",
                 contentId, currentUser.getUsername());
@@ -93,12 +93,12 @@ public class UserContentController {
 
             ContentGeneration content = contentOpt.get();
 
-            // Gerar o pacote de download
-            Resource contentPackage = contentDownloadService.generateContentPackage(contentId);
-
             // Gerar nome de arquivo baseado no título do conteúdo
             String filename = contentDownloadService.generatePackageFilename(content);
 
+            // O pacote é escrito direto na resposta, sem passar por um buffer em memória
+            StreamingResponseBody contentPackage = out -> contentDownloadService.writeContentPackage(content, out);
+
             return ResponseEntity.ok()
                     .contentType(MediaType.APPLICATION_OCTET_STREAM)
                     .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + filename + "\"")
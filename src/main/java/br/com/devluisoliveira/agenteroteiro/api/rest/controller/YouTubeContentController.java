@@ -1,10 +1,12 @@
 package br.com.devluisoliveira.agenteroteiro.api.rest.controller;
 
+import br.com.devluisoliveira.agenteroteiro.core.application.utils.SectionListener;
 import br.com.devluisoliveira.agenteroteiro.core.domain.entity.User;
 
 import br.com.devluisoliveira.agenteroteiro.core.port.in.GenericGenerationPortIn;
 import br.com.devluisoliveira.agenteroteiro.core.port.in.dto.ContentGenerationRequest;
 import br.com.devluisoliveira.agenteroteiro.core.port.out.response.dto.ContentGenerationResponse;
+import br.com.devluisoliveira.agenteroteiro.shared.exception.ClientDisconnectedException;
 import br.com.devluisoliveira.agenteroteiro.shared.utils.SecurityUtil;
 import br.com.devluisoliveira.agenteroteiro.shared.validation.CustomOperation;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -12,23 +14,43 @@ import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.io.IOException;
+import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
 
 @RestController
 @RequestMapping("/youtube")
-@RequiredArgsConstructor
 @Slf4j
 @Tag(name = "YouTube Content Generator", description = "Endpoints para geração de conteúdo para YouTube")
 public class YouTubeContentController {
 
     private final GenericGenerationPortIn contentGenerationService;
     private final SecurityUtil securityUtil;
+    private final Executor generationStreamExecutor;
+    private final long streamTimeoutMs;
+
+    public YouTubeContentController(GenericGenerationPortIn contentGenerationService,
+                                    SecurityUtil securityUtil,
+                                    @Qualifier("generationStreamExecutor") Executor generationStreamExecutor,
+                                    @Value("${generation.stream.timeout-ms:600000}") long streamTimeoutMs) {
+        this.contentGenerationService = contentGenerationService;
+        this.securityUtil = securityUtil;
+        this.generationStreamExecutor = generationStreamExecutor;
+        this.streamTimeoutMs = streamTimeoutMs;
+    }
 
     @CustomOperation(summary = "Gerar conteúdo para YouTube")
     @ApiResponse(responseCode = "200", description = "Conteúdo gerado com sucesso",
@@ -48,6 +70,101 @@ public class YouTubeContentController {
         return ResponseEntity.ok(response);
     }
 
+    @CustomOperation(summary = "Gerar conteúdo para YouTube com streaming (SSE)")
+    @ApiResponse(responseCode = "200", description = "Eventos 'token' com os trechos gerados e 'section' a cada seção concluída, seguidos de 'completed' ou 'error'",
+            content = {@Content(mediaType = MediaType.TEXT_EVENT_STREAM_VALUE)})
+    @PreAuthorize("hasAnyRole('USER')")
+    @PostMapping(value = "/generate/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter generateYouTubeContentStream(@RequestBody @Valid ContentGenerationRequest request) {
+
+        User user = securityUtil.getLoggedInUser();
+
+        log.info("Recebida solicitação de geração em streaming do usuário: {}", user.getUsername());
+
+        if (request.getProcessId() == null || request.getProcessId().isEmpty()) {
+            request.setProcessId(UUID.randomUUID().toString());
+        }
+
+        return startStream(request.getProcessId(), (tokenListener, sectionListener) ->
+                contentGenerationService.generateContent(user, request, tokenListener, sectionListener));
+    }
+
+    @CustomOperation(summary = "Retomar uma geração interrompida (SSE)")
+    @ApiResponse(responseCode = "200", description = "Seções já salvas e as que faltavam como eventos 'section', seguidos de 'completed' ou 'error'",
+            content = {@Content(mediaType = MediaType.TEXT_EVENT_STREAM_VALUE)})
+    @PreAuthorize("hasAnyRole('USER')")
+    @PostMapping(value = "/generate/{processId}/resume", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter resumeYouTubeContent(@PathVariable String processId) {
+
+        User user = securityUtil.getLoggedInUser();
+
+        log.info("Recebida solicitação para retomar a geração {} do usuário: {}", processId, user.getUsername());
+
+        return startStream(processId, (tokenListener, sectionListener) ->
+                contentGenerationService.resumeGeneration(user, processId, tokenListener, sectionListener));
+    }
+
+    private SseEmitter startStream(String processId,
+                                   BiFunction<Consumer<String>, SectionListener, ContentGenerationResponse> generation) {
+        SseEmitter emitter = new SseEmitter(streamTimeoutMs);
+
+        try {
+            generationStreamExecutor.execute(() -> streamGeneration(emitter, processId, generation));
+        } catch (RejectedExecutionException e) {
+            log.warn("Fila de geração em streaming cheia, rejeitando processId: {}", processId);
+            sendErrorEvent(emitter, processId, "Servidor ocupado, tente novamente em instantes");
+        }
+
+        return emitter;
+    }
+
+    private void streamGeneration(SseEmitter emitter, String processId,
+                                  BiFunction<Consumer<String>, SectionListener, ContentGenerationResponse> generation) {
+        try {
+            ContentGenerationResponse response = generation.apply(
+                    token -> sendStreamEvent(emitter, "token", Map.of("content", token)),
+                    (type, content) -> sendStreamEvent(emitter, "section", Map.of("type", type, "content", content)));
+
+            emitter.send(SseEmitter.event()
+                    .name("ERROR".equals(response.getStatus()) ? "error" : "completed")
+                    .data(response, MediaType.APPLICATION_JSON));
+            emitter.complete();
+        } catch (ClientDisconnectedException e) {
+            // O stream do provedor já foi abortado; o checkpoint fica salvo para retomar
+            log.info("Cliente desconectou durante a geração em streaming do processId {}", processId);
+            emitter.complete();
+        } catch (Exception e) {
+            log.error("Erro na geração em streaming para processId {}: {}", processId, e.getMessage(), e);
+            sendErrorEvent(emitter, processId, "Erro ao gerar conteúdo: " + e.getMessage());
+        }
+    }
+
+    private void sendStreamEvent(SseEmitter emitter, String name, Object data) {
+        try {
+            emitter.send(SseEmitter.event()
+                    .name(name)
+                    .data(data, MediaType.APPLICATION_JSON));
+        } catch (IOException | IllegalStateException e) {
+            // Cliente desconectou (ou o emitter expirou): o provedor aborta a conexão ao receber o cancelamento
+            throw new ClientDisconnectedException("Cliente desconectado durante o streaming", e);
+        }
+    }
+
+    private void sendErrorEvent(SseEmitter emitter, String processId, String message) {
+        try {
+            emitter.send(SseEmitter.event()
+                    .name("error")
+                    .data(ContentGenerationResponse.builder()
+                            .processId(UUID.fromString(processId))
+                            .status("ERROR")
+                            .message(message)
+                            .build(), MediaType.APPLICATION_JSON));
+            emitter.complete();
+        } catch (Exception e) {
+            emitter.completeWithError(e);
+        }
+    }
+
     @CustomOperation(summary = "Verificar status da geração")
     @ApiResponse(responseCode = "200", description = "Status da geração recuperado com sucesso",
             content = {@Content(mediaType = "application/json",
@@ -67,6 +184,7 @@ public class YouTubeContentController {
             ContentGenerationResponse response = ContentGenerationResponse.builder()
                     .processId(serviceResponse.getProcessId())
                     .status(serviceResponse.getStatus())
+                    .progress(serviceResponse.getProgress())
                     .message(serviceResponse.getMessage())
                     .title(serviceResponse.getTitle())
                     .build();
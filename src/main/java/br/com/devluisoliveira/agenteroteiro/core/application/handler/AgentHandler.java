@@ -1,15 +1,21 @@
 package br.com.devluisoliveira.agenteroteiro.core.application.handler;
 
+import br.com.devluisoliveira.agenteroteiro.core.application.service.context.GenerationContext;
 import br.com.devluisoliveira.agenteroteiro.core.application.service.enums.AgentType;
+import br.com.devluisoliveira.agenteroteiro.core.application.utils.SectionHeaders;
 import br.com.devluisoliveira.agenteroteiro.core.port.out.response.dto.ContentGenerationResponse;
 
-import java.util.Map;
-
 public interface AgentHandler {
 
     AgentType getSupportedAgentType();
 
-    String preparePrompt(Map<String, Object> request);
+    String preparePrompt(GenerationContext context);
+
+    ContentGenerationResponse processResponse(String aiResponse, GenerationContext context);
 
-    ContentGenerationResponse processResponse(String aiResponse, Map<String, Object> request);
+    /**
+     * Cabeçalhos de seção que o prompt do agente pede à IA, usados para separar a resposta
+     * (inclusive durante o streaming)
+     */
+    SectionHeaders getSectionHeaders();
 }
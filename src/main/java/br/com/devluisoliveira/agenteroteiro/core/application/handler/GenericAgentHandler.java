@@ -1,8 +1,10 @@
 package br.com.devluisoliveira.agenteroteiro.core.application.handler;
 
 import br.com.devluisoliveira.agenteroteiro.core.application.utils.ContentGenerationUtils;
+import br.com.devluisoliveira.agenteroteiro.core.application.utils.SectionHeaders;
 import br.com.devluisoliveira.agenteroteiro.core.application.service.OpenAIService;
 import br.com.devluisoliveira.agenteroteiro.core.application.service.PromptTemplateService;
+import br.com.devluisoliveira.agenteroteiro.core.application.service.context.GenerationContext;
 import br.com.devluisoliveira.agenteroteiro.core.application.service.enums.AgentType;
 import br.com.devluisoliveira.agenteroteiro.core.application.service.enums.ContentType;
 import br.com.devluisoliveira.agenteroteiro.core.port.out.response.dto.ContentGenerationResponse;
@@ -10,7 +12,6 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
 
-import java.util.HashMap;
 import java.util.Map;
 import java.util.UUID;
 import java.util.regex.Matcher;
@@ -21,29 +22,42 @@ import java.util.regex.Pattern;
 @Slf4j
 public class GenericAgentHandler implements AgentHandler {
 
+    // Mapeamento de cabeçalhos de seção para tipos de conteúdo
+    private static final SectionHeaders SECTION_HEADERS = SectionHeaders.of(Map.ofEntries(
+            Map.entry("TÍTULO DO VÍDEO", ContentType.TITLE),
+            Map.entry("DESCRIÇÃO DO VÍDEO", ContentType.DESCRIPTION),
+            Map.entry("TAGS", ContentType.TAGS),
+            Map.entry("ROTEIRO", ContentType.SCRIPT),
+            Map.entry("IDEIA PARA THUMBNAIL", ContentType.THUMBNAIL_IDEA),
+            Map.entry("SCRIPT PARA ÁUDIO", ContentType.AUDIO_SCRIPT),
+            Map.entry("VERSÃO CURTA", ContentType.SHORTS_IDEA)));
+
     @Override
     public AgentType getSupportedAgentType() {
         return AgentType.GENERIC;
     }
 
     @Override
-    public String preparePrompt(Map<String, Object> request) {
+    public SectionHeaders getSectionHeaders() {
+        return SECTION_HEADERS;
+    }
+
+    @Override
+    public String preparePrompt(GenerationContext context) {
         log.info("[GenericAgentHandler.preparePrompt] - Preparando prompt para geração de conteúdo genérico");
 
         try {
-            // Converter o Map para ContentGenerationRequest para usar o PromptTemplateService
-            String processId = getStringValue(request, "processId");
-            String title = getStringValue(request, "title");
-            String theme = getStringValue(request, "theme");
-            String notes = getStringValue(request, "notes");
-            String videoTopic = getStringValue(request, "videoTopic", theme); // Fallback para theme
-            String targetAudience = getStringValue(request, "targetAudience");
-            String toneStyle = getStringValue(request, "toneStyle");
-            Integer targetDuration = getIntegerValue(request, "targetDuration", 10);
-            String language = getStringValue(request, "language", "pt_BR");
-            Boolean includeCallToAction = getBooleanValue(request, "includeCallToAction", true);
-            Boolean optimizeForSEO = getBooleanValue(request, "optimizeForSEO", true);
-            String additionalContext = getStringValue(request, "additionalContext");
+            String title = context.getTitle();
+            String theme = context.getTheme();
+            String notes = context.getNotes();
+            String videoTopic = context.getVideoTopic() != null ? context.getVideoTopic() : theme; // Fallback para theme
+            String targetAudience = context.getTargetAudience();
+            String toneStyle = context.getToneStyle();
+            int targetDuration = context.getTargetMinutes();
+            String language = context.getLanguage();
+            boolean includeCallToAction = context.isIncludeCallToAction();
+            boolean optimizeForSEO = context.isOptimizeForSEO();
+            String additionalContext = context.getAdditionalContext();
 
             // Construir prompt personalizado
             StringBuilder promptBuilder = new StringBuilder();
@@ -99,12 +113,12 @@ public class GenericAgentHandler implements AgentHandler {
             promptBuilder.append("\n## ESTRUTURA DO CONTEÚDO\n");
 
             // Seções a gerar
-            if (hasSection(request, ContentType.TITLE)) {
+            if (context.hasSection(ContentType.TITLE)) {
                 promptBuilder.append("\n### TÍTULO DO VÍDEO\n");
                 promptBuilder.append("Crie um título chamativo que gere curiosidade e seja otimizado para SEO.\n");
             }
 
-            if (hasSection(request, ContentType.DESCRIPTION)) {
+            if (context.hasSection(ContentType.DESCRIPTION)) {
                 promptBuilder.append("\n### DESCRIÇÃO DO VÍDEO\n");
                 promptBuilder.append("Crie uma descrição completa com 1500-2000 caracteres, incluindo palavras-chave relevantes");
                 if (includeCallToAction) {
@@ -113,12 +127,12 @@ public class GenericAgentHandler implements AgentHandler {
                 promptBuilder.append(".\n");
             }
 
-            if (hasSection(request, ContentType.TAGS)) {
+            if (context.hasSection(ContentType.TAGS)) {
                 promptBuilder.append("\n### TAGS\n");
                 promptBuilder.append("Liste 10-15 tags relevantes para o vídeo, separadas por vírgula.\n");
             }
 
-            if (hasSection(request, ContentType.SCRIPT)) {
+            if (context.hasSection(ContentType.SCRIPT)) {
                 promptBuilder.append("\n### ROTEIRO\n");
                 promptBuilder.append("Escreva um roteiro completo para um vídeo de aproximadamente ")
                         .append(targetDuration)
@@ -130,17 +144,17 @@ public class GenericAgentHandler implements AgentHandler {
                 promptBuilder.append(".\n");
             }
 
-            if (hasSection(request, ContentType.THUMBNAIL_IDEA)) {
+            if (context.hasSection(ContentType.THUMBNAIL_IDEA)) {
                 promptBuilder.append("\n### IDEIA PARA THUMBNAIL\n");
                 promptBuilder.append("Sugira 3 ideias diferentes para thumbnail, com elementos visuais e texto.\n");
             }
 
-            if (hasSection(request, ContentType.AUDIO_SCRIPT)) {
+            if (context.hasSection(ContentType.AUDIO_SCRIPT)) {
                 promptBuilder.append("\n### SCRIPT PARA ÁUDIO\n");
                 promptBuilder.append("Escreva um script otimizado para narração em áudio, com linguagem mais conversacional e fácil de pronunciar.\n");
             }
 
-            if (hasSection(request, ContentType.SHORTS_IDEA)) {
+            if (context.hasSection(ContentType.SHORTS_IDEA)) {
                 promptBuilder.append("\n### VERSÃO CURTA\n");
                 promptBuilder.append("Crie uma versão reduzida do conteúdo principal de 60-90 segundos, mantendo os pontos essenciais.\n");
             }
@@ -155,7 +169,7 @@ public class GenericAgentHandler implements AgentHandler {
     }
 
     @Override
-    public ContentGenerationResponse processResponse(String aiResponse, Map<String, Object> request) {
+    public ContentGenerationResponse processResponse(String aiResponse, GenerationContext context) {
         log.info("[GenericAgentHandler.processResponse] - Processando resposta para conteúdo genérico");
 
         if (aiResponse == null || aiResponse.isEmpty()) {
@@ -165,14 +179,14 @@ public class GenericAgentHandler implements AgentHandler {
 
         try {
             // Extrair o processId
-            String processId = getStringValue(request, "processId");
+            String processId = context.getProcessId();
             UUID contentId = processId != null ? UUID.fromString(processId) : UUID.randomUUID();
 
             // Extrair título
-            String title = getStringValue(request, "title");
+            String title = context.getTitle();
 
-            // Mapear seções da resposta usando o método que inclui o request
-            Map<ContentType, String> contentMap = extractContentSections(aiResponse, request);
+            // Mapear seções da resposta usando o método que inclui a requisição
+            Map<ContentType, String> contentMap = ContentGenerationUtils.extractContentSections(aiResponse, context, SECTION_HEADERS);
 
             // Construir a resposta
             return ContentGenerationResponse.builder()
@@ -194,89 +208,6 @@ public class GenericAgentHandler implements AgentHandler {
         }
     }
 
-    private String getStringValue(Map<String, Object> map, String key) {
-        return getStringValue(map, key, null);
-    }
-
-    private String getStringValue(Map<String, Object> map, String key, String defaultValue) {
-        if (map.containsKey(key)) {
-            Object value = map.get(key);
-            return value != null ? value.toString() : defaultValue;
-        }
-        return defaultValue;
-    }
-
-    private Integer getIntegerValue(Map<String, Object> map, String key, Integer defaultValue) {
-        if (map.containsKey(key)) {
-            Object value = map.get(key);
-            if (value instanceof Integer) {
-                return (Integer) value;
-            } else if (value instanceof Number) {
-                return ((Number) value).intValue();
-            } else if (value instanceof String) {
-                try {
-                    return Integer.parseInt((String) value);
-                } catch (NumberFormatException e) {
-                    return defaultValue;
-                }
-            }
-        }
-        return defaultValue;
-    }
-
-    private Boolean getBooleanValue(Map<String, Object> map, String key, Boolean defaultValue) {
-        if (map.containsKey(key)) {
-            Object value = map.get(key);
-            if (value instanceof Boolean) {
-                return (Boolean) value;
-            } else if (value instanceof String) {
-                return Boolean.parseBoolean((String) value);
-            }
-        }
-        return defaultValue;
-    }
-
-    @SuppressWarnings("unchecked")
-    private boolean hasSection(Map<String, Object> request, ContentType contentType) {
-        if (contentType == ContentType.SHORTS_IDEA) {
-            // Para SHORTS_IDEA, verificar se deve gerar com base na duração e flag
-            return ContentGenerationUtils.shouldIncludeShortVersion(request) &&
-                    hasContentType(request, contentType);
-        }
-        // Para outros tipos de conteúdo, usar a verificação padrão
-        return hasContentType(request, contentType);
-    }
-
-    @SuppressWarnings("unchecked")
-    private boolean hasContentType(Map<String, Object> request, ContentType contentType) {
-        if (request.containsKey("contentTypes")) {
-            Object contentTypesObj = request.get("contentTypes");
-            if (contentTypesObj instanceof Iterable) {
-                for (Object type : (Iterable<?>) contentTypesObj) {
-                    if (contentType.equals(type) || contentType.name().equals(type.toString())) {
-                        return true;
-                    }
-                }
-            }
-        }
-        return false;
-    }
-
-    private Map<ContentType, String> extractContentSections(String aiResponse, Map<String, Object> request) {
-        // Mapeamento de cabeçalhos de seção para tipos de conteúdo
-        Map<String, ContentType> sectionToType = new HashMap<>();
-        sectionToType.put("TÍTULO DO VÍDEO", ContentType.TITLE);
-        sectionToType.put("DESCRIÇÃO DO VÍDEO", ContentType.DESCRIPTION);
-        sectionToType.put("TAGS", ContentType.TAGS);
-        sectionToType.put("ROTEIRO", ContentType.SCRIPT);
-        sectionToType.put("IDEIA PARA THUMBNAIL", ContentType.THUMBNAIL_IDEA);
-        sectionToType.put("SCRIPT PARA ÁUDIO", ContentType.AUDIO_SCRIPT);
-        sectionToType.put("VERSÃO CURTA", ContentType.SHORTS_IDEA);
-
-        // Usar o utilitário para extrair as seções com base na duração e flag
-        return ContentGenerationUtils.extractContentSections(aiResponse, request, sectionToType);
-    }
-
     private String extractTitle(String aiResponse) {
         // Tentar extrair o título da resposta
         Pattern titlePattern = Pattern.compile("###\\s+TÍTULO DO VÍDEO\\s*([^\\n]+)");
@@ -3,24 +3,24 @@ package br.com.devluisoliveira.agenteroteiro.core.application.handler;
 import br.com.devluisoliveira.agenteroteiro.core.application.service.OpenAIService;
 import br.com.devluisoliveira.agenteroteiro.core.application.service.agentStyle.PrayerStyleService;
 import br.com.devluisoliveira.agenteroteiro.core.application.service.PromptTemplateService;
+import br.com.devluisoliveira.agenteroteiro.core.application.service.context.GenerationContext;
 import br.com.devluisoliveira.agenteroteiro.core.application.service.enums.*;
+import br.com.devluisoliveira.agenteroteiro.core.application.template.PromptTemplate;
+import br.com.devluisoliveira.agenteroteiro.core.application.template.PromptTemplateRegistry;
+import br.com.devluisoliveira.agenteroteiro.core.application.utils.ContentGenerationUtils;
+import br.com.devluisoliveira.agenteroteiro.core.application.utils.SectionHeaders;
 import br.com.devluisoliveira.agenteroteiro.core.port.in.dto.PrayerContentGenerationRequest;
 import br.com.devluisoliveira.agenteroteiro.core.port.out.response.dto.ContentGenerationResponse;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.core.io.ClassPathResource;
 import org.springframework.stereotype.Component;
-import org.springframework.util.FileCopyUtils;
 
-import java.io.IOException;
-import java.io.InputStreamReader;
-import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.EnumSet;
 import java.util.HashMap;
-import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 
 import static br.com.devluisoliveira.agenteroteiro.core.application.service.enums.DurationType.*;
@@ -31,22 +31,43 @@ import static br.com.devluisoliveira.agenteroteiro.core.application.service.enum
 public class PrayerAgentHandler implements AgentHandler {
 
     private final PrayerStyleService prayerStyleService;
+    private final PromptTemplateRegistry promptTemplateRegistry;
 
     private static final String PROMPT_TEMPLATE_PATH = "prompts/prompt_prayer_specialist.txt";
 
+    private static final Set<ContentType> DEFAULT_CONTENT_TYPES = Collections.unmodifiableSet(EnumSet.of(
+            ContentType.TITLE, ContentType.DESCRIPTION, ContentType.SCRIPT, ContentType.TAGS));
+
+    // Cabeçalhos pedidos pelo template (e os nomes antigos, ainda usados em prompts personalizados)
+    private static final SectionHeaders SECTION_HEADERS = SectionHeaders.of(Map.ofEntries(
+            Map.entry("TÍTULO DA ORAÇÃO", ContentType.TITLE),
+            Map.entry("TÍTULO DO VÍDEO", ContentType.TITLE),
+            Map.entry("DESCRIÇÃO", ContentType.DESCRIPTION),
+            Map.entry("TAGS", ContentType.TAGS),
+            Map.entry("ORAÇÃO COMPLETA", ContentType.SCRIPT),
+            Map.entry("ROTEIRO", ContentType.SCRIPT),
+            Map.entry("THUMBNAIL", ContentType.THUMBNAIL_IDEA),
+            Map.entry("SCRIPT PARA ÁUDIO", ContentType.AUDIO_SCRIPT),
+            Map.entry("VERSÃO CURTA", ContentType.SHORTS_IDEA)));
+
     @Override
     public AgentType getSupportedAgentType() {
         return AgentType.PRAYER;
     }
 
     @Override
-    public String preparePrompt(Map<String, Object> request) {
+    public SectionHeaders getSectionHeaders() {
+        return SECTION_HEADERS;
+    }
+
+    @Override
+    public String preparePrompt(GenerationContext context) {
         try {
             log.info("[PrayerAgentHandler.preparePrompt] - Preparando prompt de oração");
-            String baseTemplate = loadTemplateFile();
+            PromptTemplate baseTemplate = promptTemplateRegistry.get(PROMPT_TEMPLATE_PATH);
 
             // Personalizar o template com os dados da requisição
-            return customizeTemplate(baseTemplate, request);
+            return customizeTemplate(baseTemplate, context);
         } catch (Exception e) {
             log.error("Erro ao preparar prompt de oração: {}", e.getMessage(), e);
             return "Houve um erro ao preparar o prompt. Por favor, gere uma oração sobre o tema fornecido.";
@@ -54,7 +75,7 @@ public class PrayerAgentHandler implements AgentHandler {
     }
 
     @Override
-    public ContentGenerationResponse processResponse(String aiResponse, Map<String, Object> request) {
+    public ContentGenerationResponse processResponse(String aiResponse, GenerationContext context) {
         log.info("Processando resposta para conteúdo de oração");
 
         if (aiResponse == null || aiResponse.isEmpty()) {
@@ -64,19 +85,19 @@ public class PrayerAgentHandler implements AgentHandler {
 
         try {
             // Extrair o processId
-            String processId = getStringValue(request, "processId");
+            String processId = context.getProcessId();
             UUID contentId = processId != null ? UUID.fromString(processId) : UUID.randomUUID();
 
             // Extrair título e tema
-            String title = getStringValue(request, "title");
-            String theme = getStringValue(request, "theme");
+            String title = context.getTitle();
+            String theme = context.getTheme();
 
             // Mapear seções da resposta
-            Map<ContentType, String> contentMap = extractContentSections(aiResponse); //Todo: Verificar se o método extractContentSections está correto
+            Map<ContentType, String> contentMap = ContentGenerationUtils.extractContentSections(aiResponse, SECTION_HEADERS);
 
             // Obter o tipo e estilo de oração
-            PrayerType prayerType = getPrayerType(request);
-            PrayerStyle prayerStyle = getPrayerStyle(request);
+            PrayerType prayerType = context.getPrayerType();
+            PrayerStyle prayerStyle = context.getPrayerStyle();
             String prayerTypeDisplayName = prayerType != null ? prayerType.getDisplayName() : "";
             String prayerStyleDisplayName = prayerStyle != null ? prayerStyle.getDisplayName() : "";
 
@@ -107,86 +128,66 @@ public class PrayerAgentHandler implements AgentHandler {
         }
     }
 
-    private String loadTemplateFile() throws IOException {
-        ClassPathResource resource = new ClassPathResource(PROMPT_TEMPLATE_PATH);
-        try (InputStreamReader reader = new InputStreamReader(resource.getInputStream(), StandardCharsets.UTF_8)) {
-            return FileCopyUtils.copyToString(reader);
-        }
-    }
-
-    private String customizeTemplate(String template, Map<String, Object> request) {
+    private String customizeTemplate(PromptTemplate template, GenerationContext context) {
         log.info("[PrayerAgentHandler.customizeTemplate] - Personalizando template de oração");
 
-        String customizedTemplate = template;
-
+        Map<String, String> values = new HashMap<>(32);
 
-        String processId = getStringValue(request, "processId");
-        String title = getStringValue(request, "title");
-        String theme = getStringValue(request, "theme");
-        String notes = getStringValue(request, "notes");
-        String bibleVersion = getStringValue(request, "bibleVersion");
-        String language = getStringValue(request, "language", "pt_BR");
-        boolean isShort = request.containsKey("shortVideo") ? (Boolean) request.get("shortVideo") : false;
-        boolean generateAudio = request.containsKey("generateAudio") ? (Boolean) request.get("generateAudio") : false;
+        String processId = context.getProcessId();
+        String title = context.getTitle();
+        String theme = context.getTheme();
+        String notes = context.getNotes();
+        String bibleVersion = context.getBibleVersion();
+        String language = context.getLanguage();
+        // A requisição de oração não tem um campo de vídeo curto
+        boolean isShort = false;
+        boolean generateAudio = context.isGenerateAudio();
 
-        String targetAudience = getStringValue(request, "targetAudience");
-        String personalizationName = getStringValue(request, "personalizationName");
+        String targetAudience = context.getTargetAudience();
+        String personalizationName = context.getPersonalizationName();
 
-        String targetDurationStr = getStringValue(request, "targetDuration");
-        int targetDurationMinutes = 0;
-
-        if (targetDurationStr != null && !targetDurationStr.isEmpty()) {
-            try {
-                int targetDurationSeconds = Integer.parseInt(targetDurationStr);
-                targetDurationMinutes = targetDurationSeconds / 60;
-            } catch (NumberFormatException e) {
-                log.error("Erro ao converter targetDurationStr para inteiro: {}", e.getMessage());
-            }
-        }
+        int targetDurationMinutes = context.getTargetMinutes();
 
         // Obter valores específicos da oração
-        PrayerType prayerType = getPrayerType(request);
-        PrayerStyle prayerStyle = getPrayerStyle(request);
-        String biblePassage = getStringValue(request, "biblePassage");
-        String additionalContext = getStringValue(request, "additionalContext");
-
-        // Substituir os placeholders básicos
-        customizedTemplate = customizedTemplate.replace("{processId}", nullSafe(processId))
-                .replace("{title}", nullSafe(title))
-                .replace("{theme}", nullSafe(theme))
-                .replace("{notes}", nullSafe(notes))
-                .replace("{bibleVersion}", nullSafe(bibleVersion).isEmpty() ? "NVI" : bibleVersion)
-                .replace("{prayerType}", prayerType != null ? prayerType.getDisplayName() : "")
-                .replace("{prayerStyle}", prayerStyle != null ? prayerStyle.getDisplayName() : "")
-                .replace("{targetDuration}", nullSafe(String.valueOf(targetDurationMinutes)))
-                .replace("{language}", nullSafe(language))
-                .replace("{biblePassage}", nullSafe(biblePassage).isEmpty() ? "o que fizer sentido em relação ao tema" : biblePassage)
-                .replace("{shortVideo}", isShort ? "Sim" : "Não")
-                .replace("{generateAudio}", generateAudio ? "Sim" : "Não")
-                .replace("{targetAudience}", (targetAudience == null || targetAudience.isEmpty()) ? "Cristãos" : targetAudience)
-                .replace("{personalizationName}", nullSafe(personalizationName));
-
-        // Obter e substituir as características do estilo e tipo de oração
-        String prayerStyleChars = request.containsKey("prayerStyleCharacteristics")
-                ? (String) request.get("prayerStyleCharacteristics")
+        PrayerType prayerType = context.getPrayerType();
+        PrayerStyle prayerStyle = context.getPrayerStyle();
+        String biblePassage = context.getBiblePassage();
+        String additionalContext = context.getAdditionalContext();
+
+        // Valores dos placeholders básicos
+        values.put("processId", nullSafe(processId));
+        values.put("title", nullSafe(title));
+        values.put("theme", nullSafe(theme));
+        values.put("notes", nullSafe(notes));
+        values.put("bibleVersion", nullSafe(bibleVersion).isEmpty() ? "NVI" : bibleVersion);
+        values.put("prayerType", prayerType != null ? prayerType.getDisplayName() : "");
+        values.put("prayerStyle", prayerStyle != null ? prayerStyle.getDisplayName() : "");
+        values.put("targetDuration", nullSafe(String.valueOf(targetDurationMinutes)));
+        values.put("language", nullSafe(language));
+        values.put("biblePassage", nullSafe(biblePassage).isEmpty() ? "o que fizer sentido em relação ao tema" : biblePassage);
+        values.put("shortVideo", isShort ? "Sim" : "Não");
+        values.put("generateAudio", generateAudio ? "Sim" : "Não");
+        values.put("targetAudience", (targetAudience == null || targetAudience.isEmpty()) ? "Cristãos" : targetAudience);
+        values.put("personalizationName", nullSafe(personalizationName));
+
+        // Obter as características do estilo e tipo de oração
+        String prayerStyleChars = context.getPrayerStyleCharacteristics() != null
+                ? context.getPrayerStyleCharacteristics()
                 : prayerStyleService.getCombinedPrayerCharacteristics(prayerStyle, prayerType);
-        customizedTemplate = customizedTemplate.replace("{prayerStyleCharacteristics}", prayerStyleChars);
+        values.put("prayerStyleCharacteristics", prayerStyleChars);
 
-        // Substituir contexto adicional
-        customizedTemplate = customizedTemplate.replace("{additionalContext}", nullSafe(additionalContext));
+        // Contexto adicional
+        values.put("additionalContext", nullSafe(additionalContext));
 
         // Formatar tipos de conteúdo solicitados
-        List<ContentType> contentTypes = getContentTypes(request);
-        if (contentTypes.isEmpty()) {
-            contentTypes = List.of(ContentType.TITLE, ContentType.DESCRIPTION, ContentType.SCRIPT, ContentType.TAGS);
-        }
+        Set<ContentType> contentTypes = getContentTypes(context);
         String contentTypesFormatted = contentTypes.stream()
                 .map(ContentType::getLabel)
                 .collect(Collectors.joining("\n- "));
         if (!contentTypesFormatted.isEmpty()) {
             contentTypesFormatted = "- " + contentTypesFormatted;
         }
-        customizedTemplate = customizedTemplate.replace("{contentTypesFormatted}", contentTypesFormatted);
+        values.put("contentTypesFormatted", contentTypesFormatted);
 
         // Configurar seções do formato de saída
         StringBuilder formatOutput = new StringBuilder();
@@ -211,39 +212,10 @@ public class PrayerAgentHandler implements AgentHandler {
         if (shouldIncludeSection(contentTypes, ContentType.SHORTS_IDEA)) {
             formatOutput.append("### Versão Curta\n[Versão curta da oração com 300-500 caracteres para vídeos breves]\n\n");
         }
-        customizedTemplate = customizedTemplate.replace("{formatOutput}", formatOutput.toString());
+        values.put("formatOutput", formatOutput.toString());
 
         String durationInstructions = "";
-        String durationTypeString = targetDurationStr;
-
-
-        DurationType durationType = null;
-        try {
-            durationType = DurationType.valueOf(durationTypeString);
-            log.info("[PrayerAgentHandler.customizeTemplate] - Duração extraída do enum: {}", durationType);
-        } catch (IllegalArgumentException e) {
-            try {
-                int seconds = Integer.parseInt(durationTypeString);
-                log.info("[PrayerAgentHandler.customizeTemplate] - Tentando encontrar enum por segundos: {}", seconds);
-
-                for (DurationType type : DurationType.values()) {
-                    if (type.getDurationInSeconds() == seconds) {
-                        durationType = type;
-                        break;
-                    }
-                }
-
-                if (durationType == null) {
-                    log.warn("[PrayerAgentHandler.customizeTemplate] - Não foi encontrado enum para {} segundos. Usando valor padrão.", seconds);
-                    // Valor padrão se não encontrar correspondência
-                    durationType = DurationType.MINUTES_5;
-                }
-            } catch (NumberFormatException numberEx) {
-                log.warn("[PrayerAgentHandler.customizeTemplate] - Valor '{}' não é um nome de enum válido nem um número. Usando valor padrão.", durationTypeString);
-                // Se nem for um número, use o valor padrão
-                durationType = DurationType.MINUTES_5;
-            }
-        }
+        DurationType durationType = context.getDurationType();
         String importantNote = " **IMPORTATE** ESSE VALOR É SÓ DA ORAÇÃO";
 
         log.info("[PrayerAgentHandler.customizeTemplate] - Duração extraída: {}", durationType);
@@ -283,58 +255,21 @@ public class PrayerAgentHandler implements AgentHandler {
         } else {
             durationInstructions = "Tamanho da oração: 1.800-2.200 caracteres (5 minutos)" + importantNote;
         }
-        // Você pode optar por inserir essas instruções em um placeholder específico no template,
-        // ou simplesmente anexá-las ao final.
-        customizedTemplate += "\n\n" + durationInstructions;
+        values.put("durationInstructions", durationInstructions);
 
-        customizedTemplate = customizedTemplate.replace("{processId}", nullSafe(processId))
-                .replace("{durationInstructions}", durationInstructions);
+        // Renderizar em uma única passada; as instruções de duração também são anexadas ao final
+        String customizedTemplate = template.render(values) + "\n\n" + durationInstructions;
 
         log.debug("[PrayerAgentHandler.customizeTemplate] - Prompt final com {} caracteres", customizedTemplate.length());
         return customizedTemplate;
     }
 
-    private PrayerType getPrayerType(Map<String, Object> request) {
-        Object typeObj = request.get("prayerType");
-        if (typeObj instanceof PrayerType) {
-            return (PrayerType) typeObj;
-        }
-        return null;
-    }
-
-    private PrayerStyle getPrayerStyle(Map<String, Object> request) {
-        Object styleObj = request.get("prayerStyle");
-        if (styleObj instanceof PrayerStyle) {
-            return (PrayerStyle) styleObj;
-        }
-        return null;
-    }
-
-    private String getStringValue(Map<String, Object> map, String key) {
-        return getStringValue(map, key, null);
-    }
-
-    private String getStringValue(Map<String, Object> map, String key, String defaultValue) {
-        if (map.containsKey(key)) {
-            Object value = map.get(key);
-            return value != null ? value.toString() : defaultValue;
-        }
-        return defaultValue;
-    }
-
-    @SuppressWarnings("unchecked")
-    private List<ContentType> getContentTypes(Map<String, Object> request) {
-        if (request.containsKey("contentTypes")) {
-            Object contentTypesObj = request.get("contentTypes");
-            if (contentTypesObj instanceof List) {
-                return (List<ContentType>) contentTypesObj;
-            }
-        }
+    private Set<ContentType> getContentTypes(GenerationContext context) {
         // Retornar tipos padrão se não encontrar
-        return List.of(ContentType.TITLE, ContentType.DESCRIPTION, ContentType.SCRIPT, ContentType.TAGS);
+        return context.getContentTypes().isEmpty() ? DEFAULT_CONTENT_TYPES : context.getContentTypes();
     }
 
-    private boolean shouldIncludeSection(List<ContentType> contentTypes, ContentType type) {
+    private boolean shouldIncludeSection(Set<ContentType> contentTypes, ContentType type) {
         return contentTypes.contains(type);
     }
 
@@ -349,38 +284,4 @@ public class PrayerAgentHandler implements AgentHandler {
                 .message(errorMessage)
                 .build();
     }
-
-    private Map<ContentType, String> extractContentSections(String aiResponse) {
-        Map<ContentType, String> contentMap = new HashMap<>();
-
-        // Mapeamento de cabeçalhos de seção para tipos de conteúdo
-        Map<String, ContentType> sectionToType = new HashMap<>();
-        sectionToType.put("TÍTULO DA ORAÇÃO", ContentType.TITLE);
-        sectionToType.put("DESCRIÇÃO", ContentType.DESCRIPTION);
-        sectionToType.put("TAGS", ContentType.TAGS);
-        sectionToType.put("ORAÇÃO COMPLETA", ContentType.SCRIPT);
-        sectionToType.put("IDEIA PARA THUMBNAIL", ContentType.THUMBNAIL_IDEA);
-        sectionToType.put("SCRIPT PARA ÁUDIO", ContentType.AUDIO_SCRIPT);
-        sectionToType.put("VERSÃO CURTA", ContentType.SHORTS_IDEA);
-
-        // Regex para encontrar seções no formato "### NOME DA SEÇÃO"
-        Pattern sectionPattern = Pattern.compile("###\\s+([^\\n]+)([\\s\\S]*?)(?=###|$)");
-        Matcher matcher = sectionPattern.matcher(aiResponse);
-
-        // Extrair cada seção
-        while (matcher.find()) {
-            String sectionTitle = matcher.group(1).trim();
-            String sectionContent = matcher.group(2).trim();
-
-            // Mapear para o tipo de conteúdo correspondente
-            for (Map.Entry<String, ContentType> entry : sectionToType.entrySet()) {
-                if (sectionTitle.contains(entry.getKey())) {
-                    contentMap.put(entry.getValue(), sectionContent);
-                    break;
-                }
-            }
-        }
-
-        return contentMap;
-    }
 }
\ No newline at end of file
@@ -3,21 +3,23 @@ package br.com.devluisoliveira.agenteroteiro.core.application.handler;
 import br.com.devluisoliveira.agenteroteiro.core.application.service.OpenAIService;
 import br.com.devluisoliveira.agenteroteiro.core.application.service.agentStyle.PhilosopherStyleService;
 import br.com.devluisoliveira.agenteroteiro.core.application.service.PromptTemplateService;
+import br.com.devluisoliveira.agenteroteiro.core.application.service.context.GenerationContext;
 import br.com.devluisoliveira.agenteroteiro.core.application.service.enums.AgentType;
 import br.com.devluisoliveira.agenteroteiro.core.application.service.enums.ContentType;
+import br.com.devluisoliveira.agenteroteiro.core.application.template.PromptTemplate;
+import br.com.devluisoliveira.agenteroteiro.core.application.template.PromptTemplateRegistry;
+import br.com.devluisoliveira.agenteroteiro.core.application.utils.ContentGenerationUtils;
+import br.com.devluisoliveira.agenteroteiro.core.application.utils.SectionHeaders;
 import br.com.devluisoliveira.agenteroteiro.core.port.out.response.dto.ContentGenerationResponse;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.core.io.ClassPathResource;
 import org.springframework.stereotype.Component;
-import org.springframework.util.FileCopyUtils;
 
-import java.io.IOException;
-import java.io.InputStreamReader;
-import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.EnumSet;
 import java.util.HashMap;
-import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
@@ -31,22 +33,41 @@ public class StoicAgentHandler implements AgentHandler {
     private final PhilosopherStyleService philosopherStyleService;
     private final OpenAIService openAIService;
     private final PromptTemplateService promptTemplateService;
+    private final PromptTemplateRegistry promptTemplateRegistry;
 
     private static final String PROMPT_TEMPLATE_PATH = "prompts/prompt_estoicism_specialist.txt";
 
+    private static final Set<ContentType> DEFAULT_CONTENT_TYPES = Collections.unmodifiableSet(EnumSet.of(
+            ContentType.TITLE, ContentType.DESCRIPTION, ContentType.SCRIPT, ContentType.TAGS));
+
+    // Mapeamento de cabeçalhos de seção para tipos de conteúdo
+    private static final SectionHeaders SECTION_HEADERS = SectionHeaders.of(Map.ofEntries(
+            Map.entry("TÍTULO DO VÍDEO", ContentType.TITLE),
+            Map.entry("DESCRIÇÃO DO VÍDEO", ContentType.DESCRIPTION),
+            Map.entry("TAGS", ContentType.TAGS),
+            Map.entry("ROTEIRO", ContentType.SCRIPT),
+            Map.entry("IDEIA PARA THUMBNAIL", ContentType.THUMBNAIL_IDEA),
+            Map.entry("SCRIPT PARA ÁUDIO", ContentType.AUDIO_SCRIPT),
+            Map.entry("VERSÃO CURTA", ContentType.SHORTS_IDEA)));
+
     @Override
     public AgentType getSupportedAgentType() {
         return AgentType.STOICISM;
     }
 
     @Override
-    public String preparePrompt(Map<String, Object> request) {
+    public SectionHeaders getSectionHeaders() {
+        return SECTION_HEADERS;
+    }
+
+    @Override
+    public String preparePrompt(GenerationContext context) {
         try {
             // Carregar o template base
-            String baseTemplate = loadTemplateFile();
+            PromptTemplate baseTemplate = promptTemplateRegistry.get(PROMPT_TEMPLATE_PATH);
 
             // Personalizar o template com os dados da requisição
-            return customizeTemplate(baseTemplate, request);
+            return customizeTemplate(baseTemplate, context);
         } catch (Exception e) {
             log.error("Erro ao preparar prompt estoico: {}", e.getMessage(), e);
             return "Houve um erro ao preparar o prompt estoico. Por favor, gere conteúdo sobre filosofia estoica.";
@@ -54,7 +75,7 @@ public class StoicAgentHandler implements AgentHandler {
     }
 
     @Override
-    public ContentGenerationResponse processResponse(String aiResponse, Map<String, Object> request) {
+    public ContentGenerationResponse processResponse(String aiResponse, GenerationContext context) {
         log.info("Processando resposta para conteúdo estoico");
 
         if (aiResponse == null || aiResponse.isEmpty()) {
@@ -64,17 +85,17 @@ public class StoicAgentHandler implements AgentHandler {
 
         try {
             // Extrair o processId
-            String processId = getStringValue(request, "processId");
+            String processId = context.getProcessId();
             UUID contentId = processId != null ? UUID.fromString(processId) : UUID.randomUUID();
 
             // Extrair título
-            String title = getStringValue(request, "title");
+            String title = context.getTitle();
 
             // Extrair filósofo
-            String philosopherName = getStringValue(request, "philosopherName");
+            String philosopherName = context.getPhilosopherName();
 
             // Mapear seções da resposta
-            Map<ContentType, String> contentMap = extractContentSections(aiResponse);
+            Map<ContentType, String> contentMap = ContentGenerationUtils.extractContentSections(aiResponse, SECTION_HEADERS);
 
             // Construir a resposta
             return ContentGenerationResponse.builder()
@@ -95,45 +116,41 @@ public class StoicAgentHandler implements AgentHandler {
         }
     }
 
-    private String loadTemplateFile() throws IOException {
-        ClassPathResource resource = new ClassPathResource(PROMPT_TEMPLATE_PATH);
-        try (InputStreamReader reader = new InputStreamReader(resource.getInputStream(), StandardCharsets.UTF_8)) {
-            return FileCopyUtils.copyToString(reader);
-        }
-    }
-
-    private String customizeTemplate(String template, Map<String, Object> request) {
-        // Clone o template para evitar alterações no original
-        String customizedTemplate = template;
+    private String customizeTemplate(PromptTemplate template, GenerationContext context) {
+        // Valores dos placeholders, renderizados em uma única passada no final
+        Map<String, String> values = new HashMap<>(32);
 
         // Obter valores básicos
-        String processId = getStringValue(request, "processId");
-        String title = getStringValue(request, "title");
-        String theme = getStringValue(request, "theme");
-        String notes = getStringValue(request, "notes");
-        String targetDuration = request.containsKey("targetDuration") ? String.valueOf(request.get("targetDuration")) : "15";
-        String language = getStringValue(request, "language", "pt_BR");
+        String processId = context.getProcessId();
+        String title = context.getTitle();
+        String theme = context.getTheme();
+        String notes = context.getNotes();
+        String targetDuration = String.valueOf(context.getTargetMinutes());
+        String language = context.getLanguage();
 
         // Obter valores específicos do estoico
-        String philosopherName = getStringValue(request, "philosopherName");
-        String stoicConcept = getStringValue(request, "stoicConcept");
-        String practicalApplication = getStringValue(request, "practicalApplication");
-        String additionalContext = getStringValue(request, "additionalContext");
+        String philosopherName = context.getPhilosopherName();
+        String stoicConcept = context.getStoicConcept();
+        String practicalApplication = context.getPracticalApplication();
+        String additionalContext = context.getAdditionalContext();
 
         // Substituir os placeholders básicos
-        customizedTemplate = customizedTemplate.replace("{processId}", nullSafe(processId))
-                .replace("{title}", nullSafe(title))
-                .replace("{theme}", nullSafe(theme))
-                .replace("{notes}", nullSafe(notes))
-                .replace("{philosopher}", nullSafe(philosopherName))
-                .replace("{targetDuration}", nullSafe(targetDuration))
-                .replace("{language}", nullSafe(language));
+        values.put("processId", nullSafe(processId));
+        values.put("title", nullSafe(title));
+        values.put("theme", nullSafe(theme));
+        values.put("notes", nullSafe(notes));
+        values.put("philosopher", nullSafe(philosopherName));
+        values.put("targetDuration", nullSafe(targetDuration));
+        values.put("language", nullSafe(language));
 
         // Obter e substituir o estilo do filósofo
         // Aqui está a otimização: em vez de incluir detalhes redundantes no template,
         // injetamos apenas o estilo específico do filósofo escolhido
-        String philosopherStyle = philosopherStyleService.getPhilosopherStyle(philosopherName);
-        customizedTemplate = customizedTemplate.replace("{philosopherStyle}", philosopherStyle);
+        // (já resolvido por StoicContentService na preparação da requisição)
+        String philosopherStyle = context.getPhilosopherStyle() != null
+                ? context.getPhilosopherStyle()
+                : philosopherStyleService.getPhilosopherStyle(philosopherName);
+        values.put("philosopherStyle", philosopherStyle);
 
         // Construir contexto adicional
         StringBuilder contextBuilder = new StringBuilder();
@@ -146,77 +163,60 @@ public class StoicAgentHandler implements AgentHandler {
         if (additionalContext != null && !additionalContext.isEmpty()) {
             contextBuilder.append(additionalContext);
         }
-        customizedTemplate = customizedTemplate.replace("{additionalContext}", contextBuilder.toString());
+        values.put("additionalContext", contextBuilder.toString());
 
         // Formatar tipos de conteúdo solicitados
-        List<ContentType> contentTypes = getContentTypes(request);
+        Set<ContentType> contentTypes = getContentTypes(context);
         String contentTypesFormatted = contentTypes.stream()
                 .map(ContentType::getLabel)
                 .collect(Collectors.joining("\n- "));
         if (!contentTypesFormatted.isEmpty()) {
             contentTypesFormatted = "- " + contentTypesFormatted;
         }
-        customizedTemplate = customizedTemplate.replace("{contentTypesFormatted}", contentTypesFormatted);
+        values.put("contentTypesFormatted", contentTypesFormatted);
 
         // Configurar seções condicionais
-        customizedTemplate = customizedTemplate.replace("{titleSection}",
+        values.put("titleSection",
                 shouldIncludeSection(contentTypes, ContentType.TITLE) ? "### TÍTULO DO VÍDEO" : "");
 
-        customizedTemplate = customizedTemplate.replace("{descriptionSection}",
+        values.put("descriptionSection",
                 shouldIncludeSection(contentTypes, ContentType.DESCRIPTION) ?
                         "### DESCRIÇÃO DO VÍDEO\n[Descrição otimizada para SEO com 1500-2000 caracteres]" : "");
 
-        customizedTemplate = customizedTemplate.replace("{tagsSection}",
+        values.put("tagsSection",
                 shouldIncludeSection(contentTypes, ContentType.TAGS) ?
                         "### TAGS\n[10-15 tags relevantes separadas por vírgula]" : "");
 
-        customizedTemplate = customizedTemplate.replace("{scriptSection}",
+        values.put("scriptSection",
                 shouldIncludeSection(contentTypes, ContentType.SCRIPT) ?
                         "### ROTEIRO\n[Roteiro completo estruturado em introdução, desenvolvimento e conclusão]" : "");
 
-        customizedTemplate = customizedTemplate.replace("{thumbnailSection}",
+        values.put("thumbnailSection",
                 shouldIncludeSection(contentTypes, ContentType.THUMBNAIL_IDEA) ?
                         "### IDEIA PARA THUMBNAIL\n[3 ideias para thumbnail com descrição visual]" : "");
 
-        customizedTemplate = customizedTemplate.replace("{audioScriptSection}",
+        values.put("audioScriptSection",
                 shouldIncludeSection(contentTypes, ContentType.AUDIO_SCRIPT) ?
                         "### SCRIPT PARA ÁUDIO\n[Versão do roteiro otimizada para narração]" : "");
 
-        customizedTemplate = customizedTemplate.replace("{shortVersionSection}",
+        values.put("shortVersionSection",
                 shouldIncludeSection(contentTypes, ContentType.SHORTS_IDEA) ?
                         "### VERSÃO CURTA\n[Versão condensada de 60-90 segundos para Shorts]" : "");
 
+        String customizedTemplate = template.render(values);
+
         // Logar tamanho do prompt para monitoramento de tokens
         log.debug("[StoicAgentHandler.customizeTemplate] - Prompt final com {} caracteres", customizedTemplate.length());
 
         return customizedTemplate;
     }
 
-    private String getStringValue(Map<String, Object> map, String key) {
-        return getStringValue(map, key, null);
-    }
-
-    private String getStringValue(Map<String, Object> map, String key, String defaultValue) {
-        if (map.containsKey(key)) {
-            Object value = map.get(key);
-            return value != null ? value.toString() : defaultValue;
-        }
-        return defaultValue;
-    }
-
-    @SuppressWarnings("unchecked")
-    private List<ContentType> getContentTypes(Map<String, Object> request) {
-        if (request.containsKey("contentTypes")) {
-            Object contentTypesObj = request.get("contentTypes");
-            if (contentTypesObj instanceof List) {
-                return (List<ContentType>) contentTypesObj;
-            }
-        }
+    private Set<ContentType> getContentTypes(GenerationContext context) {
         // Retornar tipos padrão se não encontrar
-        return List.of(ContentType.TITLE, ContentType.DESCRIPTION, ContentType.SCRIPT, ContentType.TAGS);
+        return context.getContentTypes().isEmpty() ? DEFAULT_CONTENT_TYPES : context.getContentTypes();
     }
 
-    private boolean shouldIncludeSection(List<ContentType> contentTypes, ContentType type) {
+    private boolean shouldIncludeSection(Set<ContentType> contentTypes, ContentType type) {
         return contentTypes.contains(type);
     }
 
@@ -232,40 +232,6 @@ public class StoicAgentHandler implements AgentHandler {
                 .build();
     }
 
-    private Map<ContentType, String> extractContentSections(String aiResponse) {
-        Map<ContentType, String> contentMap = new HashMap<>();
-
-        // Mapeamento de cabeçalhos de seção para tipos de conteúdo
-        Map<String, ContentType> sectionToType = new HashMap<>();
-        sectionToType.put("TÍTULO DO VÍDEO", ContentType.TITLE);
-        sectionToType.put("DESCRIÇÃO DO VÍDEO", ContentType.DESCRIPTION);
-        sectionToType.put("TAGS", ContentType.TAGS);
-        sectionToType.put("ROTEIRO", ContentType.SCRIPT);
-        sectionToType.put("IDEIA PARA THUMBNAIL", ContentType.THUMBNAIL_IDEA);
-        sectionToType.put("SCRIPT PARA ÁUDIO", ContentType.AUDIO_SCRIPT);
-        sectionToType.put("VERSÃO CURTA", ContentType.SHORTS_IDEA);
-
-        // Regex para encontrar seções no formato "### NOME DA SEÇÃO"
-        Pattern sectionPattern = Pattern.compile("###\\s+([^\\n]+)([\\s\\S]*?)(?=###|$)");
-        Matcher matcher = sectionPattern.matcher(aiResponse);
-
-        // Extrair cada seção
-        while (matcher.find()) {
-            String sectionTitle = matcher.group(1).trim();
-            String sectionContent = matcher.group(2).trim();
-
-            // Mapear para o tipo de conteúdo correspondente
-            for (Map.Entry<String, ContentType> entry : sectionToType.entrySet()) {
-                if (sectionTitle.contains(entry.getKey())) {
-                    contentMap.put(entry.getValue(), sectionContent);
-                    break;
-                }
-            }
-        }
-
-        return contentMap;
-    }
-
     private String extractTitle(String aiResponse) {
         // Tentar extrair o título da resposta
         Pattern titlePattern = Pattern.compile("###\\s+TÍTULO DO VÍDEO\\s*([^\\n]+)");
@@ -1,6 +1,9 @@
 package br.com.devluisoliveira.agenteroteiro.core.application.mapper;
 
+import br.com.devluisoliveira.agenteroteiro.core.application.service.context.GenerationContext;
+import br.com.devluisoliveira.agenteroteiro.core.application.service.enums.GenerationJobStatus;
 import br.com.devluisoliveira.agenteroteiro.core.domain.entity.ContentGeneration;
+import br.com.devluisoliveira.agenteroteiro.core.port.in.dto.ContentGenerationRequest;
 import br.com.devluisoliveira.agenteroteiro.core.port.out.response.dto.ContentGenerationResponse;
 import org.springframework.stereotype.Component;
 
@@ -11,6 +14,28 @@ import java.time.ZoneId;
 public class GenericGeneraMapper {
 
 
+    public GenerationContext toContext(ContentGenerationRequest request) {
+        return GenerationContext.builder()
+                .processId(request.getProcessId())
+                .agentType(request.getAgentType())
+                .contentTypes(request.getContentTypes())
+                .title(request.getTitle())
+                .theme(request.getTheme())
+                .notes(request.getNotes())
+                .videoTopic(request.getVideoTopic())
+                .targetAudience(request.getTargetAudience())
+                .toneStyle(request.getToneStyle())
+                .durationType(request.getDurationType())
+                .additionalContext(request.getAdditionalContext())
+                .includeCallToAction(request.getIncludeCallToAction())
+                .optimizeForSEO(request.getOptimizeForSEO())
+                .language(request.getLanguage())
+                .generateAudio(request.getGenerateAudio())
+                .voiceType(request.getVoiceType())
+                .generateShortVersion(request.getGenerateShortVersion())
+                .build();
+    }
+
     public ContentGeneration toEntity(ContentGenerationResponse response) {
         ContentGeneration contentGeneration = new ContentGeneration();
         contentGeneration.setContentId(response.getProcessId());
@@ -19,8 +44,14 @@ public class GenericGeneraMapper {
         contentGeneration.setText(response.getText());
         contentGeneration.setTextShort(response.getTextShort());
         contentGeneration.setDescription(response.getDescription());
-        contentGeneration.setAudio(response.getAudio());
+        // A URL do áudio é pré-assinada e expira; persistimos apenas a chave do objeto
+        if (response.getAudioObjectKey() != null) {
+            contentGeneration.setAudioObjectKey(response.getAudioObjectKey());
+        } else {
+            contentGeneration.setAudio(response.getAudio());
+        }
         contentGeneration.setTags(response.getTags());
+        contentGeneration.setGenerationStatus(GenerationJobStatus.COMPLETED);
         contentGeneration.setCreatedAt(LocalDateTime.now(ZoneId.of("UTC")));
         return contentGeneration;
     }
@@ -33,7 +64,10 @@ public class GenericGeneraMapper {
                 .text(savedContentGeneration.getText())
                 .textShort(savedContentGeneration.getTextShort())
                 .description(savedContentGeneration.getDescription())
-                .audio(savedContentGeneration.getAudio())
+                .audio(savedContentGeneration.getAudioUrl() != null
+                        ? savedContentGeneration.getAudioUrl()
+                        : savedContentGeneration.getAudio())
+                .audioObjectKey(savedContentGeneration.getAudioObjectKey())
                 .tags(savedContentGeneration.getTags())
                 .build();
     }
@@ -1,17 +1,38 @@
 package br.com.devluisoliveira.agenteroteiro.core.application.service;
 
 import br.com.devluisoliveira.agenteroteiro.core.application.handler.AgentHandler;
+import br.com.devluisoliveira.agenteroteiro.core.application.service.cache.GenerationResponseCache;
+import br.com.devluisoliveira.agenteroteiro.core.application.service.checkpoint.CheckpointContent;
+import br.com.devluisoliveira.agenteroteiro.core.application.service.context.GenerationContext;
 import br.com.devluisoliveira.agenteroteiro.core.application.service.enums.AgentType;
 import br.com.devluisoliveira.agenteroteiro.core.application.service.enums.ContentType;
+import br.com.devluisoliveira.agenteroteiro.core.application.service.enums.DurationType;
+import br.com.devluisoliveira.agenteroteiro.core.application.service.job.GenerationJob;
+import br.com.devluisoliveira.agenteroteiro.core.application.service.job.GenerationJobService;
+import br.com.devluisoliveira.agenteroteiro.core.application.service.llm.LlmProvider;
+import br.com.devluisoliveira.agenteroteiro.core.application.service.llm.LlmRequest;
+import br.com.devluisoliveira.agenteroteiro.core.application.service.llm.LlmResponse;
+import br.com.devluisoliveira.agenteroteiro.core.application.service.llm.LlmRouter;
+import br.com.devluisoliveira.agenteroteiro.core.application.service.llm.TokenBudget;
+import br.com.devluisoliveira.agenteroteiro.core.application.service.llm.TokenEstimator;
+import br.com.devluisoliveira.agenteroteiro.core.application.utils.SectionHeaders;
+import br.com.devluisoliveira.agenteroteiro.core.application.utils.SectionListener;
+import br.com.devluisoliveira.agenteroteiro.core.application.utils.SectionStreamParser;
 import br.com.devluisoliveira.agenteroteiro.core.domain.entity.User;
 import br.com.devluisoliveira.agenteroteiro.core.port.in.AgentGenerationPortIn;
+import br.com.devluisoliveira.agenteroteiro.core.port.in.GenericGenerationPortIn;
 import br.com.devluisoliveira.agenteroteiro.core.port.in.dto.ContentGenerationRequest;
 import br.com.devluisoliveira.agenteroteiro.core.port.out.response.GenerationResponseDto;
 import br.com.devluisoliveira.agenteroteiro.core.port.out.response.dto.ContentGenerationResponse;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Lazy;
 import org.springframework.stereotype.Service;
 
 import java.util.*;
+import java.util.concurrent.CancellationException;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
 
 @Service
 //@RequiredArgsConstructor
@@ -21,12 +42,33 @@ public class AgentGenerationService implements AgentGenerationPortIn {
     private final PromptTemplateService promptTemplateService;
     private final OpenAIService openAIService;
     private final Map<AgentType, AgentHandler> handlers;
+    private final GenerationJobService generationJobService;
+    private final GenericGenerationPortIn genericGenerationPortIn;
+    private final ParallelPromptExecutor parallelPromptExecutor;
+    private final GenerationResponseCache generationResponseCache;
+    private final LlmRouter llmRouter;
+    private final TokenEstimator tokenEstimator;
+    private final int continuationTailChars;
 
     public AgentGenerationService(List<AgentHandler> handlerList,
                                   PromptTemplateService promptTemplateService,
-                                  OpenAIService openAIService) {
+                                  OpenAIService openAIService,
+                                  GenerationJobService generationJobService,
+                                  @Lazy GenericGenerationPortIn genericGenerationPortIn,
+                                  ParallelPromptExecutor parallelPromptExecutor,
+                                  GenerationResponseCache generationResponseCache,
+                                  LlmRouter llmRouter,
+                                  TokenEstimator tokenEstimator,
+                                  @Value("${generation.checkpoint.continuation-tail-chars:1500}") int continuationTailChars) {
         this.promptTemplateService = promptTemplateService;
         this.openAIService = openAIService;
+        this.generationJobService = generationJobService;
+        this.genericGenerationPortIn = genericGenerationPortIn;
+        this.parallelPromptExecutor = parallelPromptExecutor;
+        this.generationResponseCache = generationResponseCache;
+        this.llmRouter = llmRouter;
+        this.tokenEstimator = tokenEstimator;
+        this.continuationTailChars = continuationTailChars;
         this.handlers = new HashMap<>();
 
         if (handlerList.isEmpty()) {
@@ -44,12 +86,34 @@ public class AgentGenerationService implements AgentGenerationPortIn {
     /**
      * Inicia o processo de geração de conteúdo usando a estratégia de handlers
      */
-    public ContentGenerationResponse startGeneration(Map<String, Object> requestMap) {
+    public ContentGenerationResponse startGeneration(GenerationContext context) {
+        return startGeneration(context, null);
+    }
+
+    /**
+     * Inicia o processo de geração repassando ao consumidor cada trecho de texto
+     * produzido pela IA assim que ele chega (modo streaming).
+     *
+     * @param context Dados da geração
+     * @param tokenListener Consumidor dos trechos gerados; quando nulo, a chamada é bloqueante
+     */
+    public ContentGenerationResponse startGeneration(GenerationContext context, Consumer<String> tokenListener) {
+        return startGeneration(context, tokenListener, null);
+    }
+
+    /**
+     * Inicia a geração em streaming avisando também cada seção da resposta ("### ROTEIRO", "### TAGS"...)
+     * assim que ela fica pronta, sem esperar o fim do texto.
+     *
+     * @param sectionListener Ouvinte das seções; quando nulo, a resposta só é separada no final
+     */
+    public ContentGenerationResponse startGeneration(GenerationContext context, Consumer<String> tokenListener,
+                                                     SectionListener sectionListener) {
         log.info("[AgentGenerationService.startGeneration] - Iniciando processo de geração de conteúdo");
 
         try {
             // 1. Extrair o tipo de agente e selecionar o handler apropriado
-            AgentType agentType = extractAgentType(requestMap);
+            AgentType agentType = context.getAgentType();
             AgentHandler handler = handlers.getOrDefault(agentType, handlers.get(AgentType.GENERIC));
 
             if (handler == null) {
@@ -60,10 +124,18 @@ public class AgentGenerationService implements AgentGenerationPortIn {
             log.info("[AgentGenerationService.startGeneration] - Usando handler: {}", handler.getClass().getSimpleName());
 
             // 2. Preparar o prompt usando o handler específico
-            String prompt = handler.preparePrompt(requestMap);
-
-            // 3. Chamar a API de IA para gerar conteúdo
-            String aiResponse = generateContent(prompt);
+            String prompt = handler.preparePrompt(context);
+
+            // 3. Chamar a API de IA para gerar conteúdo, com max_tokens pela duração do roteiro
+            DurationType durationType = context.getDurationType();
+            SectionStreamParser sectionParser = sectionListener != null
+                    ? new SectionStreamParser(handler.getSectionHeaders(), sectionListener) : null;
+            Consumer<String> listener = sectionParser == null ? tokenListener
+                    : tokenListener == null ? sectionParser : tokenListener.andThen(sectionParser);
+            String aiResponse = generateContent(prompt, agentType, durationType, listener);
+            if (sectionParser != null) {
+                sectionParser.finish();
+            }
 
             if (aiResponse == null || aiResponse.isEmpty()) {
                 log.error("[AgentGenerationService.startGeneration] - Resposta vazia da IA");
@@ -73,8 +145,11 @@ public class AgentGenerationService implements AgentGenerationPortIn {
             log.info("[AgentGenerationService.startGeneration] - Conteúdo gerado com sucesso, processando resposta");
 
             // 4. Processar a resposta usando o handler específico
-            return handler.processResponse(aiResponse, requestMap);
+            return handler.processResponse(aiResponse, context);
 
+        } catch (CancellationException e) {
+            // Cliente desconectou: quem chamou decide o que fazer com o checkpoint
+            throw e;
         } catch (Exception e) {
             log.error("[AgentGenerationService.startGeneration] - Erro ao gerar conteúdo: {}", e.getMessage(), e);
             return createErrorResponse("Erro ao gerar conteúdo: " + e.getMessage());
@@ -82,53 +157,261 @@ public class AgentGenerationService implements AgentGenerationPortIn {
     }
 
     /**
-     * Extrai o tipo de agente do mapa de requisição
+     * Retoma uma geração interrompida pedindo à IA só o que falta: a continuação da seção parcial
+     * e as seções que ainda não foram geradas. O que já estava salvo passa primeiro pelo parser,
+     * então o ouvinte recebe todas as seções e a seção parcial chega a ele já completa.
+     *
+     * @param saved Seções concluídas e seção parcial salvas no checkpoint
      */
-    private AgentType extractAgentType(Map<String, Object> requestMap) {
-        Object agentTypeObj = requestMap.get("agentType");
-
-        if (agentTypeObj instanceof AgentType) {
-            return (AgentType) agentTypeObj;
-        } else if (agentTypeObj instanceof String) {
-            try {
-                return AgentType.valueOf((String) agentTypeObj);
-            } catch (IllegalArgumentException e) {
-                log.warn("[AgentGenerationService.extractAgentType] - Tipo de agente inválido: {}", agentTypeObj);
+    public ContentGenerationResponse resumeGeneration(GenerationContext context, CheckpointContent saved,
+                                                      Consumer<String> tokenListener, SectionListener sectionListener) {
+        log.info("[AgentGenerationService.resumeGeneration] - Retomando geração com {} seções salvas{}",
+                saved.sections().size(), saved.hasPartial() ? " e " + saved.partialType() + " parcial" : "");
+
+        try {
+            AgentType agentType = context.getAgentType();
+            AgentHandler handler = resolveHandler(agentType);
+            SectionHeaders headers = handler.getSectionHeaders();
+
+            String previousResponse = renderSections(headers, saved);
+            SectionStreamParser sectionParser = new SectionStreamParser(headers, sectionListener);
+            sectionParser.accept(previousResponse);
+
+            List<ContentType> missing = missingSections(context, headers, saved);
+            if (missing.isEmpty() && !saved.hasPartial()) {
+                // Só faltou gravar o resultado final
+                sectionParser.finish();
+                return handler.processResponse(previousResponse, context);
             }
+
+            String prompt = handler.preparePrompt(context) + continuationInstructions(headers, saved, missing);
+            Consumer<String> listener = tokenListener == null ? sectionParser : tokenListener.andThen(sectionParser);
+            String continuation = generateContent(prompt, agentType, context.getDurationType(), listener);
+            sectionParser.finish();
+
+            return handler.processResponse(previousResponse + continuation, context);
+        } catch (CancellationException e) {
+            throw e;
+        } catch (Exception e) {
+            log.error("[AgentGenerationService.resumeGeneration] - Erro ao retomar geração: {}", e.getMessage(), e);
+            return createErrorResponse("Erro ao retomar geração: " + e.getMessage());
         }
+    }
 
-        return AgentType.GENERIC;
+    /**
+     * Reescreve o que foi salvo no formato da resposta da IA; a seção parcial fica por último e aberta
+     */
+    private String renderSections(SectionHeaders headers, CheckpointContent saved) {
+        StringBuilder text = new StringBuilder();
+        saved.sections().forEach((type, content) -> {
+            String header = headers.headerFor(type);
+            if (header != null && type != saved.partialType()) {
+                text.append("### ").append(header).append('\n').append(content).append("\n\n");
+            }
+        });
+        if (saved.hasPartial() && headers.headerFor(saved.partialType()) != null) {
+            text.append("### ").append(headers.headerFor(saved.partialType())).append('\n').append(saved.partialContent());
+            if (text.charAt(text.length() - 1) != '\n') {
+                text.append('\n');
+            }
+        }
+        return text.toString();
     }
 
     /**
-     * Gera conteúdo chamando o provedor de IA apropriado
+     * Seções pedidas na requisição que o agente sabe separar e que ainda não foram geradas
      */
-    private String generateContent(String prompt) {
-        log.info("[AgentGenerationService.generateContent] - Gerando conteúdo com prompt de {} caracteres", Optional.of(prompt.length()));
+    private List<ContentType> missingSections(GenerationContext context, SectionHeaders headers, CheckpointContent saved) {
+        List<ContentType> missing = new ArrayList<>();
+        for (ContentType type : context.getContentTypes()) {
+            if (context.hasSection(type)
+                    && headers.headerFor(type) != null
+                    && !saved.sections().containsKey(type)
+                    && type != saved.partialType()) {
+                missing.add(type);
+            }
+        }
+        return missing;
+    }
 
-        try {
-            // Chama o provedor principal de IA (OpenAI)
-            return openAIService.generateOracao(prompt);
-        } catch (Exception e) {
-            log.error("[AgentGenerationService.generateContent] - Erro ao chamar OpenAI: {}", e.getMessage(), e);
+    private String continuationInstructions(SectionHeaders headers, CheckpointContent saved, List<ContentType> missing) {
+        StringBuilder instructions = new StringBuilder("\n\n---\nCONTINUAÇÃO DE UMA RESPOSTA INTERROMPIDA\n");
+        if (!saved.sections().isEmpty()) {
+            instructions.append("Estas seções já foram geradas e não devem ser repetidas: ")
+                    .append(headerList(headers, saved.sections().keySet())).append(".\n");
+        }
+        if (saved.hasPartial()) {
+            String partial = saved.partialContent().stripTrailing();
+            String tail = partial.substring(Math.max(0, partial.length() - continuationTailChars));
+            instructions.append("A seção \"### ").append(headers.headerFor(saved.partialType()))
+                    .append("\" foi interrompida. Comece a resposta continuando esse texto exatamente do ponto em que parou, ")
+                    .append("sem repetir o cabeçalho nem o que já foi escrito. Final do texto já escrito:\n\"\"\"\n")
+                    .append(tail).append("\n\"\"\"\n");
+        }
+        if (!missing.isEmpty()) {
+            instructions.append(saved.hasPartial() ? "Depois, gere" : "Gere")
+                    .append(" apenas as seções que faltam, cada uma com o seu cabeçalho ###: ")
+                    .append(headerList(headers, missing)).append(".\n");
+        }
+        return instructions.toString();
+    }
+
+    private static String headerList(SectionHeaders headers, Collection<ContentType> types) {
+        StringJoiner joiner = new StringJoiner(", ");
+        types.forEach(type -> joiner.add(headers.headerFor(type) != null ? headers.headerFor(type) : type.getLabel()));
+        return joiner.toString();
+    }
+
+    /**
+     * Prepara o prompt da requisição com o handler do agente, sem chamar a IA.
+     * Usado pela geração em lote, que agrupa prompts equivalentes antes de chamar o provedor.
+     */
+    public String preparePrompt(GenerationContext context) {
+        return resolveHandler(context.getAgentType()).preparePrompt(context);
+    }
 
-            // Implemente lógica de fallback para outros provedores aqui quando disponíveis
-            // Por exemplo:
-            // try {
-            //     return anthropicService.generateContent(prompt);
-            // } catch (Exception e2) {
-            //     log.error("Erro ao chamar Anthropic: {}", e2.getMessage());
-            //     return mistralService.generateContent(prompt);
-            // }
+    /**
+     * Identifica prompts equivalentes: mesmo prompt normalizado, como na chave do cache de respostas
+     */
+    public String promptKey(String prompt) {
+        return generationResponseCache.promptKey(prompt);
+    }
+
+    /**
+     * max_tokens que a geração síncrona usaria para o prompt (ex.: para o lote offline pedir o mesmo limite)
+     *
+     * @throws IllegalArgumentException Se o prompt não deixa espaço para a resposta na janela do modelo
+     */
+    public int maxTokensFor(String prompt, AgentType agentType, DurationType durationType) {
+        return tokenEstimator.budgetFor(prompt, agentType, durationType).maxTokens();
+    }
+
+    /**
+     * Gera o texto para um prompt já preparado, passando pelo cache de respostas
+     */
+    public String generateFromPrompt(String prompt, AgentType agentType, DurationType durationType) {
+        return generateContent(prompt, agentType, durationType, null);
+    }
 
+    /**
+     * Guarda no cache de respostas um texto gerado fora do fluxo síncrono (ex.: lote offline).
+     * Respostas cortadas no max_tokens não são guardadas.
+     *
+     * @param maxTokens max_tokens enviado na requisição que gerou a resposta
+     */
+    public void cacheResponse(String prompt, AgentType agentType, Integer maxTokens, LlmResponse response) {
+        if (generationResponseCache.isEnabledFor(agentType) && !response.truncated()) {
+            generationResponseCache.put(cacheKey(prompt, response.provider(), response.model(), maxTokens), response.content());
+        }
+    }
+
+    /**
+     * Processa a resposta da IA com o handler do agente da requisição
+     */
+    public ContentGenerationResponse processResponse(String aiResponse, GenerationContext context) {
+        return resolveHandler(context.getAgentType()).processResponse(aiResponse, context);
+    }
+
+    private AgentHandler resolveHandler(AgentType agentType) {
+        AgentHandler handler = handlers.getOrDefault(agentType, handlers.get(AgentType.GENERIC));
+        if (handler == null) {
+            throw new IllegalArgumentException("Tipo de agente não suportado: " + agentType);
+        }
+        return handler;
+    }
+
+    /**
+     * Gera conteúdo consultando antes o cache de respostas; em caso de miss chama a IA
+     * e guarda o resultado. Em streaming, um hit é entregue ao consumidor de uma só vez.
+     *
+     * O orçamento de tokens é calculado antes de tudo: um prompt que não cabe na janela do modelo
+     * é recusado sem chamar o provedor.
+     */
+    private String generateContent(String prompt, AgentType agentType, DurationType durationType,
+                                   Consumer<String> tokenListener) {
+        TokenBudget budget = tokenEstimator.budgetFor(prompt, agentType, durationType);
+
+        if (!generationResponseCache.isEnabledFor(agentType)) {
+            return generateContent(prompt, agentType, durationType, budget, tokenListener).content();
+        }
+
+        // A busca usa o provedor que receberia a chamada; a gravação, o que de fato respondeu (pode ter havido failover)
+        LlmProvider preferred = llmRouter.preferredProvider();
+        if (preferred != null) {
+            Optional<String> cached = generationResponseCache.get(agentType,
+                    cacheKey(prompt, preferred.getName(), preferred.getModel(), budget.maxTokens()));
+            if (cached.isPresent()) {
+                if (tokenListener != null) {
+                    tokenListener.accept(cached.get());
+                }
+                return cached.get();
+            }
+        }
+
+        LlmResponse response = generateContent(prompt, agentType, durationType, budget, tokenListener);
+        if (response.truncated()) {
+            // Um texto cortado no max_tokens não pode ser servido a outros pedidos como se estivesse completo
+            log.warn("[AgentGenerationService.generateContent] - Resposta cortada no max_tokens não vai para o cache");
+        } else {
+            generationResponseCache.put(cacheKey(prompt, response.provider(), response.model(), budget.maxTokens()),
+                    response.content());
+        }
+        return response.content();
+    }
+
+    private String cacheKey(String prompt, String provider, String model, Integer maxTokens) {
+        return generationResponseCache.buildKey(prompt, provider, model, openAIService.getTemperature(), maxTokens);
+    }
+
+    /**
+     * Gera conteúdo pelo roteador de provedores (escolha por latência, hedge e failover).
+     *
+     * Se a resposta vier cortada no max_tokens e não houver streaming, repete uma vez com todo o espaço que o
+     * modelo permite. Em streaming o cliente já recebeu o texto, então a resposta cortada é devolvida como está.
+     */
+    private LlmResponse generateContent(String prompt, AgentType agentType, DurationType durationType, TokenBudget budget,
+                                        Consumer<String> tokenListener) {
+        log.info("[AgentGenerationService.generateContent] - Gerando conteúdo: prompt de {} tokens, max_tokens {} (esperados {})",
+                budget.promptTokens(), budget.maxTokens(), budget.expectedCompletionTokens());
+
+        try {
+            // A latência de um roteiro longo não diz nada sobre a de um título: o hedge compara por agente e duração
+            String workload = agentType + ":" + (durationType != null ? durationType : "NONE");
+            LlmRequest request = LlmRequest.builder().prompt(prompt).maxTokens(budget.maxTokens()).workload(workload).build();
+            LlmResponse response = tokenListener != null
+                    ? llmRouter.stream(request, tokenListener)
+                    : llmRouter.complete(request);
+            tokenEstimator.recordCompletion(agentType, response.content());
+
+            if (response.truncated()) {
+                tokenEstimator.recordTruncated(agentType);
+                if (tokenListener == null && budget.canGrow()) {
+                    log.warn("[AgentGenerationService.generateContent] - Resposta cortada em {} tokens, repetindo com {}",
+                            budget.maxTokens(), budget.availableTokens());
+                    response = llmRouter.complete(request.toBuilder().maxTokens(budget.availableTokens()).build());
+                    tokenEstimator.recordCompletion(agentType, response.content());
+                    if (response.truncated()) {
+                        tokenEstimator.recordTruncated(agentType);
+                    }
+                }
+            }
+            return response;
+        } catch (CancellationException e) {
+            throw e;
+        } catch (Exception e) {
+            log.error("[AgentGenerationService.generateContent] - Erro ao chamar os provedores de IA: {}", e.getMessage(), e);
             throw new RuntimeException("Falha ao gerar conteúdo: " + e.getMessage(), e);
         }
     }
 
     /**
-     * Método alternativo para gerar conteúdo com uma abordagem detalhada por tipo de conteúdo
+     * Gera cada tipo de conteúdo com um prompt próprio. Os prompts são independentes, então rodam
+     * em paralelo (limitados por usuário e globalmente) e a latência fica próxima à da chamada mais lenta.
+     *
+     * @param user Usuário autenticado; o limite de chamadas simultâneas é aplicado por ele
      */
-    public ContentGenerationResponse generateDetailedContent(ContentGenerationRequest request) {
+    public ContentGenerationResponse generateDetailedContent(User user, ContentGenerationRequest request) {
+        Objects.requireNonNull(user, "A geração detalhada exige o usuário autenticado");
         log.info("[AgentGenerationService.generateDetailedContent] - Iniciando geração detalhada para processo: {}",
                 request.getProcessId());
 
@@ -136,22 +419,23 @@ public class AgentGenerationService implements AgentGenerationPortIn {
             // Carregar o template base para o tipo de agente
             String basePrompt = promptTemplateService.loadPromptTemplate(request);
 
-            // Gerar conteúdo para cada tipo solicitado
-            Map<ContentType, String> generatedContent = new HashMap<>();
-
+            // Um prompt personalizado por tipo de conteúdo solicitado
+            Map<ContentType, Supplier<String>> tasks = new EnumMap<>(ContentType.class);
             for (ContentType contentType : request.getContentTypes()) {
-                // Personalizar o prompt base para o tipo de conteúdo específico
                 String customizedPrompt = customizePromptForContentType(basePrompt, contentType, request);
-
-                // Chamar o serviço de IA para gerar o conteúdo
-                String content = openAIService.generateOracao(customizedPrompt);
-
-                // Armazenar o resultado
-                generatedContent.put(contentType, content);
-
-                log.info("[AgentGenerationService.generateDetailedContent] - Conteúdo do tipo {} gerado com sucesso", contentType);
+                // Só roteiros dependem da duração; título, tags etc. usam apenas o teto do modelo
+                DurationType durationType = contentType == ContentType.SCRIPT || contentType == ContentType.AUDIO_SCRIPT
+                        ? request.getDurationType() : null;
+                tasks.put(contentType, () -> {
+                    String content = generateContent(customizedPrompt, request.getAgentType(), durationType, null);
+                    log.info("[AgentGenerationService.generateDetailedContent] - Conteúdo do tipo {} gerado com sucesso", contentType);
+                    return content;
+                });
             }
 
+            Map<ContentType, String> generatedContent = new EnumMap<>(ContentType.class);
+            generatedContent.putAll(parallelPromptExecutor.executeAll(user.getUserId().toString(), tasks));
+
             // Gerar áudio se solicitado
             String audioUrl = null;
             if (Boolean.TRUE.equals(request.getGenerateAudio()) && generatedContent.containsKey(ContentType.AUDIO_SCRIPT)) {
@@ -261,33 +545,23 @@ public class AgentGenerationService implements AgentGenerationPortIn {
                 request.getProcessId());
 
         try {
-            // Criar a resposta de geração
+            DurationType durationType = request.getDurationType() != null ? request.getDurationType() : DurationType.MINUTES_10;
+
+            // Enfileirar a geração no motor de jobs; a thread do Tomcat retorna imediatamente
+            GenerationJob job = generationJobService.submit(request.getProcessId(), user.getUserId(),
+                    durationType.getEstimatedCharacterCount(),
+                    generationJob -> genericGenerationPortIn.generateContent(user, request, generationJob::onToken));
+
             GenerationResponseDto responseDto = new GenerationResponseDto();
             responseDto.setProcessId(request.getProcessId());
+            responseDto.setStatus(job.getStatus().name());
             responseDto.setMessage("Processo de geração iniciado com sucesso");
-
-            // Iniciar o processo de geração assíncrono
-            // Aqui você pode implementar a lógica para chamar o serviço de geração
-            // de conteúdo de forma assíncrona, usando uma thread separada ou um sistema
-            // de mensageria como RabbitMQ ou Kafka
-
-            // Para uma implementação inicial simples, vamos apenas retornar a resposta
             return responseDto;
-
-            // Em uma implementação mais completa, você pode fazer algo como:
-            /*
-            CompletableFuture.runAsync(() -> {
-                try {
-                    genericGenerationService.generateContent(user, request);
-                } catch (Exception e) {
-                    log.error("Erro na geração de conteúdo: {}", e.getMessage(), e);
-                }
-            });
-            */
         } catch (Exception e) {
             log.error("[AgentGenerationService.initializeAgentGeneric] - Erro: {}", e.getMessage(), e);
             GenerationResponseDto errorResponse = new GenerationResponseDto();
             errorResponse.setProcessId(request.getProcessId());
+            errorResponse.setStatus("ERROR");
             errorResponse.setMessage("Erro ao iniciar processo: " + e.getMessage());
             return errorResponse;
         }
@@ -0,0 +1,107 @@
+package br.com.devluisoliveira.agenteroteiro.core.application.service;
+
+import br.com.devluisoliveira.agenteroteiro.core.domain.entity.ContentGeneration;
+import br.com.devluisoliveira.agenteroteiro.core.port.out.ContentGenerationPortOut;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.util.Base64;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Migra os áudios legados (data URL Base64 na coluna audio) para o MinIO, em lotes.
+ * Habilitado por audio.storage.migration.enabled; roda uma vez após a inicialização.
+ */
+@Service
+@Slf4j
+public class AudioStorageMigrationService {
+
+    private static final String DATA_AUDIO_PREFIX = "data:audio";
+
+    private final ContentGenerationPortOut contentGenerationPortOut;
+    private final AudioStorageService audioStorageService;
+    private final boolean enabled;
+    private final int batchSize;
+
+    public AudioStorageMigrationService(ContentGenerationPortOut contentGenerationPortOut,
+                                        AudioStorageService audioStorageService,
+                                        @Value("${audio.storage.migration.enabled:false}") boolean enabled,
+                                        @Value("${audio.storage.migration.batch-size:50}") int batchSize) {
+        this.contentGenerationPortOut = contentGenerationPortOut;
+        this.audioStorageService = audioStorageService;
+        this.enabled = enabled;
+        this.batchSize = batchSize;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void migrateOnStartup() {
+        if (enabled) {
+            migrateInlineAudio();
+        }
+    }
+
+    /**
+     * Percorre os conteúdos com áudio legado até não restar nenhum migrável
+     *
+     * @return Quantidade de conteúdos migrados
+     */
+    public int migrateInlineAudio() {
+        log.info("[AudioStorageMigrationService.migrateInlineAudio] - Iniciando migração de áudios para o MinIO");
+
+        Set<UUID> failed = new HashSet<>();
+        int migrated = 0;
+
+        while (true) {
+            List<UUID> ids = contentGenerationPortOut.findIdsWithInlineAudio(batchSize + failed.size());
+            List<UUID> pending = ids.stream().filter(id -> !failed.contains(id)).toList();
+            if (pending.isEmpty()) {
+                break;
+            }
+
+            for (UUID id : pending) {
+                if (migrate(id)) {
+                    migrated++;
+                } else {
+                    failed.add(id);
+                }
+            }
+        }
+
+        log.info("[AudioStorageMigrationService.migrateInlineAudio] - Migração concluída: {} migrados, {} com falha",
+                migrated, failed.size());
+        return migrated;
+    }
+
+    private boolean migrate(UUID contentId) {
+        try {
+            ContentGeneration content = contentGenerationPortOut.findById(contentId).orElse(null);
+            if (content == null || content.getAudio() == null) {
+                return true;
+            }
+
+            String audio = content.getAudio();
+            if (!audio.startsWith(DATA_AUDIO_PREFIX)) {
+                log.warn("[AudioStorageMigrationService.migrate] - Áudio do conteúdo {} não está em Base64, ignorado", contentId);
+                return false;
+            }
+
+            byte[] audioBytes = Base64.getDecoder().decode(audio.substring(audio.indexOf(',') + 1));
+            String objectKey = audioStorageService.store(contentId.toString(), audioBytes);
+
+            content.setAudioObjectKey(objectKey);
+            content.setAudio(null);
+            contentGenerationPortOut.saveContentGeneration(content);
+            return true;
+        } catch (Exception e) {
+            log.error("[AudioStorageMigrationService.migrate] - Erro ao migrar áudio do conteúdo {}: {}",
+                    contentId, e.getMessage(), e);
+            return false;
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package br.com.devluisoliveira.agenteroteiro.core.application.service;
+
+import br.com.devluisoliveira.agenteroteiro.core.domain.entity.ContentGeneration;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Armazena os áudios gerados no MinIO. A linha de TB_CONTENT_GENERATION guarda apenas a chave
+ * do objeto e os clientes recebem uma URL pré-assinada, em vez do MP3 em Base64 no JSON.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class AudioStorageService {
+
+    public static final String AUDIO_CONTENT_TYPE = "audio/mpeg";
+
+    private static final String OBJECT_KEY_PREFIX = "audio/";
+
+    private final MinioService minioService;
+
+    /**
+     * Chave do objeto de áudio de um processo de geração
+     */
+    public String objectKeyFor(String processId) {
+        return OBJECT_KEY_PREFIX + processId + ".mp3";
+    }
+
+    /**
+     * Envia o áudio já em memória e retorna a chave do objeto
+     */
+    public String store(String processId, byte[] audio) throws IOException {
+        return store(processId, new ByteArrayInputStream(audio), audio.length);
+    }
+
+    /**
+     * Envia o áudio a partir de um stream de tamanho conhecido e retorna a chave do objeto
+     */
+    public String store(String processId, InputStream audio, long size) throws IOException {
+        String objectKey = objectKeyFor(processId);
+        minioService.uploadObject(objectKey, audio, size, -1, AUDIO_CONTENT_TYPE);
+        log.info("[AudioStorageService.store] - Áudio armazenado em {} ({} bytes)", objectKey, size);
+        return objectKey;
+    }
+
+    /**
+     * Remove o áudio de um conteúdo excluído. Só as chaves do próprio processo (audio/) são removidas: os
+     * objetos do cache de TTS (tts-cache/) são compartilhados entre conteúdos e expiram pela regra de ciclo
+     * de vida do bucket ({@link TtsAudioCache})
+     *
+     * @return Se havia um objeto próprio do conteúdo a remover
+     */
+    public boolean delete(String objectKey) throws IOException {
+        if (objectKey == null || !objectKey.startsWith(OBJECT_KEY_PREFIX)) {
+            return false;
+        }
+        minioService.removeObject(objectKey);
+        log.info("[AudioStorageService.delete] - Áudio removido: {}", objectKey);
+        return true;
+    }
+
+    /**
+     * Gera a URL pré-assinada para leitura do objeto
+     */
+    public String presignedUrl(String objectKey) {
+        return minioService.getFileUrl(objectKey);
+    }
+
+    /**
+     * Preenche a URL pré-assinada do áudio no conteúdo, quando ele está no MinIO
+     */
+    public ContentGeneration resolveAudioUrl(ContentGeneration content) {
+        if (content.getAudioObjectKey() != null && content.getAudioUrl() == null) {
+            content.setAudioUrl(presignedUrl(content.getAudioObjectKey()));
+        }
+        return content;
+    }
+
+    /**
+     * Referência de áudio a ser devolvida ao cliente: URL pré-assinada ou, para linhas ainda
+     * não migradas, o valor legado gravado na coluna audio
+     */
+    public String audioReference(ContentGeneration content) {
+        if (content.getAudioObjectKey() != null) {
+            return resolveAudioUrl(content).getAudioUrl();
+        }
+        return content.getAudio();
+    }
+
+    /**
+     * Indica se o conteúdo possui áudio, em qualquer um dos formatos
+     */
+    public boolean hasAudio(ContentGeneration content) {
+        return content.getAudioObjectKey() != null
+                || (content.getAudio() != null && !content.getAudio().isEmpty());
+    }
+}
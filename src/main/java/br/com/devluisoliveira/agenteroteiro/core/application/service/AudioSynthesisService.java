@@ -0,0 +1,139 @@
+package br.com.devluisoliveira.agenteroteiro.core.application.service;
+
+import br.com.devluisoliveira.agenteroteiro.shared.utils.TeeInputStream;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.List;
+
+/**
+ * Pipeline de TTS em streaming: o MP3 produzido pela ElevenLabs é enviado ao MinIO em
+ * upload multipart à medida que chega e, opcionalmente, copiado para a resposta HTTP
+ * para reprodução ao vivo. A memória usada por requisição fica limitada ao tamanho da
+ * parte do upload, independente da duração do roteiro.
+ *
+ * Roteiros maiores que o limite de um trecho são divididos e sintetizados em paralelo
+ * (ChunkedSpeechSynthesizer); os segmentos MP3 são concatenados na ordem original.
+ */
+@Service
+@Slf4j
+public class AudioSynthesisService {
+
+    private final ElevenLabsService elevenLabsService;
+    private final MinioService minioService;
+    private final AudioStorageService audioStorageService;
+    private final TtsTextChunker ttsTextChunker;
+    private final ChunkedSpeechSynthesizer chunkedSpeechSynthesizer;
+    private final TtsAudioCache ttsAudioCache;
+    private final long partSize;
+
+    public AudioSynthesisService(ElevenLabsService elevenLabsService,
+                                 MinioService minioService,
+                                 AudioStorageService audioStorageService,
+                                 TtsTextChunker ttsTextChunker,
+                                 ChunkedSpeechSynthesizer chunkedSpeechSynthesizer,
+                                 TtsAudioCache ttsAudioCache,
+                                 @Value("${audio.storage.part-size-bytes:10485760}") long partSize) {
+        this.elevenLabsService = elevenLabsService;
+        this.minioService = minioService;
+        this.audioStorageService = audioStorageService;
+        this.ttsTextChunker = ttsTextChunker;
+        this.chunkedSpeechSynthesizer = chunkedSpeechSynthesizer;
+        this.ttsAudioCache = ttsAudioCache;
+        this.partSize = partSize;
+    }
+
+    /**
+     * Se a síntese pode ser tentada agora: com o circuito da ElevenLabs ou do MinIO aberto, quem chama deve
+     * seguir só com o texto em vez de esperar a falha
+     */
+    public boolean isAvailable() {
+        return elevenLabsService.isAvailable() && minioService.isAvailable();
+    }
+
+    /**
+     * Sintetiza o texto e grava o áudio no MinIO sem mantê-lo inteiro em memória
+     *
+     * @param processId ID do processo (define a chave do objeto)
+     * @param text Texto para conversão em áudio
+     * @return Chave do objeto de áudio no MinIO
+     */
+    public String synthesizeToStorage(String processId, String text) {
+        return synthesizeToStorage(processId, text, null);
+    }
+
+    /**
+     * Sintetiza o texto gravando no MinIO e, ao mesmo tempo, escrevendo os bytes no stream
+     * informado (ex.: resposta HTTP). Se o cliente desconectar, o upload continua até o fim.
+     *
+     * Com o cache de TTS ativo o objeto é endereçado pelo conteúdo (tts-cache/{hash}.mp3):
+     * se o mesmo texto já foi sintetizado com a mesma voz, a síntese é pulada por completo.
+     *
+     * @param processId ID do processo (define a chave do objeto quando o cache está desligado)
+     * @param text Texto para conversão em áudio
+     * @param liveOut Stream para reprodução ao vivo; quando nulo, apenas grava no MinIO
+     * @return Chave do objeto de áudio no MinIO
+     */
+    public String synthesizeToStorage(String processId, String text, OutputStream liveOut) {
+        String objectKey;
+        if (ttsAudioCache.isEnabled()) {
+            objectKey = ttsAudioCache.keyFor(text);
+            if (ttsAudioCache.containsFull(objectKey)) {
+                log.info("[AudioSynthesisService.synthesizeToStorage] - Áudio encontrado no cache: {}", objectKey);
+                if (liveOut != null) {
+                    copyToLive(objectKey, liveOut);
+                }
+                return objectKey;
+            }
+        } else {
+            objectKey = audioStorageService.objectKeyFor(processId);
+        }
+
+        log.info("[AudioSynthesisService.synthesizeToStorage] - Sintetizando áudio para {} (ao vivo: {})",
+                objectKey, liveOut != null);
+
+        // Roteiros longos são divididos em trechos sintetizados em paralelo e remontados em ordem
+        List<String> chunks = ttsTextChunker.split(text);
+        long bytes;
+        if (chunks.size() > 1) {
+            try (InputStream audio = chunkedSpeechSynthesizer.synthesize(chunks)) {
+                bytes = upload(objectKey, audio, liveOut);
+            } catch (IOException e) {
+                throw new RuntimeException("Falha ao gravar áudio: " + e.getMessage(), e);
+            }
+        } else {
+            bytes = elevenLabsService.streamSpeech(text, audio -> upload(objectKey, audio, liveOut));
+        }
+
+        log.info("[AudioSynthesisService.synthesizeToStorage] - Áudio armazenado em {} ({} bytes)", objectKey, bytes);
+        return objectKey;
+    }
+
+    private long upload(String objectKey, InputStream audio, OutputStream liveOut) throws IOException {
+        TeeInputStream source = new TeeInputStream(audio, liveOut != null ? liveOut : OutputStream.nullOutputStream());
+        // Tamanho desconhecido (-1): o cliente do MinIO faz upload multipart em partes de partSize
+        minioService.uploadObject(objectKey, source, -1, partSize, AudioStorageService.AUDIO_CONTENT_TYPE);
+        return source.getBytesRead();
+    }
+
+    private void copyToLive(String objectKey, OutputStream liveOut) {
+        try {
+            copyStoredAudio(objectKey, liveOut);
+        } catch (IOException e) {
+            throw new RuntimeException("Falha ao enviar áudio: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Copia para o stream informado um áudio já armazenado no MinIO
+     */
+    public void copyStoredAudio(String objectKey, OutputStream out) throws IOException {
+        try (InputStream audio = minioService.getObject(objectKey)) {
+            audio.transferTo(out);
+        }
+    }
+}
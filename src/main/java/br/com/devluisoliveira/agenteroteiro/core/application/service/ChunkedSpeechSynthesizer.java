@@ -0,0 +1,218 @@
+package br.com.devluisoliveira.agenteroteiro.core.application.service;
+
+import br.com.devluisoliveira.agenteroteiro.core.application.service.resilience.DependencyUnavailableException;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayInputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.SequenceInputStream;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Enumeration;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+/**
+ * Sintetiza os trechos de um roteiro em paralelo e devolve um único stream MP3 com os
+ * segmentos na ordem original.
+ *
+ * Cada requisição mantém no máximo parallel-chunks trechos em andamento ou prontos à frente
+ * do que já foi consumido, o que limita a memória; um semáforo global limita as chamadas
+ * simultâneas ao provedor no nó. Apenas o trecho que falhou é repetido.
+ */
+@Slf4j
+@Component
+public class ChunkedSpeechSynthesizer {
+
+    private final ElevenLabsService elevenLabsService;
+    private final TtsAudioCache ttsAudioCache;
+    private final Semaphore providerPermits;
+    private final int parallelChunks;
+    private final int maxAttempts;
+    private final long retryBackoffMs;
+    private final ExecutorService executor;
+
+    public ChunkedSpeechSynthesizer(ElevenLabsService elevenLabsService,
+                                    TtsAudioCache ttsAudioCache,
+                                    @Value("${audio.tts.max-concurrent-requests:8}") int maxConcurrentRequests,
+                                    @Value("${audio.tts.parallel-chunks:4}") int parallelChunks,
+                                    @Value("${audio.tts.max-attempts:3}") int maxAttempts,
+                                    @Value("${audio.tts.retry-backoff-ms:1000}") long retryBackoffMs,
+                                    @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreadsEnabled) {
+        this.elevenLabsService = elevenLabsService;
+        this.ttsAudioCache = ttsAudioCache;
+        this.providerPermits = new Semaphore(maxConcurrentRequests, true);
+        this.parallelChunks = Math.max(1, parallelChunks);
+        this.maxAttempts = Math.max(1, maxAttempts);
+        this.retryBackoffMs = retryBackoffMs;
+
+        // As chamadas ativas já são limitadas pelo semáforo, então o pool pode crescer sob demanda
+        if (virtualThreadsEnabled) {
+            this.executor = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("tts-chunk-", 1).factory());
+        } else {
+            AtomicInteger threadCounter = new AtomicInteger();
+            this.executor = Executors.newCachedThreadPool(runnable -> {
+                Thread thread = new Thread(runnable, "tts-chunk-" + threadCounter.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+    }
+
+    /**
+     * Inicia a síntese dos trechos e retorna o MP3 concatenado em ordem. A leitura do stream
+     * bloqueia apenas enquanto o próximo trecho ainda não ficou pronto.
+     */
+    public InputStream synthesize(List<String> chunks) {
+        return synthesize(chunks, ttsAudioCache != null && ttsAudioCache.isEnabled()
+                ? this::synthesizeWithCache
+                : elevenLabsService::generateSpeech);
+    }
+
+    /**
+     * Reaproveita o áudio de trechos já sintetizados; só os trechos novos chamam o provedor
+     */
+    private byte[] synthesizeWithCache(String chunk) {
+        String key = ttsAudioCache.keyFor(chunk);
+        return ttsAudioCache.findChunk(key).orElseGet(() -> {
+            byte[] audio = elevenLabsService.generateSpeech(chunk);
+            if (audio != null && audio.length > 0) {
+                ttsAudioCache.putChunk(key, audio);
+            }
+            return audio;
+        });
+    }
+
+    InputStream synthesize(List<String> chunks, Function<String, byte[]> provider) {
+        log.info("[ChunkedSpeechSynthesizer.synthesize] - Sintetizando {} trechos (até {} em paralelo)",
+                chunks.size(), parallelChunks);
+        OrderedSegments segments = new OrderedSegments(chunks, provider);
+
+        // SequenceInputStream.close() consumiria todos os segmentos restantes; aqui o close cancela os pendentes
+        return new FilterInputStream(new SequenceInputStream(segments)) {
+            @Override
+            public void close() {
+                segments.cancelRemaining();
+            }
+        };
+    }
+
+    private byte[] synthesizeChunk(int index, String chunk, Function<String, byte[]> provider) {
+        RuntimeException lastError = null;
+
+        for (int attempt = 1; attempt <= maxAttempts; attempt++) {
+            try {
+                providerPermits.acquire();
+                try {
+                    byte[] audio = provider.apply(chunk);
+                    if (audio == null || audio.length == 0) {
+                        throw new IllegalStateException("Áudio vazio retornado pelo provedor");
+                    }
+                    return audio;
+                } finally {
+                    providerPermits.release();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Síntese do trecho " + index + " interrompida", e);
+            } catch (DependencyUnavailableException e) {
+                // Circuito aberto ou bulkhead cheio: repetir só atrasaria a degradação para texto
+                throw e;
+            } catch (RuntimeException e) {
+                lastError = e;
+                log.warn("[ChunkedSpeechSynthesizer.synthesizeChunk] - Falha no trecho {} (tentativa {}/{}): {}",
+                        index, attempt, maxAttempts, e.getMessage());
+                if (attempt < maxAttempts) {
+                    sleep(retryBackoffMs * attempt);
+                }
+            }
+        }
+
+        throw new IllegalStateException("Falha ao sintetizar o trecho " + index + " após " + maxAttempts + " tentativas",
+                lastError);
+    }
+
+    private void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrompido aguardando nova tentativa", e);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    /**
+     * Enumera os segmentos em ordem, mantendo uma janela de trechos sendo sintetizados à frente
+     */
+    private final class OrderedSegments implements Enumeration<InputStream> {
+
+        private final List<String> chunks;
+        private final Function<String, byte[]> provider;
+        private final List<CompletableFuture<byte[]>> futures;
+        private int next;
+
+        private OrderedSegments(List<String> chunks, Function<String, byte[]> provider) {
+            this.chunks = chunks;
+            this.provider = provider;
+            this.futures = new ArrayList<>(chunks.size());
+            fillWindow();
+        }
+
+        @Override
+        public boolean hasMoreElements() {
+            return next < chunks.size();
+        }
+
+        @Override
+        public InputStream nextElement() {
+            if (!hasMoreElements()) {
+                throw new NoSuchElementException();
+            }
+
+            CompletableFuture<byte[]> current = futures.get(next);
+            futures.set(next, null);
+            next++;
+            fillWindow();
+
+            try {
+                return new ByteArrayInputStream(current.get());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                cancelRemaining();
+                throw new UncheckedIOException(new IOException("Interrompido aguardando trecho de áudio", e));
+            } catch (ExecutionException e) {
+                cancelRemaining();
+                throw new UncheckedIOException(new IOException(e.getCause().getMessage(), e.getCause()));
+            }
+        }
+
+        private void fillWindow() {
+            while (futures.size() < chunks.size() && futures.size() < next + parallelChunks) {
+                int index = futures.size();
+                String chunk = chunks.get(index);
+                futures.add(CompletableFuture.supplyAsync(() -> synthesizeChunk(index, chunk, provider), executor));
+            }
+        }
+
+        private void cancelRemaining() {
+            futures.stream().filter(f -> f != null).forEach(f -> f.cancel(true));
+        }
+    }
+}
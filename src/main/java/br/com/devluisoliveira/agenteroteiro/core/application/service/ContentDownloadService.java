@@ -1,68 +1,74 @@
 package br.com.devluisoliveira.agenteroteiro.core.application.service;
 
 import br.com.devluisoliveira.agenteroteiro.core.domain.entity.ContentGeneration;
-import br.com.devluisoliveira.agenteroteiro.core.port.out.ContentGenerationPortOut;
+import br.com.devluisoliveira.agenteroteiro.shared.utils.Base64Streams;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.core.io.ByteArrayResource;
-import org.springframework.core.io.Resource;
 import org.springframework.stereotype.Service;
 
-import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.nio.charset.StandardCharsets;
 import java.time.format.DateTimeFormatter;
-import java.util.UUID;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
 import java.util.zip.ZipEntry;
 import java.util.zip.ZipOutputStream;
 
 /**
- * Serviço para geração e download de conteúdos em formato de pacote
+ * Serviço para geração e download de conteúdos em formato de pacote.
+ *
+ * O ZIP é escrito direto no stream de saída (ex.: resposta HTTP), sem montar o pacote em memória.
+ * O MP3 já é comprimido, então não passa pelo Deflater: áudio legado em Base64 vai como STORED
+ * e áudio lido do MinIO vai como DEFLATED em nível NO_COMPRESSION, que não exige CRC antecipado.
  */
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class ContentDownloadService {
 
-    private final ContentGenerationPortOut contentGenerationPortOut;
     private final SrtConverterService srtConverterService;
+    private final MinioService minioService;
 
     private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd_HH-mm");
+    private static final String DATA_AUDIO_PREFIX = "data:audio";
+    private static final int BUFFER_SIZE = 8192;
 
     /**
-     * Gera um pacote ZIP contendo todos os arquivos do conteúdo:
+     * Escreve o pacote ZIP com todos os arquivos do conteúdo no stream informado:
      * - Pasta de textos: descrição, roteiro, tags, SRT
      * - Pasta de áudio: arquivo de áudio (se disponível)
      *
-     * @param contentId ID do conteúdo
-     * @return Resource contendo o pacote ZIP e o nome do arquivo a ser usado
-     * @throws Exception Se ocorrer um erro na geração do pacote
+     * O stream de saída não é fechado; isso fica a cargo de quem o abriu.
+     *
+     * @param content Conteúdo a ser empacotado
+     * @param out Stream de destino do ZIP
+     * @throws IOException Se ocorrer um erro na escrita do pacote
      */
-    public Resource generateContentPackage(UUID contentId) throws Exception {
-        log.info("[ContentDownloadService.generateContentPackage] - Gerando pacote para conteúdo ID: {}", contentId);
-
-        ContentGeneration content = contentGenerationPortOut.findById(contentId)
-                .orElseThrow(() -> new RuntimeException("Conteúdo não encontrado"));
+    public void writeContentPackage(ContentGeneration content, OutputStream out) throws IOException {
+        log.info("[ContentDownloadService.writeContentPackage] - Gerando pacote para conteúdo ID: {}", content.getContentId());
 
-        try (ByteArrayOutputStream baos = new ByteArrayOutputStream();
-             ZipOutputStream zipOut = new ZipOutputStream(baos)) {
+        ZipOutputStream zipOut = new ZipOutputStream(out);
 
-            // Criar pasta de textos
-            createTextFiles(zipOut, content);
+        // Criar pasta de textos
+        createTextFiles(zipOut, content);
 
-            // Criar pasta de áudio (se houver)
-            if (content.getAudio() != null && !content.getAudio().isEmpty()) {
-                createAudioFiles(zipOut, content);
+        // Criar pasta de áudio (se houver)
+        if (content.getAudioObjectKey() != null) {
+            try (InputStream audioStream = minioService.getObject(content.getAudioObjectKey())) {
+                addUncompressedStream(zipOut, "audio/audio.mp3", audioStream);
             }
+        } else if (content.getAudio() != null && !content.getAudio().isEmpty()) {
+            createAudioFiles(zipOut, content);
+        }
 
-            zipOut.finish();
-            zipOut.close();
-
-            log.info("[ContentDownloadService.generateContentPackage] - Pacote gerado com sucesso, tamanho: {} bytes",
-                    baos.size());
+        // finish() grava o diretório central sem fechar o stream da resposta
+        zipOut.finish();
+        zipOut.flush();
 
-            return new ByteArrayResource(baos.toByteArray());
-        }
+        log.info("[ContentDownloadService.writeContentPackage] - Pacote gerado com sucesso para conteúdo ID: {}",
+                content.getContentId());
     }
 
     /**
@@ -131,22 +137,18 @@ public class ContentDownloadService {
     }
 
     /**
-     * Cria os arquivos de áudio no pacote ZIP
+     * Cria os arquivos de áudio legados (gravados na coluna audio) no pacote ZIP
      */
     private void createAudioFiles(ZipOutputStream zipOut, ContentGeneration content) throws IOException {
         String folderPrefix = "audio/";
+        String audio = content.getAudio();
 
-        // Aqui assumimos que o áudio está em formato Base64
-        // Em um cenário real, você pode precisar ajustar este código
-        // dependendo de como o áudio é armazenado
-        if (content.getAudio() != null && content.getAudio().startsWith("data:audio")) {
-            String base64Audio = content.getAudio().split(",")[1];
-            byte[] audioBytes = java.util.Base64.getDecoder().decode(base64Audio);
-
-            addBinaryFile(zipOut, folderPrefix + "audio.mp3", audioBytes);
-        } else if (content.getAudio() != null) {
+        if (audio.startsWith(DATA_AUDIO_PREFIX)) {
+            // Áudio embutido como data URL Base64: decodificado em streaming, sem cópia do conteúdo
+            addStoredBase64File(zipOut, folderPrefix + "audio.mp3", audio, audio.indexOf(',') + 1);
+        } else {
             // Assumindo que é uma URL ou caminho para o áudio
-            addTextFile(zipOut, folderPrefix + "audio_url.txt", content.getAudio());
+            addTextFile(zipOut, folderPrefix + "audio_url.txt", audio);
         }
     }
 
@@ -161,12 +163,46 @@ public class ContentDownloadService {
     }
 
     /**
-     * Adiciona um arquivo binário ao ZIP
+     * Adiciona uma entrada STORED a partir de Base64. Entradas STORED exigem tamanho e CRC antes
+     * dos dados, então o Base64 é decodificado duas vezes: uma para calcular e outra para escrever.
      */
-    private void addBinaryFile(ZipOutputStream zipOut, String filename, byte[] content) throws IOException {
+    private void addStoredBase64File(ZipOutputStream zipOut, String filename, String source, int offset) throws IOException {
+        CRC32 crc = new CRC32();
+        byte[] buffer = new byte[BUFFER_SIZE];
+        long size = 0;
+
+        try (InputStream decoded = Base64Streams.decode(source, offset)) {
+            int read;
+            while ((read = decoded.read(buffer)) != -1) {
+                crc.update(buffer, 0, read);
+                size += read;
+            }
+        }
+
         ZipEntry zipEntry = new ZipEntry(filename);
+        zipEntry.setMethod(ZipEntry.STORED);
+        zipEntry.setSize(size);
+        zipEntry.setCompressedSize(size);
+        zipEntry.setCrc(crc.getValue());
         zipOut.putNextEntry(zipEntry);
-        zipOut.write(content);
+
+        try (InputStream decoded = Base64Streams.decode(source, offset)) {
+            decoded.transferTo(zipOut);
+        }
         zipOut.closeEntry();
     }
-}
\ No newline at end of file
+
+    /**
+     * Adiciona um stream de tamanho desconhecido sem tentar comprimi-lo
+     */
+    private void addUncompressedStream(ZipOutputStream zipOut, String filename, InputStream source) throws IOException {
+        zipOut.setLevel(Deflater.NO_COMPRESSION);
+        try {
+            zipOut.putNextEntry(new ZipEntry(filename));
+            source.transferTo(zipOut);
+            zipOut.closeEntry();
+        } finally {
+            zipOut.setLevel(Deflater.DEFAULT_COMPRESSION);
+        }
+    }
+}
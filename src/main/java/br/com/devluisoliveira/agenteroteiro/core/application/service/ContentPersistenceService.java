@@ -9,16 +9,22 @@ import br.com.devluisoliveira.agenteroteiro.core.port.out.response.dto.ContentGe
 import br.com.devluisoliveira.agenteroteiro.core.port.out.response.dto.ContentSummaryDto;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 
+import java.io.IOException;
 import java.time.LocalDateTime;
 import java.time.ZoneId;
 import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
 import java.util.stream.Collectors;
 
@@ -32,6 +38,10 @@ import java.util.stream.Collectors;
 public class ContentPersistenceService {
 
     private final ContentGenerationPortOut contentGenerationPortOut;
+    private final AudioStorageService audioStorageService;
+
+    @Value("${content.cleanup.batch-size:100}")
+    private int cleanupBatchSize;
 
     /**
      * Salva o conteúdo gerado associado a um usuário
@@ -79,7 +89,11 @@ public class ContentPersistenceService {
         entity.setTextShort(response.getTextShort());
         entity.setDescription(response.getDescription());
         entity.setTags(response.getTags());
-        entity.setAudio(response.getAudio());
+        if (response.getAudioObjectKey() != null) {
+            entity.setAudioObjectKey(response.getAudioObjectKey());
+        } else {
+            entity.setAudio(response.getAudio());
+        }
 
         // Armazenar conteúdo adicional como JSON se disponível
         if (response.getGeneratedContent() != null && !response.getGeneratedContent().isEmpty()) {
@@ -180,7 +194,7 @@ public class ContentPersistenceService {
         long estimatedSizeKb = textSize / 1024;
 
         // Se tiver áudio, adicionar estimativa
-        boolean hasAudio = content.getAudio() != null && !content.getAudio().isEmpty();
+        boolean hasAudio = audioStorageService.hasAudio(content);
         if (hasAudio) {
             estimatedSizeKb += 500; // Estimativa genérica para áudio
         }
@@ -199,7 +213,8 @@ public class ContentPersistenceService {
     }
 
     /**
-     * Busca um conteúdo específico pelo ID e verifica se pertence ao usuário
+     * Busca um conteúdo concluído pelo ID e verifica se pertence ao usuário. Gerações em andamento ou
+     * interrompidas só aparecem no status e na retomada da geração.
      */
     public Optional<ContentGeneration> getUserContentById(UUID contentId, User user) {
         log.info("[ContentPersistenceService.getUserContentById] - Buscando conteúdo ID: {} para usuário: {}",
@@ -208,8 +223,9 @@ public class ContentPersistenceService {
         Optional<ContentGeneration> contentOpt = contentGenerationPortOut.findById(contentId);
 
         // Verificar se o conteúdo pertence ao usuário
-        if (contentOpt.isPresent() && contentOpt.get().getUser().getUserId().equals(user.getUserId())) {
-            return contentOpt;
+        if (contentOpt.isPresent() && contentOpt.get().getUser().getUserId().equals(user.getUserId())
+                && contentOpt.get().isCompleted()) {
+            return contentOpt.map(audioStorageService::resolveAudioUrl);
         }
 
         return Optional.empty();
@@ -230,7 +246,8 @@ public class ContentPersistenceService {
     }
 
     /**
-     * Exclui um conteúdo se ele pertencer ao usuário
+     * Exclui um conteúdo se ele pertencer ao usuário, junto com o seu áudio no MinIO. O áudio é removido
+     * antes da linha: se o MinIO falhar, o conteúdo continua lá e a exclusão pode ser repetida
      */
     public boolean deleteUserContent(UUID contentId, User user) {
         log.info("[ContentPersistenceService.deleteUserContent] - Excluindo conteúdo ID: {} para usuário: {}",
@@ -239,6 +256,13 @@ public class ContentPersistenceService {
         Optional<ContentGeneration> contentOpt = contentGenerationPortOut.findById(contentId);
 
         if (contentOpt.isPresent() && contentOpt.get().getUser().getUserId().equals(user.getUserId())) {
+            try {
+                audioStorageService.delete(contentOpt.get().getAudioObjectKey());
+            } catch (IOException e) {
+                log.error("[ContentPersistenceService.deleteUserContent] - Erro ao excluir o áudio do conteúdo {}: {}",
+                        contentId, e.getMessage(), e);
+                throw new RuntimeException("Falha ao excluir o áudio do conteúdo: " + e.getMessage(), e);
+            }
             contentGenerationPortOut.delete(contentId);
             return true;
         }
@@ -249,16 +273,47 @@ public class ContentPersistenceService {
     /**
      * Exclui todos os conteúdos mais antigos que 7 dias
      * Este método será chamado pelo scheduler
+     *
+     * Percorre os conteúdos expirados em lotes, removendo primeiro o áudio de cada um no MinIO. Conteúdos cujo
+     * áudio não pôde ser removido ficam para a próxima execução, para não deixar objetos sem dono no bucket.
+     *
+     * @return Quantidade de conteúdos excluídos
      */
-    public void deleteExpiredContent() {
+    public int deleteExpiredContent() {
         log.info("[ContentPersistenceService.deleteExpiredContent] - Excluindo conteúdos expirados");
 
         // Calcular data limite (7 dias atrás)
         LocalDateTime expirationDate = LocalDateTime.now(ZoneId.of("UTC")).minusDays(7);
 
-        // Executar exclusão
-        int deletedCount = contentGenerationPortOut.deleteByCreatedAtBefore(expirationDate);
+        Set<UUID> failed = new HashSet<>();
+        int deletedCount = 0;
+
+        while (true) {
+            Map<UUID, String> expired = contentGenerationPortOut.findAudioObjectKeysCreatedBefore(
+                    expirationDate, cleanupBatchSize + failed.size());
+            List<UUID> deletable = new ArrayList<>();
+            for (Map.Entry<UUID, String> entry : expired.entrySet()) {
+                if (failed.contains(entry.getKey())) {
+                    continue;
+                }
+                try {
+                    audioStorageService.delete(entry.getValue());
+                    deletable.add(entry.getKey());
+                } catch (IOException e) {
+                    log.warn("[ContentPersistenceService.deleteExpiredContent] - Áudio do conteúdo {} não removido: {}",
+                            entry.getKey(), e.getMessage());
+                    failed.add(entry.getKey());
+                }
+            }
+
+            if (deletable.isEmpty()) {
+                break;
+            }
+            deletedCount += contentGenerationPortOut.deleteAll(deletable);
+        }
 
-        log.info("[ContentPersistenceService.deleteExpiredContent] - {} conteúdos expirados foram excluídos", deletedCount);
+        log.info("[ContentPersistenceService.deleteExpiredContent] - {} conteúdos expirados foram excluídos ({} adiados por falha no MinIO)",
+                deletedCount, failed.size());
+        return deletedCount;
     }
-}
\ No newline at end of file
+}
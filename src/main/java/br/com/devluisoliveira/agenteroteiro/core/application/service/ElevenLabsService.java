@@ -1,15 +1,25 @@
 package br.com.devluisoliveira.agenteroteiro.core.application.service;
 
+import br.com.devluisoliveira.agenteroteiro.core.application.service.resilience.DependencyGuard;
+import br.com.devluisoliveira.agenteroteiro.core.application.service.resilience.DependencyGuardFactory;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
 import org.springframework.http.MediaType;
 import org.springframework.stereotype.Service;
+import org.springframework.web.client.RequestCallback;
+import org.springframework.web.client.ResponseExtractor;
 import org.springframework.web.client.RestTemplate;
 
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * Serviço para integração com a API ElevenLabs para geração de áudio (versão
@@ -30,11 +40,33 @@ public class ElevenLabsService {
     @Value("${elevenlabs.api.url:https://api.elevenlabs.io/v1}")
     private String apiUrl;
 
-    public ElevenLabsService(RestTemplate restTemplate) {
+    @Value("${elevenlabs.voice-settings.stability:0.5}")
+    private double stability;
+
+    @Value("${elevenlabs.voice-settings.similarity-boost:0.75}")
+    private double similarityBoost;
+
+    private final DependencyGuard guard;
+
+    public ElevenLabsService(RestTemplate restTemplate,
+                             DependencyGuardFactory dependencyGuardFactory,
+                             @Value("${resilience.elevenlabs.max-concurrent-calls:8}") int maxConcurrentCalls,
+                             @Value("${resilience.elevenlabs.max-wait-ms:200}") long maxWaitMs,
+                             @Value("${resilience.elevenlabs.slow-call-ms:60000}") long slowCallMs) {
         this.restTemplate = restTemplate;
+        // Falhas de quem consome o stream (ex.: upload no MinIO) não dizem nada sobre a saúde da ElevenLabs
+        this.guard = dependencyGuardFactory.create("elevenlabs", maxConcurrentCalls, maxWaitMs, slowCallMs,
+                e -> e instanceof AudioHandlerException);
         log.info("ElevenLabsService inicializado");
     }
 
+    /**
+     * Se a ElevenLabs aceitaria uma chamada agora; com o circuito aberto o áudio deve ser pulado
+     */
+    public boolean isAvailable() {
+        return guard.isAvailable();
+    }
+
     /**
      * Gera áudio a partir de texto usando a API ElevenLabs
      * 
@@ -42,29 +74,18 @@ public class ElevenLabsService {
      * @return Array de bytes contendo o áudio gerado
      */
     public byte[] generateSpeech(String text) {
+        return guard.execute(() -> postSpeech(text));
+    }
+
+    private byte[] postSpeech(String text) {
         try {
             log.info("Gerando áudio para texto (tamanho: {} caracteres)", text.length());
 
             // URL para a API ElevenLabs
             String url = apiUrl + "/text-to-speech/" + voiceId;
 
-            // Configurar os headers da requisição
-            HttpHeaders headers = new HttpHeaders();
-            headers.setContentType(MediaType.APPLICATION_JSON);
-            headers.set("xi-api-key", apiKey);
-
-            // Corpo da requisição
-            Map<String, Object> requestBody = new HashMap<>();
-            requestBody.put("text", text);
-
-            // Configurações de estabilidade e similaridade de voz
-            Map<String, Object> voiceSettings = new HashMap<>();
-            voiceSettings.put("stability", 0.5);
-            voiceSettings.put("similarity_boost", 0.75);
-            requestBody.put("voice_settings", voiceSettings);
-
             // Criar a entidade HTTP
-            HttpEntity<Map<String, Object>> requestEntity = new HttpEntity<>(requestBody, headers);
+            HttpEntity<Map<String, Object>> requestEntity = new HttpEntity<>(buildRequestBody(text), buildHeaders());
 
             // Fazer a requisição POST e retornar o áudio como bytes
             byte[] audioData = restTemplate.postForObject(url, requestEntity, byte[].class);
@@ -76,4 +97,141 @@ public class ElevenLabsService {
             throw new RuntimeException("Falha ao gerar áudio: " + e.getMessage(), e);
         }
     }
+
+    /**
+     * Gera áudio pelo endpoint /stream da ElevenLabs. O MP3 chega em partes (chunked) e é
+     * entregue ao handler como InputStream enquanto ainda está sendo produzido, sem ser
+     * acumulado em memória.
+     *
+     * @param text Texto para conversão em áudio
+     * @param handler Consumidor do stream de áudio; o stream é fechado ao final da chamada
+     * @return Valor retornado pelo handler
+     */
+    public <T> T streamSpeech(String text, AudioStreamHandler<T> handler) {
+        // A chamada lenta e as falhas contam só a ElevenLabs; o upload e a cópia para o cliente feitos pelo handler
+        // ficam de fora
+        AtomicLong providerNanos = new AtomicLong();
+        return guard.execute(() -> postSpeechStream(text, handler, providerNanos), providerNanos::get);
+    }
+
+    private <T> T postSpeechStream(String text, AudioStreamHandler<T> handler, AtomicLong providerNanos) {
+        try {
+            log.info("Gerando áudio em streaming para texto (tamanho: {} caracteres)", text.length());
+
+            String url = apiUrl + "/text-to-speech/" + voiceId + "/stream";
+            HttpEntity<Map<String, Object>> requestEntity = new HttpEntity<>(buildRequestBody(text), buildHeaders());
+
+            RequestCallback requestCallback = restTemplate.httpEntityCallback(requestEntity);
+            long start = System.nanoTime();
+            ResponseExtractor<T> responseExtractor = response -> {
+                providerNanos.addAndGet(System.nanoTime() - start);
+                ProviderTimedInputStream body = new ProviderTimedInputStream(response.getBody(), providerNanos);
+                try {
+                    return handler.handle(body);
+                } catch (IOException | RuntimeException e) {
+                    if (body.readFailed) {
+                        throw e;
+                    }
+                    throw new AudioHandlerException("Falha ao processar o áudio recebido: " + e.getMessage(), e);
+                }
+            };
+
+            return restTemplate.execute(url, HttpMethod.POST, requestCallback, responseExtractor);
+        } catch (AudioHandlerException e) {
+            log.error("Erro ao processar o áudio em streaming da ElevenLabs: {}", e.getMessage(), e);
+            throw e;
+        } catch (Exception e) {
+            log.error("Erro ao gerar áudio em streaming com ElevenLabs: {}", e.getMessage(), e);
+            throw new RuntimeException("Falha ao gerar áudio: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Identifica a voz e as configurações usadas na síntese; entra na chave do cache de áudio
+     */
+    public String getVoiceSignature() {
+        return voiceId + "|stability=" + stability + "|similarity_boost=" + similarityBoost;
+    }
+
+    private HttpHeaders buildHeaders() {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        headers.setAccept(List.of(MediaType.valueOf("audio/mpeg")));
+        headers.set("xi-api-key", apiKey);
+        return headers;
+    }
+
+    private Map<String, Object> buildRequestBody(String text) {
+        Map<String, Object> requestBody = new HashMap<>();
+        requestBody.put("text", text);
+
+        // Configurações de estabilidade e similaridade de voz
+        Map<String, Object> voiceSettings = new HashMap<>();
+        voiceSettings.put("stability", stability);
+        voiceSettings.put("similarity_boost", similarityBoost);
+        requestBody.put("voice_settings", voiceSettings);
+
+        return requestBody;
+    }
+
+    /**
+     * O handler do stream falhou (ex.: upload no MinIO) sem erro na leitura da resposta da ElevenLabs
+     */
+    public static final class AudioHandlerException extends RuntimeException {
+
+        private static final long serialVersionUID = 1L;
+
+        private AudioHandlerException(String message, Throwable cause) {
+            super(message, cause);
+        }
+    }
+
+    /**
+     * Soma ao contador o tempo bloqueado lendo o corpo da resposta, isto é, esperando a ElevenLabs produzir o áudio,
+     * e registra se a leitura falhou (falha da ElevenLabs, e não de quem consome o stream)
+     */
+    private static final class ProviderTimedInputStream extends FilterInputStream {
+
+        private final AtomicLong providerNanos;
+        private volatile boolean readFailed;
+
+        private ProviderTimedInputStream(InputStream in, AtomicLong providerNanos) {
+            super(in);
+            this.providerNanos = providerNanos;
+        }
+
+        @Override
+        public int read() throws IOException {
+            long start = System.nanoTime();
+            try {
+                return super.read();
+            } catch (IOException e) {
+                readFailed = true;
+                throw e;
+            } finally {
+                providerNanos.addAndGet(System.nanoTime() - start);
+            }
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            long start = System.nanoTime();
+            try {
+                return super.read(b, off, len);
+            } catch (IOException e) {
+                readFailed = true;
+                throw e;
+            } finally {
+                providerNanos.addAndGet(System.nanoTime() - start);
+            }
+        }
+    }
+
+    /**
+     * Consumidor do stream de áudio retornado pela ElevenLabs
+     */
+    @FunctionalInterface
+    public interface AudioStreamHandler<T> {
+        T handle(InputStream audio) throws IOException;
+    }
 }
\ No newline at end of file
@@ -1,6 +1,15 @@
 package br.com.devluisoliveira.agenteroteiro.core.application.service;
 
 import br.com.devluisoliveira.agenteroteiro.core.application.mapper.GenericGeneraMapper;
+import br.com.devluisoliveira.agenteroteiro.core.application.service.checkpoint.CheckpointContent;
+import br.com.devluisoliveira.agenteroteiro.core.application.service.checkpoint.GenerationCheckpoint;
+import br.com.devluisoliveira.agenteroteiro.core.application.service.checkpoint.GenerationCheckpointService;
+import br.com.devluisoliveira.agenteroteiro.core.application.service.context.GenerationContext;
+import br.com.devluisoliveira.agenteroteiro.core.application.service.enums.ContentType;
+import br.com.devluisoliveira.agenteroteiro.core.application.service.enums.GenerationJobStatus;
+import br.com.devluisoliveira.agenteroteiro.core.application.service.job.GenerationJob;
+import br.com.devluisoliveira.agenteroteiro.core.application.service.job.GenerationJobService;
+import br.com.devluisoliveira.agenteroteiro.core.application.utils.SectionListener;
 import br.com.devluisoliveira.agenteroteiro.core.domain.entity.ContentGeneration;
 import br.com.devluisoliveira.agenteroteiro.core.domain.entity.User;
 import br.com.devluisoliveira.agenteroteiro.core.port.in.GenericGenerationPortIn;
@@ -11,9 +20,10 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
-import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
 
 @Service
 @RequiredArgsConstructor
@@ -23,22 +33,123 @@ public class GenericGenerationService implements GenericGenerationPortIn {
     private final AgentGenerationService agentGenerationService;
     private final ContentGenerationPortOut contentGenerationPortOut;
     private final GenericGeneraMapper genericGeneraMapper;
+    private final GenerationJobService generationJobService;
+    private final AudioStorageService audioStorageService;
+    private final GenerationCheckpointService generationCheckpointService;
 
     @Override
     public ContentGenerationResponse generateContent(User user, ContentGenerationRequest request) {
+        return generateContent(user, request, null);
+    }
+
+    @Override
+    public ContentGenerationResponse generateContent(User user, ContentGenerationRequest request,
+                                                     Consumer<String> tokenListener) {
+        return generateContent(user, request, tokenListener, null);
+    }
+
+    @Override
+    public ContentGenerationResponse generateContent(User user, ContentGenerationRequest request,
+                                                     Consumer<String> tokenListener, SectionListener sectionListener) {
         log.info("Iniciando geração de conteúdo para usuário {}, título {}",
                 user.getUserId(), request.getTitle());
 
         // Validar a solicitação
         validateRequest(request);
 
+        // Garantir que temos um processId
+        if (request.getProcessId() == null || request.getProcessId().isEmpty()) {
+            request.setProcessId(UUID.randomUUID().toString());
+        }
+
+        // Checkpoints: cada seção é gravada assim que chega, para retomar se a geração falhar
+        GenerationCheckpoint checkpoint = generationCheckpointService.start(user, request);
+
         // Delegar a geração de conteúdo para o serviço especializado
-        var response = agentGenerationService.startGeneration((Map<String, Object>) request);
+        GenerationContext context = genericGeneraMapper.toContext(request);
+        return completeGeneration(user, request.getProcessId(), checkpoint, () -> agentGenerationService.startGeneration(
+                context, tokenListener, SectionListener.combine(sectionListener, checkpoint)));
+    }
+
+    @Override
+    public ContentGenerationResponse resumeGeneration(User user, String processId, Consumer<String> tokenListener,
+                                                      SectionListener sectionListener) {
+        log.info("[GenericGenerationService.resumeGeneration] - Retomando geração {} do usuário {}",
+                processId, user.getUserId());
+
+        UUID uuid = UUID.fromString(processId);
+        Optional<ContentGeneration> contentOpt = contentGenerationPortOut.findById(uuid);
+        if (contentOpt.isEmpty()) {
+            return ContentGenerationResponse.builder()
+                    .processId(uuid)
+                    .status("NOT_FOUND")
+                    .message("Geração não encontrada")
+                    .build();
+        }
+
+        ContentGeneration content = contentOpt.get();
+        if (!content.getUser().getUserId().equals(user.getUserId())) {
+            log.warn("[GenericGenerationService.resumeGeneration] - Usuário {} tentou retomar geração de outro usuário",
+                    user.getUsername());
+            return ContentGenerationResponse.builder()
+                    .processId(uuid)
+                    .status("UNAUTHORIZED")
+                    .message("Não autorizado a acessar esta geração")
+                    .build();
+        }
+        if (!generationCheckpointService.isResumable(content)) {
+            return ContentGenerationResponse.builder()
+                    .processId(uuid)
+                    .status("ERROR")
+                    .message("A geração não está interrompida ou não tem checkpoint para retomar")
+                    .build();
+        }
+
+        ContentGenerationRequest request = generationCheckpointService.readRequest(content);
+        CheckpointContent saved = generationCheckpointService.readContent(content);
+        GenerationCheckpoint checkpoint = generationCheckpointService.resume(content);
+
+        GenerationContext context = genericGeneraMapper.toContext(request);
+        return completeGeneration(user, processId, checkpoint, () -> agentGenerationService.resumeGeneration(
+                context, saved, tokenListener, SectionListener.combine(sectionListener, checkpoint)));
+    }
+
+    /**
+     * Executa a geração e grava o resultado final por cima do checkpoint; se ela falhar,
+     * o checkpoint fica FAILED com o que já foi gerado
+     */
+    private ContentGenerationResponse completeGeneration(User user, String processId, GenerationCheckpoint checkpoint,
+                                                         Supplier<ContentGenerationResponse> generation) {
+        ContentGenerationResponse response;
+        try {
+            response = generation.get();
+        } catch (RuntimeException e) {
+            generationCheckpointService.fail(checkpoint);
+            throw e;
+        }
 
-        // Persistir o resultado
-        ContentGeneration contentGeneration = genericGeneraMapper.toEntity(response);
-        contentGeneration.setUser(user); // Associar ao usuário
-        ContentGeneration savedContentGeneration = contentGenerationPortOut.saveContentGeneration(contentGeneration);
+        if (!"COMPLETED".equals(response.getStatus())) {
+            log.warn("Geração não concluída para processId {}: {}", processId, response.getMessage());
+            generationCheckpointService.fail(checkpoint);
+            if (checkpoint != null) {
+                response.setProcessId(UUID.fromString(processId));
+                response.setMessage(response.getMessage() + ". O progresso foi salvo e a geração pode ser retomada");
+            }
+            return response;
+        }
+
+        ContentGeneration savedContentGeneration;
+        try {
+            // Persistir o resultado
+            ContentGeneration contentGeneration = genericGeneraMapper.toEntity(response);
+            contentGeneration.setUser(user); // Associar ao usuário
+            savedContentGeneration = contentGenerationPortOut.saveContentGeneration(contentGeneration);
+        } catch (RuntimeException e) {
+            // O conteúdo final não foi gravado: a linha fica FAILED com as seções salvas, pronta para retomar
+            generationCheckpointService.fail(checkpoint);
+            throw e;
+        }
+        generationCheckpointService.complete(checkpoint);
 
         log.info("Processo de geração concluído e salvo com sucesso");
 
@@ -74,6 +185,31 @@ public class GenericGenerationService implements GenericGenerationPortIn {
         try {
             UUID uuid = UUID.fromString(processId);
 
+            // Jobs em andamento (ou que falharam) só existem no motor de jobs
+            Optional<GenerationJob> jobOpt = generationJobService.findJob(processId);
+            if (jobOpt.isPresent()) {
+                GenerationJob job = jobOpt.get();
+
+                if (!job.getUserId().equals(user.getUserId())) {
+                    log.warn("[ContentPersistenceService.checkGenerationStatus] - Usuário {} tentou acessar job de outro usuário",
+                            user.getUsername());
+                    return ContentGenerationResponse.builder()
+                            .processId(uuid)
+                            .status("UNAUTHORIZED")
+                            .message("Não autorizado a acessar esta geração")
+                            .build();
+                }
+
+                if (job.getStatus() != GenerationJobStatus.COMPLETED) {
+                    return ContentGenerationResponse.builder()
+                            .processId(uuid)
+                            .status(job.getStatus().name())
+                            .progress(job.getProgress())
+                            .message(job.getMessage())
+                            .build();
+                }
+            }
+
             // Verificar se existe uma geração com este ID
             Optional<ContentGeneration> contentOpt = contentGenerationPortOut.findById(uuid);
 
@@ -99,6 +235,26 @@ public class GenericGenerationService implements GenericGenerationPortIn {
                         .build();
             }
 
+            // Geração em andamento ou interrompida: devolve o que os checkpoints já gravaram
+            GenerationJobStatus generationStatus = content.getGenerationStatus() != null
+                    ? content.getGenerationStatus() : GenerationJobStatus.COMPLETED;
+            if (generationStatus != GenerationJobStatus.COMPLETED) {
+                CheckpointContent saved = generationCheckpointService.readContent(content);
+                return ContentGenerationResponse.builder()
+                        .processId(content.getContentId())
+                        .title(content.getTitle())
+                        .agentType(content.getAgentType())
+                        .text(saved.textOf(ContentType.SCRIPT))
+                        .textShort(saved.textOf(ContentType.SHORTS_IDEA))
+                        .description(saved.textOf(ContentType.DESCRIPTION))
+                        .tags(saved.textOf(ContentType.TAGS))
+                        .status(generationStatus.name())
+                        .message(generationCheckpointService.isResumable(content)
+                                ? "Geração interrompida; o conteúdo parcial pode ser retomado"
+                                : "Gerando conteúdo")
+                        .build();
+            }
+
             // Construir a resposta com base no conteúdo encontrado
             ContentGenerationResponse response = ContentGenerationResponse.builder()
                     .processId(content.getContentId())
@@ -108,9 +264,10 @@ public class GenericGenerationService implements GenericGenerationPortIn {
                     .textShort(content.getTextShort())
                     .description(content.getDescription())
                     .tags(content.getTags())
-                    .audio(content.getAudio())
+                    .audio(audioStorageService.audioReference(content))
                     .promptUsed(content.getPromptUsed())
-                    .status("COMPLETED") // Considerando que se está no banco de dados, está completo
+                    .status(GenerationJobStatus.COMPLETED.name())
+                    .progress(100)
                     .message("Geração encontrada")
                     .build();
 
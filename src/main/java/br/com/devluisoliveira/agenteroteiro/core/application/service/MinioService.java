@@ -1,14 +1,35 @@
 package br.com.devluisoliveira.agenteroteiro.core.application.service;
 
+import br.com.devluisoliveira.agenteroteiro.core.application.service.resilience.DependencyGuard;
+import br.com.devluisoliveira.agenteroteiro.core.application.service.resilience.DependencyGuardFactory;
+import io.minio.CopyObjectArgs;
+import io.minio.CopySource;
+import io.minio.Directive;
+import io.minio.GetBucketLifecycleArgs;
+import io.minio.GetObjectArgs;
 import io.minio.MinioClient;
 import io.minio.PutObjectArgs;
+import io.minio.RemoveObjectArgs;
+import io.minio.SetBucketLifecycleArgs;
+import io.minio.StatObjectArgs;
+import io.minio.errors.ErrorResponseException;
 import io.minio.http.Method;
+import io.minio.messages.Expiration;
+import io.minio.messages.LifecycleConfiguration;
+import io.minio.messages.LifecycleRule;
+import io.minio.messages.RuleFilter;
+import io.minio.messages.Status;
 import jakarta.annotation.PostConstruct;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
+import java.io.InputStream;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 import java.util.concurrent.TimeUnit;
 
@@ -17,17 +38,31 @@ public class MinioService {
 
 
     private final MinioClient minioClient;
+    private final DependencyGuard guard;
 
     @Value("${minio.bucket-name}")
     private String bucketName;
 
     public MinioService(@Value("${minio.url}") String url,
                         @Value("${minio.access-key}") String accessKey,
-                        @Value("${minio.secret-key}") String secretKey) {
+                        @Value("${minio.secret-key}") String secretKey,
+                        DependencyGuardFactory dependencyGuardFactory,
+                        @Value("${resilience.minio.max-concurrent-calls:32}") int maxConcurrentCalls,
+                        @Value("${resilience.minio.max-wait-ms:500}") long maxWaitMs,
+                        @Value("${resilience.minio.slow-call-ms:0}") long slowCallMs) {
         this.minioClient = MinioClient.builder()
                 .endpoint(url)
                 .credentials(accessKey, secretKey)
                 .build();
+        // Uploads de áudio duram o tempo da síntese, então chamada lenta fica desligada por padrão
+        this.guard = dependencyGuardFactory.create("minio", maxConcurrentCalls, maxWaitMs, slowCallMs);
+    }
+
+    /**
+     * Se o MinIO aceitaria uma chamada agora (circuito não aberto)
+     */
+    public boolean isAvailable() {
+        return guard.isAvailable();
     }
 
     @PostConstruct
@@ -36,6 +71,10 @@ public class MinioService {
     }
 
     public String uploadFile(MultipartFile file) throws IOException {
+        return guard.executeIo(() -> putFile(file));
+    }
+
+    private String putFile(MultipartFile file) throws IOException {
         String fileName = UUID.randomUUID().toString();
         try {
             minioClient.putObject(
@@ -51,7 +90,155 @@ public class MinioService {
         }
     }
 
+    /**
+     * Envia um stream para o bucket sob a chave informada. Com tamanho -1 o upload é
+     * feito em partes (multipart) de partSize bytes, sem conhecer o total antecipadamente.
+     */
+    public void uploadObject(String objectName, InputStream stream, long size, long partSize, String contentType)
+            throws IOException {
+        guard.executeIo(() -> {
+            putObject(objectName, stream, size, partSize, contentType);
+            return null;
+        });
+    }
+
+    private void putObject(String objectName, InputStream stream, long size, long partSize, String contentType)
+            throws IOException {
+        try {
+            minioClient.putObject(
+                    PutObjectArgs.builder()
+                            .bucket(bucketName)
+                            .object(objectName)
+                            .stream(stream, size, partSize)
+                            .contentType(contentType)
+                            .build());
+        } catch (Exception e) {
+            throw new IOException("Could not upload object to MinIO: " + objectName, e);
+        }
+    }
+
+    /**
+     * Verifica se o objeto existe no bucket
+     */
+    public boolean objectExists(String objectName) throws IOException {
+        return guard.executeIo(() -> statObject(objectName));
+    }
+
+    private boolean statObject(String objectName) throws IOException {
+        try {
+            minioClient.statObject(
+                    StatObjectArgs.builder()
+                            .bucket(bucketName)
+                            .object(objectName)
+                            .build());
+            return true;
+        } catch (ErrorResponseException e) {
+            if ("NoSuchKey".equals(e.errorResponse().code())) {
+                return false;
+            }
+            throw new IOException("Could not stat object in MinIO: " + objectName, e);
+        } catch (Exception e) {
+            throw new IOException("Could not stat object in MinIO: " + objectName, e);
+        }
+    }
+
+    /**
+     * Abre o objeto para leitura em streaming; quem chama é responsável por fechar o stream
+     */
+    public InputStream getObject(String objectName) throws IOException {
+        return guard.executeIo(() -> openObject(objectName));
+    }
+
+    private InputStream openObject(String objectName) throws IOException {
+        try {
+            return minioClient.getObject(
+                    GetObjectArgs.builder()
+                            .bucket(bucketName)
+                            .object(objectName)
+                            .build());
+        } catch (Exception e) {
+            throw new IOException("Could not read object from MinIO: " + objectName, e);
+        }
+    }
+
+    /**
+     * Remove o objeto do bucket; remover uma chave que não existe não é erro
+     */
+    public void removeObject(String objectName) throws IOException {
+        guard.executeIo(() -> {
+            deleteObject(objectName);
+            return null;
+        });
+    }
+
+    private void deleteObject(String objectName) throws IOException {
+        try {
+            minioClient.removeObject(
+                    RemoveObjectArgs.builder()
+                            .bucket(bucketName)
+                            .object(objectName)
+                            .build());
+        } catch (Exception e) {
+            throw new IOException("Could not remove object from MinIO: " + objectName, e);
+        }
+    }
+
+    /**
+     * Regrava o objeto sobre ele mesmo (cópia no servidor, sem trafegar o conteúdo) para renovar a data de
+     * modificação, que é a referência das regras de expiração do bucket
+     */
+    public void touchObject(String objectName, String contentType) throws IOException {
+        guard.executeIo(() -> {
+            copyOntoItself(objectName, contentType);
+            return null;
+        });
+    }
+
+    private void copyOntoItself(String objectName, String contentType) throws IOException {
+        try {
+            minioClient.copyObject(
+                    CopyObjectArgs.builder()
+                            .bucket(bucketName)
+                            .object(objectName)
+                            .source(CopySource.builder().bucket(bucketName).object(objectName).build())
+                            .metadataDirective(Directive.REPLACE)
+                            .headers(Map.of("Content-Type", contentType))
+                            .build());
+        } catch (Exception e) {
+            throw new IOException("Could not touch object in MinIO: " + objectName, e);
+        }
+    }
+
+    /**
+     * Registra (ou substitui) no bucket a regra que expira os objetos sob o prefixo após a quantidade de dias
+     * informada. As demais regras de ciclo de vida do bucket são preservadas.
+     */
+    public void expireObjects(String ruleId, String prefix, int days) throws IOException {
+        try {
+            List<LifecycleRule> rules = new ArrayList<>();
+            LifecycleConfiguration current = minioClient.getBucketLifecycle(
+                    GetBucketLifecycleArgs.builder().bucket(bucketName).build());
+            if (current != null) {
+                current.rules().stream().filter(rule -> !ruleId.equals(rule.id())).forEach(rules::add);
+            }
+            rules.add(new LifecycleRule(Status.ENABLED, null, new Expiration((ZonedDateTime) null, days, null),
+                    new RuleFilter(prefix), ruleId, null, null, null));
+
+            minioClient.setBucketLifecycle(
+                    SetBucketLifecycleArgs.builder()
+                            .bucket(bucketName)
+                            .config(new LifecycleConfiguration(rules))
+                            .build());
+        } catch (Exception e) {
+            throw new IOException("Could not set lifecycle rule in MinIO: " + ruleId, e);
+        }
+    }
+
     public String getFileUrl(String fileName) {
+        return guard.execute(() -> presign(fileName));
+    }
+
+    private String presign(String fileName) {
         try {
             return minioClient.getPresignedObjectUrl(
                     io.minio.GetPresignedObjectUrlArgs.builder()
@@ -1,20 +1,43 @@
 package br.com.devluisoliveira.agenteroteiro.core.application.service;
 
+import br.com.devluisoliveira.agenteroteiro.core.application.service.llm.LlmRequest;
+import br.com.devluisoliveira.agenteroteiro.core.application.service.llm.LlmResponse;
+import br.com.devluisoliveira.agenteroteiro.core.application.service.llm.ProviderRateLimitException;
+import br.com.devluisoliveira.agenteroteiro.core.application.service.llm.ProviderRateLimiter;
+import br.com.devluisoliveira.agenteroteiro.core.application.service.llm.ProviderRateLimiterFactory;
+import br.com.devluisoliveira.agenteroteiro.core.application.service.llm.TokenEstimator;
+import br.com.devluisoliveira.agenteroteiro.core.application.service.resilience.DependencyGuard;
+import br.com.devluisoliveira.agenteroteiro.core.application.service.resilience.DependencyGuardFactory;
+import br.com.devluisoliveira.agenteroteiro.shared.utils.HttpStreams;
+import jakarta.annotation.PostConstruct;
 import lombok.extern.slf4j.Slf4j;
 import org.json.JSONArray;
 import org.json.JSONObject;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
 import org.springframework.stereotype.Service;
+import org.springframework.util.LinkedMultiValueMap;
+import org.springframework.util.MultiValueMap;
+import org.springframework.web.client.HttpStatusCodeException;
+import org.springframework.web.client.RequestCallback;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.client.ResponseExtractor;
+import org.springframework.web.client.RestTemplate;
 
 import java.io.BufferedReader;
 import java.io.IOException;
+import java.io.InputStream;
 import java.io.InputStreamReader;
-import java.io.OutputStream;
-import java.net.HttpURLConnection;
-import java.net.URL;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.function.Consumer;
 
 @Slf4j
 @Service
@@ -26,95 +49,388 @@ public class OpenAIService {
     @Value("${openai.model:gpt-4}")
     private String MODEL;
 
+    @Value("${openai.temperature:0.7}")
+    private double TEMPERATURE;
+
+    @Value("${openai.rate-limit.requests-per-minute:500}")
+    private int requestsPerMinute;
+
+    @Value("${openai.rate-limit.tokens-per-minute:200000}")
+    private long tokensPerMinute;
+
+    // Tokens de resposta reservados na cota quando a requisição não define max_tokens
+    @Value("${openai.rate-limit.completion-tokens-estimate:2000}")
+    private int completionTokensEstimate;
+
     private static final String COMPLETIONS_URL = "https://api.openai.com/v1/chat/completions";
+    private static final String FILES_URL = "https://api.openai.com/v1/files";
+    private static final String BATCHES_URL = "https://api.openai.com/v1/batches";
+    private static final String BATCH_ENDPOINT = "/v1/chat/completions";
+    private static final String DEFAULT_SYSTEM_PROMPT = "Você é um assistente especializado em criar conteúdo para YouTube.";
+    private static final String SSE_DATA_PREFIX = "data:";
+    private static final String SSE_DONE = "[DONE]";
+    private static final String FINISH_REASON_LENGTH = "length";
+    private static final String PROVIDER_NAME = "openai";
+
+    private final RestTemplate restTemplate;
+    private final ProviderRateLimiterFactory rateLimiterFactory;
+    private ProviderRateLimiter rateLimiter;
+    private final DependencyGuard guard;
+    private final TokenEstimator tokenEstimator;
+
+    public OpenAIService(RestTemplate restTemplate,
+                         ProviderRateLimiterFactory rateLimiterFactory,
+                         TokenEstimator tokenEstimator,
+                         DependencyGuardFactory dependencyGuardFactory,
+                         @Value("${resilience.openai.max-concurrent-calls:64}") int maxConcurrentCalls,
+                         @Value("${resilience.openai.max-wait-ms:0}") long maxWaitMs,
+                         @Value("${resilience.openai.slow-call-ms:0}") long slowCallMs) {
+        this.restTemplate = restTemplate;
+        this.rateLimiterFactory = rateLimiterFactory;
+        this.tokenEstimator = tokenEstimator;
+        // Limite de uso (429) é controlado pelo limitador, não diz nada sobre a saúde da OpenAI
+        this.guard = dependencyGuardFactory.create("openai", maxConcurrentCalls, maxWaitMs, slowCallMs,
+                e -> e instanceof ProviderRateLimitException);
+    }
+
+    @PostConstruct
+    void initRateLimiter() {
+        rateLimiter = rateLimiterFactory.forProvider("openai", OPENAI_API_KEY, requestsPerMinute, tokensPerMinute);
+    }
+
+    public String getModel() {
+        return MODEL;
+    }
+
+    public double getTemperature() {
+        return TEMPERATURE;
+    }
 
     public List<String> generateTitles(String prompt) {
-        String response = callGpt(prompt);
+        String response = callGpt(LlmRequest.of(prompt)).content();
         return parseTitlesFromResponse(response);
     }
 
     public String generateOracao(String prompt) {
-        return callGpt(prompt);
+        return callGpt(LlmRequest.of(prompt)).content();
+    }
+
+    /**
+     * Gera o conteúdo com os parâmetros da requisição (system prompt, temperatura, max_tokens);
+     * campos nulos usam os valores configurados
+     */
+    public LlmResponse complete(LlmRequest request) {
+        return callGpt(request);
+    }
+
+    /**
+     * Versão em streaming de {@link #complete(LlmRequest)}
+     */
+    public LlmResponse stream(LlmRequest request, Consumer<String> onToken) {
+        return streamGpt(request, onToken);
     }
 
     public String generateDescription(String prompt) {
-        return callGpt(prompt);
+        return callGpt(LlmRequest.of(prompt)).content();
     }
 
-    private String callGpt(String prompt) {
-        log.info("Iniciando requisição ao OpenAI...");
-        HttpURLConnection connection = null;
+    /**
+     * Gera o conteúdo em modo streaming (stream=true), repassando cada trecho
+     * recebido ao consumidor assim que ele chega.
+     *
+     * @param prompt Prompt a ser enviado
+     * @param onToken Consumidor chamado a cada delta de conteúdo recebido
+     * @return Conteúdo completo acumulado ao final do stream
+     */
+    public String generateOracaoStream(String prompt, Consumer<String> onToken) {
+        return streamGpt(LlmRequest.of(prompt), onToken).content();
+    }
+
+    /**
+     * Monta uma linha do arquivo JSONL da Batch API: o mesmo corpo da chamada síncrona,
+     * identificado pelo customId para casar a resposta depois
+     */
+    public String buildBatchRequestLine(String customId, String prompt, Integer maxTokens) {
+        JSONObject line = new JSONObject();
+        line.put("custom_id", customId);
+        line.put("method", "POST");
+        line.put("url", BATCH_ENDPOINT);
+        line.put("body", buildRequestBody(LlmRequest.builder().prompt(prompt).maxTokens(maxTokens).build(), false));
+        return line.toString();
+    }
+
+    /**
+     * Envia o arquivo JSONL e cria o batch no provedor
+     *
+     * @param jsonlFile Arquivo com uma requisição por linha
+     * @param completionWindow Janela de conclusão aceita pelo provedor (ex.: 24h)
+     * @return ID do batch criado
+     */
+    public String createBatch(Path jsonlFile, String completionWindow) {
+        log.info("Enviando arquivo de batch ao OpenAI: {}", jsonlFile.getFileName());
         try {
-            // Configuração da conexão
-            URL url = new URL(COMPLETIONS_URL);
-            connection = (HttpURLConnection) url.openConnection();
-            connection.setRequestMethod("POST");
-            connection.setRequestProperty("Content-Type", "application/json");
-            connection.setRequestProperty("Authorization", "Bearer " + OPENAI_API_KEY);
-            connection.setDoOutput(true);
-
-            // Criar o corpo da requisição
-            JSONObject requestBody = new JSONObject();
-            requestBody.put("model", MODEL);
-
-            JSONArray messages = new JSONArray();
-
-            JSONObject systemMessage = new JSONObject();
-            systemMessage.put("role", "system");
-            systemMessage.put("content", "Você é um assistente especializado em criar conteúdo para YouTube.");
-            messages.put(systemMessage);
-
-            JSONObject userMessage = new JSONObject();
-            userMessage.put("role", "user");
-            userMessage.put("content", prompt);
-            messages.put(userMessage);
-
-            requestBody.put("messages", messages);
-            requestBody.put("temperature", 0.7);
-
-            // Enviar a requisição
-            try (OutputStream os = connection.getOutputStream()) {
-                byte[] input = requestBody.toString().getBytes(StandardCharsets.UTF_8);
-                os.write(input, 0, input.length);
-            }
+            MultiValueMap<String, Object> form = new LinkedMultiValueMap<>();
+            form.add("purpose", "batch");
+            form.add("file", new FileSystemResource(jsonlFile));
 
-            // Verificar o código de resposta
-            int responseCode = connection.getResponseCode();
-            if (responseCode != HttpURLConnection.HTTP_OK) { // 200
-                log.error("Erro na requisição: Status code {}", responseCode);
-                throw new RuntimeException("Erro na API do OpenAI: " + responseCode);
-            }
+            HttpHeaders uploadHeaders = buildHeaders(MediaType.APPLICATION_JSON);
+            uploadHeaders.setContentType(MediaType.MULTIPART_FORM_DATA);
+            String uploadResponse = restTemplate.postForObject(FILES_URL, new HttpEntity<>(form, uploadHeaders), String.class);
+            String fileId = new JSONObject(uploadResponse).getString("id");
+
+            JSONObject batchRequest = new JSONObject();
+            batchRequest.put("input_file_id", fileId);
+            batchRequest.put("endpoint", BATCH_ENDPOINT);
+            batchRequest.put("completion_window", completionWindow);
+
+            HttpEntity<String> requestEntity = new HttpEntity<>(batchRequest.toString(), buildHeaders(MediaType.APPLICATION_JSON));
+            String batchResponse = restTemplate.postForObject(BATCHES_URL, requestEntity, String.class);
+            String batchId = new JSONObject(batchResponse).getString("id");
+
+            log.info("Batch {} criado a partir do arquivo {}", batchId, fileId);
+            return batchId;
+        } catch (HttpStatusCodeException e) {
+            log.error("Erro ao criar batch: Status code {}", e.getStatusCode().value());
+            throw new RuntimeException("Erro na API do OpenAI: " + e.getStatusCode().value(), e);
+        } catch (ResourceAccessException e) {
+            log.error("Erro ao criar batch", e);
+            throw new RuntimeException("Erro ao processar a requisição para OpenAI", e);
+        }
+    }
+
+    /**
+     * Consulta um batch (status, output_file_id, error_file_id)
+     */
+    public JSONObject retrieveBatch(String batchId) {
+        try {
+            HttpEntity<Void> requestEntity = new HttpEntity<>(buildHeaders(MediaType.APPLICATION_JSON));
+            String response = restTemplate.exchange(BATCHES_URL + "/" + batchId, HttpMethod.GET, requestEntity, String.class).getBody();
+            return new JSONObject(response);
+        } catch (HttpStatusCodeException e) {
+            log.error("Erro ao consultar batch {}: Status code {}", batchId, e.getStatusCode().value());
+            throw new RuntimeException("Erro na API do OpenAI: " + e.getStatusCode().value(), e);
+        } catch (ResourceAccessException e) {
+            log.error("Erro ao consultar batch {}", batchId, e);
+            throw new RuntimeException("Erro ao processar a requisição para OpenAI", e);
+        }
+    }
 
-            // Ler a resposta
-            StringBuilder response = new StringBuilder();
-            try (BufferedReader br = new BufferedReader(
-                    new InputStreamReader(connection.getInputStream(), StandardCharsets.UTF_8))) {
-                String responseLine;
-                while ((responseLine = br.readLine()) != null) {
-                    response.append(responseLine.trim());
+    /**
+     * Lê um arquivo do provedor linha a linha (saída ou erros de um batch), sem carregá-lo inteiro em memória
+     */
+    public void readFileLines(String fileId, Consumer<String> onLine) {
+        try {
+            RequestCallback requestCallback = request -> request.getHeaders().addAll(buildHeaders(MediaType.ALL));
+            restTemplate.execute(FILES_URL + "/" + fileId + "/content", HttpMethod.GET, requestCallback, response -> {
+                try (BufferedReader br = new BufferedReader(
+                        new InputStreamReader(response.getBody(), StandardCharsets.UTF_8))) {
+                    String line;
+                    while ((line = br.readLine()) != null) {
+                        if (!line.isBlank()) {
+                            onLine.accept(line);
+                        }
+                    }
                 }
-            }
+                return null;
+            });
+        } catch (HttpStatusCodeException e) {
+            log.error("Erro ao baixar arquivo {}: Status code {}", fileId, e.getStatusCode().value());
+            throw new RuntimeException("Erro na API do OpenAI: " + e.getStatusCode().value(), e);
+        } catch (ResourceAccessException e) {
+            log.error("Erro ao baixar arquivo {}", fileId, e);
+            throw new RuntimeException("Erro ao processar a requisição para OpenAI", e);
+        }
+    }
+
+    /**
+     * Chamadas à API de chat passam pelo limitador da chave e depois pelo circuit breaker/bulkhead da OpenAI:
+     * esperam na fila do limitador em vez de falhar com 429 (sem ocupar vaga do bulkhead enquanto esperam), e
+     * cada tentativa que sai da fila é recusada na hora com o circuito aberto
+     */
+    private LlmResponse callGpt(LlmRequest request) {
+        return rateLimiter.execute(tokenEstimator.estimateRequestTokens(request, completionTokensEstimate),
+                () -> guard.execute(() -> postCompletion(request)));
+    }
+
+    private LlmResponse streamGpt(LlmRequest request, Consumer<String> onToken) {
+        return rateLimiter.execute(tokenEstimator.estimateRequestTokens(request, completionTokensEstimate),
+                () -> guard.execute(() -> postCompletionStream(request, onToken)));
+    }
+
+    private LlmResponse postCompletion(LlmRequest request) {
+        log.info("Iniciando requisição ao OpenAI...");
+        try {
+            JSONObject requestBody = buildRequestBody(request, false);
+
+            // Enviar a requisição pelo pool de conexões compartilhado
+            HttpEntity<String> requestEntity = new HttpEntity<>(requestBody.toString(), buildHeaders(MediaType.APPLICATION_JSON));
+            String response = restTemplate.postForObject(COMPLETIONS_URL, requestEntity, String.class);
 
             // Processar a resposta JSON
-            JSONObject responseJson = new JSONObject(response.toString());
-            String content = responseJson.getJSONArray("choices")
-                    .getJSONObject(0)
-                    .getJSONObject("message")
-                    .getString("content");
+            JSONObject choice = new JSONObject(response).getJSONArray("choices").getJSONObject(0);
+            String content = choice.getJSONObject("message").getString("content");
 
             log.info("Requisição concluída com sucesso");
-            return content;
+            return toResponse(content, choice.optString("finish_reason", null));
 
-        } catch (IOException e) {
+        } catch (HttpStatusCodeException e) {
+            throwIfRateLimited(e);
+            log.error("Erro na requisição: Status code {}", e.getStatusCode().value());
+            throw new RuntimeException("Erro na API do OpenAI: " + e.getStatusCode().value(), e);
+        } catch (ResourceAccessException e) {
             log.error("Erro ao processar a requisição", e);
             throw new RuntimeException("Erro ao processar a requisição para OpenAI", e);
-        } finally {
-            if (connection != null) {
-                connection.disconnect();
-            }
         }
     }
 
+    private LlmResponse postCompletionStream(LlmRequest llmRequest, Consumer<String> onToken) {
+        log.info("Iniciando requisição em streaming ao OpenAI...");
+        try {
+            byte[] input = buildRequestBody(llmRequest, true).toString().getBytes(StandardCharsets.UTF_8);
+
+            RequestCallback requestCallback = request -> {
+                request.getHeaders().addAll(buildHeaders(MediaType.TEXT_EVENT_STREAM));
+                request.getBody().write(input);
+            };
+
+            // Cada evento SSE chega como uma linha "data: {json}"; o stream termina com "data: [DONE]"
+            ResponseExtractor<LlmResponse> responseExtractor = response -> {
+                StringBuilder content = new StringBuilder();
+                String finishReason = null;
+                InputStream body = response.getBody();
+                try (BufferedReader br = new BufferedReader(
+                        new InputStreamReader(body, StandardCharsets.UTF_8))) {
+                    String line;
+                    while ((line = br.readLine()) != null) {
+                        if (!line.startsWith(SSE_DATA_PREFIX)) {
+                            continue;
+                        }
+
+                        String data = line.substring(SSE_DATA_PREFIX.length()).trim();
+                        if (SSE_DONE.equals(data)) {
+                            break;
+                        }
+
+                        JSONObject choice = firstChoice(data);
+                        if (choice == null) {
+                            continue;
+                        }
+                        if (!choice.isNull("finish_reason")) {
+                            finishReason = choice.optString("finish_reason");
+                        }
+
+                        String delta = extractDelta(choice);
+                        if (delta != null && !delta.isEmpty()) {
+                            content.append(delta);
+                            try {
+                                onToken.accept(delta);
+                            } catch (CancellationException e) {
+                                // Cliente desconectado ou tentativa perdedora de um hedge: para a geração no provedor
+                                HttpStreams.abort(body);
+                                throw e;
+                            }
+                        }
+                    }
+                }
+                return toResponse(content.toString(), finishReason);
+            };
+
+            LlmResponse result = restTemplate.execute(COMPLETIONS_URL, HttpMethod.POST, requestCallback, responseExtractor);
+
+            log.info("Requisição em streaming concluída com sucesso: {} caracteres",
+                    result != null ? result.content().length() : 0);
+            return result;
+
+        } catch (HttpStatusCodeException e) {
+            throwIfRateLimited(e);
+            log.error("Erro na requisição em streaming: Status code {}", e.getStatusCode().value());
+            throw new RuntimeException("Erro na API do OpenAI: " + e.getStatusCode().value(), e);
+        } catch (ResourceAccessException e) {
+            log.error("Erro ao processar a requisição em streaming", e);
+            throw new RuntimeException("Erro ao processar a requisição para OpenAI", e);
+        }
+    }
+
+    private void throwIfRateLimited(HttpStatusCodeException e) {
+        if (e.getStatusCode().value() == 429) {
+            log.warn("OpenAI recusou a requisição por limite de uso (429)");
+            throw new ProviderRateLimitException("Limite de uso da API do OpenAI (429)",
+                    ProviderRateLimiterFactory.retryAfter(e), e);
+        }
+    }
+
+    private HttpHeaders buildHeaders(MediaType accept) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        headers.setAccept(List.of(accept));
+        headers.setBearerAuth(OPENAI_API_KEY);
+        return headers;
+    }
+
+    private JSONObject buildRequestBody(LlmRequest request, boolean stream) {
+        JSONObject requestBody = new JSONObject();
+        requestBody.put("model", MODEL);
+
+        JSONArray messages = new JSONArray();
+
+        JSONObject systemMessage = new JSONObject();
+        systemMessage.put("role", "system");
+        systemMessage.put("content", request.getSystemPrompt() != null ? request.getSystemPrompt() : DEFAULT_SYSTEM_PROMPT);
+        messages.put(systemMessage);
+
+        JSONObject userMessage = new JSONObject();
+        userMessage.put("role", "user");
+        userMessage.put("content", request.getPrompt());
+        messages.put(userMessage);
+
+        requestBody.put("messages", messages);
+        requestBody.put("temperature", request.getTemperature() != null ? request.getTemperature() : TEMPERATURE);
+
+        if (request.getMaxTokens() != null) {
+            requestBody.put("max_tokens", request.getMaxTokens());
+        }
+
+        if (stream) {
+            requestBody.put("stream", true);
+        }
+
+        return requestBody;
+    }
+
+    /**
+     * finish_reason "length": a resposta parou no max_tokens e está incompleta
+     */
+    private LlmResponse toResponse(String content, String finishReason) {
+        boolean truncated = FINISH_REASON_LENGTH.equals(finishReason);
+        if (truncated) {
+            log.warn("Resposta do OpenAI cortada no max_tokens ({} caracteres)", content.length());
+        }
+        return new LlmResponse(content, PROVIDER_NAME, MODEL, truncated);
+    }
+
+    /**
+     * Primeira escolha de um chunk do stream (choices[0]); nula em chunks sem escolhas
+     */
+    private JSONObject firstChoice(String data) {
+        JSONArray choices = new JSONObject(data).optJSONArray("choices");
+        if (choices == null || choices.length() == 0) {
+            return null;
+        }
+        return choices.getJSONObject(0);
+    }
+
+    /**
+     * Extrai o trecho de conteúdo de uma escolha do stream (delta.content)
+     */
+    private String extractDelta(JSONObject choice) {
+        JSONObject delta = choice.optJSONObject("delta");
+        if (delta == null || delta.isNull("content")) {
+            return null;
+        }
+
+        return delta.optString("content", null);
+    }
+
     private List<String> parseTitlesFromResponse(String response) {
         List<String> titles = new ArrayList<>();
         String[] lines = response.split("\n");
@@ -0,0 +1,173 @@
+package br.com.devluisoliveira.agenteroteiro.core.application.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Executa prompts independentes em paralelo, respeitando um limite de chamadas
+ * simultâneas por usuário e um limite global para o nó.
+ */
+@Slf4j
+@Component
+public class ParallelPromptExecutor {
+
+    private final Semaphore globalPermits;
+    // Valores fracos: o semáforo de um usuário vive enquanto alguma tarefa dele o referencia e é
+    // recolhido depois. Expirar por tempo ou tamanho poderia descartar um semáforo com permissões em uso
+    // e entregar ao usuário um novo, cheio, furando o limite.
+    private final Cache<String, Semaphore> userPermits = Caffeine.newBuilder().weakValues().build();
+    private final int perUserLimit;
+    private final long acquireTimeoutMs;
+    private final ExecutorService executor;
+
+    public ParallelPromptExecutor(@Value("${generation.fan-out.global-limit:32}") int globalLimit,
+                                  @Value("${generation.fan-out.per-user-limit:4}") int perUserLimit,
+                                  @Value("${generation.fan-out.acquire-timeout-ms:30000}") long acquireTimeoutMs,
+                                  @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreadsEnabled) {
+        this.globalPermits = new Semaphore(globalLimit, true);
+        this.perUserLimit = perUserLimit;
+        this.acquireTimeoutMs = acquireTimeoutMs;
+
+        // O número de threads ativas já é limitado pelos semáforos, então o pool pode crescer sob demanda
+        if (virtualThreadsEnabled) {
+            this.executor = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("prompt-fan-out-", 1).factory());
+        } else {
+            AtomicInteger threadCounter = new AtomicInteger();
+            this.executor = Executors.newCachedThreadPool(runnable -> {
+                Thread thread = new Thread(runnable, "prompt-fan-out-" + threadCounter.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+
+        log.info("[ParallelPromptExecutor] - Limite global: {}, limite por usuário: {}", globalLimit, perUserLimit);
+    }
+
+    /**
+     * Executa todas as tarefas concorrentemente e devolve os resultados na mesma ordem das chaves.
+     * Se alguma tarefa falhar, a exceção é propagada após o término das demais. Se uma permissão não
+     * for obtida a tempo, as tarefas já enviadas são canceladas antes de propagar o erro.
+     *
+     * @param userKey Identificador do usuário autenticado, usado para o limite por usuário
+     * @param tasks Tarefas indexadas pela chave do resultado
+     */
+    public <K> Map<K, String> executeAll(String userKey, Map<K, Supplier<String>> tasks) {
+        Semaphore userSemaphore = userPermits.get(userKey, key -> new Semaphore(perUserLimit, true));
+        Map<K, SubmittedTask> submitted = new LinkedHashMap<>();
+
+        try {
+            for (Map.Entry<K, Supplier<String>> task : tasks.entrySet()) {
+                // As permissões são adquiridas antes do envio, então no máximo (limite) tarefas ocupam threads
+                acquire(userSemaphore, "usuário " + userKey);
+                try {
+                    acquire(globalPermits, "global");
+                } catch (RuntimeException e) {
+                    userSemaphore.release();
+                    throw e;
+                }
+
+                submitted.put(task.getKey(), submit(task.getValue(), userSemaphore));
+            }
+        } catch (RuntimeException e) {
+            log.warn("[ParallelPromptExecutor.executeAll] - Cancelando {} tarefas já enviadas: {}",
+                    submitted.size(), e.getMessage());
+            submitted.values().forEach(SubmittedTask::cancel);
+            throw e;
+        }
+
+        Map<K, String> results = new LinkedHashMap<>();
+        RuntimeException failure = null;
+        for (Map.Entry<K, SubmittedTask> entry : submitted.entrySet()) {
+            try {
+                results.put(entry.getKey(), entry.getValue().future().get());
+            } catch (ExecutionException e) {
+                if (failure == null) {
+                    failure = e.getCause() instanceof RuntimeException runtimeException
+                            ? runtimeException
+                            : new RuntimeException(e.getCause());
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                submitted.values().forEach(SubmittedTask::cancel);
+                throw new IllegalStateException("Interrompido aguardando as tarefas em paralelo", e);
+            }
+        }
+
+        if (failure != null) {
+            throw failure;
+        }
+        return results;
+    }
+
+    /**
+     * Envia a tarefa ao executor. As permissões são devolvidas por quem "reivindicar" a tarefa primeiro:
+     * a própria tarefa ao começar ou o cancelamento, se ela ainda não tiver começado.
+     */
+    private SubmittedTask submit(Supplier<String> task, Semaphore userSemaphore) {
+        AtomicBoolean claimed = new AtomicBoolean();
+        Runnable releasePermits = () -> {
+            globalPermits.release();
+            userSemaphore.release();
+        };
+
+        Future<String> future = executor.submit(() -> {
+            if (!claimed.compareAndSet(false, true)) {
+                return null;
+            }
+            try {
+                return task.get();
+            } finally {
+                releasePermits.run();
+            }
+        });
+        return new SubmittedTask(future, claimed, releasePermits);
+    }
+
+    private record SubmittedTask(Future<String> future, AtomicBoolean claimed, Runnable releasePermits) {
+
+        /**
+         * Tarefa ainda não iniciada: não roda e devolve as permissões aqui.
+         * Tarefa em execução: é interrompida e devolve as permissões ao terminar.
+         */
+        void cancel() {
+            if (claimed.compareAndSet(false, true)) {
+                future.cancel(false);
+                releasePermits.run();
+            } else {
+                future.cancel(true);
+            }
+        }
+    }
+
+    private void acquire(Semaphore semaphore, String scope) {
+        try {
+            if (!semaphore.tryAcquire(acquireTimeoutMs, TimeUnit.MILLISECONDS)) {
+                throw new IllegalStateException("Limite de chamadas simultâneas (" + scope + ") atingido, tente novamente");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrompido aguardando permissão de execução", e);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+}
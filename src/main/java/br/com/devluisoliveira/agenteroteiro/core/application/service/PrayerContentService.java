@@ -2,6 +2,7 @@ package br.com.devluisoliveira.agenteroteiro.core.application.service;
 
 import br.com.devluisoliveira.agenteroteiro.core.application.mapper.GenericGeneraMapper;
 import br.com.devluisoliveira.agenteroteiro.core.application.service.agentStyle.PrayerStyleService;
+import br.com.devluisoliveira.agenteroteiro.core.application.service.context.GenerationContext;
 import br.com.devluisoliveira.agenteroteiro.core.application.service.enums.AgentType;
 import br.com.devluisoliveira.agenteroteiro.core.application.service.enums.PrayerType;
 import br.com.devluisoliveira.agenteroteiro.core.domain.entity.ContentGeneration;
@@ -10,14 +11,16 @@ import br.com.devluisoliveira.agenteroteiro.core.port.in.PrayerContentPortIn;
 import br.com.devluisoliveira.agenteroteiro.core.port.in.dto.PrayerContentGenerationRequest;
 import br.com.devluisoliveira.agenteroteiro.core.port.out.ContentGenerationPortOut;
 import br.com.devluisoliveira.agenteroteiro.core.port.out.response.dto.ContentGenerationResponse;
+import br.com.devluisoliveira.agenteroteiro.shared.utils.Base64Streams;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.time.LocalDateTime;
 import java.time.ZoneId;
-import java.util.HashMap;
-import java.util.Map;
 import java.util.UUID;
 
 /**
@@ -32,51 +35,24 @@ public class PrayerContentService implements PrayerContentPortIn {
     private final PrayerStyleService prayerStyleService;
     private final AgentGenerationService agentGenerationService;
     private final ContentGenerationPortOut contentGenerationPortOut;
-    private final ElevenLabsService audioService;
     private final PromptTemplateService promptTemplateService;
     private final OpenAIService openAIService;
+    private final AudioStorageService audioStorageService;
+    private final AudioSynthesisService audioSynthesisService;
 
     public ContentGenerationResponse generateContent(User user, PrayerContentGenerationRequest request) {
         log.info("[PrayerContentService.generateContent] - Iniciando geração de conteúdo de oração para usuário: {}, tema: {}, estilo: {}",
                 user.getUsername(), request.getTheme(), request.getPrayerStyle());
 
         try {
-            // Validar a solicitação
-            validateRequest(request);
-
-            // Garantir que temos um processId
-            if (request.getProcessId() == null || request.getProcessId().isEmpty()) {
-                request.setProcessId(UUID.randomUUID().toString());
-            }
-
-            // Definir tipo de agente
-            request.setAgentType(AgentType.PRAYER);
-
-            // Converter a request para Map para processamento pelo AgentGenerationService
-            Map<String, Object> requestMap = convertToMap(request);
+            // Converter a request para o contexto processado pelo AgentGenerationService
+            GenerationContext context = prepareContext(request);
 
             // Chamar o serviço centralizado para geração de conteúdo
-            ContentGenerationResponse response = agentGenerationService.startGeneration(requestMap);
-
-            // Personalizar o título se necessário (adicionar emojis, hashtags etc.)
-            response = enhancePrayerResponse(response, request);
-
-            // Gerar áudio se solicitado
-            if (Boolean.TRUE.equals(request.getGenerateAudio()) && response.getText() != null && !response.getText().isEmpty()) {
-                try {
-                    log.info("[PrayerContentService.generateContent] - Gerando áudio para oração");
-                    byte[] audioData = audioService.generateSpeech(response.getText());
-
-                    // Converter para Base64 ou outra representação adequada
-                    String audioBase64 = "data:audio/mp3;base64," + java.util.Base64.getEncoder().encodeToString(audioData);
-                    response.setAudio(audioBase64);
-
-                    log.info("[PrayerContentService.generateContent] - Áudio gerado com sucesso");
-                } catch (Exception e) {
-                    log.error("[PrayerContentService.generateContent] - Erro ao gerar áudio: {}", e.getMessage(), e);
-                    // Não falhar todo o processo se apenas o áudio falhar
-                }
-            }
+            ContentGenerationResponse response = agentGenerationService.startGeneration(context);
+
+            // Título, tags e áudio
+            response = completeResponse(response, request);
 
             // Persistir o resultado
             if (response != null && "COMPLETED".equals(response.getStatus())) {
@@ -95,6 +71,87 @@ public class PrayerContentService implements PrayerContentPortIn {
         }
     }
 
+    /**
+     * Valida a requisição, garante o processId e a converte para o contexto usado pelos handlers
+     * @param request Requisição de geração de oração
+     * @return Contexto da geração
+     */
+    public GenerationContext prepareContext(PrayerContentGenerationRequest request) {
+        // Validar a solicitação
+        validateRequest(request);
+
+        // Garantir que temos um processId
+        if (request.getProcessId() == null || request.getProcessId().isEmpty()) {
+            request.setProcessId(UUID.randomUUID().toString());
+        }
+
+        // Definir tipo de agente
+        request.setAgentType(AgentType.PRAYER);
+
+        return toContext(request);
+    }
+
+    /**
+     * Completa a resposta gerada pela IA: personaliza título/tags e gera o áudio se solicitado
+     * @param response Resposta processada pelo handler
+     * @param request Requisição original
+     * @return Resposta completa
+     */
+    public ContentGenerationResponse completeResponse(ContentGenerationResponse response, PrayerContentGenerationRequest request) {
+        // Personalizar o título se necessário (adicionar emojis, hashtags etc.)
+        response = enhancePrayerResponse(response, request);
+
+        // Gerar áudio se solicitado
+        boolean audioRequested = Boolean.TRUE.equals(request.getGenerateAudio())
+                && response.getText() != null && !response.getText().isEmpty();
+        if (audioRequested && !audioSynthesisService.isAvailable()) {
+            // Circuito de TTS aberto: responder só com o texto na hora, sem esperar timeouts
+            log.warn("[PrayerContentService.completeResponse] - TTS indisponível, respondendo apenas com o texto");
+        } else if (audioRequested) {
+            try {
+                log.info("[PrayerContentService.completeResponse] - Gerando áudio para oração");
+                // O MP3 vai da ElevenLabs direto para o MinIO, sem ser acumulado em memória;
+                // a linha guarda só a chave e o cliente recebe uma URL pré-assinada
+                String audioObjectKey = audioSynthesisService.synthesizeToStorage(request.getProcessId(), response.getText());
+                response.setAudioObjectKey(audioObjectKey);
+                response.setAudio(audioStorageService.presignedUrl(audioObjectKey));
+
+                log.info("[PrayerContentService.completeResponse] - Áudio gerado com sucesso");
+            } catch (Exception e) {
+                log.error("[PrayerContentService.completeResponse] - Erro ao gerar áudio: {}", e.getMessage(), e);
+                // Não falhar todo o processo se apenas o áudio falhar
+            }
+        }
+
+        return response;
+    }
+
+    @Override
+    public void streamAudio(ContentGeneration content, OutputStream out) throws IOException {
+        log.info("[PrayerContentService.streamAudio] - Enviando áudio da oração ID: {}", content.getContentId());
+
+        // Áudio já armazenado no MinIO
+        if (content.getAudioObjectKey() != null) {
+            audioSynthesisService.copyStoredAudio(content.getAudioObjectKey(), out);
+            return;
+        }
+
+        // Áudio legado em Base64 na própria linha
+        String legacyAudio = content.getAudio();
+        if (legacyAudio != null && legacyAudio.startsWith("data:audio")) {
+            try (InputStream audio = Base64Streams.decodeDataUrl(legacyAudio)) {
+                audio.transferTo(out);
+            }
+            return;
+        }
+
+        // Sem áudio: sintetizar ao vivo, gravando no MinIO em paralelo à reprodução
+        String audioObjectKey = audioSynthesisService.synthesizeToStorage(
+                content.getContentId().toString(), content.getText(), out);
+        content.setAudioObjectKey(audioObjectKey);
+        contentGenerationPortOut.saveContentGeneration(content);
+    }
+
     /**
      * Gera uma versão curta de uma oração existente
      * @param user Usuário que solicitou
@@ -114,6 +171,10 @@ public class PrayerContentService implements PrayerContentPortIn {
                 throw new IllegalArgumentException("Conteúdo não pertence ao usuário");
             }
 
+            if (!original.isCompleted()) {
+                throw new IllegalArgumentException("A geração da oração ainda não foi concluída");
+            }
+
             // Verificar se o conteúdo é do tipo PRAYER
             if (!AgentType.PRAYER.equals(original.getAgentType())) {
                 throw new IllegalArgumentException("Conteúdo não é uma oração");
@@ -177,46 +238,44 @@ public class PrayerContentService implements PrayerContentPortIn {
     }
 
     /**
-     * Converte a requisição para um mapa para processamento
+     * Converte a requisição para o contexto da geração
      * @param request Requisição a ser convertida
-     * @return Mapa com os dados da requisição
+     * @return Contexto com os dados da requisição
      */
-    private Map<String, Object> convertToMap(PrayerContentGenerationRequest request) {
-        Map<String, Object> requestMap = new HashMap<>();
-
-        // Mapear propriedades básicas
-        requestMap.put("processId", request.getProcessId());
-        requestMap.put("title", request.getTitle());
-        requestMap.put("theme", request.getTheme());
-        requestMap.put("notes", request.getNotes());
-        requestMap.put("targetDuration", request.getDurationType().getDurationInSeconds());
-        requestMap.put("language", request.getLanguage());
-        requestMap.put("contentTypes", request.getContentTypes());
-        requestMap.put("generateShortVersion", request.getGenerateShortVersion());
-        requestMap.put("generateAudio", request.getGenerateAudio());
-        requestMap.put("agentType", AgentType.PRAYER);
-
-        // Mapear propriedades específicas de oração
-        requestMap.put("prayerType", request.getPrayerType());
-        requestMap.put("prayerStyle", request.getPrayerStyle());
-        requestMap.put("biblePassage", request.getBiblePassage());
-        requestMap.put("prayerTheme", request.getTheme()); // Redundante para clareza
-        requestMap.put("targetAudience", request.getTargetAudience());
-        requestMap.put("occasion", request.getOccasion());
-        requestMap.put("personalizationName", request.getPersonalizationName());
-        requestMap.put("bibleVersion", request.getBibleVersion());
-        requestMap.put("includeInstructions", request.getIncludeInstructions());
-
+    private GenerationContext toContext(PrayerContentGenerationRequest request) {
         // Características de estilo e tipo
+        String characteristics = null;
         if (request.getPrayerStyle() != null && request.getPrayerType() != null) {
-            String characteristics = prayerStyleService.getCombinedPrayerCharacteristics(
+            characteristics = prayerStyleService.getCombinedPrayerCharacteristics(
                     request.getPrayerStyle(),
                     request.getPrayerType()
             );
-            requestMap.put("prayerStyleCharacteristics", characteristics);
         }
 
-        return requestMap;
+        return GenerationContext.builder()
+                // Mapear propriedades básicas
+                .processId(request.getProcessId())
+                .title(request.getTitle())
+                .theme(request.getTheme())
+                .notes(request.getNotes())
+                .durationType(request.getDurationType())
+                .language(request.getLanguage())
+                .contentTypes(request.getContentTypes())
+                .generateShortVersion(request.getGenerateShortVersion())
+                .generateAudio(request.getGenerateAudio())
+                .agentType(AgentType.PRAYER)
+
+                // Mapear propriedades específicas de oração
+                .prayerType(request.getPrayerType())
+                .prayerStyle(request.getPrayerStyle())
+                .biblePassage(request.getBiblePassage())
+                .targetAudience(request.getTargetAudience())
+                .occasion(request.getOccasion())
+                .personalizationName(request.getPersonalizationName())
+                .bibleVersion(request.getBibleVersion())
+                .includeInstructions(request.getIncludeInstructions())
+                .prayerStyleCharacteristics(characteristics)
+                .build();
     }
 
     /**
@@ -1,20 +1,16 @@
 package br.com.devluisoliveira.agenteroteiro.core.application.service;
 
 import br.com.devluisoliveira.agenteroteiro.core.application.service.agentStyle.impl.StyleApplier;
+import br.com.devluisoliveira.agenteroteiro.core.application.template.PromptTemplate;
+import br.com.devluisoliveira.agenteroteiro.core.application.template.PromptTemplateRegistry;
 import br.com.devluisoliveira.agenteroteiro.core.application.service.enums.AgentType;
 import br.com.devluisoliveira.agenteroteiro.core.application.service.enums.ContentType;
 import br.com.devluisoliveira.agenteroteiro.core.port.in.dto.ContentGenerationRequest;
 import br.com.devluisoliveira.agenteroteiro.core.port.in.dto.PrayerContentGenerationRequest;
 import br.com.devluisoliveira.agenteroteiro.core.port.in.dto.StoicContentGenerationRequest;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.core.io.ClassPathResource;
-import org.springframework.core.io.Resource;
 import org.springframework.stereotype.Service;
-import org.springframework.util.FileCopyUtils;
 
-import java.io.IOException;
-import java.io.InputStreamReader;
-import java.nio.charset.StandardCharsets;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -30,12 +26,15 @@ import java.util.stream.Collectors;
 public class PromptTemplateService {
 
     private final Map<AgentType, StyleApplier> styleAppliers;
+    private final PromptTemplateRegistry promptTemplateRegistry;
 
     /**
      * Construtor que inicializa o mapa de StyleAppliers usando injeção de dependência
      * @param appliers Lista de StyleAppliers disponíveis
+     * @param promptTemplateRegistry Templates já compilados na inicialização
      */
-    public PromptTemplateService(List<StyleApplier> appliers) {
+    public PromptTemplateService(List<StyleApplier> appliers, PromptTemplateRegistry promptTemplateRegistry) {
+        this.promptTemplateRegistry = promptTemplateRegistry;
         this.styleAppliers = appliers.stream()
                 .collect(Collectors.toMap(
                         StyleApplier::getSupportedAgentType,
@@ -49,19 +48,32 @@ public class PromptTemplateService {
      * Método principal para carregar e personalizar o template de acordo com o tipo de requisição
      */
     public String loadTemplateForRequest(ContentGenerationRequest request) {
+        return loadTemplateForRequest(request, Map.of());
+    }
+
+    private String loadTemplateForRequest(ContentGenerationRequest request, Map<String, String> extraValues) {
         try {
-            // Carregar o template base do arquivo
-            String baseTemplate = loadTemplateFile(request.getAgentType());
+            // Template já compilado em trechos literais e placeholders
+            PromptTemplate template = promptTemplateRegistry.get(request.getAgentType().getPromptTemplate());
+            Map<String, String> values = new HashMap<>(32);
 
             // Aplicar o estilo específico do agente (se disponível)
             StyleApplier styleApplier = styleAppliers.get(request.getAgentType());
             if (styleApplier != null) {
-                baseTemplate = styleApplier.applyStyle(baseTemplate, request);
+                styleApplier.applyStyle(values, request);
                 log.debug("Aplicado estilo específico para agente: {}", request.getAgentType());
             }
 
-            // Continuar com personalizações genéricas
-            return personalizeTemplate(baseTemplate, request);
+            // Continuar com personalizações genéricas e renderizar em uma única passada
+            personalizeValues(values, template, request);
+            values.putAll(extraValues);
+
+            String personalizedTemplate = template.render(values);
+
+            // Logar tamanho do template para monitoramento de uso de tokens
+            log.debug("Template personalizado gerado com {} caracteres", personalizedTemplate.length());
+
+            return personalizedTemplate;
 
         } catch (Exception e) {
             log.error("Erro ao carregar template para o agente {}: {}",
@@ -74,34 +86,21 @@ public class PromptTemplateService {
     }
 
     /**
-     * Carrega o arquivo de template para o tipo de agente especificado
-     */
-    private String loadTemplateFile(AgentType agentType) throws IOException {
-        String templatePath = agentType.getPromptTemplate();
-        Resource resource = new ClassPathResource(templatePath);
-
-        try (InputStreamReader reader = new InputStreamReader(resource.getInputStream(), StandardCharsets.UTF_8)) {
-            return FileCopyUtils.copyToString(reader);
-        }
-    }
-
-    /**
-     * Personaliza o template substituindo os placeholders pelos valores da requisição
+     * Preenche os valores dos placeholders a partir da requisição
      */
-    private String personalizeTemplate(String template, ContentGenerationRequest request) {
+    private void personalizeValues(Map<String, String> replacements, PromptTemplate template, ContentGenerationRequest request) {
         // Substituir placeholders básicos
-        Map<String, String> replacements = new HashMap<>();
-        replacements.put("{processId}", nullSafe(request.getProcessId()));
-        replacements.put("{title}", nullSafe(request.getTitle()));
-        replacements.put("{theme}", nullSafe(request.getTheme()));
-        replacements.put("{notes}", nullSafe(request.getNotes()));
-        replacements.put("{videoTopic}", nullSafe(request.getVideoTopic()));
-        replacements.put("{targetAudience}", nullSafe(request.getTargetAudience()));
-        replacements.put("{toneStyle}", nullSafe(request.getToneStyle()));
-        replacements.put("{targetDuration}", request.getTargetDuration() != null ?
+        replacements.put("processId", nullSafe(request.getProcessId()));
+        replacements.put("title", nullSafe(request.getTitle()));
+        replacements.put("theme", nullSafe(request.getTheme()));
+        replacements.put("notes", nullSafe(request.getNotes()));
+        replacements.put("videoTopic", nullSafe(request.getVideoTopic()));
+        replacements.put("targetAudience", nullSafe(request.getTargetAudience()));
+        replacements.put("toneStyle", nullSafe(request.getToneStyle()));
+        replacements.put("targetDuration", request.getTargetDuration() != null ?
                 request.getTargetDuration().toString() : "não especificado");
-        replacements.put("{language}", nullSafe(request.getLanguage()));
-        replacements.put("{additionalContext}", nullSafe(request.getAdditionalContext()));
+        replacements.put("language", nullSafe(request.getLanguage()));
+        replacements.put("additionalContext", nullSafe(request.getAdditionalContext()));
 
         // Formatar a lista de tipos de conteúdo
         String contentTypesFormatted = "";
@@ -113,13 +112,13 @@ public class PromptTemplateService {
                 contentTypesFormatted = "- " + contentTypesFormatted;
             }
         }
-        replacements.put("{contentTypesFormatted}", contentTypesFormatted);
+        replacements.put("contentTypesFormatted", contentTypesFormatted);
 
         // Preparar seções condicionais
-        replacements.put("{titleSection}", shouldIncludeSection(request, ContentType.TITLE) ?
+        replacements.put("titleSection", shouldIncludeSection(request, ContentType.TITLE) ?
                 "### TÍTULO DO VÍDEO" : "");
 
-        replacements.put("{descriptionSection}", shouldIncludeSection(request, ContentType.DESCRIPTION) ?
+        replacements.put("descriptionSection", shouldIncludeSection(request, ContentType.DESCRIPTION) ?
                 "### DESCRIÇÃO DO VÍDEO\n" +
                         "[Aqui será gerada uma descrição completa com 1500-2000 caracteres, incluindo:\n" +
                         "- Breve introdução ao conteúdo do vídeo\n" +
@@ -128,44 +127,33 @@ public class PromptTemplateService {
                         "- Call-to-action para inscrição, likes e compartilhamento\n" +
                         "- Hashtags relevantes]" : "");
 
-        replacements.put("{tagsSection}", shouldIncludeSection(request, ContentType.TAGS) ?
+        replacements.put("tagsSection", shouldIncludeSection(request, ContentType.TAGS) ?
                 "### TAGS\n" +
                         "[10-15 tags relevantes separadas por vírgula]" : "");
 
-        replacements.put("{scriptSection}", shouldIncludeSection(request, ContentType.SCRIPT) ?
+        replacements.put("scriptSection", shouldIncludeSection(request, ContentType.SCRIPT) ?
                 "### ROTEIRO\n" +
                         "[Roteiro completo estruturado com:\n" +
                         "- Introdução cativante\n" +
                         "- Desenvolvimento em tópicos claros\n" +
                         "- Conclusão com resumo e call-to-action]" : "");
 
-        replacements.put("{thumbnailSection}", shouldIncludeSection(request, ContentType.THUMBNAIL_IDEA) ?
+        replacements.put("thumbnailSection", shouldIncludeSection(request, ContentType.THUMBNAIL_IDEA) ?
                 "### IDEIA PARA THUMBNAIL\n" +
                         "[3 ideias para thumbnail com elementos visuais e texto]" : "");
 
-        replacements.put("{audioScriptSection}", shouldIncludeSection(request, ContentType.AUDIO_SCRIPT) ?
+        replacements.put("audioScriptSection", shouldIncludeSection(request, ContentType.AUDIO_SCRIPT) ?
                 "### SCRIPT PARA ÁUDIO\n" +
                         "[Script otimizado para narração em áudio]" : "");
 
-        replacements.put("{shortVersionSection}", Boolean.TRUE.equals(request.getGenerateShortVersion()) ?
+        replacements.put("shortVersionSection", Boolean.TRUE.equals(request.getGenerateShortVersion()) ?
                 "### VERSÃO CURTA\n" +
                         "[Versão reduzida de 60-90 segundos para Shorts]" : "");
 
         // Adicionar diretrizes específicas para o tipo de agente se necessário
-        if (template.contains("{agentSpecificGuidelines}")) {
-            replacements.put("{agentSpecificGuidelines}", getAgentSpecificGuidelines(request.getAgentType()));
-        }
-
-        // Aplicar todas as substituições
-        String personalizedTemplate = template;
-        for (Map.Entry<String, String> entry : replacements.entrySet()) {
-            personalizedTemplate = personalizedTemplate.replace(entry.getKey(), entry.getValue());
+        if (template.hasPlaceholder("agentSpecificGuidelines")) {
+            replacements.put("agentSpecificGuidelines", getAgentSpecificGuidelines(request.getAgentType()));
         }
-
-        // Logar tamanho do template para monitoramento de uso de tokens
-        log.debug("Template personalizado gerado com {} caracteres", personalizedTemplate.length());
-
-        return personalizedTemplate;
     }
 
     private boolean shouldIncludeSection(ContentGenerationRequest request, ContentType contentType) {
@@ -265,17 +253,14 @@ public class PromptTemplateService {
         contextBuilder.append("Intenções: ").append(nullSafe(intentions));
         request.setAdditionalContext(contextBuilder.toString());
 
-        // Usar o método existente para carregar o template
-        String template = loadTemplateForRequest(request);
-
-        // Personalizar mais o template se necessário para este caso específico
-        // Substituir placeholders específicos que podem não estar no método padrão
-        template = template.replace("{religiousTradition}", nullSafe(religiousTradition));
-        template = template.replace("{durationMinutes}", durationMinutes != null ? durationMinutes.toString() : "");
-        template = template.replace("{timeOfDay}", nullSafe(timeOfDay));
-        template = template.replace("{intentions}", nullSafe(intentions));
+        // Placeholders específicos deste caso, renderizados junto com os do método padrão
+        Map<String, String> extraValues = new HashMap<>();
+        extraValues.put("religiousTradition", nullSafe(religiousTradition));
+        extraValues.put("durationMinutes", durationMinutes != null ? durationMinutes.toString() : "");
+        extraValues.put("timeOfDay", nullSafe(timeOfDay));
+        extraValues.put("intentions", nullSafe(intentions));
 
-        return template;
+        return loadTemplateForRequest(request, extraValues);
     }
 
     public String buildShortPrompt(String originalText, String originalTitle, String language) {
@@ -3,6 +3,7 @@ package br.com.devluisoliveira.agenteroteiro.core.application.service;
 import br.com.devluisoliveira.agenteroteiro.core.application.mapper.GenericGeneraMapper;
 import br.com.devluisoliveira.agenteroteiro.core.application.mapper.StoicContentMapper;
 import br.com.devluisoliveira.agenteroteiro.core.application.service.agentStyle.PhilosopherStyleService;
+import br.com.devluisoliveira.agenteroteiro.core.application.service.context.GenerationContext;
 import br.com.devluisoliveira.agenteroteiro.core.application.service.enums.PhilosopherType;
 import br.com.devluisoliveira.agenteroteiro.core.domain.entity.ContentGeneration;
 import br.com.devluisoliveira.agenteroteiro.core.domain.entity.User;
@@ -14,7 +15,6 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
-import java.util.Map;
 import java.util.UUID;
 
 @Service
@@ -34,26 +34,11 @@ public class StoicContentService implements StoicContentPortIn {
                 user.getUsername(), request.getPhilosopherName());
 
         try {
-            // Validar a solicitação
-            validateRequest(request);
-
-            // Garantir que temos um processId
-            if (request.getProcessId() == null || request.getProcessId().isEmpty()) {
-                request.setProcessId(UUID.randomUUID().toString());
-            }
-
-            // Normalizar o nome do filósofo se necessário
-            normalizePhilosopher(request);
-
-            // Obter o estilo do filósofo
-            String philosopherStyle = philosopherStyleService.getPhilosopherStyle(request.getPhilosopherName());
-            request.setPhilosopherStyle(philosopherStyle);
-
-            // Converter a request para Map para processamento pelo AgentGenerationService
-            Map<String, Object> requestMap = stoicContentMapper.convertRequestToMap(request);
+            // Converter a request para o contexto processado pelo AgentGenerationService
+            GenerationContext context = prepareContext(request);
 
             // Chamar o serviço centralizado para geração de conteúdo
-            ContentGenerationResponse response = agentGenerationService.startGeneration(requestMap);
+            ContentGenerationResponse response = agentGenerationService.startGeneration(context);
 
             // Persistir o resultado
             if (response != null && "COMPLETED".equals(response.getStatus())) {
@@ -72,6 +57,30 @@ public class StoicContentService implements StoicContentPortIn {
         }
     }
 
+    /**
+     * Valida a requisição, normaliza o filósofo, resolve o estilo e converte para o contexto usado pelos handlers
+     */
+    public GenerationContext prepareContext(StoicContentGenerationRequest request) {
+        // Validar a solicitação
+        validateRequest(request);
+
+        // Garantir que temos um processId
+        if (request.getProcessId() == null || request.getProcessId().isEmpty()) {
+            request.setProcessId(UUID.randomUUID().toString());
+        }
+
+        // Normalizar o nome do filósofo se necessário
+        PhilosopherType philosopher = normalizePhilosopher(request);
+
+        // Obter o estilo do filósofo (já resolvido pelo enum quando o nome foi reconhecido)
+        String philosopherStyle = philosopher != null
+                ? philosopherStyleService.getPhilosopherStyle(philosopher)
+                : philosopherStyleService.getPhilosopherStyle(request.getPhilosopherName());
+        request.setPhilosopherStyle(philosopherStyle);
+
+        return stoicContentMapper.toContext(request);
+    }
+
     private void validateRequest(StoicContentGenerationRequest request) {
         log.debug("[StoicContentService.validateRequest] - Validando requisição");
 
@@ -90,22 +99,22 @@ public class StoicContentService implements StoicContentPortIn {
         log.debug("[StoicContentService.validateRequest] - Requisição válida");
     }
 
-    private void normalizePhilosopher(StoicContentGenerationRequest request) {
+    private PhilosopherType normalizePhilosopher(StoicContentGenerationRequest request) {
         String philosopherName = request.getPhilosopherName();
 
-        // Tentar encontrar o filósofo pelo nome exato ou aproximado
-        PhilosopherType philosopher = PhilosopherType.findByName(philosopherName);
-        if (philosopher == null) {
-            philosopher = PhilosopherType.findByApproximateName(philosopherName);
-        }
+        // Nome exato, apelido ou nome aproximado, pelo índice pré-calculado
+        PhilosopherType philosopher = philosopherStyleService.findPhilosopher(philosopherName);
 
         // Se encontrou um filósofo no enum, usar o nome normalizado
         if (philosopher != null) {
-            log.info("[StoicContentService.normalizePhilosopher] - Filósofo normalizado de '{}' para '{}'",
-                    philosopherName, philosopher.getName());
+            if (!philosopher.getName().equals(philosopherName)) {
+                log.info("[StoicContentService.normalizePhilosopher] - Filósofo normalizado de '{}' para '{}'",
+                        philosopherName, philosopher.getName());
+            }
             request.setPhilosopher(philosopher);
             request.setPhilosopherName(philosopher.getName());
         }
+        return philosopher;
     }
 
     private void saveGeneratedContent(User user, ContentGenerationResponse response) {
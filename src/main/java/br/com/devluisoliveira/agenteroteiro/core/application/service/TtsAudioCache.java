@@ -0,0 +1,176 @@
+package br.com.devluisoliveira.agenteroteiro.core.application.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Optional;
+import java.util.regex.Pattern;
+
+/**
+ * Cache de áudio endereçado por conteúdo: a chave do objeto no MinIO é o hash do texto
+ * normalizado + voz + configurações de voz. Textos repetidos (orações padrão, bênçãos de
+ * encerramento, parágrafos inalterados) não são sintetizados novamente.
+ *
+ * Falhas ao consultar o MinIO são tratadas como miss.
+ *
+ * Os objetos são compartilhados entre conteúdos, então não são removidos junto com eles: uma regra de ciclo de
+ * vida do bucket expira o prefixo após expiration-days sem uso. Cada acerto do roteiro completo renova a data
+ * do objeto, para que ele não expire enquanto um conteúdo ainda o referencia.
+ */
+@Component
+@Slf4j
+public class TtsAudioCache {
+
+    private static final String KEY_PREFIX = "tts-cache/";
+    private static final String EXPIRATION_RULE_ID = "tts-cache-expiration";
+    private static final Pattern HORIZONTAL_WHITESPACE = Pattern.compile("[ \\t\\x0B\\f]+");
+    private static final Pattern LINE_BREAK = Pattern.compile("\\r\\n?");
+
+    private final MinioService minioService;
+    private final ElevenLabsService elevenLabsService;
+    private final boolean enabled;
+    private final int expirationDays;
+    private final Counter fullHits;
+    private final Counter fullMisses;
+    private final Counter chunkHits;
+    private final Counter chunkMisses;
+
+    public TtsAudioCache(MinioService minioService,
+                         ElevenLabsService elevenLabsService,
+                         MeterRegistry meterRegistry,
+                         @Value("${audio.tts.cache.enabled:true}") boolean enabled,
+                         @Value("${audio.tts.cache.expiration-days:30}") int expirationDays) {
+        this.minioService = minioService;
+        this.elevenLabsService = elevenLabsService;
+        this.enabled = enabled;
+        this.expirationDays = expirationDays;
+        this.fullHits = counter(meterRegistry, "full", "hit");
+        this.fullMisses = counter(meterRegistry, "full", "miss");
+        this.chunkHits = counter(meterRegistry, "chunk", "hit");
+        this.chunkMisses = counter(meterRegistry, "chunk", "miss");
+    }
+
+    /**
+     * Registra a expiração do prefixo do cache no bucket; zero deixa o ciclo de vida a cargo da operação
+     */
+    @PostConstruct
+    public void registerExpiration() {
+        if (!enabled || expirationDays <= 0) {
+            return;
+        }
+        try {
+            minioService.expireObjects(EXPIRATION_RULE_ID, KEY_PREFIX, expirationDays);
+            log.info("[TtsAudioCache.registerExpiration] - Objetos em {} expiram após {} dias sem uso", KEY_PREFIX, expirationDays);
+        } catch (IOException e) {
+            log.warn("[TtsAudioCache.registerExpiration] - Falha ao registrar a expiração de {}: {}", KEY_PREFIX, e.getMessage());
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Chave do objeto de áudio para o texto com a voz e as configurações atuais
+     */
+    public String keyFor(String text) {
+        String normalized = normalize(text);
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update(normalized.getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) 0);
+            digest.update(elevenLabsService.getVoiceSignature().getBytes(StandardCharsets.UTF_8));
+            return KEY_PREFIX + HexFormat.of().formatHex(digest.digest()) + ".mp3";
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 indisponível", e);
+        }
+    }
+
+    /**
+     * Verifica se o áudio do roteiro completo já existe
+     */
+    public boolean containsFull(String key) {
+        boolean hit = exists(key) && touch(key);
+        (hit ? fullHits : fullMisses).increment();
+        return hit;
+    }
+
+    /**
+     * Busca o áudio de um trecho; os trechos são pequenos, então são lidos em memória
+     */
+    public Optional<byte[]> findChunk(String key) {
+        if (!exists(key)) {
+            chunkMisses.increment();
+            return Optional.empty();
+        }
+        try (InputStream audio = minioService.getObject(key)) {
+            chunkHits.increment();
+            return Optional.of(audio.readAllBytes());
+        } catch (IOException e) {
+            log.warn("[TtsAudioCache.findChunk] - Falha ao ler {} do cache: {}", key, e.getMessage());
+            chunkMisses.increment();
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Grava o áudio de um trecho; falhas apenas deixam de popular o cache
+     */
+    public void putChunk(String key, byte[] audio) {
+        try {
+            minioService.uploadObject(key, new ByteArrayInputStream(audio), audio.length, -1,
+                    AudioStorageService.AUDIO_CONTENT_TYPE);
+        } catch (IOException e) {
+            log.warn("[TtsAudioCache.putChunk] - Falha ao gravar {} no cache: {}", key, e.getMessage());
+        }
+    }
+
+    /**
+     * Renova a data do objeto; se falhar, o acerto vira miss e a nova síntese regrava o objeto
+     */
+    private boolean touch(String key) {
+        try {
+            minioService.touchObject(key, AudioStorageService.AUDIO_CONTENT_TYPE);
+            return true;
+        } catch (IOException e) {
+            log.warn("[TtsAudioCache.touch] - Falha ao renovar {} no cache: {}", key, e.getMessage());
+            return false;
+        }
+    }
+
+    private boolean exists(String key) {
+        try {
+            return minioService.objectExists(key);
+        } catch (IOException e) {
+            log.warn("[TtsAudioCache.exists] - Falha ao consultar {} no cache: {}", key, e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * Normaliza quebras de linha e espaços; maiúsculas e pontuação são mantidas porque
+     * influenciam a entonação
+     */
+    private String normalize(String text) {
+        String unified = LINE_BREAK.matcher(text).replaceAll("\n");
+        return HORIZONTAL_WHITESPACE.matcher(unified).replaceAll(" ").trim();
+    }
+
+    private static Counter counter(MeterRegistry registry, String level, String result) {
+        return Counter.builder("tts.cache.requests")
+                .tag("level", level)
+                .tag("result", result)
+                .register(registry);
+    }
+}
@@ -0,0 +1,111 @@
+package br.com.devluisoliveira.agenteroteiro.core.application.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Pattern;
+
+/**
+ * Divide roteiros longos em trechos aceitos pelo provedor de TTS, cortando em limites de
+ * parágrafo e de frase para que a entonação não quebre no meio de uma sentença.
+ */
+@Component
+public class TtsTextChunker {
+
+    private static final Pattern PARAGRAPH_BREAK = Pattern.compile("\\n\\s*\\n");
+    private static final Pattern SENTENCE_END = Pattern.compile("(?<=[.!?…])\\s+");
+
+    private final int maxChars;
+    private final boolean paragraphAligned;
+
+    public TtsTextChunker(@Value("${audio.tts.chunk-max-chars:2500}") int maxChars,
+                          @Value("${audio.tts.cache.paragraph-aligned:false}") boolean paragraphAligned) {
+        this.maxChars = maxChars;
+        this.paragraphAligned = paragraphAligned;
+    }
+
+    /**
+     * Divide o texto em trechos de até maxChars caracteres, na ordem original.
+     * Parágrafos inteiros são agrupados enquanto couberem; parágrafos maiores são divididos
+     * por frases e, em último caso, frases muito longas são cortadas no último espaço.
+     *
+     * Com paragraphAligned cada parágrafo inicia um novo trecho, de modo que os limites não
+     * se deslocam quando outro parágrafo muda (pré-requisito para o cache por trecho). Texto que
+     * cabe num trecho continua sendo um trecho só: uma chamada ao provedor em vez de uma por parágrafo.
+     */
+    public List<String> split(String text) {
+        List<String> chunks = new ArrayList<>();
+        if (text == null || text.isBlank()) {
+            return chunks;
+        }
+
+        boolean alignParagraphs = paragraphAligned && text.trim().length() > maxChars;
+        StringBuilder current = new StringBuilder(maxChars);
+        for (String paragraph : PARAGRAPH_BREAK.split(text.trim())) {
+            String trimmed = paragraph.trim();
+            if (trimmed.isEmpty()) {
+                continue;
+            }
+
+            if (alignParagraphs) {
+                flush(current, chunks);
+            }
+
+            if (fits(current, trimmed, 2)) {
+                append(current, trimmed, "\n\n");
+                continue;
+            }
+
+            // A primeira frase do parágrafo ainda é separada do trecho anterior por quebra de parágrafo
+            String separator = "\n\n";
+            for (String sentence : SENTENCE_END.split(trimmed)) {
+                if (fits(current, sentence, separator.length())) {
+                    append(current, sentence, separator);
+                    separator = " ";
+                    continue;
+                }
+                separator = " ";
+
+                flush(current, chunks);
+                String remaining = sentence;
+                while (remaining.length() > maxChars) {
+                    int cut = remaining.lastIndexOf(' ', maxChars);
+                    if (cut <= 0) {
+                        cut = maxChars;
+                    }
+                    chunks.add(remaining.substring(0, cut).trim());
+                    remaining = remaining.substring(cut).trim();
+                }
+                current.append(remaining);
+            }
+        }
+
+        flush(current, chunks);
+        return chunks;
+    }
+
+    public int getMaxChars() {
+        return maxChars;
+    }
+
+    private boolean fits(StringBuilder current, String piece, int separatorLength) {
+        int separator = current.length() > 0 ? separatorLength : 0;
+        return current.length() + separator + piece.length() <= maxChars;
+    }
+
+    private void append(StringBuilder current, String piece, String separator) {
+        if (current.length() > 0) {
+            current.append(separator);
+        }
+        current.append(piece);
+    }
+
+    private void flush(StringBuilder current, List<String> chunks) {
+        if (current.length() > 0) {
+            chunks.add(current.toString());
+            current.setLength(0);
+        }
+    }
+}
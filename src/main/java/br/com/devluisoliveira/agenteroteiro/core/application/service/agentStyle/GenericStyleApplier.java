@@ -6,6 +6,8 @@ import br.com.devluisoliveira.agenteroteiro.core.port.in.dto.ContentGenerationRe
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
+import java.util.Map;
+
 /**
  * Implementação de StyleApplier para conteúdo genérico
  * Serve como fallback quando não há um StyleApplier específico para o tipo de agente
@@ -20,20 +22,18 @@ public class GenericStyleApplier implements StyleApplier {
     }
 
     @Override
-    public String applyStyle(String template, ContentGenerationRequest request) {
+    public void applyStyle(Map<String, String> values, ContentGenerationRequest request) {
         log.debug("Aplicando estilo genérico para template");
 
         // O estilo genérico não tem customizações específicas,
         // mas podemos adicionar algumas diretrizes gerais
 
         // Substituir placeholders específicos do template genérico
-        template = template.replace("{generalGuidelines}",
+        values.put("generalGuidelines",
                 "- Use linguagem clara e objetiva\n" +
                         "- Explique conceitos técnicos de forma acessível\n" +
                         "- Mantenha um tom informativo e profissional\n" +
                         "- Organize o conteúdo em seções lógicas\n" +
                         "- Inclua exemplos práticos quando relevante");
-
-        return template;
     }
 }
\ No newline at end of file
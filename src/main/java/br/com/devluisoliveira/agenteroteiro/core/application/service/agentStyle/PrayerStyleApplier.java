@@ -8,6 +8,8 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
+import java.util.Map;
+
 /**
  * Implementação de StyleApplier para conteúdo de orações
  */
@@ -24,7 +26,7 @@ public class PrayerStyleApplier implements StyleApplier {
     }
 
     @Override
-    public String applyStyle(String template, ContentGenerationRequest request) {
+    public void applyStyle(Map<String, String> values, ContentGenerationRequest request) {
         if (request instanceof PrayerContentGenerationRequest) {
             PrayerContentGenerationRequest prayerRequest = (PrayerContentGenerationRequest) request;
 
@@ -34,30 +36,18 @@ public class PrayerStyleApplier implements StyleApplier {
                     prayerRequest.getPrayerType());
 
             // Aplicar estilo no template
-            template = template.replace("{prayerStyleCharacteristics}", prayerStyleCharacteristics);
+            values.put("prayerStyleCharacteristics", prayerStyleCharacteristics);
 
             // Substituições adicionais específicas
-            if (prayerRequest.getBiblePassage() != null) {
-                template = template.replace("{biblePassage}", prayerRequest.getBiblePassage());
-            } else {
-                template = template.replace("{biblePassage}", "");
-            }
-
-            if (prayerRequest.getOccasion() != null) {
-                template = template.replace("{occasion}", prayerRequest.getOccasion());
-            } else {
-                template = template.replace("{occasion}", "");
-            }
+            values.put("biblePassage", prayerRequest.getBiblePassage() != null ? prayerRequest.getBiblePassage() : "");
+            values.put("occasion", prayerRequest.getOccasion() != null ? prayerRequest.getOccasion() : "");
 
             log.debug("Aplicado estilo de oração para: {}", prayerRequest.getPrayerStyle());
         } else {
             log.warn("Requisição não é do tipo PrayerContentGenerationRequest, aplicando estilo padrão");
-            template = template.replace("{prayerStyleCharacteristics}",
-                    "Estilo de oração padrão - balanceado e acessível");
-            template = template.replace("{biblePassage}", "");
-            template = template.replace("{occasion}", "");
+            values.put("prayerStyleCharacteristics", "Estilo de oração padrão - balanceado e acessível");
+            values.put("biblePassage", "");
+            values.put("occasion", "");
         }
-
-        return template;
     }
 }
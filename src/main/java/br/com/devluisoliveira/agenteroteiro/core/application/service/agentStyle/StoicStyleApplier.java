@@ -8,6 +8,8 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
+import java.util.Map;
+
 /**
  * Implementação de StyleApplier para conteúdo estoico
  */
@@ -24,7 +26,7 @@ public class StoicStyleApplier implements StyleApplier {
     }
 
     @Override
-    public String applyStyle(String template, ContentGenerationRequest request) {
+    public void applyStyle(Map<String, String> values, ContentGenerationRequest request) {
         if (request instanceof StoicContentGenerationRequest) {
             StoicContentGenerationRequest stoicRequest = (StoicContentGenerationRequest) request;
 
@@ -33,19 +35,16 @@ public class StoicStyleApplier implements StyleApplier {
             String philosopherStyle = philosopherStyleService.getPhilosopherStyle(philosopherName);
 
             // Aplicar estilo no template
-            template = template.replace("{philosopherStyle}", philosopherStyle);
+            values.put("philosopherStyle", philosopherStyle);
 
             // Substituições adicionais específicas
-            template = template.replace("{philosopher}",
-                    stoicRequest.getPhilosopherName() != null ? stoicRequest.getPhilosopherName() : "");
+            values.put("philosopher", stoicRequest.getPhilosopherName() != null ? stoicRequest.getPhilosopherName() : "");
 
             log.debug("Aplicado estilo do filósofo: {}", philosopherName);
         } else {
             log.warn("Requisição não é do tipo StoicContentGenerationRequest, aplicando estilo padrão");
-            template = template.replace("{philosopherStyle}", "Estilo estoico genérico");
-            template = template.replace("{philosopher}", "");
+            values.put("philosopherStyle", "Estilo estoico genérico");
+            values.put("philosopher", "");
         }
-
-        return template;
     }
 }
\ No newline at end of file
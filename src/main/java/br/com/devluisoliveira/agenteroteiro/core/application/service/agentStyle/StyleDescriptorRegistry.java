@@ -0,0 +1,443 @@
+package br.com.devluisoliveira.agenteroteiro.core.application.service.agentStyle;
+
+import br.com.devluisoliveira.agenteroteiro.core.application.service.enums.PhilosopherType;
+import br.com.devluisoliveira.agenteroteiro.core.application.service.enums.PrayerStyle;
+import br.com.devluisoliveira.agenteroteiro.core.application.service.enums.PrayerType;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.text.Normalizer;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * Descritores de estilo dos agentes (características de oração e estilo de cada filósofo), montados
+ * uma única vez na inicialização e imutáveis depois disso.
+ *
+ * Os textos ficam em EnumMaps. As combinações estilo x tipo de oração, inclusive com estilo ou tipo
+ * ausente, já ficam renderizadas, e os nomes de filósofo são resolvidos por um índice de apelidos
+ * sem acentos nem diferença de maiúsculas.
+ */
+@Slf4j
+@Component
+public final class StyleDescriptorRegistry {
+
+    private static final String DEFAULT_PRAYER_STYLE =
+            "- Equilíbrio entre profundidade e acessibilidade\n" +
+            "- Linguagem clara e direta\n" +
+            "- Tom caloroso e inspirador\n" +
+            "- Fundamentação bíblica\n" +
+            "- Aplicações práticas para a vida\n" +
+            "- Relevância cultural contemporânea";
+
+    private static final String DEFAULT_PRAYER_TYPE =
+            "- Equilíbrio entre diversos elementos de oração\n" +
+            "- Invocação, gratidão, petição e adoração\n" +
+            "- Aplicação bíblica relevante\n" +
+            "- Conexão entre fé e vida prática\n" +
+            "- Expressão de necessidades e desejos\n" +
+            "- Foco na transformação espiritual";
+
+    private static final String DEFAULT_PHILOSOPHER_STYLE =
+            "- Tom equilibrado entre teórico e prático\n" +
+            "- Linguagem clara e direta\n" +
+            "- Ênfase nas virtudes cardeais estoicas\n" +
+            "- Foco na aplicação prática dos princípios\n" +
+            "- Abordagem acessível dos conceitos filosóficos";
+
+    private static final Pattern COMBINING_MARKS = Pattern.compile("\\p{M}+");
+
+    // Grafias em outras línguas ou abreviadas, além dos nomes do enum
+    private static final Map<String, PhilosopherType> EXTRA_ALIASES = Map.ofEntries(
+            Map.entry("Zeno", PhilosopherType.ZENAO_DE_CITIO),
+            Map.entry("Zeno of Citium", PhilosopherType.ZENAO_DE_CITIO),
+            Map.entry("Chrysippus", PhilosopherType.CRISIPO_DE_SOLIS),
+            Map.entry("Panaetius", PhilosopherType.PANECIO_DE_RODES),
+            Map.entry("Posidonius", PhilosopherType.POSIDONIO_DE_APAMEIA),
+            Map.entry("Lucius Annaeus Seneca", PhilosopherType.SENECA),
+            Map.entry("Musonius Rufus", PhilosopherType.MUSONIO_RUFO),
+            Map.entry("Epictetus", PhilosopherType.EPICTETO),
+            Map.entry("Marcus Aurelius", PhilosopherType.MARCO_AURELIO),
+            Map.entry("Heraclitus", PhilosopherType.HERACLITO_DE_EFESO),
+            Map.entry("Diogenes of Babylon", PhilosopherType.DIOGENES_DE_BABILONIA),
+            Map.entry("Antipater of Tarsus", PhilosopherType.ANTIPATRO_DE_TARSO),
+            Map.entry("Athenodorus", PhilosopherType.ATENODORO_DE_TARSUS),
+            Map.entry("Ariston of Chios", PhilosopherType.ARISTO_DE_QUIOS));
+
+    private final Map<PrayerStyle, String> prayerStyles;
+    private final Map<PrayerType, String> prayerTypes;
+    // [ordinal do estilo + 1][ordinal do tipo + 1]; a posição 0 é o estilo/tipo ausente
+    private final String[][] combinedPrayerCharacteristics;
+
+    private final PhilosopherType[] philosophers = PhilosopherType.values();
+    private final String[] normalizedPhilosopherNames = new String[philosophers.length];
+    private final Map<PhilosopherType, String> philosopherStyles;
+    private final Map<String, PhilosopherType> philosopherAliases;
+
+    public StyleDescriptorRegistry() {
+        this.prayerStyles = initializePrayerStyles();
+        this.prayerTypes = initializePrayerTypes();
+        this.combinedPrayerCharacteristics = renderCombinedPrayerCharacteristics();
+
+        for (int i = 0; i < philosophers.length; i++) {
+            normalizedPhilosopherNames[i] = normalize(philosophers[i].getName());
+        }
+        this.philosopherStyles = initializePhilosopherStyles();
+        this.philosopherAliases = buildPhilosopherAliases();
+
+        log.info("[StyleDescriptorRegistry] - {} combinações de oração e {} apelidos de filósofos pré-calculados",
+                combinedPrayerCharacteristics.length * combinedPrayerCharacteristics[0].length,
+                philosopherAliases.size());
+    }
+
+    /**
+     * Características do estilo de oração; as do estilo padrão quando nulo
+     */
+    public String prayerStyle(PrayerStyle prayerStyle) {
+        return prayerStyle != null ? prayerStyles.get(prayerStyle) : DEFAULT_PRAYER_STYLE;
+    }
+
+    /**
+     * Características do tipo de oração; as do tipo padrão quando nulo
+     */
+    public String prayerType(PrayerType prayerType) {
+        return prayerType != null ? prayerTypes.get(prayerType) : DEFAULT_PRAYER_TYPE;
+    }
+
+    /**
+     * Guia completo de estilo e tipo de oração, já renderizado
+     */
+    public String combinedPrayerCharacteristics(PrayerStyle prayerStyle, PrayerType prayerType) {
+        return combinedPrayerCharacteristics[slot(prayerStyle)][slot(prayerType)];
+    }
+
+    /**
+     * Estilo do filósofo; o estilo padrão quando nulo ou sem texto próprio
+     */
+    public String philosopherStyle(PhilosopherType philosopher) {
+        return philosopher != null ? philosopherStyles.get(philosopher) : DEFAULT_PHILOSOPHER_STYLE;
+    }
+
+    /**
+     * Resolve o filósofo pelo nome, ignorando acentos e maiúsculas: primeiro pelo índice de apelidos e,
+     * sem entrada no índice, pelo nome que contém o informado (ou está contido nele)
+     *
+     * @return o filósofo, ou nulo se nenhum corresponde
+     */
+    public PhilosopherType findPhilosopher(String name) {
+        if (name == null || name.isBlank()) {
+            return null;
+        }
+        String normalized = normalize(name);
+        PhilosopherType philosopher = philosopherAliases.get(normalized);
+        if (philosopher != null) {
+            return philosopher;
+        }
+        for (int i = 0; i < philosophers.length; i++) {
+            String candidate = normalizedPhilosopherNames[i];
+            if (candidate.contains(normalized) || normalized.contains(candidate)) {
+                return philosophers[i];
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Normaliza um nome para comparação insensível a acentos e maiúsculas/minúsculas
+     */
+    static String normalize(String input) {
+        String decomposed = Normalizer.normalize(input.trim(), Normalizer.Form.NFD);
+        return COMBINING_MARKS.matcher(decomposed).replaceAll("").toLowerCase(Locale.ROOT);
+    }
+
+    private static int slot(Enum<?> value) {
+        return value != null ? value.ordinal() + 1 : 0;
+    }
+
+    private String[][] renderCombinedPrayerCharacteristics() {
+        PrayerStyle[] styles = PrayerStyle.values();
+        PrayerType[] types = PrayerType.values();
+        String[][] combined = new String[styles.length + 1][types.length + 1];
+
+        for (int s = 0; s <= styles.length; s++) {
+            PrayerStyle style = s == 0 ? null : styles[s - 1];
+            for (int t = 0; t <= types.length; t++) {
+                PrayerType type = t == 0 ? null : types[t - 1];
+                combined[s][t] = "## CARACTERÍSTICAS DO ESTILO DE ORAÇÃO\n" + prayerStyle(style)
+                        + "\n\n## CARACTERÍSTICAS DO TIPO DE ORAÇÃO\n" + prayerType(type);
+            }
+        }
+        return combined;
+    }
+
+    /**
+     * Nome completo, nome da constante e primeiro nome (quando não é ambíguo), além dos apelidos extras
+     */
+    private Map<String, PhilosopherType> buildPhilosopherAliases() {
+        Map<String, PhilosopherType> aliases = new HashMap<>();
+        Map<String, PhilosopherType> firstNames = new HashMap<>();
+        Set<String> ambiguousFirstNames = new HashSet<>();
+
+        for (int i = 0; i < philosophers.length; i++) {
+            PhilosopherType philosopher = philosophers[i];
+            aliases.put(normalizedPhilosopherNames[i], philosopher);
+            aliases.put(normalize(philosopher.name().replace('_', ' ')), philosopher);
+
+            String firstName = normalizedPhilosopherNames[i].split(" ", 2)[0];
+            if (firstNames.putIfAbsent(firstName, philosopher) != null) {
+                ambiguousFirstNames.add(firstName);
+            }
+        }
+        firstNames.keySet().removeAll(ambiguousFirstNames);
+        firstNames.forEach(aliases::putIfAbsent);
+        EXTRA_ALIASES.forEach((alias, philosopher) -> aliases.put(normalize(alias), philosopher));
+
+        return Collections.unmodifiableMap(aliases);
+    }
+
+    private static Map<PrayerStyle, String> initializePrayerStyles() {
+        Map<PrayerStyle, String> prayerStyles = new EnumMap<>(PrayerStyle.class);
+
+        // Estilos poéticos e líricos
+        prayerStyles.put(PrayerStyle.POETIC,
+                "- Linguagem lírica e metafórica\n" +
+                        "- Rico em imagens e simbolismo\n" +
+                        "- Uso de estruturas poéticas como paralelismo\n" +
+                        "- Expressões emocionais profundas\n" +
+                        "- Tom elevado e contemplativo\n" +
+                        "- Semelhante aos Salmos e literatura sapiencial");
+
+        // Estilos baseados na Bíblia
+        prayerStyles.put(PrayerStyle.BIBLICAL,
+                "- Abundante uso de citações bíblicas\n" +
+                        "- Linguagem inspirada nos textos sagrados\n" +
+                        "- Estrutura semelhante às orações apostólicas\n" +
+                        "- Referências a personagens e narrativas bíblicas\n" +
+                        "- Uso de terminologia teológica tradicional\n" +
+                        "- Tom reverente e solene");
+
+        // Estilos contemplativos
+        prayerStyles.put(PrayerStyle.CONTEMPLATIVE,
+                "- Pausado e meditativo\n" +
+                        "- Foco na presença divina\n" +
+                        "- Uso de repetições significativas\n" +
+                        "- Convites ao silêncio e quietude\n" +
+                        "- Linguagem que estimula a reflexão interior\n" +
+                        "- Conexão entre a experiência cotidiana e o divino");
+
+        // Estilos conversacionais
+        prayerStyles.put(PrayerStyle.CONVERSATIONAL,
+                "- Tom informal e pessoal\n" +
+                        "- Diálogo íntimo com o divino\n" +
+                        "- Linguagem contemporânea e acessível\n" +
+                        "- Expressões autênticas e transparentes\n" +
+                        "- Referências a situações cotidianas\n" +
+                        "- Estilo que reflete uma amizade com Deus");
+
+        // Estilos declarativos
+        prayerStyles.put(PrayerStyle.DECLARATIVE,
+                "- Tom assertivo e confiante\n" +
+                        "- Proclamações baseadas em promessas bíblicas\n" +
+                        "- Uso de decretos espirituais\n" +
+                        "- Linguagem de autoridade e convicção\n" +
+                        "- Declarações no tempo presente\n" +
+                        "- Afirmações de fé e vitória");
+
+        // Estilos pastorais
+        prayerStyles.put(PrayerStyle.PASTORAL,
+                "- Tom acolhedor e compassivo\n" +
+                        "- Linguagem de cuidado e consolo\n" +
+                        "- Atenção às necessidades emocionais\n" +
+                        "- Abordagem curativa e terapêutica\n" +
+                        "- Orientação espiritual prática\n" +
+                        "- Equilíbrio entre verdade e graça");
+
+        // Estilos litúrgicos
+        prayerStyles.put(PrayerStyle.LITURGICAL,
+                "- Estrutura formal e tradicional\n" +
+                        "- Elementos responsivos ou antifonais\n" +
+                        "- Linguagem cerimonial e reverente\n" +
+                        "- Uso de fórmulas tradicionais de oração\n" +
+                        "- Referências ao calendário litúrgico\n" +
+                        "- Tom solene e comunitário");
+        return Collections.unmodifiableMap(prayerStyles);
+    }
+
+    private static Map<PrayerType, String> initializePrayerTypes() {
+        Map<PrayerType, String> prayerTypes = new EnumMap<>(PrayerType.class);
+
+        // Reflexão Bíblica
+        prayerTypes.put(PrayerType.BIBLICAL_REFLECTION,
+                "- Baseada na análise de passagens bíblicas específicas\n" +
+                        "- Foco na revelação de princípios espirituais\n" +
+                        "- Aplicação prática das Escrituras\n" +
+                        "- Contextualização histórica e teológica\n" +
+                        "- Desenvolvimento de insights espirituais\n" +
+                        "- Convite à transformação pessoal");
+
+        // Intimidade Devocional
+        prayerTypes.put(PrayerType.DEVOTIONAL_INTIMACY,
+                "- Foco no relacionamento pessoal com Deus\n" +
+                        "- Expressões de amor e adoração\n" +
+                        "- Linguagem de entrega e rendição\n" +
+                        "- Busca por experiências profundas de comunhão\n" +
+                        "- Expressão de desejos e anseios espirituais\n" +
+                        "- Metáforas de proximidade e intimidade");
+
+        // Declaração de Fé
+        prayerTypes.put(PrayerType.FAITH_DECLARATION,
+                "- Baseada em promessas bíblicas específicas\n" +
+                        "- Proclamações de vitória e conquista\n" +
+                        "- Afirmações de identidade espiritual\n" +
+                        "- Rejeição de mentiras e limitações\n" +
+                        "- Decretos proféticos e visionários\n" +
+                        "- Foco em resultados sobrenaturais");
+
+        // Gratidão e Adoração
+        prayerTypes.put(PrayerType.GRATITUDE_WORSHIP,
+                "- Expressões de agradecimento específicas\n" +
+                        "- Reconhecimento dos atributos divinos\n" +
+                        "- Celebração das obras e intervenções divinas\n" +
+                        "- Exaltação e louvor\n" +
+                        "- Foco na bondade e fidelidade de Deus\n" +
+                        "- Linguagem de elevação e honra");
+
+        // Consolo Pastoral
+        prayerTypes.put(PrayerType.PASTORAL_COMFORT,
+                "- Linguagem de consolo e apoio\n" +
+                        "- Abordagem de feridas emocionais e traumas\n" +
+                        "- Promessas de restauração e cura\n" +
+                        "- Reconhecimento da dor e sofrimento\n" +
+                        "- Palavras de esperança em tempos difíceis\n" +
+                        "- Orientação para momentos de crise");
+
+        // Intercessão
+        prayerTypes.put(PrayerType.INTERCESSION,
+                "- Foco em pessoas ou situações específicas\n" +
+                        "- Petições detalhadas e estratégicas\n" +
+                        "- Abordagem de questões familiares, comunitárias ou globais\n" +
+                        "- Identificação com as necessidades dos outros\n" +
+                        "- Convite à ação divina transformadora\n" +
+                        "- Persistência e intensidade no clamor");
+
+        // Arrependimento e Restauração
+        prayerTypes.put(PrayerType.REPENTANCE,
+                "- Reconhecimento honesto do pecado\n" +
+                        "- Expressões de contrição e arrependimento\n" +
+                        "- Pedidos de perdão e purificação\n" +
+                        "- Compromisso com mudança de comportamento\n" +
+                        "- Busca por restauração de relacionamentos\n" +
+                        "- Celebração da graça e misericórdia divina");
+        return Collections.unmodifiableMap(prayerTypes);
+    }
+
+    private Map<PhilosopherType, String> initializePhilosopherStyles() {
+        Map<PhilosopherType, String> styles = new EnumMap<>(PhilosopherType.class);
+
+        // Primeiros filósofos estoicos (período antigo)
+        styles.put(PhilosopherType.ZENAO_DE_CITIO,
+                "- Tom fundacional e didático\n" +
+                        "- Linguagem direta e concisa\n" +
+                        "- Referências frequentes ao conceito de 'viver de acordo com a natureza'\n" +
+                        "- Ênfase na importância da virtude acima de tudo\n" +
+                        "- Uso de analogias relacionadas à física e cosmologia");
+        styles.put(PhilosopherType.CLEANTHES,
+                "- Estilo reverente e quase religioso\n" +
+                        "- Referências frequentes à divindade e ordem cósmica\n" +
+                        "- Uso de linguagem poética e hinos\n" +
+                        "- Ênfase na aceitação do destino\n" +
+                        "- Abordagem mais espiritual do estoicismo");
+        styles.put(PhilosopherType.CRISIPO_DE_SOLIS,
+                "- Estilo lógico e estruturado\n" +
+                        "- Argumentação rigorosa e sistemática\n" +
+                        "- Explicações detalhadas de conceitos estoicos\n" +
+                        "- Uso de definições precisas e distinções conceituais\n" +
+                        "- Abordagem enciclopédica dos temas");
+
+        // Filósofos do período médio
+        styles.put(PhilosopherType.PANECIO_DE_RODES,
+                "- Tom moderado e pragmático\n" +
+                        "- Adaptação do estoicismo para a elite romana\n" +
+                        "- Incorporação de elementos do platonismo e aristotelismo\n" +
+                        "- Ênfase em deveres sociais e vida política\n" +
+                        "- Abordagem mais flexível dos princípios estoicos");
+        styles.put(PhilosopherType.POSIDONIO_DE_APAMEIA,
+                "- Estilo científico e investigativo\n" +
+                        "- Integração de conhecimentos de geografia, história e astronomia\n" +
+                        "- Interesse por explicações causais de fenômenos\n" +
+                        "- Abordagem empírica e observacional\n" +
+                        "- Ênfase na conexão entre cosmos e humanidade");
+
+        // Filósofos do período romano
+        styles.put(PhilosopherType.SENECA,
+                "- Tom equilibrado entre intelectual e acessível\n" +
+                        "- Estilo elegante e retórico\n" +
+                        "- Uso abundante de exemplos, analogias e histórias ilustrativas\n" +
+                        "- Abordagem psicológica profunda das emoções e vícios\n" +
+                        "- Ênfase em conselhos práticos para a vida cotidiana\n" +
+                        "- Reconhecimento das dificuldades reais na prática da filosofia");
+        styles.put(PhilosopherType.MUSONIO_RUFO,
+                "- Estilo direto e focado na aplicação prática\n" +
+                        "- Ênfase na educação moral e formação de caráter\n" +
+                        "- Foco em temas como casamento, família e papéis sociais\n" +
+                        "- Defesa da igualdade filosófica para homens e mulheres\n" +
+                        "- Abordagem ascética da vida");
+        styles.put(PhilosopherType.EPICTETO,
+                "- Tom direto, por vezes contundente\n" +
+                        "- Uso de diálogos hipotéticos e perguntas retóricas\n" +
+                        "- Linguagem coloquial e acessível\n" +
+                        "- Ênfase constante na distinção entre o que está e o que não está sob nosso controle\n" +
+                        "- Abordagem prática e exercícios mentais concretos\n" +
+                        "- Uso de analogias e exemplos cotidianos");
+        styles.put(PhilosopherType.MARCO_AURELIO,
+                "- Tom introspectivo e meditativo\n" +
+                        "- Estilo de anotações pessoais e autorreprovação\n" +
+                        "- Uso de máximas e lembretes curtos\n" +
+                        "- Perspectiva cósmica e visão da interconexão de todas as coisas\n" +
+                        "- Ênfase no dever e na responsabilidade social\n" +
+                        "- Reflexão constante sobre a mortalidade e impermanência");
+
+        // Outros filósofos
+        styles.put(PhilosopherType.HIEROCLES,
+                "- Foco nos círculos concêntricos de preocupação ética\n" +
+                        "- Abordagem da ética familiar e relações interpessoais\n" +
+                        "- Estilo sistemático e estruturado\n" +
+                        "- Ênfase nas obrigações sociais\n" +
+                        "- Linguagem acessível e prática");
+        styles.put(PhilosopherType.ATENODORO_DE_TARSUS,
+                "- Estilo moderado e diplomático\n" +
+                        "- Foco no autocontrole e gestão da raiva\n" +
+                        "- Aplicação da filosofia à política\n" +
+                        "- Abordagem pragmática dos princípios estoicos\n" +
+                        "- Ênfase na tranquilidade como objetivo");
+        styles.put(PhilosopherType.ARISTO_DE_QUIOS,
+                "- Estilo radical e direto\n" +
+                        "- Rejeição de áreas teóricas da filosofia\n" +
+                        "- Ênfase na virtude e indiferença a tudo mais\n" +
+                        "- Abordagem minimalista dos princípios estoicos\n" +
+                        "- Crítica à educação convencional");
+        styles.put(PhilosopherType.DIOGENES_DE_BABILONIA,
+                "- Estilo didático e organizado\n" +
+                        "- Foco na lógica e teoria da linguagem\n" +
+                        "- Abordagem rigorosa da moralidade\n" +
+                        "- Integração da dialética na filosofia estoica\n" +
+                        "- Importância da educação filosófica");
+        styles.put(PhilosopherType.ANTIPATRO_DE_TARSO,
+                "- Estilo argumentativo e polêmico\n" +
+                        "- Defesa do estoicismo contra críticas céticas\n" +
+                        "- Refinamento da teoria dos deveres\n" +
+                        "- Abordagem casuística da ética\n" +
+                        "- Análise de casos particulares para princípios gerais");
+        // Filósofos do enum sem texto próprio usam o estilo padrão
+        for (PhilosopherType philosopher : philosophers) {
+            styles.putIfAbsent(philosopher, DEFAULT_PHILOSOPHER_STYLE);
+        }
+        return Collections.unmodifiableMap(styles);
+    }
+}
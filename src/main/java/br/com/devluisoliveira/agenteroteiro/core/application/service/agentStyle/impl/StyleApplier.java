@@ -3,6 +3,8 @@ package br.com.devluisoliveira.agenteroteiro.core.application.service.agentStyle
 import br.com.devluisoliveira.agenteroteiro.core.application.service.enums.AgentType;
 import br.com.devluisoliveira.agenteroteiro.core.port.in.dto.ContentGenerationRequest;
 
+import java.util.Map;
+
 /**
  * Interface para aplicação de estilos em templates
  * Seguindo o padrão Strategy para diferentes tipos de agentes
@@ -16,10 +18,9 @@ public interface StyleApplier {
     AgentType getSupportedAgentType();
 
     /**
-     * Aplica o estilo específico no template
-     * @param template Template base a ser personalizado
+     * Adiciona os valores dos placeholders de estilo específicos do agente
+     * @param values Valores dos placeholders (nome sem chaves) usados na renderização do template
      * @param request Requisição com dados para personalização
-     * @return Template personalizado com estilo específico aplicado
      */
-    String applyStyle(String template, ContentGenerationRequest request);
+    void applyStyle(Map<String, String> values, ContentGenerationRequest request);
 }
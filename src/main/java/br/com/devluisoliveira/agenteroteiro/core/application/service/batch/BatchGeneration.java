@@ -0,0 +1,97 @@
+package br.com.devluisoliveira.agenteroteiro.core.application.service.batch;
+
+import br.com.devluisoliveira.agenteroteiro.core.application.service.enums.GenerationJobStatus;
+import br.com.devluisoliveira.agenteroteiro.core.domain.entity.ContentGeneration;
+import lombok.Getter;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Estado em memória de um lote de geração. Os conteúdos prontos ficam num buffer
+ * até completar um lote de INSERTs, que é gravado de uma vez.
+ */
+@Getter
+public class BatchGeneration {
+
+    private final UUID batchId;
+    private final UUID userId;
+    private final List<BatchGenerationItem> items;
+    private final int uniquePrompts;
+    private final Instant createdAt;
+    private final AtomicInteger pendingGroups;
+
+    private final List<BatchGenerationItem> bufferedItems = new ArrayList<>();
+    private final List<ContentGeneration> bufferedContents = new ArrayList<>();
+
+    private volatile Instant finishedAt;
+
+    public BatchGeneration(UUID batchId, UUID userId, List<BatchGenerationItem> items, int uniquePrompts) {
+        this.batchId = batchId;
+        this.userId = userId;
+        this.items = List.copyOf(items);
+        this.uniquePrompts = uniquePrompts;
+        this.pendingGroups = new AtomicInteger(uniquePrompts);
+        this.createdAt = Instant.now();
+    }
+
+    /**
+     * Guarda um conteúdo pronto para gravação
+     *
+     * @return quantidade de conteúdos no buffer após a inclusão
+     */
+    public synchronized int buffer(BatchGenerationItem item, ContentGeneration content) {
+        bufferedItems.add(item);
+        bufferedContents.add(content);
+        return bufferedContents.size();
+    }
+
+    /**
+     * Esvazia o buffer, devolvendo os itens e conteúdos na mesma ordem
+     */
+    public synchronized Drained drain() {
+        Drained drained = new Drained(List.copyOf(bufferedItems), List.copyOf(bufferedContents));
+        bufferedItems.clear();
+        bufferedContents.clear();
+        return drained;
+    }
+
+    /**
+     * Registra o fim de um grupo de prompt
+     *
+     * @return true se era o último grupo do lote
+     */
+    public boolean groupFinished() {
+        return pendingGroups.decrementAndGet() == 0;
+    }
+
+    public void markFinished() {
+        this.finishedAt = Instant.now();
+    }
+
+    public long countByStatus(GenerationJobStatus status) {
+        return items.stream().filter(item -> item.getStatus() == status).count();
+    }
+
+    public GenerationJobStatus getStatus() {
+        if (finishedAt != null) {
+            return countByStatus(GenerationJobStatus.COMPLETED) > 0 ? GenerationJobStatus.COMPLETED : GenerationJobStatus.FAILED;
+        }
+        boolean started = items.stream().anyMatch(item -> item.getStatus() != GenerationJobStatus.QUEUED);
+        return started ? GenerationJobStatus.RUNNING : GenerationJobStatus.QUEUED;
+    }
+
+    /**
+     * Percentual de itens finalizados (com sucesso ou falha)
+     */
+    public int getProgress() {
+        long finished = items.stream().filter(item -> item.getStatus().isFinished()).count();
+        return (int) (finished * 100 / items.size());
+    }
+
+    public record Drained(List<BatchGenerationItem> items, List<ContentGeneration> contents) {
+    }
+}
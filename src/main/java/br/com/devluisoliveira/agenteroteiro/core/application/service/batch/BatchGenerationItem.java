@@ -0,0 +1,74 @@
+package br.com.devluisoliveira.agenteroteiro.core.application.service.batch;
+
+import br.com.devluisoliveira.agenteroteiro.core.application.service.context.GenerationContext;
+import br.com.devluisoliveira.agenteroteiro.core.application.service.enums.AgentType;
+import br.com.devluisoliveira.agenteroteiro.core.application.service.enums.GenerationJobStatus;
+import br.com.devluisoliveira.agenteroteiro.core.port.in.dto.ContentGenerationRequest;
+import br.com.devluisoliveira.agenteroteiro.core.port.out.response.dto.ContentGenerationResponse;
+import lombok.Getter;
+
+import java.util.function.UnaryOperator;
+
+/**
+ * Item de um lote: requisição já convertida para o contexto dos handlers e o prompt renderizado
+ */
+@Getter
+public class BatchGenerationItem {
+
+    private final String processId;
+    private final AgentType agentType;
+    private final String title;
+    private final GenerationContext context;
+    private final String prompt;
+    // Requisição original, gravada com os lotes offline para reconstruir o item após um reinício
+    private final ContentGenerationRequest request;
+    // Passo final específico do agente (ex.: título e áudio das orações)
+    private final UnaryOperator<ContentGenerationResponse> completion;
+
+    private volatile GenerationJobStatus status = GenerationJobStatus.QUEUED;
+    private volatile String message = "Aguardando na fila de geração";
+
+    public BatchGenerationItem(String processId, AgentType agentType, String title, GenerationContext context,
+                               String prompt, ContentGenerationRequest request,
+                               UnaryOperator<ContentGenerationResponse> completion) {
+        this.processId = processId;
+        this.agentType = agentType;
+        this.title = title;
+        this.context = context;
+        this.prompt = prompt;
+        this.request = request;
+        this.completion = completion;
+    }
+
+    /**
+     * Item cuja requisição já foi recusada na preparação (validação ou template)
+     */
+    public static BatchGenerationItem rejected(String processId, AgentType agentType, String title, String message) {
+        BatchGenerationItem item = new BatchGenerationItem(processId, agentType, title, null, null, null, null);
+        item.markFailed(message);
+        return item;
+    }
+
+    public void markRunning() {
+        this.status = GenerationJobStatus.RUNNING;
+        this.message = "Gerando conteúdo";
+    }
+
+    public void markWaitingProvider() {
+        this.message = "Aguardando processamento offline no provedor";
+    }
+
+    public void markGenerated() {
+        this.message = "Conteúdo gerado, aguardando gravação";
+    }
+
+    public void markCompleted() {
+        this.status = GenerationJobStatus.COMPLETED;
+        this.message = "Conteúdo gerado com sucesso";
+    }
+
+    public void markFailed(String message) {
+        this.status = GenerationJobStatus.FAILED;
+        this.message = message;
+    }
+}
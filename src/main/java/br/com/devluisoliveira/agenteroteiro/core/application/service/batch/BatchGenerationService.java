@@ -0,0 +1,540 @@
+package br.com.devluisoliveira.agenteroteiro.core.application.service.batch;
+
+import br.com.devluisoliveira.agenteroteiro.core.application.mapper.GenericGeneraMapper;
+import br.com.devluisoliveira.agenteroteiro.core.application.service.AgentGenerationService;
+import br.com.devluisoliveira.agenteroteiro.core.application.service.PrayerContentService;
+import br.com.devluisoliveira.agenteroteiro.core.application.service.StoicContentService;
+import br.com.devluisoliveira.agenteroteiro.core.application.service.batch.offline.OfflineBatchService;
+import br.com.devluisoliveira.agenteroteiro.core.application.service.batch.offline.OfflinePrompt;
+import br.com.devluisoliveira.agenteroteiro.core.application.service.context.GenerationContext;
+import br.com.devluisoliveira.agenteroteiro.core.application.service.enums.AgentType;
+import br.com.devluisoliveira.agenteroteiro.core.application.service.enums.GenerationJobStatus;
+import br.com.devluisoliveira.agenteroteiro.core.domain.entity.ContentGeneration;
+import br.com.devluisoliveira.agenteroteiro.core.domain.entity.User;
+import br.com.devluisoliveira.agenteroteiro.core.port.in.BatchGenerationPortIn;
+import br.com.devluisoliveira.agenteroteiro.core.port.in.dto.BatchGenerationRequest;
+import br.com.devluisoliveira.agenteroteiro.core.port.in.dto.ContentGenerationRequest;
+import br.com.devluisoliveira.agenteroteiro.core.port.in.dto.PrayerContentGenerationRequest;
+import br.com.devluisoliveira.agenteroteiro.core.port.in.dto.StoicContentGenerationRequest;
+import br.com.devluisoliveira.agenteroteiro.core.port.out.ContentGenerationPortOut;
+import br.com.devluisoliveira.agenteroteiro.core.port.out.UserPortOut;
+import br.com.devluisoliveira.agenteroteiro.core.port.out.response.dto.BatchGenerationResponse;
+import br.com.devluisoliveira.agenteroteiro.core.port.out.response.dto.BatchItemResponse;
+import br.com.devluisoliveira.agenteroteiro.core.port.out.response.dto.ContentGenerationResponse;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.UnaryOperator;
+
+/**
+ * Geração em lote de orações e conteúdos estoicos.
+ *
+ * Os prompts de todos os itens são renderizados na submissão. Com {@code deduplicate} eles são agrupados pela chave
+ * do cache de respostas: itens equivalentes (mesmo prompt exceto o processId) compartilham uma única chamada à IA e
+ * recebem o mesmo texto; sem a opção cada item é um grupo próprio. Os grupos são
+ * ordenados por agente, para que prompts do mesmo template cheguem ao provedor em sequência, e executados
+ * num pool de workers próprio e limitado. Os conteúdos prontos são gravados em lotes de INSERTs.
+ *
+ * No modo offline os prompts únicos vão para a interface de lote do provedor ({@link OfflineBatchService})
+ * e as respostas seguem o mesmo caminho de processamento e gravação quando ficam prontas. Cada prompt leva
+ * as requisições originais do seu grupo, gravadas no manifesto do lote: após um reinício os itens que ainda
+ * aguardam o provedor são reconstruídos e o lote volta a ser consultável pelo mesmo ID.
+ */
+@Slf4j
+@Service
+public class BatchGenerationService implements BatchGenerationPortIn {
+
+    private final AgentGenerationService agentGenerationService;
+    private final PrayerContentService prayerContentService;
+    private final StoicContentService stoicContentService;
+    private final GenericGeneraMapper genericGeneraMapper;
+    private final ContentGenerationPortOut contentGenerationPortOut;
+    private final OfflineBatchService offlineBatchService;
+    private final UserPortOut userPortOut;
+    private final ObjectMapper payloadMapper;
+
+    private final ThreadPoolExecutor executor;
+    private final Map<UUID, BatchGeneration> batches = new ConcurrentHashMap<>();
+    private final int maxItems;
+    private final int offlineMaxItems;
+    private final int persistBatchSize;
+    private final Duration retention;
+
+    public BatchGenerationService(AgentGenerationService agentGenerationService,
+                                  PrayerContentService prayerContentService,
+                                  StoicContentService stoicContentService,
+                                  GenericGeneraMapper genericGeneraMapper,
+                                  ContentGenerationPortOut contentGenerationPortOut,
+                                  OfflineBatchService offlineBatchService,
+                                  UserPortOut userPortOut,
+                                  ObjectMapper objectMapper,
+                                  @Value("${generation.batch.workers:4}") int workers,
+                                  @Value("${generation.batch.queue-capacity:200}") int queueCapacity,
+                                  @Value("${generation.batch.max-items:50}") int maxItems,
+                                  @Value("${generation.batch.offline-max-items:1000}") int offlineMaxItems,
+                                  @Value("${generation.batch.persist-batch-size:10}") int persistBatchSize,
+                                  @Value("${generation.batch.retention-minutes:120}") long retentionMinutes,
+                                  MeterRegistry meterRegistry) {
+        this.agentGenerationService = agentGenerationService;
+        this.prayerContentService = prayerContentService;
+        this.stoicContentService = stoicContentService;
+        this.genericGeneraMapper = genericGeneraMapper;
+        this.contentGenerationPortOut = contentGenerationPortOut;
+        this.offlineBatchService = offlineBatchService;
+        this.userPortOut = userPortOut;
+        // targetDuration (minutos na leitura, segundos na escrita) e as estimativas são derivados de durationType
+        this.payloadMapper = objectMapper.copy().addMixIn(ContentGenerationRequest.class, RequestSnapshotMixIn.class);
+        this.maxItems = maxItems;
+        this.offlineMaxItems = offlineMaxItems;
+        this.persistBatchSize = Math.max(1, persistBatchSize);
+        this.retention = Duration.ofMinutes(retentionMinutes);
+        this.executor = new ThreadPoolExecutor(workers, workers, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                createThreadFactory(),
+                new ThreadPoolExecutor.AbortPolicy());
+
+        Gauge.builder("generation.batch.queued", executor, e -> e.getQueue().size()).register(meterRegistry);
+        Gauge.builder("generation.batch.running", executor, ThreadPoolExecutor::getActiveCount).register(meterRegistry);
+
+        log.info("[BatchGenerationService] - Inicializado com {} workers, fila de {} prompts e até {} itens por lote",
+                workers, queueCapacity, maxItems);
+    }
+
+    private static ThreadFactory createThreadFactory() {
+        AtomicInteger threadCounter = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, "generation-batch-" + threadCounter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    /**
+     * @throws IllegalArgumentException se o lote estiver vazio ou exceder o limite de itens
+     * @throws IllegalStateException se a fila do pool não comportar o lote
+     */
+    @Override
+    public BatchGenerationResponse submitBatch(User user, BatchGenerationRequest request) {
+        int totalItems = request.getPrayers().size() + request.getStoics().size();
+        log.info("[BatchGenerationService.submitBatch] - Recebido lote com {} itens do usuário: {}", totalItems, user.getUsername());
+
+        if (totalItems == 0) {
+            throw new IllegalArgumentException("O lote deve conter ao menos um item");
+        }
+        int limit = Boolean.TRUE.equals(request.getOffline()) ? offlineMaxItems : maxItems;
+        if (totalItems > limit) {
+            throw new IllegalArgumentException("O lote excede o limite de " + limit + " itens");
+        }
+
+        // 1. Preparar todos os itens (validação + prompt renderizado)
+        List<BatchGenerationItem> items = new ArrayList<>(totalItems);
+        for (PrayerContentGenerationRequest prayer : request.getPrayers()) {
+            items.add(preparePrayer(prayer));
+        }
+        for (StoicContentGenerationRequest stoic : request.getStoics()) {
+            items.add(prepareStoic(stoic));
+        }
+
+        // 2. Agrupar prompts equivalentes (se pedido); grupos do mesmo agente ficam adjacentes na fila
+        boolean deduplicate = Boolean.TRUE.equals(request.getDeduplicate());
+        List<BatchGenerationItem> valid = items.stream()
+                .filter(item -> item.getPrompt() != null)
+                .sorted(Comparator.comparing(BatchGenerationItem::getAgentType))
+                .toList();
+        Map<String, List<BatchGenerationItem>> groups = new LinkedHashMap<>();
+        for (int i = 0; i < valid.size(); i++) {
+            BatchGenerationItem item = valid.get(i);
+            String key = deduplicate ? agentGenerationService.promptKey(item.getPrompt()) : String.valueOf(i);
+            groups.computeIfAbsent(key, ignored -> new ArrayList<>()).add(item);
+        }
+
+        BatchGeneration batch = new BatchGeneration(UUID.randomUUID(), user.getUserId(), items, groups.size());
+
+        if (groups.isEmpty()) {
+            batch.markFinished();
+            batches.put(batch.getBatchId(), batch);
+            return toResponse(batch, "Nenhum item válido no lote");
+        }
+
+        if (Boolean.TRUE.equals(request.getOffline())) {
+            return submitOffline(user, batch, groups);
+        }
+
+        if (executor.getQueue().remainingCapacity() < groups.size()) {
+            log.warn("[BatchGenerationService.submitBatch] - Fila de geração em lote cheia, rejeitando lote com {} prompts", groups.size());
+            throw new IllegalStateException("Fila de geração em lote cheia, tente novamente em instantes");
+        }
+
+        // 3. Enfileirar um job por prompt único
+        batches.put(batch.getBatchId(), batch);
+        for (List<BatchGenerationItem> group : groups.values()) {
+            try {
+                executor.execute(() -> runGroup(user, batch, group));
+            } catch (RejectedExecutionException e) {
+                group.forEach(item -> item.markFailed("Fila de geração cheia"));
+                finishGroup(batch);
+            }
+        }
+
+        log.info("[BatchGenerationService.submitBatch] - Lote {} enfileirado: {} itens, {} prompts únicos",
+                batch.getBatchId(), totalItems, groups.size());
+        return toResponse(batch, "Lote enfileirado com sucesso");
+    }
+
+    /**
+     * Envia um prompt por grupo para a fila do lote offline; a resposta é distribuída aos itens quando chegar
+     */
+    private BatchGenerationResponse submitOffline(User user, BatchGeneration batch, Map<String, List<BatchGenerationItem>> groups) {
+        batches.put(batch.getBatchId(), batch);
+        for (List<BatchGenerationItem> group : groups.values()) {
+            BatchGenerationItem first = group.get(0);
+
+            // Mesmo max_tokens da geração síncrona, para a resposta valer também no cache
+            int maxTokens;
+            try {
+                maxTokens = agentGenerationService.maxTokensFor(first.getPrompt(), first.getAgentType(),
+                        first.getContext().getDurationType());
+            } catch (IllegalArgumentException e) {
+                group.forEach(item -> item.markFailed(e.getMessage()));
+                finishGroup(batch);
+                continue;
+            }
+
+            group.forEach(BatchGenerationItem::markWaitingProvider);
+            offlineBatchService.enqueue(offlinePrompt(user, batch, group, UUID.randomUUID().toString(),
+                    first.getPrompt(), maxTokens, offlinePayload(batch, group)));
+        }
+
+        log.info("[BatchGenerationService.submitOffline] - Lote {} enviado ao modo offline: {} itens, {} prompts únicos",
+                batch.getBatchId(), batch.getItems().size(), groups.size());
+        return toResponse(batch, "Lote enfileirado para processamento offline no provedor");
+    }
+
+    /**
+     * Prompt offline de um grupo: a resposta vai para o cache e é distribuída entre os itens.
+     *
+     * A entrega chega pela thread do agendador (a mesma de todos os @Scheduled), então o processamento e a gravação
+     * dos itens vão para o pool do lote; com a fila cheia, rodam na própria thread da entrega.
+     */
+    private OfflinePrompt offlinePrompt(User user, BatchGeneration batch, List<BatchGenerationItem> group,
+                                        String customId, String prompt, Integer maxTokens, String payload) {
+        BatchGenerationItem first = group.get(0);
+        return new OfflinePrompt(customId, prompt, maxTokens, payload,
+                aiResponse -> {
+                    Runnable delivery = () -> {
+                        try {
+                            agentGenerationService.cacheResponse(prompt, first.getAgentType(), maxTokens, aiResponse);
+                        } catch (RuntimeException e) {
+                            // O cache é só otimização: a resposta já paga ainda precisa chegar aos itens
+                            log.warn("[BatchGenerationService.offlinePrompt] - Erro ao guardar a resposta {} no cache: {}",
+                                    customId, e.getMessage());
+                        }
+                        deliverGroup(user, batch, group, aiResponse.content());
+                    };
+                    try {
+                        executor.execute(delivery);
+                    } catch (RejectedExecutionException e) {
+                        delivery.run();
+                    }
+                },
+                error -> {
+                    group.forEach(item -> item.markFailed("Erro ao gerar conteúdo: " + error));
+                    finishGroup(batch);
+                });
+    }
+
+    /**
+     * Dados do grupo gravados no manifesto do lote offline; nulo se não der para serializar (o grupo não sobrevive
+     * a um reinício)
+     */
+    private String offlinePayload(BatchGeneration batch, List<BatchGenerationItem> group) {
+        try {
+            List<OfflineItemPayload> items = new ArrayList<>(group.size());
+            for (BatchGenerationItem item : group) {
+                items.add(new OfflineItemPayload(item.getAgentType(), payloadMapper.writeValueAsString(item.getRequest())));
+            }
+            return payloadMapper.writeValueAsString(new OfflineGroupPayload(batch.getBatchId(), batch.getUserId(), items));
+        } catch (JsonProcessingException e) {
+            log.warn("[BatchGenerationService.offlinePayload] - Grupo do lote {} não sobreviverá a um reinício: {}",
+                    batch.getBatchId(), e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Reconstrói os lotes offline que aguardavam o provedor quando a aplicação parou
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void recoverOfflineBatches() {
+        offlineBatchService.recoverSubmitted(this::recoverOfflinePrompts);
+    }
+
+    /**
+     * Refaz os itens a partir das requisições gravadas e agrupa os prompts pelo lote de origem. O lote volta com o
+     * mesmo ID, mas só com os itens que ainda aguardavam o provedor.
+     */
+    Map<String, OfflinePrompt> recoverOfflinePrompts(List<OfflinePrompt> stored) {
+        Map<UUID, List<RecoveredGroup>> groupsByBatch = new LinkedHashMap<>();
+        for (OfflinePrompt prompt : stored) {
+            if (prompt.payload() == null) {
+                continue;
+            }
+            try {
+                OfflineGroupPayload payload = payloadMapper.readValue(prompt.payload(), OfflineGroupPayload.class);
+                List<BatchGenerationItem> group = new ArrayList<>(payload.items().size());
+                for (OfflineItemPayload item : payload.items()) {
+                    group.add(restoreItem(item));
+                }
+                groupsByBatch.computeIfAbsent(payload.batchId(), key -> new ArrayList<>())
+                        .add(new RecoveredGroup(prompt, payload.userId(), group));
+            } catch (JsonProcessingException | RuntimeException e) {
+                log.warn("[BatchGenerationService.recoverOfflinePrompts] - Prompt {} não pôde ser reconstruído: {}",
+                        prompt.customId(), e.getMessage());
+            }
+        }
+
+        Map<String, OfflinePrompt> recovered = new HashMap<>();
+        groupsByBatch.forEach((batchId, groups) -> {
+            UUID userId = groups.get(0).userId();
+            Optional<User> user = userPortOut.getOneUser(userId);
+            if (user.isEmpty()) {
+                log.warn("[BatchGenerationService.recoverOfflinePrompts] - Usuário {} do lote {} não encontrado", userId, batchId);
+                return;
+            }
+
+            List<BatchGenerationItem> items = groups.stream().flatMap(group -> group.items().stream()).toList();
+            BatchGeneration batch = new BatchGeneration(batchId, userId, items, groups.size());
+            batches.put(batchId, batch);
+            for (RecoveredGroup group : groups) {
+                group.items().forEach(BatchGenerationItem::markWaitingProvider);
+                OfflinePrompt prompt = group.prompt();
+                recovered.put(prompt.customId(), offlinePrompt(user.get(), batch, group.items(), prompt.customId(),
+                        prompt.prompt(), prompt.maxTokens(), prompt.payload()));
+            }
+            log.info("[BatchGenerationService.recoverOfflinePrompts] - Lote {} reconstruído com {} itens aguardando o provedor",
+                    batchId, items.size());
+        });
+        return recovered;
+    }
+
+    private BatchGenerationItem restoreItem(OfflineItemPayload item) throws JsonProcessingException {
+        return switch (item.agentType()) {
+            case PRAYER -> preparePrayer(payloadMapper.readValue(item.request(), PrayerContentGenerationRequest.class));
+            case STOICISM -> prepareStoic(payloadMapper.readValue(item.request(), StoicContentGenerationRequest.class));
+            default -> throw new IllegalArgumentException("Agente sem geração em lote: " + item.agentType());
+        };
+    }
+
+    @Override
+    public Optional<BatchGenerationResponse> findBatch(User user, UUID batchId) {
+        return Optional.ofNullable(batches.get(batchId))
+                .filter(batch -> batch.getUserId().equals(user.getUserId()))
+                .map(batch -> toResponse(batch, batch.getFinishedAt() != null ? "Lote finalizado" : "Lote em processamento"));
+    }
+
+    private BatchGenerationItem preparePrayer(PrayerContentGenerationRequest request) {
+        try {
+            GenerationContext context = prayerContentService.prepareContext(request);
+            String prompt = agentGenerationService.preparePrompt(context);
+            return new BatchGenerationItem(request.getProcessId(), AgentType.PRAYER, request.getTitle(), context, prompt,
+                    request, response -> prayerContentService.completeResponse(response, request));
+        } catch (Exception e) {
+            log.warn("[BatchGenerationService.preparePrayer] - Item recusado: {}", e.getMessage());
+            return BatchGenerationItem.rejected(request.getProcessId(), AgentType.PRAYER, request.getTitle(), e.getMessage());
+        }
+    }
+
+    private BatchGenerationItem prepareStoic(StoicContentGenerationRequest request) {
+        try {
+            GenerationContext context = stoicContentService.prepareContext(request);
+            String prompt = agentGenerationService.preparePrompt(context);
+            return new BatchGenerationItem(request.getProcessId(), AgentType.STOICISM, request.getTitle(), context, prompt,
+                    request, UnaryOperator.identity());
+        } catch (Exception e) {
+            log.warn("[BatchGenerationService.prepareStoic] - Item recusado: {}", e.getMessage());
+            return BatchGenerationItem.rejected(request.getProcessId(), AgentType.STOICISM, request.getTitle(), e.getMessage());
+        }
+    }
+
+    /**
+     * Executa uma chamada à IA para o grupo e distribui a resposta entre os itens equivalentes
+     */
+    private void runGroup(User user, BatchGeneration batch, List<BatchGenerationItem> group) {
+        BatchGenerationItem first = group.get(0);
+        group.forEach(BatchGenerationItem::markRunning);
+
+        String aiResponse;
+        try {
+            // Itens do grupo têm o mesmo prompt, logo a mesma duração
+            aiResponse = agentGenerationService.generateFromPrompt(first.getPrompt(), first.getAgentType(),
+                    first.getContext().getDurationType());
+        } catch (Exception e) {
+            log.error("[BatchGenerationService.runGroup] - Erro no lote {}: {}", batch.getBatchId(), e.getMessage(), e);
+            group.forEach(item -> item.markFailed("Erro ao gerar conteúdo: " + e.getMessage()));
+            finishGroup(batch);
+            return;
+        }
+
+        deliverGroup(user, batch, group, aiResponse);
+    }
+
+    /**
+     * Distribui a resposta da IA entre os itens equivalentes do grupo e encerra o grupo
+     */
+    private void deliverGroup(User user, BatchGeneration batch, List<BatchGenerationItem> group, String aiResponse) {
+        try {
+            if (aiResponse == null || aiResponse.isEmpty()) {
+                group.forEach(item -> item.markFailed("Não foi possível gerar o conteúdo"));
+                return;
+            }
+
+            for (BatchGenerationItem item : group) {
+                item.markRunning();
+                completeItem(user, batch, item, aiResponse);
+            }
+        } finally {
+            finishGroup(batch);
+        }
+    }
+
+    private void completeItem(User user, BatchGeneration batch, BatchGenerationItem item, String aiResponse) {
+        try {
+            ContentGenerationResponse response = agentGenerationService.processResponse(aiResponse, item.getContext());
+            response = item.getCompletion().apply(response);
+
+            if (response == null || !"COMPLETED".equals(response.getStatus())) {
+                item.markFailed(response != null ? response.getMessage() : "Não foi possível gerar o conteúdo");
+                return;
+            }
+
+            ContentGeneration contentGeneration = genericGeneraMapper.toEntity(response);
+            contentGeneration.setUser(user);
+            item.markGenerated();
+
+            if (batch.buffer(item, contentGeneration) >= persistBatchSize) {
+                flush(batch);
+            }
+        } catch (Exception e) {
+            log.error("[BatchGenerationService.completeItem] - Erro no item {}: {}", item.getProcessId(), e.getMessage(), e);
+            item.markFailed("Erro ao processar conteúdo: " + e.getMessage());
+        }
+    }
+
+    private void finishGroup(BatchGeneration batch) {
+        if (batch.groupFinished()) {
+            flush(batch);
+            batch.markFinished();
+            log.info("[BatchGenerationService.finishGroup] - Lote {} finalizado: {} concluídos, {} com falha",
+                    batch.getBatchId(),
+                    batch.countByStatus(GenerationJobStatus.COMPLETED),
+                    batch.countByStatus(GenerationJobStatus.FAILED));
+        }
+    }
+
+    /**
+     * Grava de uma vez os conteúdos acumulados no buffer do lote
+     */
+    private void flush(BatchGeneration batch) {
+        BatchGeneration.Drained drained = batch.drain();
+        if (drained.contents().isEmpty()) {
+            return;
+        }
+
+        try {
+            contentGenerationPortOut.saveAll(drained.contents());
+            drained.items().forEach(BatchGenerationItem::markCompleted);
+        } catch (Exception e) {
+            log.error("[BatchGenerationService.flush] - Erro ao gravar {} conteúdos do lote {}: {}",
+                    drained.contents().size(), batch.getBatchId(), e.getMessage(), e);
+            drained.items().forEach(item -> item.markFailed("Erro ao salvar conteúdo: " + e.getMessage()));
+        }
+    }
+
+    private BatchGenerationResponse toResponse(BatchGeneration batch, String message) {
+        List<BatchItemResponse> items = batch.getItems().stream()
+                .map(item -> BatchItemResponse.builder()
+                        .processId(item.getProcessId())
+                        .agentType(item.getAgentType())
+                        .title(item.getTitle())
+                        .status(item.getStatus().name())
+                        .message(item.getMessage())
+                        .build())
+                .toList();
+
+        return BatchGenerationResponse.builder()
+                .batchId(batch.getBatchId())
+                .status(batch.getStatus().name())
+                .message(message)
+                .progress(batch.getProgress())
+                .totalItems(items.size())
+                .completedItems((int) batch.countByStatus(GenerationJobStatus.COMPLETED))
+                .failedItems((int) batch.countByStatus(GenerationJobStatus.FAILED))
+                .uniquePrompts(batch.getUniquePrompts())
+                .items(items)
+                .build();
+    }
+
+    /**
+     * Remove da memória os lotes finalizados há mais tempo que o período de retenção
+     */
+    @Scheduled(fixedDelayString = "${generation.batch.cleanup-interval-ms:300000}")
+    public void purgeFinishedBatches() {
+        Instant limit = Instant.now().minus(retention);
+        int before = batches.size();
+
+        batches.values().removeIf(batch -> batch.getFinishedAt() != null && batch.getFinishedAt().isBefore(limit));
+
+        int removed = before - batches.size();
+        if (removed > 0) {
+            log.info("[BatchGenerationService.purgeFinishedBatches] - {} lotes finalizados removidos da memória", removed);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    /**
+     * Grupo de um lote offline gravado no manifesto: lote, dono e as requisições originais dos itens
+     */
+    record OfflineGroupPayload(UUID batchId, UUID userId, List<OfflineItemPayload> items) {
+    }
+
+    record OfflineItemPayload(AgentType agentType, String request) {
+    }
+
+    private record RecoveredGroup(OfflinePrompt prompt, UUID userId, List<BatchGenerationItem> items) {
+    }
+
+    @JsonIgnoreProperties(value = {"targetDuration", "estimatedWordCount", "estimatedCharacterCount"}, ignoreUnknown = true)
+    private abstract static class RequestSnapshotMixIn {
+    }
+}
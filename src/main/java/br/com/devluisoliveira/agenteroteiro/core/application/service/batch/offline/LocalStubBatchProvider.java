@@ -0,0 +1,95 @@
+package br.com.devluisoliveira.agenteroteiro.core.application.service.batch.offline;
+
+import br.com.devluisoliveira.agenteroteiro.core.application.service.llm.LlmResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.json.JSONObject;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Provedor de lote local, sem rede: lê o JSONL enviado e devolve uma resposta simulada por prompt
+ * depois de um número configurável de consultas. Usado em desenvolvimento e nos testes do modo offline.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "generation.offline.provider", havingValue = "stub")
+public class LocalStubBatchProvider implements OfflineBatchProvider {
+
+    private final int pollsUntilDone;
+    private final Map<String, StubBatch> batches = new ConcurrentHashMap<>();
+
+    public LocalStubBatchProvider(@Value("${generation.offline.stub.polls-until-done:1}") int pollsUntilDone) {
+        this.pollsUntilDone = pollsUntilDone;
+    }
+
+    @Override
+    public String buildRequestLine(String customId, String prompt, Integer maxTokens) {
+        JSONObject line = new JSONObject();
+        line.put("custom_id", customId);
+        line.put("prompt", prompt);
+        line.put("max_tokens", maxTokens);
+        return line.toString();
+    }
+
+    @Override
+    public String submit(Path jsonlFile) {
+        Map<String, String> prompts = new LinkedHashMap<>();
+        try {
+            for (String line : Files.readAllLines(jsonlFile, StandardCharsets.UTF_8)) {
+                if (!line.isBlank()) {
+                    JSONObject request = new JSONObject(line);
+                    prompts.put(request.getString("custom_id"), request.getString("prompt"));
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Erro ao ler arquivo de lote " + jsonlFile, e);
+        }
+
+        String batchId = "stub-" + UUID.randomUUID();
+        batches.put(batchId, new StubBatch(prompts));
+        log.info("[LocalStubBatchProvider.submit] - Lote {} recebido com {} prompts", batchId, prompts.size());
+        return batchId;
+    }
+
+    @Override
+    public OfflineBatchResult poll(String providerBatchId) {
+        StubBatch batch = batches.get(providerBatchId);
+        if (batch == null) {
+            return OfflineBatchResult.finished(Map.of(), Map.of(), "Lote desconhecido: " + providerBatchId);
+        }
+
+        if (++batch.polls < pollsUntilDone) {
+            return OfflineBatchResult.inProgress("in_progress");
+        }
+
+        Map<String, LlmResponse> outputs = new LinkedHashMap<>();
+        batch.prompts.forEach((customId, prompt) ->
+                outputs.put(customId, new LlmResponse(simulateResponse(prompt), "stub", "stub", false)));
+        batches.remove(providerBatchId);
+        return OfflineBatchResult.finished(outputs, Map.of(), "Lote simulado concluído");
+    }
+
+    private String simulateResponse(String prompt) {
+        return "Conteúdo simulado (lote offline) para um prompt de " + prompt.length() + " caracteres";
+    }
+
+    private static final class StubBatch {
+        private final Map<String, String> prompts;
+        private int polls;
+
+        private StubBatch(Map<String, String> prompts) {
+            this.prompts = prompts;
+        }
+    }
+}
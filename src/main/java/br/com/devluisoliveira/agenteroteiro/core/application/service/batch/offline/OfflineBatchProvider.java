@@ -0,0 +1,29 @@
+package br.com.devluisoliveira.agenteroteiro.core.application.service.batch.offline;
+
+import java.nio.file.Path;
+
+/**
+ * Interface de lote do provedor de IA: recebe um arquivo JSONL com várias requisições
+ * e devolve os resultados horas depois, a um custo menor que as chamadas síncronas
+ */
+public interface OfflineBatchProvider {
+
+    /**
+     * Monta a linha do arquivo JSONL correspondente a um prompt
+     *
+     * @param maxTokens max_tokens da requisição; nulo usa o padrão do provedor
+     */
+    String buildRequestLine(String customId, String prompt, Integer maxTokens);
+
+    /**
+     * Envia o arquivo ao provedor
+     *
+     * @return ID do lote no provedor
+     */
+    String submit(Path jsonlFile);
+
+    /**
+     * Consulta o lote no provedor
+     */
+    OfflineBatchResult poll(String providerBatchId);
+}
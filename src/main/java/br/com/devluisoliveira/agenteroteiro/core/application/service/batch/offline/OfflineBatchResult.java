@@ -0,0 +1,20 @@
+package br.com.devluisoliveira.agenteroteiro.core.application.service.batch.offline;
+
+import br.com.devluisoliveira.agenteroteiro.core.application.service.llm.LlmResponse;
+
+import java.util.Map;
+
+/**
+ * Situação de um lote no provedor. Quando finalizado, traz as respostas e os erros por customId;
+ * requisições ausentes nos dois mapas não foram processadas (lote expirado ou cancelado)
+ */
+public record OfflineBatchResult(boolean finished, Map<String, LlmResponse> outputs, Map<String, String> errors, String message) {
+
+    public static OfflineBatchResult inProgress(String message) {
+        return new OfflineBatchResult(false, Map.of(), Map.of(), message);
+    }
+
+    public static OfflineBatchResult finished(Map<String, LlmResponse> outputs, Map<String, String> errors, String message) {
+        return new OfflineBatchResult(true, outputs, errors, message);
+    }
+}
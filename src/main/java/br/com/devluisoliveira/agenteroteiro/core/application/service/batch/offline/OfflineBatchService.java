@@ -0,0 +1,308 @@
+package br.com.devluisoliveira.agenteroteiro.core.application.service.batch.offline;
+
+import br.com.devluisoliveira.agenteroteiro.core.application.service.llm.LlmResponse;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.json.JSONArray;
+import org.json.JSONException;
+import org.json.JSONObject;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * Modo offline da geração em lote: os prompts se acumulam numa fila e, periodicamente, são gravados
+ * num arquivo JSONL e enviados à interface de lote do provedor. Outro agendamento consulta os lotes
+ * enviados e entrega cada resposta (ou falha) ao destino registrado no prompt.
+ *
+ * Cada lote enviado tem um manifesto no diretório de trabalho (ID do lote no provedor e os prompts com seus
+ * payloads). Na inicialização, {@link #recoverSubmitted(OfflinePromptRecovery)} relê os manifestos para que
+ * um reinício não perca os lotes que ainda estão no provedor.
+ */
+@Slf4j
+@Service
+public class OfflineBatchService {
+
+    private static final String MANIFEST_SUFFIX = ".manifest.json";
+
+    private final OfflineBatchProvider provider;
+    private final Path workDir;
+    private final int maxRequestsPerFile;
+
+    private final Queue<OfflinePrompt> pending = new ConcurrentLinkedQueue<>();
+    private final Map<String, SubmittedFile> submitted = new ConcurrentHashMap<>();
+
+    public OfflineBatchService(OfflineBatchProvider provider,
+                               @Value("${generation.offline.work-dir:${user.home}/agenteroteiro-offline}") Path workDir,
+                               @Value("${generation.offline.max-requests-per-file:50000}") int maxRequestsPerFile,
+                               MeterRegistry meterRegistry) {
+        this.provider = provider;
+        this.workDir = workDir;
+        this.maxRequestsPerFile = maxRequestsPerFile;
+
+        Gauge.builder("generation.offline.pending", pending, Queue::size).register(meterRegistry);
+        Gauge.builder("generation.offline.submitted", submitted, Map::size).register(meterRegistry);
+
+        log.info("[OfflineBatchService] - Inicializado com provedor {} e diretório {}",
+                provider.getClass().getSimpleName(), workDir);
+    }
+
+    /**
+     * Coloca um prompt na fila do próximo arquivo de lote
+     */
+    public void enqueue(OfflinePrompt prompt) {
+        pending.add(prompt);
+    }
+
+    /**
+     * Grava os prompts pendentes em arquivos JSONL e os envia ao provedor
+     */
+    @Scheduled(fixedDelayString = "${generation.offline.submit-interval-ms:60000}")
+    public void submitPending() {
+        while (!pending.isEmpty()) {
+            Map<String, OfflinePrompt> prompts = new LinkedHashMap<>();
+            OfflinePrompt prompt;
+            while (prompts.size() < maxRequestsPerFile && (prompt = pending.poll()) != null) {
+                prompts.put(prompt.customId(), prompt);
+            }
+            submitFile(prompts);
+        }
+    }
+
+    private void submitFile(Map<String, OfflinePrompt> prompts) {
+        String name = "offline-" + UUID.randomUUID();
+        Path file = workDir.resolve(name + ".jsonl");
+        Path manifest = workDir.resolve(name + MANIFEST_SUFFIX);
+
+        String providerBatchId;
+        try {
+            Files.createDirectories(workDir);
+            try (BufferedWriter writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+                for (OfflinePrompt prompt : prompts.values()) {
+                    writer.write(provider.buildRequestLine(prompt.customId(), prompt.prompt(), prompt.maxTokens()));
+                    writer.newLine();
+                }
+            }
+            providerBatchId = provider.submit(file);
+        } catch (IOException | RuntimeException e) {
+            log.error("[OfflineBatchService.submitFile] - Erro ao enviar lote com {} prompts: {}", prompts.size(), e.getMessage(), e);
+            prompts.values().forEach(prompt -> notifyFailure(prompt, "Erro ao enviar lote ao provedor: " + e.getMessage()));
+            deleteQuietly(file);
+            return;
+        }
+
+        // O lote já está no provedor (e sendo cobrado): daqui em diante nada pode falhar os prompts
+        submitted.put(providerBatchId, new SubmittedFile(file, manifest, prompts));
+        writeManifest(manifest, providerBatchId, file, prompts);
+        log.info("[OfflineBatchService.submitFile] - {} prompts enviados no lote {}", prompts.size(), providerBatchId);
+    }
+
+    /**
+     * Consulta os lotes enviados e entrega os resultados dos que terminaram
+     */
+    @Scheduled(fixedDelayString = "${generation.offline.poll-interval-ms:300000}")
+    public void pollSubmitted() {
+        for (Map.Entry<String, SubmittedFile> entry : submitted.entrySet()) {
+            String providerBatchId = entry.getKey();
+            SubmittedFile file = entry.getValue();
+
+            OfflineBatchResult result;
+            try {
+                result = provider.poll(providerBatchId);
+            } catch (RuntimeException e) {
+                // Falha transitória na consulta: tentar de novo no próximo ciclo
+                log.warn("[OfflineBatchService.pollSubmitted] - Erro ao consultar lote {}: {}", providerBatchId, e.getMessage());
+                continue;
+            }
+
+            if (!result.finished()) {
+                log.debug("[OfflineBatchService.pollSubmitted] - Lote {} ainda em processamento ({})", providerBatchId, result.message());
+                continue;
+            }
+
+            submitted.remove(providerBatchId);
+            deliver(providerBatchId, file, result);
+            deleteQuietly(file.path());
+            deleteQuietly(file.manifest());
+        }
+    }
+
+    /**
+     * Volta a acompanhar os lotes cujos manifestos estão no diretório de trabalho (enviados antes de um reinício).
+     * Os prompts que a recuperação não reconstruir são descartados; se ela falhar, os manifestos ficam para a
+     * próxima inicialização.
+     *
+     * @return Quantidade de prompts recuperados
+     */
+    public int recoverSubmitted(OfflinePromptRecovery recovery) {
+        List<StoredManifest> manifests = readManifests();
+        List<OfflinePrompt> stored = manifests.stream().flatMap(manifest -> manifest.prompts().stream()).toList();
+        if (stored.isEmpty()) {
+            return 0;
+        }
+
+        Map<String, OfflinePrompt> recovered;
+        try {
+            recovered = recovery.recover(stored);
+        } catch (RuntimeException e) {
+            log.error("[OfflineBatchService.recoverSubmitted] - Erro ao reconstruir {} prompts de lotes enviados: {}",
+                    stored.size(), e.getMessage(), e);
+            return 0;
+        }
+
+        int count = 0;
+        for (StoredManifest manifest : manifests) {
+            Map<String, OfflinePrompt> prompts = new LinkedHashMap<>();
+            for (OfflinePrompt prompt : manifest.prompts()) {
+                OfflinePrompt restored = recovered.get(prompt.customId());
+                if (restored != null) {
+                    prompts.put(prompt.customId(), restored);
+                }
+            }
+
+            int lost = manifest.prompts().size() - prompts.size();
+            if (lost > 0) {
+                log.warn("[OfflineBatchService.recoverSubmitted] - Lote {}: {} prompts sem destino após o reinício serão descartados",
+                        manifest.providerBatchId(), lost);
+            }
+            submitted.put(manifest.providerBatchId(), new SubmittedFile(manifest.file(), manifest.manifest(), prompts));
+            count += prompts.size();
+        }
+
+        log.info("[OfflineBatchService.recoverSubmitted] - {} lotes enviados antes do reinício voltaram a ser acompanhados ({} prompts)",
+                manifests.size(), count);
+        return count;
+    }
+
+    /**
+     * Grava o manifesto do lote enviado (arquivo temporário + move, para não deixar um manifesto pela metade)
+     */
+    private void writeManifest(Path manifest, String providerBatchId, Path file, Map<String, OfflinePrompt> prompts) {
+        Path temporary = manifest.resolveSibling(manifest.getFileName() + ".tmp");
+        try {
+            JSONArray entries = new JSONArray();
+            for (OfflinePrompt prompt : prompts.values()) {
+                entries.put(new JSONObject()
+                        .put("custom_id", prompt.customId())
+                        .put("prompt", prompt.prompt())
+                        .put("max_tokens", prompt.maxTokens() != null ? prompt.maxTokens() : JSONObject.NULL)
+                        .put("payload", prompt.payload() != null ? prompt.payload() : JSONObject.NULL));
+            }
+            JSONObject content = new JSONObject()
+                    .put("provider_batch_id", providerBatchId)
+                    .put("file", file.getFileName().toString())
+                    .put("prompts", entries);
+
+            Files.writeString(temporary, content.toString(), StandardCharsets.UTF_8);
+            Files.move(temporary, manifest, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException | RuntimeException e) {
+            // O lote já está no provedor: segue acompanhado em memória, mas não sobrevive a um reinício
+            log.error("[OfflineBatchService.writeManifest] - Erro ao gravar o manifesto do lote {}: {}",
+                    providerBatchId, e.getMessage(), e);
+            deleteQuietly(temporary);
+        }
+    }
+
+    private List<StoredManifest> readManifests() {
+        List<StoredManifest> manifests = new ArrayList<>();
+        if (!Files.isDirectory(workDir)) {
+            return manifests;
+        }
+
+        try (var files = Files.list(workDir)) {
+            for (Path manifest : files.filter(path -> path.getFileName().toString().endsWith(MANIFEST_SUFFIX)).toList()) {
+                try {
+                    JSONObject content = new JSONObject(Files.readString(manifest, StandardCharsets.UTF_8));
+                    String providerBatchId = content.getString("provider_batch_id");
+                    if (submitted.containsKey(providerBatchId)) {
+                        continue;
+                    }
+
+                    List<OfflinePrompt> prompts = new ArrayList<>();
+                    JSONArray entries = content.getJSONArray("prompts");
+                    for (int i = 0; i < entries.length(); i++) {
+                        JSONObject entry = entries.getJSONObject(i);
+                        prompts.add(new OfflinePrompt(entry.getString("custom_id"), entry.getString("prompt"),
+                                entry.isNull("max_tokens") ? null : entry.getInt("max_tokens"),
+                                entry.isNull("payload") ? null : entry.getString("payload"),
+                                null, null));
+                    }
+                    manifests.add(new StoredManifest(providerBatchId, workDir.resolve(content.getString("file")), manifest, prompts));
+                } catch (IOException | JSONException e) {
+                    log.error("[OfflineBatchService.readManifests] - Manifesto {} ilegível: {}", manifest, e.getMessage());
+                }
+            }
+        } catch (IOException e) {
+            log.error("[OfflineBatchService.readManifests] - Erro ao listar {}: {}", workDir, e.getMessage(), e);
+        }
+        return manifests;
+    }
+
+    private void deliver(String providerBatchId, SubmittedFile file, OfflineBatchResult result) {
+        int delivered = 0;
+        for (OfflinePrompt prompt : file.prompts().values()) {
+            LlmResponse output = result.outputs().get(prompt.customId());
+            if (output != null && output.content() != null && !output.content().isEmpty()) {
+                try {
+                    prompt.onResult().accept(output);
+                    delivered++;
+                } catch (RuntimeException e) {
+                    log.error("[OfflineBatchService.deliver] - Erro ao processar resposta {}: {}", prompt.customId(), e.getMessage(), e);
+                }
+                continue;
+            }
+
+            String error = result.errors().get(prompt.customId());
+            notifyFailure(prompt, error != null ? error : "Prompt não processado pelo provedor (" + result.message() + ")");
+        }
+
+        log.info("[OfflineBatchService.deliver] - Lote {} finalizado: {} de {} respostas entregues",
+                providerBatchId, delivered, file.prompts().size());
+    }
+
+    private void notifyFailure(OfflinePrompt prompt, String message) {
+        try {
+            prompt.onFailure().accept(message);
+        } catch (RuntimeException e) {
+            log.error("[OfflineBatchService.notifyFailure] - Erro ao registrar falha de {}: {}", prompt.customId(), e.getMessage(), e);
+        }
+    }
+
+    private void deleteQuietly(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            log.warn("[OfflineBatchService.deleteQuietly] - Não foi possível remover {}: {}", file, e.getMessage());
+        }
+    }
+
+    public int getPendingCount() {
+        return pending.size();
+    }
+
+    public int getSubmittedCount() {
+        return submitted.size();
+    }
+
+    private record SubmittedFile(Path path, Path manifest, Map<String, OfflinePrompt> prompts) {
+    }
+
+    private record StoredManifest(String providerBatchId, Path file, Path manifest, List<OfflinePrompt> prompts) {
+    }
+}
@@ -0,0 +1,16 @@
+package br.com.devluisoliveira.agenteroteiro.core.application.service.batch.offline;
+
+import br.com.devluisoliveira.agenteroteiro.core.application.service.llm.LlmResponse;
+
+import java.util.function.Consumer;
+
+/**
+ * Prompt aguardando processamento offline, com os destinos da resposta gerada e da falha
+ *
+ * @param maxTokens max_tokens da requisição; nulo usa o padrão do provedor
+ * @param payload Dados gravados no manifesto do lote para reconstruir os destinos após um reinício
+ *                ({@link OfflinePromptRecovery}); nulo quando o destino não pode ser reconstruído
+ */
+public record OfflinePrompt(String customId, String prompt, Integer maxTokens, String payload,
+                            Consumer<LlmResponse> onResult, Consumer<String> onFailure) {
+}
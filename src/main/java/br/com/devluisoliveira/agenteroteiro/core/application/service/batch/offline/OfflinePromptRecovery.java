@@ -0,0 +1,18 @@
+package br.com.devluisoliveira.agenteroteiro.core.application.service.batch.offline;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Reconstrói os destinos dos prompts de lotes offline enviados antes de um reinício
+ */
+@FunctionalInterface
+public interface OfflinePromptRecovery {
+
+    /**
+     * @param stored Prompts lidos dos manifestos, com o payload gravado no envio e sem destinos
+     *               (onResult e onFailure nulos)
+     * @return Prompts com os destinos reconstruídos, pelo customId; os que ficarem de fora são descartados
+     */
+    Map<String, OfflinePrompt> recover(List<OfflinePrompt> stored);
+}
@@ -0,0 +1,106 @@
+package br.com.devluisoliveira.agenteroteiro.core.application.service.batch.offline;
+
+import br.com.devluisoliveira.agenteroteiro.core.application.service.OpenAIService;
+import br.com.devluisoliveira.agenteroteiro.core.application.service.llm.LlmResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.json.JSONArray;
+import org.json.JSONObject;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Batch API da OpenAI: o arquivo JSONL é enviado em /v1/files e processado em até 24h
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "generation.offline.provider", havingValue = "openai", matchIfMissing = true)
+public class OpenAIOfflineBatchProvider implements OfflineBatchProvider {
+
+    private static final Set<String> TERMINAL_STATUSES = Set.of("completed", "failed", "expired", "cancelled");
+
+    private final OpenAIService openAIService;
+    private final String completionWindow;
+
+    public OpenAIOfflineBatchProvider(OpenAIService openAIService,
+                                      @Value("${generation.offline.completion-window:24h}") String completionWindow) {
+        this.openAIService = openAIService;
+        this.completionWindow = completionWindow;
+    }
+
+    @Override
+    public String buildRequestLine(String customId, String prompt, Integer maxTokens) {
+        return openAIService.buildBatchRequestLine(customId, prompt, maxTokens);
+    }
+
+    @Override
+    public String submit(Path jsonlFile) {
+        return openAIService.createBatch(jsonlFile, completionWindow);
+    }
+
+    @Override
+    public OfflineBatchResult poll(String providerBatchId) {
+        JSONObject batch = openAIService.retrieveBatch(providerBatchId);
+        String status = batch.optString("status");
+
+        if (!TERMINAL_STATUSES.contains(status)) {
+            return OfflineBatchResult.inProgress(status);
+        }
+
+        Map<String, LlmResponse> outputs = new HashMap<>();
+        Map<String, String> errors = new HashMap<>();
+
+        // Lotes expirados ou cancelados também podem ter saída parcial
+        String outputFileId = batch.optString("output_file_id", null);
+        if (outputFileId != null) {
+            openAIService.readFileLines(outputFileId, line -> parseResultLine(line, outputs, errors));
+        }
+        String errorFileId = batch.optString("error_file_id", null);
+        if (errorFileId != null) {
+            openAIService.readFileLines(errorFileId, line -> parseResultLine(line, outputs, errors));
+        }
+
+        log.info("[OpenAIOfflineBatchProvider.poll] - Batch {} finalizado com status {}: {} respostas, {} erros",
+                providerBatchId, status, outputs.size(), errors.size());
+        return OfflineBatchResult.finished(outputs, errors, "Batch " + status + describeErrors(batch));
+    }
+
+    /**
+     * Linha de resultado: {"custom_id": ..., "response": {"status_code": 200, "body": {...}}, "error": null}
+     */
+    private void parseResultLine(String line, Map<String, LlmResponse> outputs, Map<String, String> errors) {
+        JSONObject result = new JSONObject(line);
+        String customId = result.getString("custom_id");
+
+        JSONObject response = result.optJSONObject("response");
+        if (response != null && response.optInt("status_code") == 200) {
+            JSONObject body = response.getJSONObject("body");
+            JSONObject choice = body.getJSONArray("choices").getJSONObject(0);
+            String content = choice.getJSONObject("message").getString("content");
+            // finish_reason "length": resposta cortada no max_tokens
+            outputs.put(customId, new LlmResponse(content, "openai", body.optString("model", openAIService.getModel()),
+                    "length".equals(choice.optString("finish_reason"))));
+            return;
+        }
+
+        JSONObject error = result.optJSONObject("error");
+        if (error == null && response != null) {
+            error = response.optJSONObject("body") != null ? response.getJSONObject("body").optJSONObject("error") : null;
+        }
+        errors.put(customId, error != null ? error.optString("message", "Erro no provedor") : "Erro no provedor");
+    }
+
+    private String describeErrors(JSONObject batch) {
+        JSONObject errors = batch.optJSONObject("errors");
+        JSONArray data = errors != null ? errors.optJSONArray("data") : null;
+        if (data == null || data.length() == 0) {
+            return "";
+        }
+        return ": " + data.getJSONObject(0).optString("message");
+    }
+}
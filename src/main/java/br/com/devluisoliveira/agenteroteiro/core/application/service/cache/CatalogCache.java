@@ -0,0 +1,107 @@
+package br.com.devluisoliveira.agenteroteiro.core.application.service.cache;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.function.Supplier;
+
+/**
+ * Cache em dois níveis para os catálogos públicos (tipos/estilos de oração, durações).
+ *
+ * L1 é um cache Caffeine limitado dentro da JVM; L2 é o Redis, compartilhado entre instâncias.
+ * O valor guardado é o JSON já serializado, então cada requisição apenas copia bytes para a resposta.
+ * Se o Redis estiver indisponível o catálogo é montado localmente e mantido só no L1.
+ */
+@Component
+@Slf4j
+public class CatalogCache {
+
+    private static final String REDIS_KEY_PREFIX = "catalog:";
+
+    private final StringRedisTemplate redisTemplate;
+    private final ObjectMapper objectMapper;
+    private final Cache<String, CatalogPayload> localCache;
+    private final Duration redisTtl;
+    private final String version;
+
+    public CatalogCache(StringRedisTemplate redisTemplate,
+                        ObjectMapper objectMapper,
+                        @Value("${catalog.cache.local-max-entries:100}") long localMaxEntries,
+                        @Value("${catalog.cache.local-ttl-minutes:10}") long localTtlMinutes,
+                        @Value("${catalog.cache.redis-ttl-minutes:1440}") long redisTtlMinutes,
+                        @Value("${catalog.cache.version:1}") String version) {
+        this.redisTemplate = redisTemplate;
+        this.objectMapper = objectMapper;
+        this.redisTtl = Duration.ofMinutes(redisTtlMinutes);
+        this.version = version;
+        this.localCache = Caffeine.newBuilder()
+                .maximumSize(localMaxEntries)
+                .expireAfterWrite(Duration.ofMinutes(localTtlMinutes))
+                .build();
+    }
+
+    /**
+     * Retorna o catálogo serializado, consultando L1, depois L2 e, por fim, montando-o pelo supplier
+     *
+     * @param name Nome do catálogo (parte da chave)
+     * @param loader Monta o objeto do catálogo quando não está em nenhum nível
+     */
+    public CatalogPayload get(String name, Supplier<?> loader) {
+        return localCache.get(name, key -> loadShared(key, loader));
+    }
+
+    /**
+     * Descarta o catálogo nos dois níveis
+     */
+    public void evict(String name) {
+        localCache.invalidate(name);
+        try {
+            redisTemplate.delete(redisKey(name));
+        } catch (RuntimeException e) {
+            log.warn("[CatalogCache.evict] - Falha ao remover catálogo {} do Redis: {}", name, e.getMessage());
+        }
+    }
+
+    private CatalogPayload loadShared(String name, Supplier<?> loader) {
+        String redisKey = redisKey(name);
+
+        try {
+            String json = redisTemplate.opsForValue().get(redisKey);
+            if (json != null) {
+                return CatalogPayload.fromJson(json);
+            }
+        } catch (RuntimeException e) {
+            log.warn("[CatalogCache.loadShared] - Redis indisponível ao ler {}, montando localmente: {}", name, e.getMessage());
+        }
+
+        CatalogPayload payload = serialize(name, loader.get());
+
+        try {
+            redisTemplate.opsForValue().set(redisKey, payload.toJson(), redisTtl);
+        } catch (RuntimeException e) {
+            log.warn("[CatalogCache.loadShared] - Falha ao gravar catálogo {} no Redis: {}", name, e.getMessage());
+        }
+
+        log.debug("[CatalogCache.loadShared] - Catálogo {} montado ({} bytes)", name, payload.getBody().length);
+        return payload;
+    }
+
+    private String redisKey(String name) {
+        return REDIS_KEY_PREFIX + version + ":" + name;
+    }
+
+    private CatalogPayload serialize(String name, Object catalog) {
+        try {
+            return new CatalogPayload(objectMapper.writeValueAsBytes(catalog));
+        } catch (JsonProcessingException e) {
+            throw new RuntimeException("Falha ao serializar catálogo " + name + ": " + e.getMessage(), e);
+        }
+    }
+}
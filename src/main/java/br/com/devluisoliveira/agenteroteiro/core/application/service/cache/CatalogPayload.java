@@ -0,0 +1,55 @@
+package br.com.devluisoliveira.agenteroteiro.core.application.service.cache;
+
+import lombok.Getter;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+/**
+ * Corpo JSON já serializado de um catálogo estático, com o ETag calculado sobre os bytes
+ */
+@Getter
+public final class CatalogPayload {
+
+    private final byte[] body;
+    private final String eTag;
+
+    public CatalogPayload(byte[] body) {
+        this.body = body;
+        this.eTag = "\"" + sha256(body).substring(0, 32) + "\"";
+    }
+
+    public static CatalogPayload fromJson(String json) {
+        return new CatalogPayload(json.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public String toJson() {
+        return new String(body, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Verifica se o cabeçalho If-None-Match do cliente já contém este ETag
+     */
+    public boolean matches(String ifNoneMatch) {
+        if (ifNoneMatch == null || ifNoneMatch.isBlank()) {
+            return false;
+        }
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.trim();
+            if (tag.equals("*") || tag.equals(eTag) || tag.equals("W/" + eTag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static String sha256(byte[] bytes) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(bytes));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 indisponível", e);
+        }
+    }
+}
@@ -0,0 +1,163 @@
+package br.com.devluisoliveira.agenteroteiro.core.application.service.cache;
+
+import br.com.devluisoliveira.agenteroteiro.core.application.service.enums.AgentType;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * Cache das respostas da IA, na frente da chamada ao provedor.
+ *
+ * A chave é o SHA-256 do prompt renderizado + provedor e modelo que responderam + temperatura + max_tokens, para que
+ * respostas de outro provedor ou geradas com outro limite de tokens não sejam servidas no lugar. Antes do hash o prompt é
+ * normalizado: UUIDs (processId) são removidos e, fora do modo variação, espaços são colapsados
+ * e o texto vai para minúsculas, de forma que pedidos quase idênticos compartilham a resposta.
+ * No modo variação apenas prompts exatamente iguais (exceto o processId) reaproveitam o resultado.
+ *
+ * Falhas do Redis nunca interrompem a geração: são tratadas como miss.
+ */
+@Component
+@Slf4j
+public class GenerationResponseCache {
+
+    public static final String CACHE_NAME = "generation-responses";
+
+    private static final Pattern UUID_PATTERN =
+            Pattern.compile("[0-9a-fA-F]{8}-[0-9a-fA-F]{4}-[0-9a-fA-F]{4}-[0-9a-fA-F]{4}-[0-9a-fA-F]{12}");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    private final CacheManager cacheManager;
+    private final boolean enabled;
+    private final boolean variationMode;
+    private final Set<AgentType> disabledAgents;
+    private final Map<AgentType, Counter> hits = new EnumMap<>(AgentType.class);
+    private final Map<AgentType, Counter> misses = new EnumMap<>(AgentType.class);
+
+    public GenerationResponseCache(CacheManager cacheManager,
+                                   MeterRegistry meterRegistry,
+                                   @Value("${generation.cache.enabled:true}") boolean enabled,
+                                   @Value("${generation.cache.variation-mode:false}") boolean variationMode,
+                                   @Value("${generation.cache.disabled-agents:}") List<AgentType> disabledAgents) {
+        this.cacheManager = cacheManager;
+        this.enabled = enabled;
+        this.variationMode = variationMode;
+        this.disabledAgents = disabledAgents == null || disabledAgents.isEmpty()
+                ? EnumSet.noneOf(AgentType.class)
+                : EnumSet.copyOf(disabledAgents);
+
+        for (AgentType agentType : AgentType.values()) {
+            hits.put(agentType, Counter.builder("generation.cache.requests")
+                    .tag("agent", agentType.name()).tag("result", "hit").register(meterRegistry));
+            misses.put(agentType, Counter.builder("generation.cache.requests")
+                    .tag("agent", agentType.name()).tag("result", "miss").register(meterRegistry));
+        }
+    }
+
+    /**
+     * Indica se o cache está ativo para o tipo de agente informado
+     */
+    public boolean isEnabledFor(AgentType agentType) {
+        return enabled && !disabledAgents.contains(agentType);
+    }
+
+    /**
+     * Calcula a chave do cache para o prompt e a configuração da chamada
+     *
+     * @param provider Provedor que responde (ou responderia) a chamada
+     * @param model Modelo desse provedor
+     * @param maxTokens max_tokens enviado; nulo quando a chamada usa o padrão do provedor
+     */
+    public String buildKey(String prompt, String provider, String model, double temperature, Integer maxTokens) {
+        return (variationMode ? "exact:" : "norm:") + sha256(normalize(prompt), String.valueOf(provider),
+                String.valueOf(model), Double.toString(temperature), String.valueOf(maxTokens));
+    }
+
+    /**
+     * Identifica prompts equivalentes pela mesma normalização da chave do cache, sem provedor nem limites
+     */
+    public String promptKey(String prompt) {
+        return (variationMode ? "exact:" : "norm:") + sha256(normalize(prompt));
+    }
+
+    /**
+     * Busca uma resposta em cache, registrando hit/miss para o agente
+     */
+    public Optional<String> get(AgentType agentType, String key) {
+        String cached = null;
+        Cache cache = cacheManager.getCache(CACHE_NAME);
+        if (cache != null) {
+            try {
+                cached = cache.get(key, String.class);
+            } catch (RuntimeException e) {
+                log.warn("[GenerationResponseCache.get] - Falha ao consultar o cache, seguindo sem ele: {}", e.getMessage());
+            }
+        }
+
+        AgentType agent = agentType != null ? agentType : AgentType.GENERIC;
+        if (cached != null) {
+            hits.get(agent).increment();
+            log.info("[GenerationResponseCache.get] - Cache hit para agente {}", agent);
+            return Optional.of(cached);
+        }
+        misses.get(agent).increment();
+        return Optional.empty();
+    }
+
+    /**
+     * Armazena a resposta gerada; respostas vazias não são guardadas
+     */
+    public void put(String key, String response) {
+        if (response == null || response.isBlank()) {
+            return;
+        }
+        Cache cache = cacheManager.getCache(CACHE_NAME);
+        if (cache == null) {
+            return;
+        }
+        try {
+            cache.put(key, response);
+        } catch (RuntimeException e) {
+            log.warn("[GenerationResponseCache.put] - Falha ao gravar no cache: {}", e.getMessage());
+        }
+    }
+
+    private static String sha256(String... parts) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            for (int i = 0; i < parts.length; i++) {
+                if (i > 0) {
+                    digest.update((byte) 0);
+                }
+                digest.update(parts[i].getBytes(StandardCharsets.UTF_8));
+            }
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 indisponível", e);
+        }
+    }
+
+    private String normalize(String prompt) {
+        String withoutIds = UUID_PATTERN.matcher(prompt).replaceAll("");
+        if (variationMode) {
+            return withoutIds;
+        }
+        return WHITESPACE.matcher(withoutIds).replaceAll(" ").trim().toLowerCase(Locale.ROOT);
+    }
+}
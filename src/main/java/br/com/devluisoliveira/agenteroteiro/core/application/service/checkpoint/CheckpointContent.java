@@ -0,0 +1,35 @@
+package br.com.devluisoliveira.agenteroteiro.core.application.service.checkpoint;
+
+import br.com.devluisoliveira.agenteroteiro.core.application.service.enums.ContentType;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * O que já foi gerado de uma resposta: seções concluídas e a seção que estava sendo escrita
+ *
+ * @param sections Seções concluídas
+ * @param partialType Seção interrompida, ou nulo
+ * @param partialContent Texto já recebido da seção interrompida, terminando numa quebra de linha
+ */
+public record CheckpointContent(Map<ContentType, String> sections, ContentType partialType, String partialContent) {
+
+    public static CheckpointContent empty() {
+        return new CheckpointContent(new EnumMap<>(ContentType.class), null, null);
+    }
+
+    public boolean hasPartial() {
+        return partialType != null && partialContent != null && !partialContent.isBlank();
+    }
+
+    /**
+     * Texto já gerado de uma seção: a seção concluída ou, se ela foi interrompida, o trecho parcial
+     */
+    public String textOf(ContentType type) {
+        String completed = sections.get(type);
+        if (completed != null) {
+            return completed;
+        }
+        return type == partialType ? partialContent : null;
+    }
+}
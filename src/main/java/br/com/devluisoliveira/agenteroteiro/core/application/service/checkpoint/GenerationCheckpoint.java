@@ -0,0 +1,97 @@
+package br.com.devluisoliveira.agenteroteiro.core.application.service.checkpoint;
+
+import br.com.devluisoliveira.agenteroteiro.core.application.service.enums.ContentType;
+import br.com.devluisoliveira.agenteroteiro.core.application.service.enums.GenerationJobStatus;
+import br.com.devluisoliveira.agenteroteiro.core.application.utils.SectionListener;
+import br.com.devluisoliveira.agenteroteiro.core.domain.entity.ContentGeneration;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Checkpoints de uma geração em andamento: grava o JSON do checkpoint na linha de TB_CONTENT_GENERATION a cada
+ * seção concluída e, na seção em andamento, a cada {@code partialIntervalChars} caracteres novos. As colunas de
+ * texto da linha só são preenchidas quando a geração termina.
+ *
+ * Falhas ao gravar só são logadas: o checkpoint nunca interrompe a geração.
+ */
+@Slf4j
+public class GenerationCheckpoint implements SectionListener {
+
+    private final GenerationCheckpointService checkpointService;
+    private final ContentGeneration entity;
+    private final int partialIntervalChars;
+    private final Map<ContentType, String> sections;
+
+    private ContentType partialType;
+    private String partialContent;
+    private int savedPartialLength;
+
+    GenerationCheckpoint(GenerationCheckpointService checkpointService, ContentGeneration entity,
+                         CheckpointContent content, int partialIntervalChars) {
+        this.checkpointService = checkpointService;
+        this.entity = entity;
+        this.partialIntervalChars = partialIntervalChars;
+        this.sections = new EnumMap<>(ContentType.class);
+        this.sections.putAll(content.sections());
+        this.partialType = content.partialType();
+        this.partialContent = content.partialContent();
+        this.savedPartialLength = content.partialContent() != null ? content.partialContent().length() : 0;
+    }
+
+    public String getProcessId() {
+        return entity.getContentId().toString();
+    }
+
+    @Override
+    public void onSectionProgress(ContentType type, CharSequence contentSoFar) {
+        if (type != partialType) {
+            partialType = type;
+            savedPartialLength = 0;
+        }
+        if (contentSoFar.length() - savedPartialLength < partialIntervalChars) {
+            return;
+        }
+        partialContent = contentSoFar.toString();
+        savedPartialLength = partialContent.length();
+        save();
+    }
+
+    @Override
+    public void onSectionCompleted(ContentType type, String content) {
+        boolean unchanged = Objects.equals(sections.put(type, content), content);
+        if (type == partialType) {
+            partialType = null;
+            partialContent = null;
+            savedPartialLength = 0;
+        }
+        // Numa retomada as seções já gravadas passam de novo pelo parser
+        if (unchanged) {
+            return;
+        }
+        save();
+    }
+
+    void markFailed() {
+        entity.setGenerationStatus(GenerationJobStatus.FAILED);
+        save();
+    }
+
+    CheckpointContent snapshot() {
+        return new CheckpointContent(new EnumMap<>(sections), partialType, partialContent);
+    }
+
+    ContentGeneration getEntity() {
+        return entity;
+    }
+
+    private void save() {
+        try {
+            checkpointService.save(this);
+        } catch (Exception e) {
+            log.warn("[GenerationCheckpoint.save] - Falha ao gravar checkpoint de {}: {}", getProcessId(), e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,186 @@
+package br.com.devluisoliveira.agenteroteiro.core.application.service.checkpoint;
+
+import br.com.devluisoliveira.agenteroteiro.core.application.service.enums.GenerationJobStatus;
+import br.com.devluisoliveira.agenteroteiro.core.domain.entity.ContentGeneration;
+import br.com.devluisoliveira.agenteroteiro.core.domain.entity.User;
+import br.com.devluisoliveira.agenteroteiro.core.port.in.dto.ContentGenerationRequest;
+import br.com.devluisoliveira.agenteroteiro.core.port.out.ContentGenerationPortOut;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.UUID;
+
+/**
+ * Grava as gerações em andamento na TB_CONTENT_GENERATION (generation_status = RUNNING) conforme as seções
+ * chegam, para que uma falha no meio de um roteiro longo não perca o que já foi pago ao provedor.
+ * Uma geração FAILED, ou RUNNING sem checkpoint gravado há mais de {@code stale-after-ms} (a instância que
+ * gerava parou), pode ser retomada. Cada checkpoint renova o updated_at da linha, que funciona como lease entre
+ * as instâncias.
+ */
+@Slf4j
+@Service
+public class GenerationCheckpointService {
+
+    private final ContentGenerationPortOut contentGenerationPortOut;
+    private final ObjectMapper requestMapper;
+    private final ObjectMapper objectMapper;
+    private final boolean enabled;
+    private final int partialIntervalChars;
+    private final Duration staleAfter;
+
+    public GenerationCheckpointService(ContentGenerationPortOut contentGenerationPortOut,
+                                       ObjectMapper objectMapper,
+                                       @Value("${generation.checkpoint.enabled:true}") boolean enabled,
+                                       @Value("${generation.checkpoint.partial-interval-chars:4000}") int partialIntervalChars,
+                                       @Value("${generation.checkpoint.stale-after-ms:600000}") long staleAfterMs) {
+        this.contentGenerationPortOut = contentGenerationPortOut;
+        this.objectMapper = objectMapper;
+        // targetDuration (minutos na leitura, segundos na escrita) e as estimativas são derivados de durationType
+        this.requestMapper = objectMapper.copy().addMixIn(ContentGenerationRequest.class, RequestSnapshotMixIn.class);
+        this.enabled = enabled;
+        this.partialIntervalChars = partialIntervalChars;
+        this.staleAfter = Duration.ofMillis(staleAfterMs);
+    }
+
+    /**
+     * Cria a linha RUNNING da geração; nulo quando os checkpoints estão desligados ou a gravação falhou
+     */
+    public GenerationCheckpoint start(User user, ContentGenerationRequest request) {
+        if (!enabled) {
+            return null;
+        }
+
+        try {
+            ContentGeneration entity = ContentGeneration.builder()
+                    .contentId(UUID.fromString(request.getProcessId()))
+                    .title(request.getTitle())
+                    .agentType(request.getAgentType())
+                    .text("")
+                    .user(user)
+                    .generationStatus(GenerationJobStatus.RUNNING)
+                    .generationRequest(requestMapper.writeValueAsString(request))
+                    .createdAt(LocalDateTime.now(ZoneId.of("UTC")))
+                    // Mesmo relógio do UPDATE dos checkpoints, comparado com a lease
+                    .updatedAt(LocalDateTime.now())
+                    .build();
+            GenerationCheckpoint checkpoint = new GenerationCheckpoint(this, entity, CheckpointContent.empty(),
+                    partialIntervalChars);
+            entity.setCheckpointContent(serialize(checkpoint));
+            contentGenerationPortOut.saveContentGeneration(entity);
+            return checkpoint;
+        } catch (Exception e) {
+            log.warn("[GenerationCheckpointService.start] - Geração {} seguirá sem checkpoints: {}",
+                    request.getProcessId(), e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Se a geração gravada pode ser retomada: FAILED, ou RUNNING abandonada (sem checkpoint dentro da lease)
+     */
+    public boolean isResumable(ContentGeneration entity) {
+        if (entity.getGenerationRequest() == null) {
+            return false;
+        }
+        GenerationJobStatus status = entity.getGenerationStatus();
+        if (status == GenerationJobStatus.FAILED) {
+            return true;
+        }
+        LocalDateTime lastCheckpoint = entity.getUpdatedAt() != null ? entity.getUpdatedAt() : entity.getCreatedAt();
+        return status == GenerationJobStatus.RUNNING && lastCheckpoint != null && lastCheckpoint.isBefore(staleBefore());
+    }
+
+    /**
+     * Volta a gravar checkpoints de uma geração interrompida, a partir do que já estava salvo. A linha é assumida
+     * no banco, então só uma requisição consegue retomá-la, em qualquer instância.
+     *
+     * @throws IllegalStateException se a geração está em andamento ou já foi retomada por outra requisição
+     */
+    public GenerationCheckpoint resume(ContentGeneration entity) {
+        String processId = entity.getContentId().toString();
+        if (!contentGenerationPortOut.claimForResume(entity.getContentId(), staleBefore())) {
+            throw new IllegalStateException("A geração " + processId + " já está em andamento");
+        }
+        entity.setGenerationStatus(GenerationJobStatus.RUNNING);
+        GenerationCheckpoint checkpoint = new GenerationCheckpoint(this, entity, readContent(entity), partialIntervalChars);
+        save(checkpoint);
+        return checkpoint;
+    }
+
+    /**
+     * A geração falhou: mantém o que foi salvo e marca a linha como FAILED, pronta para retomar
+     */
+    public void fail(GenerationCheckpoint checkpoint) {
+        if (checkpoint == null) {
+            return;
+        }
+        checkpoint.markFailed();
+        log.info("[GenerationCheckpointService.fail] - Geração {} interrompida com {} seções salvas",
+                checkpoint.getProcessId(), checkpoint.snapshot().sections().size());
+    }
+
+    /**
+     * A geração terminou e o conteúdo final (COMPLETED) já foi gravado por cima do checkpoint
+     */
+    public void complete(GenerationCheckpoint checkpoint) {
+        if (checkpoint != null) {
+            log.info("[GenerationCheckpointService.complete] - Geração {} concluída com {} seções",
+                    checkpoint.getProcessId(), checkpoint.snapshot().sections().size());
+        }
+    }
+
+    public ContentGenerationRequest readRequest(ContentGeneration entity) {
+        try {
+            return requestMapper.readValue(entity.getGenerationRequest(), ContentGenerationRequest.class);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Requisição salva da geração " + entity.getContentId() + " é inválida", e);
+        }
+    }
+
+    public CheckpointContent readContent(ContentGeneration entity) {
+        if (entity.getCheckpointContent() == null) {
+            return CheckpointContent.empty();
+        }
+        try {
+            return objectMapper.readValue(entity.getCheckpointContent(), CheckpointContent.class);
+        } catch (JsonProcessingException e) {
+            log.warn("[GenerationCheckpointService.readContent] - Checkpoint de {} ilegível, retomando do início: {}",
+                    entity.getContentId(), e.getMessage());
+            return CheckpointContent.empty();
+        }
+    }
+
+    /**
+     * Grava o status e o JSON do checkpoint num UPDATE só dessas colunas: regravar a entidade inteira a cada
+     * checkpoint reescreveria todos os @Lob da linha. O UPDATE também renova o updated_at (a lease da geração).
+     */
+    void save(GenerationCheckpoint checkpoint) {
+        ContentGeneration entity = checkpoint.getEntity();
+        entity.setCheckpointContent(serialize(checkpoint));
+        contentGenerationPortOut.updateCheckpoint(entity.getContentId(), entity.getGenerationStatus(),
+                entity.getCheckpointContent());
+    }
+
+    private LocalDateTime staleBefore() {
+        return LocalDateTime.now().minus(staleAfter);
+    }
+
+    private String serialize(GenerationCheckpoint checkpoint) {
+        try {
+            return objectMapper.writeValueAsString(checkpoint.snapshot());
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Não foi possível serializar o checkpoint", e);
+        }
+    }
+
+    @JsonIgnoreProperties(value = {"targetDuration", "estimatedWordCount", "estimatedCharacterCount"}, ignoreUnknown = true)
+    private abstract static class RequestSnapshotMixIn {
+    }
+}
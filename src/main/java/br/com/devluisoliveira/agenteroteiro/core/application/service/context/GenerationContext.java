@@ -0,0 +1,145 @@
+package br.com.devluisoliveira.agenteroteiro.core.application.service.context;
+
+import br.com.devluisoliveira.agenteroteiro.core.application.service.enums.AgentType;
+import br.com.devluisoliveira.agenteroteiro.core.application.service.enums.ContentType;
+import br.com.devluisoliveira.agenteroteiro.core.application.service.enums.DurationType;
+import br.com.devluisoliveira.agenteroteiro.core.application.service.enums.PrayerStyle;
+import br.com.devluisoliveira.agenteroteiro.core.application.service.enums.PrayerType;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * Dados de uma geração, do controller até o handler do agente: imutável e tipado, com os campos
+ * derivados (duração, minutos alvo, versão curta) calculados uma única vez na construção.
+ *
+ * Os campos de estoicismo e de oração ficam nulos nas gerações dos outros agentes.
+ */
+@Getter
+@ToString
+public final class GenerationContext {
+
+    private static final String DEFAULT_LANGUAGE = "pt_BR";
+
+    private final String processId;
+    private final AgentType agentType;
+    private final Set<ContentType> contentTypes;
+    private final String title;
+    private final String theme;
+    private final String notes;
+    private final String videoTopic;
+    private final String targetAudience;
+    private final String toneStyle;
+    private final String language;
+    private final String additionalContext;
+    private final String voiceType;
+
+    // Derivados da duração pedida
+    private final DurationType durationType;
+    private final int targetMinutes;
+
+    private final boolean includeCallToAction;
+    private final boolean optimizeForSEO;
+    private final boolean generateAudio;
+    // Versão curta pedida e que faz sentido para a duração
+    private final boolean includeShortVersion;
+
+    // Estoicismo
+    private final String philosopherName;
+    private final String philosopherStyle;
+    private final String stoicConcept;
+    private final String practicalApplication;
+
+    // Oração
+    private final PrayerType prayerType;
+    private final PrayerStyle prayerStyle;
+    private final String biblePassage;
+    private final String occasion;
+    private final String personalizationName;
+    private final String bibleVersion;
+    private final boolean includeInstructions;
+    private final String prayerStyleCharacteristics;
+
+    /**
+     * @param durationType Duração pedida; se nula, a mais próxima de {@code targetMinutes} (ou 5 minutos)
+     * @param targetMinutes Minutos alvo; se nulo, os da duração
+     */
+    @Builder
+    private GenerationContext(String processId, AgentType agentType, Collection<ContentType> contentTypes,
+                              String title, String theme, String notes, String videoTopic, String targetAudience,
+                              String toneStyle, String language, String additionalContext, String voiceType,
+                              DurationType durationType, Integer targetMinutes,
+                              Boolean includeCallToAction, Boolean optimizeForSEO, Boolean generateAudio,
+                              Boolean generateShortVersion,
+                              String philosopherName, String philosopherStyle, String stoicConcept,
+                              String practicalApplication,
+                              PrayerType prayerType, PrayerStyle prayerStyle, String biblePassage, String occasion,
+                              String personalizationName, String bibleVersion, Boolean includeInstructions,
+                              String prayerStyleCharacteristics) {
+        this.processId = processId;
+        this.agentType = agentType != null ? agentType : AgentType.GENERIC;
+        this.contentTypes = contentTypes == null || contentTypes.isEmpty()
+                ? Collections.emptySet()
+                : Collections.unmodifiableSet(EnumSet.copyOf(contentTypes));
+        this.title = title;
+        this.theme = theme;
+        this.notes = notes;
+        this.videoTopic = videoTopic;
+        this.targetAudience = targetAudience;
+        this.toneStyle = toneStyle;
+        this.language = language != null ? language : DEFAULT_LANGUAGE;
+        this.additionalContext = additionalContext;
+        this.voiceType = voiceType;
+
+        if (durationType != null) {
+            this.durationType = durationType;
+        } else {
+            this.durationType = targetMinutes != null ? DurationType.findClosest(targetMinutes) : DurationType.MINUTES_5;
+        }
+        this.targetMinutes = targetMinutes != null ? targetMinutes : this.durationType.getDurationInMinutes();
+
+        this.includeCallToAction = !Boolean.FALSE.equals(includeCallToAction);
+        this.optimizeForSEO = !Boolean.FALSE.equals(optimizeForSEO);
+        this.generateAudio = Boolean.TRUE.equals(generateAudio);
+        this.includeShortVersion = Boolean.TRUE.equals(generateShortVersion) && !isShortDuration(this.durationType);
+
+        this.philosopherName = philosopherName;
+        this.philosopherStyle = philosopherStyle;
+        this.stoicConcept = stoicConcept;
+        this.practicalApplication = practicalApplication;
+
+        this.prayerType = prayerType;
+        this.prayerStyle = prayerStyle;
+        this.biblePassage = biblePassage;
+        this.occasion = occasion;
+        this.personalizationName = personalizationName;
+        this.bibleVersion = bibleVersion;
+        this.includeInstructions = !Boolean.FALSE.equals(includeInstructions);
+        this.prayerStyleCharacteristics = prayerStyleCharacteristics;
+    }
+
+    public boolean hasContentType(ContentType type) {
+        return contentTypes.contains(type);
+    }
+
+    /**
+     * Se a seção deve ser pedida à IA: a versão curta só entra quando faz sentido para a duração
+     */
+    public boolean hasSection(ContentType type) {
+        return hasContentType(type) && (type != ContentType.SHORTS_IDEA || includeShortVersion);
+    }
+
+    /**
+     * Vídeos já considerados curtos não precisam de versão short
+     */
+    private static boolean isShortDuration(DurationType durationType) {
+        return durationType == DurationType.SECONDS_30
+                || durationType == DurationType.SECONDS_60
+                || durationType == DurationType.MINUTES_3;
+    }
+}
@@ -5,8 +5,8 @@ import lombok.Getter;
 
 @Getter
 public enum AgentType {
-    GENERIC("Agente Genérico", "prompt/prompt_base_generico.txt"),
-    STOICISM("Agente Estóico", "prompt/prompt_estoicism_specialist.txt"),
+    GENERIC("Agente Genérico", "prompts/prompt_base_generico.txt"),
+    STOICISM("Agente Estóico", "prompts/prompt_estoicism_specialist.txt"),
     PRAYER("Agente de Oração", "prompts/prompt_prayer_specialist.txt");
 
 
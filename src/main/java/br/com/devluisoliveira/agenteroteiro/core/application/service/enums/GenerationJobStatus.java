@@ -0,0 +1,15 @@
+package br.com.devluisoliveira.agenteroteiro.core.application.service.enums;
+
+/**
+ * Estados de um job de geração assíncrona
+ */
+public enum GenerationJobStatus {
+    QUEUED,
+    RUNNING,
+    COMPLETED,
+    FAILED;
+
+    public boolean isFinished() {
+        return this == COMPLETED || this == FAILED;
+    }
+}
@@ -0,0 +1,71 @@
+package br.com.devluisoliveira.agenteroteiro.core.application.service.job;
+
+import br.com.devluisoliveira.agenteroteiro.core.application.service.enums.GenerationJobStatus;
+import lombok.Getter;
+
+import java.time.Instant;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Estado em memória de um job de geração. Fica fora da TB_CONTENT_GENERATION:
+ * a linha só é gravada quando o conteúdo fica pronto.
+ */
+@Getter
+public class GenerationJob {
+
+    private final String processId;
+    private final UUID userId;
+    private final long expectedCharacters;
+    private final Instant createdAt;
+    private final AtomicLong generatedCharacters = new AtomicLong();
+
+    private volatile GenerationJobStatus status = GenerationJobStatus.QUEUED;
+    private volatile String message = "Aguardando na fila de geração";
+    private volatile Instant startedAt;
+    private volatile Instant finishedAt;
+
+    public GenerationJob(String processId, UUID userId, long expectedCharacters) {
+        this.processId = processId;
+        this.userId = userId;
+        this.expectedCharacters = Math.max(1, expectedCharacters);
+        this.createdAt = Instant.now();
+    }
+
+    public void markRunning() {
+        this.status = GenerationJobStatus.RUNNING;
+        this.message = "Gerando conteúdo";
+        this.startedAt = Instant.now();
+    }
+
+    public void markCompleted(String message) {
+        this.status = GenerationJobStatus.COMPLETED;
+        this.message = message;
+        this.finishedAt = Instant.now();
+    }
+
+    public void markFailed(String message) {
+        this.status = GenerationJobStatus.FAILED;
+        this.message = message;
+        this.finishedAt = Instant.now();
+    }
+
+    /**
+     * Registra um trecho recebido do provedor, usado para estimar o progresso
+     */
+    public void onToken(String token) {
+        generatedCharacters.addAndGet(token.length());
+    }
+
+    /**
+     * Progresso estimado em percentual: caracteres recebidos sobre o esperado para a duração.
+     * Só chega a 100 quando o job termina com sucesso.
+     */
+    public int getProgress() {
+        return switch (status) {
+            case QUEUED -> 0;
+            case COMPLETED -> 100;
+            case RUNNING, FAILED -> (int) Math.min(99, generatedCharacters.get() * 100 / expectedCharacters);
+        };
+    }
+}
@@ -0,0 +1,205 @@
+package br.com.devluisoliveira.agenteroteiro.core.application.service.job;
+
+import br.com.devluisoliveira.agenteroteiro.core.port.out.response.dto.ContentGenerationResponse;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+/**
+ * Motor de jobs de geração: fila limitada e pool de workers dimensionado
+ * independentemente do pool de threads do servlet.
+ *
+ * Com virtual threads não há pool: cada job ganha a sua virtual thread, e semáforos limitam quantos
+ * rodam ao mesmo tempo (virtual-workers) e quantos podem esperar a vez (queue-capacity).
+ */
+@Slf4j
+@Service
+public class GenerationJobService {
+
+    private final ThreadPoolExecutor executor;
+    private final ExecutorService virtualExecutor;
+    private final Semaphore virtualAdmission;
+    private final Semaphore virtualWorkerPermits;
+    private final AtomicInteger virtualQueued = new AtomicInteger();
+    private final AtomicInteger virtualRunning = new AtomicInteger();
+    private final Map<String, GenerationJob> jobs = new ConcurrentHashMap<>();
+    private final Duration retention;
+
+    public GenerationJobService(@Value("${generation.jobs.workers:4}") int workers,
+                                @Value("${generation.jobs.virtual-workers:256}") int virtualWorkers,
+                                @Value("${generation.jobs.queue-capacity:100}") int queueCapacity,
+                                @Value("${generation.jobs.retention-minutes:60}") long retentionMinutes,
+                                @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreadsEnabled,
+                                MeterRegistry meterRegistry) {
+        this.retention = Duration.ofMinutes(retentionMinutes);
+
+        if (virtualThreadsEnabled) {
+            // A espera pelo provedor não prende uma thread do SO: o limite de workers só protege os provedores
+            this.executor = null;
+            this.virtualExecutor = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("generation-job-", 1).factory());
+            this.virtualAdmission = new Semaphore(virtualWorkers + queueCapacity);
+            this.virtualWorkerPermits = new Semaphore(virtualWorkers, true);
+
+            Gauge.builder("generation.jobs.queued", virtualQueued, AtomicInteger::get).register(meterRegistry);
+            Gauge.builder("generation.jobs.running", virtualRunning, AtomicInteger::get).register(meterRegistry);
+        } else {
+            this.executor = new ThreadPoolExecutor(workers, workers, 0L, TimeUnit.MILLISECONDS,
+                    new ArrayBlockingQueue<>(queueCapacity),
+                    createThreadFactory(),
+                    new ThreadPoolExecutor.AbortPolicy());
+            this.virtualExecutor = null;
+            this.virtualAdmission = null;
+            this.virtualWorkerPermits = null;
+
+            Gauge.builder("generation.jobs.queued", executor, e -> e.getQueue().size()).register(meterRegistry);
+            Gauge.builder("generation.jobs.running", executor, ThreadPoolExecutor::getActiveCount).register(meterRegistry);
+        }
+
+        log.info("[GenerationJobService] - Inicializado com {} workers ({}) e fila de {} posições",
+                virtualThreadsEnabled ? virtualWorkers : workers,
+                virtualThreadsEnabled ? "virtual threads" : "threads de plataforma", queueCapacity);
+    }
+
+    private static ThreadFactory createThreadFactory() {
+        AtomicInteger threadCounter = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, "generation-job-" + threadCounter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    /**
+     * Enfileira uma geração. A tarefa recebe o job para reportar o progresso conforme os trechos chegam.
+     *
+     * @throws IllegalStateException se a fila estiver cheia
+     */
+    public GenerationJob submit(String processId, UUID userId, long expectedCharacters,
+                                Function<GenerationJob, ContentGenerationResponse> task) {
+        GenerationJob job = new GenerationJob(processId, userId, expectedCharacters);
+
+        if (jobs.putIfAbsent(processId, job) != null) {
+            throw new IllegalStateException("Já existe um job para o processo " + processId);
+        }
+
+        try {
+            dispatch(() -> run(job, task));
+        } catch (RejectedExecutionException e) {
+            jobs.remove(processId);
+            log.warn("[GenerationJobService.submit] - Fila de geração cheia, rejeitando processId: {}", processId);
+            throw new IllegalStateException("Fila de geração cheia, tente novamente em instantes", e);
+        }
+
+        log.info("[GenerationJobService.submit] - Job {} enfileirado", processId);
+        return job;
+    }
+
+    private void dispatch(Runnable task) {
+        if (executor != null) {
+            executor.execute(task);
+            return;
+        }
+
+        if (!virtualAdmission.tryAcquire()) {
+            throw new RejectedExecutionException("Fila de geração cheia");
+        }
+        virtualQueued.incrementAndGet();
+        try {
+            virtualExecutor.execute(() -> {
+                try {
+                    virtualWorkerPermits.acquire();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    virtualQueued.decrementAndGet();
+                    virtualAdmission.release();
+                    return;
+                }
+                virtualQueued.decrementAndGet();
+                virtualRunning.incrementAndGet();
+                try {
+                    task.run();
+                } finally {
+                    virtualRunning.decrementAndGet();
+                    virtualWorkerPermits.release();
+                    virtualAdmission.release();
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            virtualQueued.decrementAndGet();
+            virtualAdmission.release();
+            throw e;
+        }
+    }
+
+    public Optional<GenerationJob> findJob(String processId) {
+        return Optional.ofNullable(jobs.get(processId));
+    }
+
+    private void run(GenerationJob job, Function<GenerationJob, ContentGenerationResponse> task) {
+        job.markRunning();
+        log.info("[GenerationJobService.run] - Iniciando job {}", job.getProcessId());
+
+        try {
+            ContentGenerationResponse response = task.apply(job);
+
+            if (response != null && "COMPLETED".equals(response.getStatus())) {
+                job.markCompleted("Conteúdo gerado com sucesso");
+            } else {
+                job.markFailed(response != null ? response.getMessage() : "Não foi possível gerar o conteúdo");
+            }
+        } catch (Exception e) {
+            log.error("[GenerationJobService.run] - Erro no job {}: {}", job.getProcessId(), e.getMessage(), e);
+            job.markFailed("Erro ao gerar conteúdo: " + e.getMessage());
+        }
+
+        log.info("[GenerationJobService.run] - Job {} finalizado com status {}", job.getProcessId(), job.getStatus());
+    }
+
+    /**
+     * Remove da memória os jobs finalizados há mais tempo que o período de retenção
+     */
+    @Scheduled(fixedDelayString = "${generation.jobs.cleanup-interval-ms:300000}")
+    public void purgeFinishedJobs() {
+        Instant limit = Instant.now().minus(retention);
+        int before = jobs.size();
+
+        jobs.values().removeIf(job -> job.getStatus().isFinished()
+                && job.getFinishedAt() != null
+                && job.getFinishedAt().isBefore(limit));
+
+        int removed = before - jobs.size();
+        if (removed > 0) {
+            log.info("[GenerationJobService.purgeFinishedJobs] - {} jobs finalizados removidos da memória", removed);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (executor != null) {
+            executor.shutdown();
+        } else {
+            virtualExecutor.shutdown();
+        }
+    }
+}
@@ -0,0 +1,242 @@
+package br.com.devluisoliveira.agenteroteiro.core.application.service.llm;
+
+import br.com.devluisoliveira.agenteroteiro.shared.utils.HttpStreams;
+import lombok.extern.slf4j.Slf4j;
+import org.json.JSONArray;
+import org.json.JSONObject;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.HttpStatusCodeException;
+import org.springframework.web.client.RequestCallback;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.client.ResponseExtractor;
+import org.springframework.web.client.RestTemplate;
+
+import java.io.BufferedReader;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.function.Consumer;
+
+/**
+ * Provedor alternativo: Messages API da Anthropic. Só participa do roteamento com a chave configurada.
+ */
+@Slf4j
+@Component
+public class AnthropicLlmProvider implements LlmProvider {
+
+    private static final String MESSAGES_URL = "https://api.anthropic.com/v1/messages";
+    private static final String API_VERSION = "2023-06-01";
+    private static final String DEFAULT_SYSTEM_PROMPT = "Você é um assistente especializado em criar conteúdo para YouTube.";
+    private static final String SSE_DATA_PREFIX = "data:";
+    private static final String STOP_REASON_MAX_TOKENS = "max_tokens";
+
+    private final RestTemplate restTemplate;
+    private final String apiKey;
+    private final String model;
+    private final int maxTokens;
+    private final double temperature;
+    private final ProviderRateLimiter rateLimiter;
+    private final TokenEstimator tokenEstimator;
+
+    public AnthropicLlmProvider(RestTemplate restTemplate,
+                                ProviderRateLimiterFactory rateLimiterFactory,
+                                TokenEstimator tokenEstimator,
+                                @Value("${anthropic.api.key:}") String apiKey,
+                                @Value("${anthropic.model:claude-3-5-sonnet-latest}") String model,
+                                @Value("${anthropic.max-tokens:4096}") int maxTokens,
+                                @Value("${openai.temperature:0.7}") double temperature,
+                                @Value("${anthropic.rate-limit.requests-per-minute:50}") int requestsPerMinute,
+                                @Value("${anthropic.rate-limit.tokens-per-minute:80000}") long tokensPerMinute) {
+        this.restTemplate = restTemplate;
+        this.apiKey = apiKey;
+        this.model = model;
+        this.maxTokens = maxTokens;
+        this.temperature = temperature;
+        this.tokenEstimator = tokenEstimator;
+        this.rateLimiter = rateLimiterFactory.forProvider(getName(), apiKey, requestsPerMinute, tokensPerMinute);
+    }
+
+    @Override
+    public String getName() {
+        return "anthropic";
+    }
+
+    @Override
+    public String getModel() {
+        return model;
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return apiKey != null && !apiKey.isBlank();
+    }
+
+    @Override
+    public LlmResponse complete(LlmRequest request) {
+        return rateLimiter.execute(tokenEstimator.estimateRequestTokens(request, maxTokens), () -> postMessage(request));
+    }
+
+    @Override
+    public LlmResponse stream(LlmRequest request, Consumer<String> onToken) {
+        return rateLimiter.execute(tokenEstimator.estimateRequestTokens(request, maxTokens),
+                () -> postMessageStream(request, onToken));
+    }
+
+    private LlmResponse postMessage(LlmRequest request) {
+        log.info("Iniciando requisição à Anthropic...");
+        try {
+            HttpEntity<String> requestEntity = new HttpEntity<>(buildRequestBody(request, false).toString(), buildHeaders());
+            String response = restTemplate.postForObject(MESSAGES_URL, requestEntity, String.class);
+
+            // A resposta traz uma lista de blocos; o texto é a concatenação dos blocos "text"
+            JSONObject message = new JSONObject(response);
+            JSONArray content = message.getJSONArray("content");
+            StringBuilder text = new StringBuilder();
+            for (int i = 0; i < content.length(); i++) {
+                JSONObject block = content.getJSONObject(i);
+                if ("text".equals(block.optString("type"))) {
+                    text.append(block.getString("text"));
+                }
+            }
+
+            log.info("Requisição à Anthropic concluída com sucesso");
+            return toResponse(text.toString(), message.optString("stop_reason", null));
+        } catch (HttpStatusCodeException e) {
+            throwIfRateLimited(e);
+            log.error("Erro na requisição à Anthropic: Status code {}", e.getStatusCode().value());
+            throw new RuntimeException("Erro na API da Anthropic: " + e.getStatusCode().value(), e);
+        } catch (ResourceAccessException e) {
+            log.error("Erro ao processar a requisição à Anthropic", e);
+            throw new RuntimeException("Erro ao processar a requisição para Anthropic", e);
+        }
+    }
+
+    private LlmResponse postMessageStream(LlmRequest request, Consumer<String> onToken) {
+        log.info("Iniciando requisição em streaming à Anthropic...");
+        try {
+            byte[] input = buildRequestBody(request, true).toString().getBytes(StandardCharsets.UTF_8);
+
+            RequestCallback requestCallback = httpRequest -> {
+                httpRequest.getHeaders().addAll(buildHeaders());
+                httpRequest.getBody().write(input);
+            };
+
+            // Eventos SSE; o texto chega em content_block_delta com delta.type = text_delta
+            // e o motivo da parada em message_delta (delta.stop_reason)
+            ResponseExtractor<LlmResponse> responseExtractor = response -> {
+                StringBuilder content = new StringBuilder();
+                String stopReason = null;
+                InputStream body = response.getBody();
+                try (BufferedReader br = new BufferedReader(
+                        new InputStreamReader(body, StandardCharsets.UTF_8))) {
+                    String line;
+                    while ((line = br.readLine()) != null) {
+                        if (!line.startsWith(SSE_DATA_PREFIX)) {
+                            continue;
+                        }
+
+                        JSONObject event = new JSONObject(line.substring(SSE_DATA_PREFIX.length()).trim());
+                        String type = event.optString("type");
+                        if ("message_stop".equals(type)) {
+                            break;
+                        }
+                        if ("error".equals(type)) {
+                            throw new IllegalStateException("Erro no stream da Anthropic: " + event.optJSONObject("error"));
+                        }
+
+                        JSONObject delta = event.optJSONObject("delta");
+                        if ("message_delta".equals(type) && delta != null && !delta.isNull("stop_reason")) {
+                            stopReason = delta.optString("stop_reason");
+                        }
+                        if ("content_block_delta".equals(type) && delta != null && "text_delta".equals(delta.optString("type"))) {
+                            String text = delta.optString("text");
+                            if (!text.isEmpty()) {
+                                content.append(text);
+                                try {
+                                    onToken.accept(text);
+                                } catch (CancellationException e) {
+                                    // Cliente desconectado: para a geração no provedor
+                                    HttpStreams.abort(body);
+                                    throw e;
+                                }
+                            }
+                        }
+                    }
+                }
+                return toResponse(content.toString(), stopReason);
+            };
+
+            LlmResponse result = restTemplate.execute(MESSAGES_URL, HttpMethod.POST, requestCallback, responseExtractor);
+            log.info("Requisição em streaming à Anthropic concluída: {} caracteres",
+                    result != null ? result.content().length() : 0);
+            return result;
+        } catch (HttpStatusCodeException e) {
+            throwIfRateLimited(e);
+            log.error("Erro na requisição em streaming à Anthropic: Status code {}", e.getStatusCode().value());
+            throw new RuntimeException("Erro na API da Anthropic: " + e.getStatusCode().value(), e);
+        } catch (ResourceAccessException e) {
+            log.error("Erro ao processar a requisição em streaming à Anthropic", e);
+            throw new RuntimeException("Erro ao processar a requisição para Anthropic", e);
+        }
+    }
+
+    /**
+     * stop_reason "max_tokens": a resposta parou no limite e está incompleta
+     */
+    private LlmResponse toResponse(String content, String stopReason) {
+        boolean truncated = STOP_REASON_MAX_TOKENS.equals(stopReason);
+        if (truncated) {
+            log.warn("Resposta da Anthropic cortada no max_tokens ({} caracteres)", content.length());
+        }
+        return new LlmResponse(content, getName(), model, truncated);
+    }
+
+    /**
+     * 429 (limite da chave) e 529 (API sobrecarregada) voltam para a fila do limitador
+     */
+    private void throwIfRateLimited(HttpStatusCodeException e) {
+        int status = e.getStatusCode().value();
+        if (status == 429 || status == 529) {
+            log.warn("Anthropic recusou a requisição por limite de uso ({})", status);
+            throw new ProviderRateLimitException("Limite de uso da API da Anthropic (" + status + ")",
+                    ProviderRateLimiterFactory.retryAfter(e), e);
+        }
+    }
+
+    private HttpHeaders buildHeaders() {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        headers.setAccept(List.of(MediaType.APPLICATION_JSON, MediaType.TEXT_EVENT_STREAM));
+        headers.set("x-api-key", apiKey);
+        headers.set("anthropic-version", API_VERSION);
+        return headers;
+    }
+
+    private JSONObject buildRequestBody(LlmRequest request, boolean stream) {
+        JSONObject requestBody = new JSONObject();
+        requestBody.put("model", model);
+        requestBody.put("max_tokens", request.getMaxTokens() != null ? request.getMaxTokens() : maxTokens);
+        requestBody.put("system", request.getSystemPrompt() != null ? request.getSystemPrompt() : DEFAULT_SYSTEM_PROMPT);
+        requestBody.put("temperature", request.getTemperature() != null ? request.getTemperature() : temperature);
+
+        JSONArray messages = new JSONArray();
+        JSONObject userMessage = new JSONObject();
+        userMessage.put("role", "user");
+        userMessage.put("content", request.getPrompt());
+        messages.put(userMessage);
+        requestBody.put("messages", messages);
+
+        if (stream) {
+            requestBody.put("stream", true);
+        }
+
+        return requestBody;
+    }
+}
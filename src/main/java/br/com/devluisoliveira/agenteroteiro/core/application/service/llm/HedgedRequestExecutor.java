@@ -0,0 +1,259 @@
+package br.com.devluisoliveira.agenteroteiro.core.application.service.llm;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+
+/**
+ * Hedge de requisições a um mesmo provedor, para cortar a cauda de latência.
+ *
+ * A chamada é feita em streaming. Se nenhum trecho chegar dentro do limiar (o percentil configurado do tempo
+ * até o primeiro trecho observado), uma segunda requisição idêntica é disparada. A tentativa que entregar o
+ * primeiro trecho vence e a outra é cancelada: o próximo trecho que ela receber interrompe a leitura e fecha a
+ * conexão. Decidir no primeiro trecho, e não no fim, evita pagar duas respostas completas, já que depois de
+ * começar o stream o tempo restante é praticamente o mesmo nas duas.
+ *
+ * O gasto extra é limitado por um orçamento: cada requisição acrescenta {@code budgetRatio} créditos
+ * (até {@code maxBudget}) e cada hedge consome um crédito.
+ */
+@Slf4j
+public class HedgedRequestExecutor {
+
+    /**
+     * Chamada ao provedor: deve repassar cada trecho recebido a {@link Attempt#emit(String)}
+     *
+     * @param <T> Resultado da chamada (texto ou resposta completa do provedor)
+     */
+    @FunctionalInterface
+    public interface HedgedCall<T> {
+        T run(Attempt attempt);
+    }
+
+    private final String scope;
+    private final ExecutorService executor;
+    private final ProviderStats firstTokenWindow;
+    private final double percentile;
+    private final int minSamples;
+    private final long minDelayMs;
+    private final long initialDelayMs;
+    private final double budgetRatio;
+    private final double maxBudget;
+    private double budget;
+
+    private final Counter requests;
+    private final Counter hedgesLaunched;
+    private final Counter hedgesWon;
+    private final Counter budgetExhausted;
+    private final Timer firstTokenTimer;
+
+    public HedgedRequestExecutor(String scope, ExecutorService executor, int windowSize, int minSamples, double percentile,
+                                 long minDelayMs, long initialDelayMs, double budgetRatio, double maxBudget,
+                                 MeterRegistry meterRegistry) {
+        this.scope = scope;
+        this.executor = executor;
+        this.firstTokenWindow = new ProviderStats(windowSize);
+        this.percentile = percentile;
+        this.minSamples = minSamples;
+        this.minDelayMs = minDelayMs;
+        this.initialDelayMs = initialDelayMs;
+        this.budgetRatio = budgetRatio;
+        this.maxBudget = maxBudget;
+        this.budget = maxBudget;
+
+        this.requests = Counter.builder("llm.hedge.requests").tag("scope", scope).register(meterRegistry);
+        this.hedgesLaunched = Counter.builder("llm.hedge.attempts").tag("scope", scope).tag("result", "launched").register(meterRegistry);
+        this.hedgesWon = Counter.builder("llm.hedge.attempts").tag("scope", scope).tag("result", "won").register(meterRegistry);
+        this.budgetExhausted = Counter.builder("llm.hedge.attempts").tag("scope", scope).tag("result", "budget_exhausted").register(meterRegistry);
+        this.firstTokenTimer = Timer.builder("llm.hedge.first_token").tag("scope", scope)
+                .publishPercentiles(0.5, 0.9, 0.99).register(meterRegistry);
+    }
+
+    /**
+     * Executa a chamada com hedge
+     *
+     * @param call Chamada ao provedor
+     * @param onToken Consumidor dos trechos da tentativa vencedora; pode ser nulo
+     * @return Resultado da tentativa vencedora
+     */
+    public <T> T execute(HedgedCall<T> call, Consumer<String> onToken) {
+        requests.increment();
+        depositBudget();
+
+        Race<T> race = new Race<>(onToken);
+        race.launch(call, false);
+
+        long thresholdMs = thresholdMs();
+        try {
+            race.firstSignal.get(thresholdMs, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            if (!race.result.isDone()) {
+                if (tryWithdrawBudget()) {
+                    log.info("[HedgedRequestExecutor.execute] - {}: sem resposta em {} ms, disparando hedge", scope, thresholdMs);
+                    hedgesLaunched.increment();
+                    race.launch(call, true);
+                } else {
+                    budgetExhausted.increment();
+                }
+            }
+        } catch (ExecutionException e) {
+            // Sinal nunca completa com erro
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            race.cancelAll();
+            throw new IllegalStateException("Interrompido aguardando o provedor de IA", e);
+        }
+
+        try {
+            return race.result.get();
+        } catch (ExecutionException e) {
+            throw e.getCause() instanceof RuntimeException runtime ? runtime : new RuntimeException(e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrompido aguardando o provedor de IA", e);
+        } finally {
+            race.cancelAll();
+        }
+    }
+
+    /**
+     * Limiar atual para disparar o hedge
+     */
+    public long thresholdMs() {
+        long observed = firstTokenWindow.getLatencySamples() >= minSamples
+                ? firstTokenWindow.percentile(percentile)
+                : initialDelayMs;
+        return Math.max(minDelayMs, observed);
+    }
+
+    private synchronized void depositBudget() {
+        budget = Math.min(maxBudget, budget + budgetRatio);
+    }
+
+    private synchronized boolean tryWithdrawBudget() {
+        if (budget < 1) {
+            return false;
+        }
+        budget -= 1;
+        return true;
+    }
+
+    private void recordFirstToken(long elapsedNanos) {
+        firstTokenWindow.recordSuccess(TimeUnit.NANOSECONDS.toMillis(elapsedNanos));
+        firstTokenTimer.record(elapsedNanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Disputa entre as tentativas de uma requisição
+     */
+    private final class Race<T> {
+
+        private final Consumer<String> onToken;
+        private final AtomicReference<Attempt> winner = new AtomicReference<>();
+        private final CompletableFuture<Void> firstSignal = new CompletableFuture<>();
+        private final CompletableFuture<T> result = new CompletableFuture<>();
+        private final List<Attempt> attempts = new CopyOnWriteArrayList<>();
+        private final AtomicInteger failures = new AtomicInteger();
+
+        private Race(Consumer<String> onToken) {
+            this.onToken = onToken;
+        }
+
+        private void launch(HedgedCall<T> call, boolean hedge) {
+            Attempt attempt = new Attempt(this, hedge);
+            attempts.add(attempt);
+            CompletableFuture.supplyAsync(() -> call.run(attempt), executor)
+                    .whenComplete((content, error) -> {
+                        if (error == null) {
+                            // Resposta sem trechos (ex.: texto vazio): vence ao terminar
+                            if (claim(attempt)) {
+                                result.complete(content);
+                            }
+                        } else {
+                            attempt.onFailed(error instanceof CompletionException && error.getCause() != null
+                                    ? error.getCause() : error);
+                        }
+                    });
+        }
+
+        private boolean claim(Attempt attempt) {
+            if (winner.compareAndSet(null, attempt)) {
+                recordFirstToken(System.nanoTime() - attempt.startNanos);
+                if (attempt.hedge) {
+                    hedgesWon.increment();
+                }
+                firstSignal.complete(null);
+                // A(s) outra(s) tentativa(s) param no próximo trecho recebido
+                attempts.stream().filter(other -> other != attempt).forEach(Attempt::cancel);
+                return true;
+            }
+            return winner.get() == attempt;
+        }
+
+        private void cancelAll() {
+            attempts.stream().filter(attempt -> attempt != winner.get()).forEach(Attempt::cancel);
+        }
+    }
+
+    /**
+     * Uma das requisições idênticas disparadas para o mesmo pedido
+     */
+    public static final class Attempt {
+
+        private final Race<?> race;
+        private final boolean hedge;
+        private final long startNanos = System.nanoTime();
+        private volatile boolean cancelled;
+
+        private Attempt(Race<?> race, boolean hedge) {
+            this.race = race;
+            this.hedge = hedge;
+        }
+
+        /**
+         * Recebe um trecho do provedor. Na tentativa perdedora lança {@link CancellationException},
+         * interrompendo a leitura do stream.
+         */
+        public void emit(String token) {
+            if (cancelled || !race.claim(this)) {
+                cancelled = true;
+                throw new CancellationException("Tentativa cancelada: outra requisição respondeu primeiro");
+            }
+            if (race.onToken != null) {
+                race.onToken.accept(token);
+            }
+        }
+
+        public boolean isCancelled() {
+            return cancelled;
+        }
+
+        private void cancel() {
+            cancelled = true;
+        }
+
+        private void onFailed(Throwable error) {
+            if (race.winner.get() == this) {
+                race.result.completeExceptionally(error);
+                return;
+            }
+            if (race.winner.get() == null && race.failures.incrementAndGet() == race.attempts.size()) {
+                race.result.completeExceptionally(error);
+                race.firstSignal.complete(null);
+            }
+        }
+    }
+}
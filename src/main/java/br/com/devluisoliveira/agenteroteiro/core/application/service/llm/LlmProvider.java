@@ -0,0 +1,36 @@
+package br.com.devluisoliveira.agenteroteiro.core.application.service.llm;
+
+import java.util.function.Consumer;
+
+/**
+ * Provedor de IA usado pelo {@link LlmRouter}. Cada implementação encapsula a API de um fornecedor.
+ */
+public interface LlmProvider {
+
+    /**
+     * Nome usado na configuração da ordem de preferência e nas métricas (ex.: openai, anthropic)
+     */
+    String getName();
+
+    /**
+     * Modelo usado nas chamadas (compõe a chave do cache de respostas)
+     */
+    String getModel();
+
+    /**
+     * Indica se o provedor está configurado (chave de API presente etc.)
+     */
+    boolean isEnabled();
+
+    /**
+     * Gera o texto completo numa chamada bloqueante
+     */
+    LlmResponse complete(LlmRequest request);
+
+    /**
+     * Gera o texto repassando cada trecho ao consumidor assim que chega
+     *
+     * @return Texto completo acumulado, com o provedor e se a resposta foi cortada no max_tokens
+     */
+    LlmResponse stream(LlmRequest request, Consumer<String> onToken);
+}
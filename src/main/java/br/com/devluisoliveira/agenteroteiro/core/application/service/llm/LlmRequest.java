@@ -0,0 +1,26 @@
+package br.com.devluisoliveira.agenteroteiro.core.application.service.llm;
+
+import lombok.Builder;
+import lombok.Value;
+
+/**
+ * Requisição de geração independente de provedor. Campos nulos usam o padrão configurado em cada provedor.
+ */
+@Value
+@Builder(toBuilder = true)
+public class LlmRequest {
+
+    String prompt;
+    String systemPrompt;
+    Double temperature;
+    Integer maxTokens;
+    /**
+     * Rótulo da carga (ex.: "STOICISM:MINUTES_10") usado para separar as janelas de latência do hedge;
+     * nulo usa a janela geral do provedor
+     */
+    String workload;
+
+    public static LlmRequest of(String prompt) {
+        return LlmRequest.builder().prompt(prompt).build();
+    }
+}
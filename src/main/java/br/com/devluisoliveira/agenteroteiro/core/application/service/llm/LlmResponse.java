@@ -0,0 +1,13 @@
+package br.com.devluisoliveira.agenteroteiro.core.application.service.llm;
+
+/**
+ * Resposta de um provedor de IA
+ *
+ * @param content Texto gerado
+ * @param provider Nome do provedor que respondeu (o mesmo usado no roteamento)
+ * @param model Modelo que gerou o texto
+ * @param truncated A geração parou por atingir o max_tokens (OpenAI: finish_reason "length";
+ *                  Anthropic: stop_reason "max_tokens"), então o texto está incompleto
+ */
+public record LlmResponse(String content, String provider, String model, boolean truncated) {
+}
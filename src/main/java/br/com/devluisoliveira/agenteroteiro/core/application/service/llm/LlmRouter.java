@@ -0,0 +1,397 @@
+package br.com.devluisoliveira.agenteroteiro.core.application.service.llm;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * Roteia as chamadas de geração entre os provedores de IA.
+ *
+ * Para cada provedor mantém a latência (p50/p95) e a taxa de erro das últimas chamadas. O tráfego vai para o
+ * provedor saudável mais rápido; quem ainda não tem amostras suficientes fica na ordem configurada. Um provedor
+ * com taxa de erro acima do limite sai do roteamento até passar o período de espera desde a última falha.
+ *
+ * Chamadas bloqueantes podem ser "hedgeadas" (desligado por padrão): se o provedor principal não responder dentro
+ * do p95 da sua carga (agente e duração, ver {@link LlmRequest#getWorkload()}), a mesma requisição é enviada ao
+ * próximo provedor e vale a primeira resposta. As duas tentativas rodam em streaming para que a perdedora seja
+ * abortada no próximo trecho recebido, fechando a conexão em vez de gerar o texto inteiro. O gasto extra é limitado
+ * por um orçamento: cada chamada acrescenta {@code budgetRatio} créditos (até {@code maxBudget}) e cada hedge
+ * consome um crédito. Em streaming não há hedge (os trechos já foram entregues), mas há failover enquanto nenhum
+ * trecho tiver sido emitido.
+ */
+@Slf4j
+@Service
+public class LlmRouter {
+
+    private final List<LlmProvider> providers;
+    private final Map<String, ProviderStats> stats = new LinkedHashMap<>();
+    private final Map<String, ProviderStats> workloadStats = new ConcurrentHashMap<>();
+    private final Map<String, Timer> latencyTimers = new LinkedHashMap<>();
+    private final Map<String, Counter> successCounters = new LinkedHashMap<>();
+    private final Map<String, Counter> failureCounters = new LinkedHashMap<>();
+    private final Counter hedgesLaunched;
+    private final Counter hedgesWon;
+    private final Counter hedgesBudgetExhausted;
+    private final ExecutorService executor;
+
+    private final int windowSize;
+    private final int minSamples;
+    private final double maxErrorRate;
+    private final long unhealthyCooldownMs;
+    private final boolean hedgingEnabled;
+    private final double hedgePercentile;
+    private final long hedgeMinDelayMs;
+    private final long hedgeInitialDelayMs;
+    private final double hedgeBudgetRatio;
+    private final double hedgeMaxBudget;
+    private double hedgeBudget;
+
+    public LlmRouter(List<LlmProvider> providers,
+                     @Value("${llm.router.order:openai,anthropic}") List<String> order,
+                     @Value("${llm.router.window-size:200}") int windowSize,
+                     @Value("${llm.router.min-samples:10}") int minSamples,
+                     @Value("${llm.router.max-error-rate:0.5}") double maxErrorRate,
+                     @Value("${llm.router.unhealthy-cooldown-ms:30000}") long unhealthyCooldownMs,
+                     @Value("${llm.router.hedging.enabled:false}") boolean hedgingEnabled,
+                     @Value("${llm.router.hedging.percentile:0.95}") double hedgePercentile,
+                     @Value("${llm.router.hedging.min-delay-ms:2000}") long hedgeMinDelayMs,
+                     @Value("${llm.router.hedging.initial-delay-ms:30000}") long hedgeInitialDelayMs,
+                     @Value("${llm.router.hedging.budget-ratio:0.1}") double hedgeBudgetRatio,
+                     @Value("${llm.router.hedging.max-budget:10}") double hedgeMaxBudget,
+                     MeterRegistry meterRegistry) {
+        // Provedores fora da lista de ordem ficam no fim, na ordem em que o Spring os entregou
+        this.providers = providers.stream()
+                .filter(LlmProvider::isEnabled)
+                .sorted(Comparator.comparingInt(provider -> {
+                    int index = order.indexOf(provider.getName());
+                    return index < 0 ? Integer.MAX_VALUE : index;
+                }))
+                .toList();
+        this.windowSize = windowSize;
+        this.minSamples = minSamples;
+        this.maxErrorRate = maxErrorRate;
+        this.unhealthyCooldownMs = unhealthyCooldownMs;
+        this.hedgingEnabled = hedgingEnabled;
+        this.hedgePercentile = hedgePercentile;
+        this.hedgeMinDelayMs = hedgeMinDelayMs;
+        this.hedgeInitialDelayMs = hedgeInitialDelayMs;
+        this.hedgeBudgetRatio = hedgeBudgetRatio;
+        this.hedgeMaxBudget = hedgeMaxBudget;
+        this.hedgeBudget = hedgeMaxBudget;
+
+        for (LlmProvider provider : this.providers) {
+            String name = provider.getName();
+            ProviderStats providerStats = new ProviderStats(windowSize);
+            stats.put(name, providerStats);
+
+            latencyTimers.put(name, Timer.builder("llm.provider.latency").tag("provider", name)
+                    .publishPercentiles(0.5, 0.95, 0.99).register(meterRegistry));
+            successCounters.put(name, Counter.builder("llm.provider.requests")
+                    .tag("provider", name).tag("result", "success").register(meterRegistry));
+            failureCounters.put(name, Counter.builder("llm.provider.requests")
+                    .tag("provider", name).tag("result", "failure").register(meterRegistry));
+            Gauge.builder("llm.provider.error.rate", providerStats, ProviderStats::errorRate)
+                    .tag("provider", name).register(meterRegistry);
+        }
+
+        this.hedgesLaunched = Counter.builder("llm.router.hedges").tag("result", "launched").register(meterRegistry);
+        this.hedgesWon = Counter.builder("llm.router.hedges").tag("result", "won").register(meterRegistry);
+        this.hedgesBudgetExhausted = Counter.builder("llm.router.hedges").tag("result", "budget_exhausted").register(meterRegistry);
+
+        AtomicInteger threadCounter = new AtomicInteger();
+        this.executor = Executors.newCachedThreadPool(runnable -> {
+            Thread thread = new Thread(runnable, "llm-router-" + threadCounter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        if (this.providers.isEmpty()) {
+            log.error("[LlmRouter] - Nenhum provedor de IA habilitado!");
+        } else {
+            log.info("[LlmRouter] - Provedores habilitados: {} (hedge {})",
+                    this.providers.stream().map(LlmProvider::getName).toList(), hedgingEnabled ? "ativo" : "desativado");
+        }
+    }
+
+    /**
+     * Gera o texto no provedor mais rápido, com hedge e failover para os demais
+     */
+    public LlmResponse complete(LlmRequest request) {
+        List<LlmProvider> ranked = rankProviders();
+        RuntimeException lastError = null;
+        if (hedgingEnabled) {
+            depositBudget();
+        }
+
+        int i = 0;
+        while (i < ranked.size()) {
+            LlmProvider primary = ranked.get(i);
+            LlmProvider hedge = hedgingEnabled && i + 1 < ranked.size() ? ranked.get(i + 1) : null;
+            try {
+                return hedge != null ? completeHedged(primary, hedge, request) : call(primary, request, null);
+            } catch (RuntimeException e) {
+                lastError = e;
+                log.warn("[LlmRouter.complete] - Falha em {}{}: {}", primary.getName(),
+                        hedge != null ? " e " + hedge.getName() : "", e.getMessage());
+            }
+            i += hedge != null ? 2 : 1;
+        }
+
+        throw allProvidersFailed(lastError);
+    }
+
+    /**
+     * Gera o texto em streaming. Se o provedor falhar antes do primeiro trecho, tenta o próximo.
+     */
+    public LlmResponse stream(LlmRequest request, Consumer<String> onToken) {
+        List<LlmProvider> ranked = rankProviders();
+        AtomicBoolean emitted = new AtomicBoolean();
+        Consumer<String> trackingListener = token -> {
+            emitted.set(true);
+            onToken.accept(token);
+        };
+
+        RuntimeException lastError = null;
+        for (LlmProvider provider : ranked) {
+            long start = System.nanoTime();
+            try {
+                LlmResponse response = provider.stream(request, trackingListener);
+                recordSuccess(provider, request, start);
+                return response;
+            } catch (CancellationException e) {
+                // Cliente desconectou: não diz nada sobre o provedor e não há para quem tentar o próximo
+                throw e;
+            } catch (RuntimeException e) {
+                recordFailure(provider);
+                lastError = e;
+                if (emitted.get()) {
+                    // O cliente já recebeu parte do texto de um provedor; trocar agora misturaria respostas
+                    throw e;
+                }
+                log.warn("[LlmRouter.stream] - Falha em {} antes do primeiro trecho, tentando o próximo: {}",
+                        provider.getName(), e.getMessage());
+            }
+        }
+
+        throw allProvidersFailed(lastError);
+    }
+
+    /**
+     * Provedor que receberia a próxima chamada (o primeiro do ranking); nulo sem provedores habilitados
+     */
+    public LlmProvider preferredProvider() {
+        List<LlmProvider> ranked = rankProviders();
+        return ranked.isEmpty() ? null : ranked.get(0);
+    }
+
+    /**
+     * Provedores saudáveis do mais rápido para o mais lento; sem nenhum saudável, todos na ordem configurada
+     */
+    List<LlmProvider> rankProviders() {
+        long now = System.currentTimeMillis();
+        List<LlmProvider> healthy = new ArrayList<>();
+        for (LlmProvider provider : providers) {
+            if (isHealthy(stats.get(provider.getName()), now)) {
+                healthy.add(provider);
+            }
+        }
+
+        if (healthy.isEmpty()) {
+            return providers;
+        }
+
+        // Sort estável: quem ainda não tem amostras suficientes mantém a posição configurada
+        healthy.sort(Comparator.comparingLong(provider -> {
+            ProviderStats providerStats = stats.get(provider.getName());
+            return providerStats.getLatencySamples() >= minSamples ? providerStats.percentile(0.5) : Long.MAX_VALUE;
+        }));
+        return healthy;
+    }
+
+    private boolean isHealthy(ProviderStats providerStats, long now) {
+        return providerStats.getOutcomeSamples() < minSamples
+                || providerStats.errorRate() <= maxErrorRate
+                || now - providerStats.getLastFailureAt() >= unhealthyCooldownMs;
+    }
+
+    /**
+     * Dispara o principal e, se ele passar do limiar e houver orçamento, a mesma requisição no secundário; vale a
+     * primeira resposta e a outra tentativa é abortada
+     */
+    private LlmResponse completeHedged(LlmProvider primary, LlmProvider secondary, LlmRequest request) {
+        AtomicBoolean settled = new AtomicBoolean();
+        CompletableFuture<LlmResponse> primaryCall = CompletableFuture.supplyAsync(() -> call(primary, request, settled), executor);
+
+        long delayMs = hedgeDelayMs(primary, request);
+        try {
+            return primaryCall.get(delayMs, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            // Segue para o hedge
+        } catch (ExecutionException e) {
+            // O principal falhou antes do limiar: failover direto
+            return call(secondary, request, null);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            settled.set(true);
+            throw new IllegalStateException("Interrompido aguardando o provedor de IA", e);
+        }
+
+        if (!tryWithdrawBudget()) {
+            hedgesBudgetExhausted.increment();
+            log.info("[LlmRouter.completeHedged] - {} acima do limiar de {} ms, mas sem orçamento para hedge",
+                    primary.getName(), delayMs);
+            try {
+                return primaryCall.join();
+            } catch (CompletionException e) {
+                return call(secondary, request, null);
+            }
+        }
+
+        log.info("[LlmRouter.completeHedged] - {} acima do limiar de {} ms, disparando hedge em {}",
+                primary.getName(), delayMs, secondary.getName());
+        hedgesLaunched.increment();
+        CompletableFuture<LlmResponse> hedgeCall = CompletableFuture.supplyAsync(() -> call(secondary, request, settled), executor);
+
+        CompletableFuture<LlmResponse> winner = new CompletableFuture<>();
+        AtomicBoolean won = new AtomicBoolean();
+        AtomicInteger failures = new AtomicInteger();
+        primaryCall.whenComplete((result, error) -> settle(winner, won, failures, result, error, () -> { }));
+        hedgeCall.whenComplete((result, error) -> settle(winner, won, failures, result, error, hedgesWon::increment));
+
+        try {
+            return winner.join();
+        } catch (CompletionException e) {
+            throw e.getCause() instanceof RuntimeException runtime ? runtime : e;
+        } finally {
+            // A tentativa que ainda estiver gerando lança CancellationException no próximo trecho e o provedor fecha a conexão
+            settled.set(true);
+        }
+    }
+
+    private static void settle(CompletableFuture<LlmResponse> winner, AtomicBoolean won, AtomicInteger failures,
+                               LlmResponse result, Throwable error, Runnable onWin) {
+        if (error == null) {
+            // onWin antes de completar: quem aguarda o vencedor já enxerga as métricas atualizadas
+            if (won.compareAndSet(false, true)) {
+                onWin.run();
+                winner.complete(result);
+            }
+        } else if (failures.incrementAndGet() == 2) {
+            winner.completeExceptionally(error instanceof CompletionException && error.getCause() != null ? error.getCause() : error);
+        }
+    }
+
+    /**
+     * Limiar do hedge: percentil da latência do provedor na carga da requisição (pedidos de um título e de um
+     * roteiro de uma hora não cabem na mesma janela)
+     */
+    long hedgeDelayMs(LlmProvider provider, LlmRequest request) {
+        ProviderStats providerStats = latencyStats(provider, request);
+        long threshold = providerStats.getLatencySamples() >= minSamples
+                ? providerStats.percentile(hedgePercentile)
+                : hedgeInitialDelayMs;
+        return Math.max(hedgeMinDelayMs, threshold);
+    }
+
+    private ProviderStats latencyStats(LlmProvider provider, LlmRequest request) {
+        if (request.getWorkload() == null) {
+            return stats.get(provider.getName());
+        }
+        return workloadStats.computeIfAbsent(provider.getName() + ":" + request.getWorkload(),
+                key -> new ProviderStats(windowSize));
+    }
+
+    private synchronized void depositBudget() {
+        hedgeBudget = Math.min(hedgeMaxBudget, hedgeBudget + hedgeBudgetRatio);
+    }
+
+    private synchronized boolean tryWithdrawBudget() {
+        if (hedgeBudget < 1) {
+            return false;
+        }
+        hedgeBudget -= 1;
+        return true;
+    }
+
+    /**
+     * Chama o provedor. Com {@code abort}, a chamada roda em streaming e é abortada no primeiro trecho recebido
+     * depois que ele for marcado (a outra tentativa do hedge já respondeu).
+     */
+    private LlmResponse call(LlmProvider provider, LlmRequest request, AtomicBoolean abort) {
+        long start = System.nanoTime();
+        try {
+            LlmResponse response = abort == null
+                    ? provider.complete(request)
+                    : provider.stream(request, token -> {
+                        if (abort.get()) {
+                            throw new CancellationException("A outra tentativa do hedge já respondeu");
+                        }
+                    });
+            recordSuccess(provider, request, start);
+            return response;
+        } catch (CancellationException e) {
+            throw e;
+        } catch (RuntimeException e) {
+            recordFailure(provider);
+            throw e;
+        }
+    }
+
+    private void recordSuccess(LlmProvider provider, LlmRequest request, long startNanos) {
+        long elapsedNanos = System.nanoTime() - startNanos;
+        long elapsedMs = TimeUnit.NANOSECONDS.toMillis(elapsedNanos);
+        stats.get(provider.getName()).recordSuccess(elapsedMs);
+        if (request.getWorkload() != null) {
+            latencyStats(provider, request).recordSuccess(elapsedMs);
+        }
+        latencyTimers.get(provider.getName()).record(elapsedNanos, TimeUnit.NANOSECONDS);
+        successCounters.get(provider.getName()).increment();
+    }
+
+    private void recordFailure(LlmProvider provider) {
+        stats.get(provider.getName()).recordFailure();
+        failureCounters.get(provider.getName()).increment();
+    }
+
+    private RuntimeException allProvidersFailed(RuntimeException lastError) {
+        if (lastError == null) {
+            return new IllegalStateException("Nenhum provedor de IA habilitado");
+        }
+        return new RuntimeException("Falha em todos os provedores de IA: " + lastError.getMessage(), lastError);
+    }
+
+    /**
+     * Estatísticas da janela atual de um provedor (para diagnóstico e testes)
+     */
+    public ProviderStats statsFor(String providerName) {
+        return stats.get(providerName);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+}
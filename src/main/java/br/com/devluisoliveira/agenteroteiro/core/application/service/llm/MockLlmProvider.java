@@ -0,0 +1,89 @@
+package br.com.devluisoliveira.agenteroteiro.core.application.service.llm;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.function.Consumer;
+
+/**
+ * Provedor local, sem rede, com latência e resposta configuráveis. Ativado com llm.mock.enabled=true
+ * para desenvolvimento; nos testes é instanciado diretamente.
+ */
+@Component
+@ConditionalOnProperty(name = "llm.mock.enabled", havingValue = "true")
+public class MockLlmProvider implements LlmProvider {
+
+    private final String name;
+    private final long latencyMs;
+    private final String response;
+    private volatile boolean failing;
+
+    @Autowired
+    public MockLlmProvider(@Value("${llm.mock.latency-ms:200}") long latencyMs,
+                           @Value("${llm.mock.response:Conteúdo simulado pelo provedor local}") String response) {
+        this("mock", latencyMs, response);
+    }
+
+    public MockLlmProvider(String name, long latencyMs, String response) {
+        this.name = name;
+        this.latencyMs = latencyMs;
+        this.response = response;
+    }
+
+    /**
+     * Faz as próximas chamadas falharem (ou voltarem a funcionar), simulando uma indisponibilidade
+     */
+    public void setFailing(boolean failing) {
+        this.failing = failing;
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public String getModel() {
+        return name;
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return true;
+    }
+
+    @Override
+    public LlmResponse complete(LlmRequest request) {
+        sleep(latencyMs);
+        checkFailure();
+        return new LlmResponse(response, name, name, false);
+    }
+
+    @Override
+    public LlmResponse stream(LlmRequest request, Consumer<String> onToken) {
+        checkFailure();
+        String[] words = response.split("(?<= )");
+        for (String word : words) {
+            sleep(latencyMs / words.length);
+            onToken.accept(word);
+        }
+        return new LlmResponse(response, name, name, false);
+    }
+
+    private void checkFailure() {
+        if (failing) {
+            throw new IllegalStateException("Falha simulada no provedor " + name);
+        }
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Chamada ao provedor interrompida", e);
+        }
+    }
+}
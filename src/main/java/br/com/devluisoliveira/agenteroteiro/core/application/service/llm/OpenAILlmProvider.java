@@ -0,0 +1,95 @@
+package br.com.devluisoliveira.agenteroteiro.core.application.service.llm;
+
+import br.com.devluisoliveira.agenteroteiro.core.application.service.OpenAIService;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * Provedor principal: delega ao {@link OpenAIService}.
+ *
+ * Com {@code openai.hedging.enabled} as chamadas passam pelo {@link HedgedRequestExecutor}: sempre em streaming,
+ * com uma segunda requisição idêntica à OpenAI quando o primeiro trecho demora mais que o p90 observado.
+ */
+@Slf4j
+@Component
+public class OpenAILlmProvider implements LlmProvider {
+
+    private final OpenAIService openAIService;
+    private final HedgedRequestExecutor hedgedExecutor;
+    private final ExecutorService executor;
+
+    public OpenAILlmProvider(OpenAIService openAIService,
+                             @Value("${openai.hedging.enabled:false}") boolean hedgingEnabled,
+                             @Value("${openai.hedging.percentile:0.9}") double percentile,
+                             @Value("${openai.hedging.window-size:200}") int windowSize,
+                             @Value("${openai.hedging.min-samples:20}") int minSamples,
+                             @Value("${openai.hedging.min-delay-ms:1000}") long minDelayMs,
+                             @Value("${openai.hedging.initial-delay-ms:10000}") long initialDelayMs,
+                             @Value("${openai.hedging.budget-ratio:0.1}") double budgetRatio,
+                             @Value("${openai.hedging.max-budget:10}") double maxBudget,
+                             MeterRegistry meterRegistry) {
+        this.openAIService = openAIService;
+
+        if (hedgingEnabled) {
+            AtomicInteger threadCounter = new AtomicInteger();
+            this.executor = Executors.newCachedThreadPool(runnable -> {
+                Thread thread = new Thread(runnable, "openai-hedge-" + threadCounter.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+            this.hedgedExecutor = new HedgedRequestExecutor(getName(), executor, windowSize, minSamples, percentile,
+                    minDelayMs, initialDelayMs, budgetRatio, maxBudget, meterRegistry);
+            log.info("[OpenAILlmProvider] - Hedge ativo: p{} do primeiro trecho, orçamento de {}% de requisições extras",
+                    Math.round(percentile * 100), Math.round(budgetRatio * 100));
+        } else {
+            this.executor = null;
+            this.hedgedExecutor = null;
+        }
+    }
+
+    @Override
+    public String getName() {
+        return "openai";
+    }
+
+    @Override
+    public String getModel() {
+        return openAIService.getModel();
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return true;
+    }
+
+    @Override
+    public LlmResponse complete(LlmRequest request) {
+        if (hedgedExecutor == null) {
+            return openAIService.complete(request);
+        }
+        return hedgedExecutor.execute(attempt -> openAIService.stream(request, attempt::emit), null);
+    }
+
+    @Override
+    public LlmResponse stream(LlmRequest request, Consumer<String> onToken) {
+        if (hedgedExecutor == null) {
+            return openAIService.stream(request, onToken);
+        }
+        return hedgedExecutor.execute(attempt -> openAIService.stream(request, attempt::emit), onToken);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (executor != null) {
+            executor.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package br.com.devluisoliveira.agenteroteiro.core.application.service.llm;
+
+import java.time.Duration;
+
+/**
+ * O provedor recusou a chamada por limite de uso (HTTP 429, ou 529 na Anthropic), ou a espera na fila local
+ * do limitador passou do máximo configurado
+ */
+public class ProviderRateLimitException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    private final Duration retryAfter;
+
+    public ProviderRateLimitException(String message, Duration retryAfter, Throwable cause) {
+        super(message, cause);
+        this.retryAfter = retryAfter;
+    }
+
+    /**
+     * Espera pedida pelo provedor (cabeçalho Retry-After), ou nulo se ele não informou
+     */
+    public Duration getRetryAfter() {
+        return retryAfter;
+    }
+}
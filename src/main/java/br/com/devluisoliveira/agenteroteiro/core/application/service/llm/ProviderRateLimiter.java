@@ -0,0 +1,252 @@
+package br.com.devluisoliveira.agenteroteiro.core.application.service.llm;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * Limitador das chamadas a um provedor (por chave de API).
+ *
+ * Combina três controles, e a chamada espera na fila até todos permitirem:
+ * <ul>
+ *     <li>balde de requisições por minuto e balde de tokens por minuto (prompt + resposta estimados);</li>
+ *     <li>limite de concorrência adaptativo (AIMD): sobe 1 a cada "limite" chamadas bem-sucedidas e é
+ *     multiplicado pelo fator de redução (metade, por padrão) a cada recusa por limite de uso;</li>
+ *     <li>pausa pedida pelo provedor no Retry-After, que vale para todas as chamadas da chave.</li>
+ * </ul>
+ * A chamada recusada por limite de uso volta para a fila em vez de falhar, até o número máximo de tentativas.
+ */
+@Slf4j
+public class ProviderRateLimiter {
+
+    private final String name;
+    private final TokenBucket requestBucket;
+    private final TokenBucket tokenBucket;
+    private final double minConcurrency;
+    private final double maxConcurrency;
+    private final double decreaseFactor;
+    private final long maxWaitNanos;
+    private final int maxRetries;
+    private final long baseBackoffMs;
+
+    private final ReentrantLock lock = new ReentrantLock(true);
+    private final Condition changed = lock.newCondition();
+    private double concurrencyLimit;
+    private int inFlight;
+    private int waiting;
+    private long pausedUntilNanos;
+
+    private final Counter throttled;
+    private final Counter timedOut;
+    private final Timer waitTimer;
+
+    public ProviderRateLimiter(String name, int requestsPerMinute, long tokensPerMinute, int initialConcurrency,
+                               int minConcurrency, int maxConcurrency, double decreaseFactor, long maxWaitMs,
+                               int maxRetries, long baseBackoffMs, MeterRegistry meterRegistry) {
+        this.name = name;
+        this.requestBucket = requestsPerMinute > 0 ? new TokenBucket(requestsPerMinute) : null;
+        this.tokenBucket = tokensPerMinute > 0 ? new TokenBucket(tokensPerMinute) : null;
+        this.concurrencyLimit = initialConcurrency;
+        this.minConcurrency = minConcurrency;
+        this.maxConcurrency = maxConcurrency;
+        this.decreaseFactor = decreaseFactor;
+        this.maxWaitNanos = TimeUnit.MILLISECONDS.toNanos(maxWaitMs);
+        this.maxRetries = maxRetries;
+        this.baseBackoffMs = baseBackoffMs;
+
+        Gauge.builder("llm.ratelimit.concurrency.limit", this, ProviderRateLimiter::getConcurrencyLimit)
+                .tag("provider", name).register(meterRegistry);
+        Gauge.builder("llm.ratelimit.in_flight", this, ProviderRateLimiter::getInFlight)
+                .tag("provider", name).register(meterRegistry);
+        Gauge.builder("llm.ratelimit.waiting", this, ProviderRateLimiter::getWaiting)
+                .tag("provider", name).register(meterRegistry);
+        this.throttled = Counter.builder("llm.ratelimit.throttled").tag("provider", name).register(meterRegistry);
+        this.timedOut = Counter.builder("llm.ratelimit.timeouts").tag("provider", name).register(meterRegistry);
+        this.waitTimer = Timer.builder("llm.ratelimit.wait").tag("provider", name)
+                .publishPercentiles(0.5, 0.95).register(meterRegistry);
+    }
+
+    /**
+     * Executa a chamada respeitando os limites; recusas por limite de uso voltam para a fila
+     *
+     * @param estimatedTokens Tokens estimados da chamada (prompt + resposta)
+     */
+    public <T> T execute(long estimatedTokens, Supplier<T> call) {
+        int retries = 0;
+        while (true) {
+            acquire(estimatedTokens);
+            try {
+                T result = call.get();
+                release(true);
+                return result;
+            } catch (ProviderRateLimitException e) {
+                Duration pause = e.getRetryAfter() != null
+                        ? e.getRetryAfter()
+                        : Duration.ofMillis(baseBackoffMs << Math.min(retries, 6));
+                onRateLimited(pause);
+                if (++retries > maxRetries) {
+                    throw e;
+                }
+                log.warn("[ProviderRateLimiter.execute] - {} recusou por limite de uso; nova tentativa {} de {} em {} ms",
+                        name, retries, maxRetries, pause.toMillis());
+            } catch (RuntimeException e) {
+                release(false);
+                throw e;
+            }
+        }
+    }
+
+    private void acquire(long estimatedTokens) {
+        long start = System.nanoTime();
+        long deadline = start + maxWaitNanos;
+        lock.lock();
+        try {
+            waiting++;
+            while (true) {
+                long now = System.nanoTime();
+                long waitNanos = nanosUntilAllowed(now, estimatedTokens);
+                if (waitNanos <= 0) {
+                    consume(estimatedTokens);
+                    inFlight++;
+                    break;
+                }
+                if (now >= deadline) {
+                    timedOut.increment();
+                    throw new ProviderRateLimitException("Limite de uso do provedor " + name
+                            + ": tempo máximo de espera na fila esgotado", null, null);
+                }
+                // Espera o que falta (ou até a liberação de uma vaga de concorrência)
+                changed.awaitNanos(Math.min(waitNanos, deadline - now));
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrompido aguardando o limite de uso do provedor " + name, e);
+        } finally {
+            waiting--;
+            lock.unlock();
+        }
+        waitTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Tempo até a chamada poder sair, ou 0 se já pode; {@link Long#MAX_VALUE} quando depende de uma vaga de concorrência
+     */
+    private long nanosUntilAllowed(long now, long estimatedTokens) {
+        if (now < pausedUntilNanos) {
+            return pausedUntilNanos - now;
+        }
+        if (inFlight >= Math.max(1, (int) concurrencyLimit)) {
+            return Long.MAX_VALUE;
+        }
+        long wait = 0;
+        if (requestBucket != null) {
+            wait = Math.max(wait, requestBucket.nanosUntil(now, 1));
+        }
+        if (tokenBucket != null) {
+            wait = Math.max(wait, tokenBucket.nanosUntil(now, estimatedTokens));
+        }
+        return wait;
+    }
+
+    private void consume(long estimatedTokens) {
+        if (requestBucket != null) {
+            requestBucket.consume(1);
+        }
+        if (tokenBucket != null) {
+            tokenBucket.consume(estimatedTokens);
+        }
+    }
+
+    private void release(boolean success) {
+        lock.lock();
+        try {
+            inFlight--;
+            if (success) {
+                // Aumento aditivo: +1 a cada "limite" chamadas bem-sucedidas
+                concurrencyLimit = Math.min(maxConcurrency, concurrencyLimit + 1 / concurrencyLimit);
+            }
+            changed.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void onRateLimited(Duration pause) {
+        throttled.increment();
+        lock.lock();
+        try {
+            inFlight--;
+            // Redução multiplicativa e pausa para todas as chamadas desta chave
+            concurrencyLimit = Math.max(minConcurrency, concurrencyLimit * decreaseFactor);
+            pausedUntilNanos = Math.max(pausedUntilNanos, System.nanoTime() + pause.toNanos());
+            changed.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public double getConcurrencyLimit() {
+        lock.lock();
+        try {
+            return concurrencyLimit;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int getInFlight() {
+        lock.lock();
+        try {
+            return inFlight;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int getWaiting() {
+        lock.lock();
+        try {
+            return waiting;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Balde que enche continuamente até a cota por minuto (usado sob o lock do limitador)
+     */
+    private static final class TokenBucket {
+
+        private final double capacity;
+        private final double refillPerNano;
+        private double available;
+        private long lastRefill = System.nanoTime();
+
+        private TokenBucket(long perMinute) {
+            this.capacity = perMinute;
+            this.refillPerNano = perMinute / (double) TimeUnit.MINUTES.toNanos(1);
+            this.available = perMinute;
+        }
+
+        private long nanosUntil(long now, long amount) {
+            available = Math.min(capacity, available + (now - lastRefill) * refillPerNano);
+            lastRefill = now;
+            // Uma chamada maior que a cota inteira espera o balde cheio, senão nunca sairia
+            double needed = Math.min(amount, capacity);
+            return available >= needed ? 0 : (long) Math.ceil((needed - available) / refillPerNano);
+        }
+
+        private void consume(long amount) {
+            // Pode ficar negativo com chamadas maiores que a cota: as seguintes esperam a reposição
+            available -= amount;
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package br.com.devluisoliveira.agenteroteiro.core.application.service.llm;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.HttpStatusCodeException;
+
+import java.time.Duration;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Cria (e compartilha) os limitadores de chamadas por provedor e chave de API, com os parâmetros comuns
+ * de {@code llm.rate-limit.*}. As cotas por minuto ficam na configuração de cada provedor.
+ */
+@Slf4j
+@Component
+public class ProviderRateLimiterFactory {
+
+    private final Map<String, ProviderRateLimiter> limiters = new ConcurrentHashMap<>();
+    private final MeterRegistry meterRegistry;
+    private final int initialConcurrency;
+    private final int minConcurrency;
+    private final int maxConcurrency;
+    private final double decreaseFactor;
+    private final long maxWaitMs;
+    private final int maxRetries;
+    private final long baseBackoffMs;
+
+    public ProviderRateLimiterFactory(MeterRegistry meterRegistry,
+                                      @Value("${llm.rate-limit.initial-concurrency:16}") int initialConcurrency,
+                                      @Value("${llm.rate-limit.min-concurrency:1}") int minConcurrency,
+                                      @Value("${llm.rate-limit.max-concurrency:64}") int maxConcurrency,
+                                      @Value("${llm.rate-limit.decrease-factor:0.5}") double decreaseFactor,
+                                      @Value("${llm.rate-limit.max-wait-ms:120000}") long maxWaitMs,
+                                      @Value("${llm.rate-limit.max-retries:5}") int maxRetries,
+                                      @Value("${llm.rate-limit.base-backoff-ms:1000}") long baseBackoffMs) {
+        this.meterRegistry = meterRegistry;
+        this.initialConcurrency = initialConcurrency;
+        this.minConcurrency = minConcurrency;
+        this.maxConcurrency = maxConcurrency;
+        this.decreaseFactor = decreaseFactor;
+        this.maxWaitMs = maxWaitMs;
+        this.maxRetries = maxRetries;
+        this.baseBackoffMs = baseBackoffMs;
+    }
+
+    /**
+     * Limitador do provedor para a chave informada; a mesma chave sempre recebe o mesmo limitador
+     *
+     * @param requestsPerMinute Cota de requisições por minuto (0 = sem limite)
+     * @param tokensPerMinute Cota de tokens por minuto (0 = sem limite)
+     */
+    public ProviderRateLimiter forProvider(String provider, String apiKey, int requestsPerMinute, long tokensPerMinute) {
+        // A chave não vai para métricas nem logs, só a sua impressão digital
+        String key = provider + ":" + Integer.toHexString(apiKey != null ? apiKey.hashCode() : 0);
+        return limiters.computeIfAbsent(key, ignored -> {
+            log.info("[ProviderRateLimiterFactory.forProvider] - Limitador de {}: {} req/min, {} tokens/min",
+                    provider, requestsPerMinute, tokensPerMinute);
+            return new ProviderRateLimiter(provider, requestsPerMinute, tokensPerMinute, initialConcurrency,
+                    minConcurrency, maxConcurrency, decreaseFactor, maxWaitMs, maxRetries, baseBackoffMs, meterRegistry);
+        });
+    }
+
+    /**
+     * Espera pedida pelo provedor numa recusa: {@code retry-after-ms}, ou {@code Retry-After} em segundos ou data HTTP
+     */
+    public static Duration retryAfter(HttpStatusCodeException e) {
+        if (e.getResponseHeaders() == null) {
+            return null;
+        }
+        String millis = e.getResponseHeaders().getFirst("retry-after-ms");
+        if (millis != null) {
+            try {
+                return Duration.ofMillis((long) Double.parseDouble(millis.trim()));
+            } catch (NumberFormatException ignored) {
+                // Cai para o Retry-After
+            }
+        }
+        String value = e.getResponseHeaders().getFirst("Retry-After");
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        try {
+            return Duration.ofMillis((long) (Double.parseDouble(value.trim()) * 1000));
+        } catch (NumberFormatException ignored) {
+            // Formato de data HTTP
+        }
+        try {
+            Duration untilDate = Duration.between(ZonedDateTime.now(),
+                    ZonedDateTime.parse(value.trim(), DateTimeFormatter.RFC_1123_DATE_TIME));
+            return untilDate.isNegative() ? Duration.ZERO : untilDate;
+        } catch (DateTimeParseException ex) {
+            return null;
+        }
+    }
+}
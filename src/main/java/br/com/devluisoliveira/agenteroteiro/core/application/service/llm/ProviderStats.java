@@ -0,0 +1,79 @@
+package br.com.devluisoliveira.agenteroteiro.core.application.service.llm;
+
+import java.util.Arrays;
+
+/**
+ * Janela deslizante das últimas chamadas de um provedor: latências das chamadas bem-sucedidas
+ * e resultado (sucesso/falha) de cada chamada, para percentis e taxa de erro.
+ */
+public class ProviderStats {
+
+    private final long[] latencies;
+    private final boolean[] failures;
+    private int latencyCount;
+    private int latencyNext;
+    private int outcomeCount;
+    private int outcomeNext;
+    private long lastFailureAt;
+
+    public ProviderStats(int windowSize) {
+        this.latencies = new long[windowSize];
+        this.failures = new boolean[windowSize];
+    }
+
+    public synchronized void recordSuccess(long latencyMs) {
+        latencies[latencyNext] = latencyMs;
+        latencyNext = (latencyNext + 1) % latencies.length;
+        latencyCount = Math.min(latencyCount + 1, latencies.length);
+        recordOutcome(false);
+    }
+
+    public synchronized void recordFailure() {
+        recordOutcome(true);
+        lastFailureAt = System.currentTimeMillis();
+    }
+
+    private void recordOutcome(boolean failure) {
+        failures[outcomeNext] = failure;
+        outcomeNext = (outcomeNext + 1) % failures.length;
+        outcomeCount = Math.min(outcomeCount + 1, failures.length);
+    }
+
+    /**
+     * Percentil das latências na janela (0.5 = mediana), ou -1 sem amostras
+     */
+    public synchronized long percentile(double percentile) {
+        if (latencyCount == 0) {
+            return -1;
+        }
+        long[] sorted = Arrays.copyOf(latencies, latencyCount);
+        Arrays.sort(sorted);
+        int index = (int) Math.ceil(percentile * latencyCount) - 1;
+        return sorted[Math.max(0, Math.min(index, latencyCount - 1))];
+    }
+
+    public synchronized int getLatencySamples() {
+        return latencyCount;
+    }
+
+    public synchronized int getOutcomeSamples() {
+        return outcomeCount;
+    }
+
+    public synchronized double errorRate() {
+        if (outcomeCount == 0) {
+            return 0;
+        }
+        int failed = 0;
+        for (int i = 0; i < outcomeCount; i++) {
+            if (failures[i]) {
+                failed++;
+            }
+        }
+        return (double) failed / outcomeCount;
+    }
+
+    public synchronized long getLastFailureAt() {
+        return lastFailureAt;
+    }
+}
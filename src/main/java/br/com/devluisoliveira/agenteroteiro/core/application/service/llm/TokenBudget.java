@@ -0,0 +1,29 @@
+package br.com.devluisoliveira.agenteroteiro.core.application.service.llm;
+
+/**
+ * Orçamento de tokens de uma geração
+ *
+ * @param model Modelo cujos limites foram aplicados
+ * @param promptTokens Tokens do prompt (com a sobrecarga das mensagens)
+ * @param expectedCompletionTokens Tokens esperados na resposta, pela duração do roteiro (0 quando não se aplica)
+ * @param maxTokens Valor de max_tokens a enviar ao provedor
+ * @param availableTokens Maior max_tokens possível: saída máxima do modelo limitada pelo que sobra da janela
+ * @param contextWindow Janela de contexto do modelo
+ */
+public record TokenBudget(String model, int promptTokens, int expectedCompletionTokens, int maxTokens,
+                          int availableTokens, int contextWindow) {
+
+    /**
+     * A resposta esperada não cabe no max_tokens possível: o roteiro pode sair cortado
+     */
+    public boolean truncationRisk() {
+        return expectedCompletionTokens > maxTokens;
+    }
+
+    /**
+     * Ainda há espaço para repetir com um max_tokens maior se a resposta vier cortada
+     */
+    public boolean canGrow() {
+        return maxTokens < availableTokens;
+    }
+}
@@ -0,0 +1,161 @@
+package br.com.devluisoliveira.agenteroteiro.core.application.service.llm;
+
+import br.com.devluisoliveira.agenteroteiro.core.application.service.enums.AgentType;
+import br.com.devluisoliveira.agenteroteiro.core.application.service.enums.DurationType;
+import com.knuddels.jtokkit.Encodings;
+import com.knuddels.jtokkit.api.Encoding;
+import com.knuddels.jtokkit.api.EncodingType;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Comparator;
+import java.util.Map;
+
+/**
+ * Conta tokens com o tokenizer BPE do modelo configurado (jtokkit, sem rede) e monta o orçamento de cada geração:
+ * tokens do prompt, tokens esperados na resposta pela duração do roteiro e o max_tokens que cabe na janela do modelo.
+ *
+ * Os limites aplicados são os do modelo principal (openai.model), que é o mais restrito entre os provedores
+ * configurados. Os outros provedores usam a mesma contagem como aproximação.
+ */
+@Slf4j
+@Component
+public class TokenEstimator {
+
+    // Sobrecarga do formato de chat mais o system prompt padrão dos provedores
+    private static final int MESSAGE_OVERHEAD_TOKENS = 64;
+
+    // Prefixo do modelo -> limites; vale o prefixo mais longo que casar
+    private static final Map<String, ModelLimits> KNOWN_LIMITS = Map.of(
+            "gpt-3.5-turbo", new ModelLimits(16_385, 4_096),
+            "gpt-4", new ModelLimits(8_192, 4_096),
+            "gpt-4-turbo", new ModelLimits(128_000, 4_096),
+            "gpt-4o", new ModelLimits(128_000, 16_384),
+            "gpt-4.1", new ModelLimits(1_047_576, 32_768),
+            "claude-3-5", new ModelLimits(200_000, 8_192),
+            "claude-3-7", new ModelLimits(200_000, 64_000));
+
+    private final String model;
+    private final Encoding encoding;
+    private final ModelLimits limits;
+    private final double tokensPerWord;
+    private final double completionMargin;
+    private final int minCompletionTokens;
+    private final MeterRegistry meterRegistry;
+
+    public TokenEstimator(@Value("${openai.model:gpt-4}") String model,
+                          @Value("${llm.tokens.context-window:0}") int contextWindowOverride,
+                          @Value("${llm.tokens.max-output-tokens:0}") int maxOutputTokensOverride,
+                          @Value("${llm.tokens.tokens-per-word:2.0}") double tokensPerWord,
+                          @Value("${llm.tokens.completion-margin:1.5}") double completionMargin,
+                          @Value("${llm.tokens.min-completion-tokens:256}") int minCompletionTokens,
+                          MeterRegistry meterRegistry) {
+        this.model = model;
+        var registry = Encodings.newLazyEncodingRegistry();
+        this.encoding = registry.getEncodingForModel(model).orElseGet(() -> registry.getEncoding(EncodingType.CL100K_BASE));
+
+        ModelLimits known = limitsFor(model);
+        this.limits = new ModelLimits(
+                contextWindowOverride > 0 ? contextWindowOverride : known.contextWindow(),
+                maxOutputTokensOverride > 0 ? maxOutputTokensOverride : known.maxOutputTokens());
+        this.tokensPerWord = tokensPerWord;
+        this.completionMargin = completionMargin;
+        this.minCompletionTokens = minCompletionTokens;
+        this.meterRegistry = meterRegistry;
+
+        log.info("[TokenEstimator] - Modelo {}: tokenizer {}, contexto de {} tokens, saída máxima de {}",
+                model, encoding.getName(), limits.contextWindow(), limits.maxOutputTokens());
+    }
+
+    public int countTokens(String text) {
+        return text == null || text.isEmpty() ? 0 : encoding.countTokens(text);
+    }
+
+    /**
+     * Orçamento de uma geração. O max_tokens é o esperado para a duração (com margem para título, descrição e
+     * tags), limitado pela saída máxima do modelo e pelo que sobra da janela de contexto.
+     *
+     * @param durationType Duração do roteiro; nulo quando a resposta não depende dela (ex.: título, tags)
+     * @throws IllegalArgumentException Se o prompt não deixa espaço para a resposta na janela do modelo
+     */
+    public TokenBudget budgetFor(String prompt, AgentType agentType, DurationType durationType) {
+        String agent = agentType != null ? agentType.name() : AgentType.GENERIC.name();
+        int promptTokens = countTokens(prompt) + MESSAGE_OVERHEAD_TOKENS;
+        int available = Math.min(limits.maxOutputTokens(), limits.contextWindow() - promptTokens);
+
+        if (available < minCompletionTokens) {
+            Counter.builder("llm.tokens.rejected").tag("agent", agent).register(meterRegistry).increment();
+            throw new IllegalArgumentException("Prompt de " + promptTokens + " tokens excede a janela de "
+                    + limits.contextWindow() + " tokens do modelo " + model);
+        }
+
+        int expected = durationType != null
+                ? (int) Math.ceil(durationType.getEstimatedWordCount() * tokensPerWord * completionMargin)
+                : 0;
+        int maxTokens = expected > 0 ? Math.min(available, Math.max(expected, minCompletionTokens)) : available;
+        TokenBudget budget = new TokenBudget(model, promptTokens, expected, maxTokens, available, limits.contextWindow());
+
+        summary("llm.tokens.prompt", agent).record(promptTokens);
+        summary("llm.tokens.max_tokens", agent).record(maxTokens);
+        if (expected > 0) {
+            summary("llm.tokens.completion.expected", agent).record(expected);
+        }
+        if (budget.truncationRisk()) {
+            Counter.builder("llm.tokens.truncation_risk").tag("agent", agent).register(meterRegistry).increment();
+            log.warn("[TokenEstimator.budgetFor] - Roteiro de {} pede ~{} tokens, mas o modelo {} permite {}: risco de corte",
+                    durationType.getDisplayName(), expected, model, maxTokens);
+        }
+        return budget;
+    }
+
+    /**
+     * Registra os tokens efetivamente gerados, para comparar com o esperado e estimar custo
+     */
+    public void recordCompletion(AgentType agentType, String response) {
+        String agent = agentType != null ? agentType.name() : AgentType.GENERIC.name();
+        summary("llm.tokens.completion", agent).record(countTokens(response));
+    }
+
+    /**
+     * Conta uma resposta cortada no max_tokens (finish_reason "length"); se subir, a estimativa está curta
+     */
+    public void recordTruncated(AgentType agentType) {
+        String agent = agentType != null ? agentType.name() : AgentType.GENERIC.name();
+        Counter.builder("llm.tokens.truncated").tag("agent", agent).register(meterRegistry).increment();
+    }
+
+    /**
+     * Tokens de uma requisição para a cota do limitador: prompt mais o max_tokens (ou a estimativa informada)
+     */
+    public long estimateRequestTokens(LlmRequest request, int defaultCompletionTokens) {
+        int completion = request.getMaxTokens() != null ? request.getMaxTokens() : defaultCompletionTokens;
+        return (long) countTokens(request.getPrompt()) + countTokens(request.getSystemPrompt()) + MESSAGE_OVERHEAD_TOKENS
+                + completion;
+    }
+
+    public String getModel() {
+        return model;
+    }
+
+    private DistributionSummary summary(String name, String agent) {
+        return DistributionSummary.builder(name).baseUnit("tokens").tag("agent", agent)
+                .publishPercentiles(0.5, 0.95).register(meterRegistry);
+    }
+
+    static ModelLimits limitsFor(String model) {
+        String normalized = model != null ? model.toLowerCase() : "";
+        return KNOWN_LIMITS.entrySet().stream()
+                .filter(entry -> normalized.startsWith(entry.getKey()))
+                .max(Comparator.comparingInt(entry -> entry.getKey().length()))
+                .map(Map.Entry::getValue)
+                // Modelo desconhecido: limites conservadores até configurar llm.tokens.*
+                .orElse(new ModelLimits(8_192, 4_096));
+    }
+
+    record ModelLimits(int contextWindow, int maxOutputTokens) {
+    }
+}
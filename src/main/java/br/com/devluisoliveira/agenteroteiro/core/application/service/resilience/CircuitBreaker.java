@@ -0,0 +1,152 @@
+package br.com.devluisoliveira.agenteroteiro.core.application.service.resilience;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Circuit breaker de uma dependência externa.
+ *
+ * Guarda o resultado das últimas chamadas numa janela deslizante. Com ao menos {@code minCalls} amostras e a taxa
+ * de falhas (chamadas com erro ou mais lentas que {@code slowCallMs}) acima do limite, o circuito abre e as chamadas
+ * são recusadas sem chegar à dependência. Passado {@code openDurationMs}, o circuito fica meio-aberto: algumas
+ * chamadas de teste passam e decidem se ele fecha de novo ou volta a abrir.
+ *
+ * Cada passagem reservada leva a geração do estado em que foi concedida ({@link Permit}); toda transição muda
+ * a geração, e o resultado de uma chamada concedida antes dela é descartado. Assim uma chamada antiga que termina
+ * no meio-aberto não consome a vaga de teste de outra nem decide a transição.
+ */
+@Slf4j
+public class CircuitBreaker {
+
+    public enum State { CLOSED, OPEN, HALF_OPEN }
+
+    /**
+     * Passagem concedida a uma chamada
+     *
+     * @param generation Geração do estado do circuito na concessão
+     * @param trial Chamada de teste do meio-aberto
+     */
+    public record Permit(long generation, boolean trial) {
+    }
+
+    private final String name;
+    private final boolean[] failures;
+    private final int minCalls;
+    private final double failureRateThreshold;
+    private final long slowCallNanos;
+    private final long openDurationNanos;
+    private final int halfOpenPermits;
+
+    private State state = State.CLOSED;
+    private long generation;
+    private int count;
+    private int next;
+    private int failed;
+    private long openedAt;
+    private int halfOpenInFlight;
+
+    public CircuitBreaker(String name, int windowSize, int minCalls, double failureRateThreshold, long slowCallMs,
+                          long openDurationMs, int halfOpenPermits) {
+        this.name = name;
+        this.failures = new boolean[windowSize];
+        this.minCalls = minCalls;
+        this.failureRateThreshold = failureRateThreshold;
+        this.slowCallNanos = slowCallMs > 0 ? TimeUnit.MILLISECONDS.toNanos(slowCallMs) : Long.MAX_VALUE;
+        this.openDurationNanos = TimeUnit.MILLISECONDS.toNanos(openDurationMs);
+        this.halfOpenPermits = halfOpenPermits;
+    }
+
+    /**
+     * Reserva a passagem de uma chamada; nulo com o circuito aberto (ou sem vaga de teste no meio-aberto)
+     */
+    public synchronized Permit tryAcquire() {
+        if (state == State.OPEN) {
+            if (System.nanoTime() - openedAt < openDurationNanos) {
+                return null;
+            }
+            transition(State.HALF_OPEN);
+        }
+        if (state == State.HALF_OPEN) {
+            if (halfOpenInFlight >= halfOpenPermits) {
+                return null;
+            }
+            halfOpenInFlight++;
+            return new Permit(generation, true);
+        }
+        return new Permit(generation, false);
+    }
+
+    /**
+     * Se uma chamada passaria agora, sem reservar a passagem
+     */
+    public synchronized boolean isCallPermitted() {
+        return state == State.CLOSED
+                || (state == State.OPEN && System.nanoTime() - openedAt >= openDurationNanos)
+                || (state == State.HALF_OPEN && halfOpenInFlight < halfOpenPermits);
+    }
+
+    public synchronized void onSuccess(Permit permit, long durationNanos) {
+        record(permit, durationNanos > slowCallNanos);
+    }
+
+    public synchronized void onFailure(Permit permit) {
+        record(permit, true);
+    }
+
+    /**
+     * A chamada terminou sem dizer nada sobre a saúde da dependência (ex.: cancelada): só libera a vaga de teste
+     */
+    public synchronized void onIgnored(Permit permit) {
+        if (permit.trial() && permit.generation() == generation) {
+            halfOpenInFlight--;
+        }
+    }
+
+    private void record(Permit permit, boolean failure) {
+        if (permit.generation() != generation) {
+            // Chamada concedida antes da última transição: o resultado não é sobre o estado atual
+            return;
+        }
+        if (permit.trial()) {
+            halfOpenInFlight--;
+            transition(failure ? State.OPEN : State.CLOSED);
+            return;
+        }
+
+        if (count == failures.length && failures[next]) {
+            failed--;
+        }
+        failures[next] = failure;
+        if (failure) {
+            failed++;
+        }
+        next = (next + 1) % failures.length;
+        count = Math.min(count + 1, failures.length);
+
+        if (count >= minCalls && (double) failed / count >= failureRateThreshold) {
+            transition(State.OPEN);
+        }
+    }
+
+    private void transition(State target) {
+        log.warn("[CircuitBreaker] - {}: {} -> {}", name, state, target);
+        state = target;
+        generation++;
+        if (target == State.OPEN) {
+            openedAt = System.nanoTime();
+        }
+        if (target != State.HALF_OPEN) {
+            halfOpenInFlight = 0;
+        }
+        if (target == State.CLOSED) {
+            count = 0;
+            next = 0;
+            failed = 0;
+        }
+    }
+
+    public synchronized State getState() {
+        return state;
+    }
+}
@@ -0,0 +1,154 @@
+package br.com.devluisoliveira.agenteroteiro.core.application.service.resilience;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.io.IOException;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * Isola as chamadas a uma dependência externa: circuit breaker mais bulkhead (semáforo com espera curta).
+ *
+ * O bulkhead limita quantas threads podem ficar presas na dependência ao mesmo tempo, de modo que uma
+ * dependência lenta não consome as threads que atendem o resto da aplicação. Recusas (circuito aberto ou
+ * bulkhead cheio) lançam {@link DependencyUnavailableException} na hora, sem esperar timeouts.
+ */
+public class DependencyGuard {
+
+    /**
+     * Chamada que pode lançar IOException (ex.: MinIO)
+     */
+    @FunctionalInterface
+    public interface IoCall<T> {
+        T call() throws IOException;
+    }
+
+    private final String name;
+    private final CircuitBreaker circuitBreaker;
+    private final Semaphore bulkhead;
+    private final long maxWaitMs;
+    private final Predicate<Exception> ignoredErrors;
+    private final Counter rejectedByCircuit;
+    private final Counter rejectedByBulkhead;
+
+    public DependencyGuard(String name, CircuitBreaker circuitBreaker, int maxConcurrentCalls, long maxWaitMs,
+                           MeterRegistry meterRegistry) {
+        this(name, circuitBreaker, maxConcurrentCalls, maxWaitMs, e -> false, meterRegistry);
+    }
+
+    /**
+     * @param ignoredErrors Erros que não contam para o circuito (ex.: recusas por limite de uso do provedor)
+     */
+    public DependencyGuard(String name, CircuitBreaker circuitBreaker, int maxConcurrentCalls, long maxWaitMs,
+                           Predicate<Exception> ignoredErrors, MeterRegistry meterRegistry) {
+        this.name = name;
+        this.circuitBreaker = circuitBreaker;
+        this.bulkhead = new Semaphore(maxConcurrentCalls, true);
+        this.maxWaitMs = maxWaitMs;
+        this.ignoredErrors = ignoredErrors;
+
+        Gauge.builder("resilience.circuit.state", circuitBreaker, breaker -> breaker.getState().ordinal())
+                .description("0 = fechado, 1 = aberto, 2 = meio-aberto")
+                .tag("dependency", name).register(meterRegistry);
+        Gauge.builder("resilience.bulkhead.available", bulkhead, Semaphore::availablePermits)
+                .tag("dependency", name).register(meterRegistry);
+        this.rejectedByCircuit = Counter.builder("resilience.calls.rejected")
+                .tag("dependency", name).tag("reason", "circuit_open").register(meterRegistry);
+        this.rejectedByBulkhead = Counter.builder("resilience.calls.rejected")
+                .tag("dependency", name).tag("reason", "bulkhead_full").register(meterRegistry);
+    }
+
+    public <T> T execute(Supplier<T> call) {
+        return execute(call, null);
+    }
+
+    /**
+     * Como {@link #execute(Supplier)}, mas a duração avaliada como chamada lenta vem de {@code durationNanos}:
+     * só o tempo esperando a dependência, sem o que o chamador processa dentro da chamada (ex.: upload do stream)
+     */
+    public <T> T execute(Supplier<T> call, LongSupplier durationNanos) {
+        CircuitBreaker.Permit permit = acquire();
+        long start = System.nanoTime();
+        try {
+            T result = call.get();
+            circuitBreaker.onSuccess(permit, durationNanos != null ? durationNanos.getAsLong() : System.nanoTime() - start);
+            return result;
+        } catch (RuntimeException e) {
+            onError(permit, e);
+            throw e;
+        } finally {
+            bulkhead.release();
+        }
+    }
+
+    /**
+     * Como {@link #execute(Supplier)}, mas as recusas chegam como IOException, mantendo o contrato de quem chama
+     */
+    public <T> T executeIo(IoCall<T> call) throws IOException {
+        CircuitBreaker.Permit permit;
+        try {
+            permit = acquire();
+        } catch (DependencyUnavailableException e) {
+            throw new IOException(e.getMessage(), e);
+        }
+        long start = System.nanoTime();
+        try {
+            T result = call.call();
+            circuitBreaker.onSuccess(permit, System.nanoTime() - start);
+            return result;
+        } catch (IOException | RuntimeException e) {
+            onError(permit, e);
+            throw e;
+        } finally {
+            bulkhead.release();
+        }
+    }
+
+    /**
+     * Se a dependência aceitaria uma chamada agora (circuito não aberto)
+     */
+    public boolean isAvailable() {
+        return circuitBreaker.isCallPermitted();
+    }
+
+    public CircuitBreaker.State getState() {
+        return circuitBreaker.getState();
+    }
+
+    private CircuitBreaker.Permit acquire() {
+        CircuitBreaker.Permit permit = circuitBreaker.tryAcquire();
+        if (permit == null) {
+            rejectedByCircuit.increment();
+            throw new DependencyUnavailableException(name, name + " indisponível: circuito aberto");
+        }
+        boolean permitted;
+        try {
+            permitted = bulkhead.tryAcquire(maxWaitMs, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            permitted = false;
+        }
+        if (!permitted) {
+            circuitBreaker.onIgnored(permit);
+            rejectedByBulkhead.increment();
+            throw new DependencyUnavailableException(name, name + " indisponível: limite de chamadas simultâneas atingido");
+        }
+        return permit;
+    }
+
+    private void onError(CircuitBreaker.Permit permit, Exception e) {
+        // Cancelamento (ex.: tentativa perdedora de um hedge) não diz nada sobre a saúde da dependência
+        if (e instanceof CancellationException || e instanceof DependencyUnavailableException
+                || ignoredErrors.test(e)) {
+            circuitBreaker.onIgnored(permit);
+        } else {
+            circuitBreaker.onFailure(permit);
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package br.com.devluisoliveira.agenteroteiro.core.application.service.resilience;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.function.Predicate;
+
+/**
+ * Cria os {@link DependencyGuard} das dependências externas com os parâmetros comuns do circuit breaker
+ * ({@code resilience.circuit-breaker.*}); o tamanho do bulkhead e o limite de chamada lenta ficam na
+ * configuração de cada dependência.
+ */
+@Slf4j
+@Component
+public class DependencyGuardFactory {
+
+    private final MeterRegistry meterRegistry;
+    private final int windowSize;
+    private final int minCalls;
+    private final double failureRateThreshold;
+    private final long openDurationMs;
+    private final int halfOpenPermits;
+
+    public DependencyGuardFactory(MeterRegistry meterRegistry,
+                                  @Value("${resilience.circuit-breaker.window-size:20}") int windowSize,
+                                  @Value("${resilience.circuit-breaker.min-calls:10}") int minCalls,
+                                  @Value("${resilience.circuit-breaker.failure-rate-threshold:0.5}") double failureRateThreshold,
+                                  @Value("${resilience.circuit-breaker.open-duration-ms:30000}") long openDurationMs,
+                                  @Value("${resilience.circuit-breaker.half-open-permits:1}") int halfOpenPermits) {
+        this.meterRegistry = meterRegistry;
+        this.windowSize = windowSize;
+        this.minCalls = minCalls;
+        this.failureRateThreshold = failureRateThreshold;
+        this.openDurationMs = openDurationMs;
+        this.halfOpenPermits = halfOpenPermits;
+    }
+
+    /**
+     * @param maxConcurrentCalls Tamanho do bulkhead
+     * @param maxWaitMs Espera máxima por uma vaga no bulkhead
+     * @param slowCallMs Chamadas mais lentas que isso contam como falha (0 = desligado)
+     */
+    public DependencyGuard create(String dependency, int maxConcurrentCalls, long maxWaitMs, long slowCallMs) {
+        return create(dependency, maxConcurrentCalls, maxWaitMs, slowCallMs, e -> false);
+    }
+
+    /**
+     * @param ignoredErrors Erros que não contam para o circuito (ex.: recusas por limite de uso do provedor)
+     */
+    public DependencyGuard create(String dependency, int maxConcurrentCalls, long maxWaitMs, long slowCallMs,
+                                  Predicate<Exception> ignoredErrors) {
+        log.info("[DependencyGuardFactory.create] - {}: bulkhead de {} chamadas, chamada lenta acima de {} ms",
+                dependency, maxConcurrentCalls, slowCallMs);
+        CircuitBreaker circuitBreaker = new CircuitBreaker(dependency, windowSize, minCalls, failureRateThreshold,
+                slowCallMs, openDurationMs, halfOpenPermits);
+        return new DependencyGuard(dependency, circuitBreaker, maxConcurrentCalls, maxWaitMs, ignoredErrors,
+                meterRegistry);
+    }
+}
@@ -0,0 +1,20 @@
+package br.com.devluisoliveira.agenteroteiro.core.application.service.resilience;
+
+/**
+ * Chamada recusada sem chegar à dependência externa: circuito aberto ou bulkhead sem vaga
+ */
+public class DependencyUnavailableException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    private final String dependency;
+
+    public DependencyUnavailableException(String dependency, String message) {
+        super(message);
+        this.dependency = dependency;
+    }
+
+    public String getDependency() {
+        return dependency;
+    }
+}
@@ -0,0 +1,120 @@
+package br.com.devluisoliveira.agenteroteiro.core.application.template;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Template de prompt compilado: o texto é quebrado uma única vez em trechos literais
+ * e placeholders no formato {nome}. A renderização percorre os trechos uma vez,
+ * escrevendo em um buffer já dimensionado, sem as várias passadas de String.replace.
+ *
+ * Placeholders sem valor no mapa são preservados como {nome}, como acontecia com replace.
+ */
+public final class PromptTemplate {
+
+    private final String name;
+    private final String[] literals;
+    private final String[] placeholders;
+    private final int literalLength;
+
+    private PromptTemplate(String name, String[] literals, String[] placeholders) {
+        this.name = name;
+        this.literals = literals;
+        this.placeholders = placeholders;
+
+        int length = 0;
+        for (String literal : literals) {
+            length += literal.length();
+        }
+        this.literalLength = length;
+    }
+
+    /**
+     * Compila o texto do template. O resultado é imutável e pode ser compartilhado entre threads.
+     */
+    public static PromptTemplate compile(String name, String text) {
+        List<String> literals = new ArrayList<>();
+        List<String> placeholders = new ArrayList<>();
+
+        int literalStart = 0;
+        int index = 0;
+        while (index < text.length()) {
+            if (text.charAt(index) == '{') {
+                int end = findPlaceholderEnd(text, index + 1);
+                if (end > 0) {
+                    literals.add(text.substring(literalStart, index));
+                    placeholders.add(text.substring(index + 1, end));
+                    index = end + 1;
+                    literalStart = index;
+                    continue;
+                }
+            }
+            index++;
+        }
+        literals.add(text.substring(literalStart));
+
+        return new PromptTemplate(name, literals.toArray(new String[0]), placeholders.toArray(new String[0]));
+    }
+
+    /**
+     * Retorna a posição do '}' se o trecho a partir de start for um identificador válido, ou -1
+     */
+    private static int findPlaceholderEnd(String text, int start) {
+        if (start >= text.length() || !Character.isLetter(text.charAt(start))) {
+            return -1;
+        }
+
+        for (int i = start + 1; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c == '}') {
+                return i;
+            }
+            if (!Character.isLetterOrDigit(c) && c != '_') {
+                return -1;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Renderiza o template em uma única passada
+     *
+     * @param values Valores dos placeholders, indexados pelo nome sem chaves
+     */
+    public String render(Map<String, String> values) {
+        int capacity = literalLength;
+        for (String placeholder : placeholders) {
+            String value = values.get(placeholder);
+            capacity += value != null ? value.length() : placeholder.length() + 2;
+        }
+
+        StringBuilder builder = new StringBuilder(capacity);
+        for (int i = 0; i < placeholders.length; i++) {
+            builder.append(literals[i]);
+
+            String value = values.get(placeholders[i]);
+            if (value != null) {
+                builder.append(value);
+            } else {
+                builder.append('{').append(placeholders[i]).append('}');
+            }
+        }
+        builder.append(literals[literals.length - 1]);
+
+        return builder.toString();
+    }
+
+    public boolean hasPlaceholder(String placeholder) {
+        for (String candidate : placeholders) {
+            if (candidate.equals(placeholder)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public String getName() {
+        return name;
+    }
+}
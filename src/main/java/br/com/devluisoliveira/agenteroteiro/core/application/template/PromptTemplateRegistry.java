@@ -0,0 +1,108 @@
+package br.com.devluisoliveira.agenteroteiro.core.application.template;
+
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.util.FileCopyUtils;
+import org.springframework.util.StringUtils;
+
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Carrega e compila os templates de prompts/*.txt uma única vez na inicialização.
+ * Com prompts.hot-reload.enabled, observa o diretório configurado e recompila
+ * os arquivos alterados sem reiniciar a aplicação (útil em desenvolvimento).
+ */
+@Slf4j
+@Component
+public class PromptTemplateRegistry {
+
+    private static final String TEMPLATE_LOCATION = "classpath*:prompts/*.txt";
+
+    private final Map<String, PromptTemplate> templates = new ConcurrentHashMap<>();
+    private final Map<String, Long> lastModified = new ConcurrentHashMap<>();
+
+    @Value("${prompts.hot-reload.enabled:false}")
+    private boolean hotReloadEnabled;
+
+    @Value("${prompts.hot-reload.directory:src/main/resources/prompts}")
+    private String hotReloadDirectory;
+
+    @PostConstruct
+    public void loadTemplates() throws IOException {
+        Resource[] resources = new PathMatchingResourcePatternResolver().getResources(TEMPLATE_LOCATION);
+        for (Resource resource : resources) {
+            try (InputStreamReader reader = new InputStreamReader(resource.getInputStream(), StandardCharsets.UTF_8)) {
+                register(resource.getFilename(), FileCopyUtils.copyToString(reader));
+            }
+        }
+
+        log.info("[PromptTemplateRegistry.loadTemplates] - {} templates compilados (hot reload: {})",
+                templates.size(), hotReloadEnabled);
+
+        if (hotReloadEnabled) {
+            reloadChangedTemplates();
+        }
+    }
+
+    /**
+     * Retorna o template compilado pelo caminho (ex.: "prompts/prompt_prayer_specialist.txt") ou nome do arquivo
+     */
+    public PromptTemplate get(String templatePath) {
+        String fileName = StringUtils.getFilename(templatePath);
+        PromptTemplate template = templates.get(fileName);
+        if (template == null) {
+            throw new IllegalArgumentException("Template de prompt não encontrado: " + templatePath);
+        }
+        return template;
+    }
+
+    public PromptTemplate register(String fileName, String text) {
+        PromptTemplate template = PromptTemplate.compile(fileName, text);
+        templates.put(fileName, template);
+        return template;
+    }
+
+    @Scheduled(fixedDelayString = "${prompts.hot-reload.interval-ms:2000}")
+    public void reloadChangedTemplates() {
+        if (!hotReloadEnabled) {
+            return;
+        }
+
+        Path directory = Paths.get(hotReloadDirectory);
+        if (!Files.isDirectory(directory)) {
+            log.warn("[PromptTemplateRegistry.reloadChangedTemplates] - Diretório de templates não encontrado: {}",
+                    directory.toAbsolutePath());
+            return;
+        }
+
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, "*.txt")) {
+            for (Path file : files) {
+                String fileName = file.getFileName().toString();
+                long modified = Files.getLastModifiedTime(file).toMillis();
+                Long previous = lastModified.put(fileName, modified);
+
+                if (previous == null || previous != modified) {
+                    register(fileName, Files.readString(file, StandardCharsets.UTF_8));
+                    if (previous != null) {
+                        log.info("[PromptTemplateRegistry.reloadChangedTemplates] - Template recarregado: {}", fileName);
+                    }
+                }
+            }
+        } catch (IOException e) {
+            log.error("[PromptTemplateRegistry.reloadChangedTemplates] - Erro ao recarregar templates: {}", e.getMessage(), e);
+        }
+    }
+}
@@ -0,0 +1,108 @@
+package br.com.devluisoliveira.agenteroteiro.core.application.utils;
+
+import br.com.devluisoliveira.agenteroteiro.core.application.service.enums.ContentType;
+
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Dicionário imutável de cabeçalhos de seção ("### ROTEIRO", "### TAGS"...) para tipos de conteúdo,
+ * montado uma única vez por handler como uma trie de caracteres.
+ *
+ * A busca mantém a regra do parser antigo (o cabeçalho contém a chave, sem diferenciar maiúsculas),
+ * mas percorre a trie a partir de cada posição do cabeçalho em vez de testar cada chave com contains;
+ * quando mais de uma chave casa, vale a mais longa.
+ */
+public final class SectionHeaders {
+
+    private final Node root = new Node();
+    private final Map<ContentType, String> headerByType = new EnumMap<>(ContentType.class);
+
+    private SectionHeaders(Map<String, ContentType> headerToType) {
+        headerToType.forEach((header, type) -> {
+            insert(normalize(header), type);
+            headerByType.putIfAbsent(type, header);
+        });
+    }
+
+    public static SectionHeaders of(Map<String, ContentType> headerToType) {
+        return new SectionHeaders(headerToType);
+    }
+
+    /**
+     * Tipo de conteúdo do cabeçalho (texto após os "###"), ou nulo se nenhuma chave aparece nele
+     */
+    public ContentType match(String header) {
+        String text = normalize(header);
+        ContentType best = null;
+        int bestLength = 0;
+
+        for (int start = 0; start < text.length() - bestLength; start++) {
+            Node node = root;
+            for (int i = start; i < text.length(); i++) {
+                node = node.child(text.charAt(i));
+                if (node == null) {
+                    break;
+                }
+                int length = i - start + 1;
+                if (node.type != null && length > bestLength) {
+                    best = node.type;
+                    bestLength = length;
+                }
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Um cabeçalho reconhecido para o tipo (qualquer chave cadastrada casa de volta com ele), ou nulo
+     */
+    public String headerFor(ContentType type) {
+        return headerByType.get(type);
+    }
+
+    private void insert(String key, ContentType type) {
+        Node node = root;
+        for (int i = 0; i < key.length(); i++) {
+            node = node.childOrCreate(key.charAt(i));
+        }
+        node.type = type;
+    }
+
+    private static String normalize(String text) {
+        return text.trim().toUpperCase(Locale.ROOT);
+    }
+
+    /**
+     * Nó da trie: poucos filhos por nó, então arrays com busca linear saem mais baratos que um mapa
+     */
+    private static final class Node {
+        private char[] keys = new char[0];
+        private Node[] children = new Node[0];
+        private ContentType type;
+
+        Node child(char c) {
+            for (int i = 0; i < keys.length; i++) {
+                if (keys[i] == c) {
+                    return children[i];
+                }
+            }
+            return null;
+        }
+
+        Node childOrCreate(char c) {
+            Node existing = child(c);
+            if (existing != null) {
+                return existing;
+            }
+            Node created = new Node();
+            keys = Arrays.copyOf(keys, keys.length + 1);
+            children = Arrays.copyOf(children, children.length + 1);
+            keys[keys.length - 1] = c;
+            children[children.length - 1] = created;
+            return created;
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package br.com.devluisoliveira.agenteroteiro.core.application.utils;
+
+import br.com.devluisoliveira.agenteroteiro.core.application.service.enums.ContentType;
+
+/**
+ * Recebe as seções da resposta da IA conforme o texto chega em streaming
+ */
+@FunctionalInterface
+public interface SectionListener {
+
+    /**
+     * O cabeçalho da seção terminou de chegar; o conteúdo ainda está sendo escrito
+     */
+    default void onSectionStarted(ContentType type) {
+    }
+
+    /**
+     * Mais uma linha da seção chegou. O conteúdo é uma visão do buffer do parser, válida só durante a chamada:
+     * quem precisar guardá-lo deve copiar (toString)
+     */
+    default void onSectionProgress(ContentType type, CharSequence contentSoFar) {
+    }
+
+    /**
+     * A seção terminou (começou outra ou a resposta acabou)
+     *
+     * @param content Conteúdo da seção, sem o cabeçalho e sem espaços nas pontas
+     */
+    void onSectionCompleted(ContentType type, String content);
+
+    /**
+     * Repassa os eventos aos dois ouvintes, na ordem; qualquer um pode ser nulo
+     */
+    static SectionListener combine(SectionListener first, SectionListener second) {
+        if (first == null || second == null) {
+            return first != null ? first : second;
+        }
+        return new SectionListener() {
+            @Override
+            public void onSectionStarted(ContentType type) {
+                first.onSectionStarted(type);
+                second.onSectionStarted(type);
+            }
+
+            @Override
+            public void onSectionProgress(ContentType type, CharSequence contentSoFar) {
+                first.onSectionProgress(type, contentSoFar);
+                second.onSectionProgress(type, contentSoFar);
+            }
+
+            @Override
+            public void onSectionCompleted(ContentType type, String content) {
+                first.onSectionCompleted(type, content);
+                second.onSectionCompleted(type, content);
+            }
+        };
+    }
+}
@@ -0,0 +1,154 @@
+package br.com.devluisoliveira.agenteroteiro.core.application.utils;
+
+import br.com.devluisoliveira.agenteroteiro.core.application.service.enums.ContentType;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * Separa a resposta da IA nas seções "### CABEÇALHO" em uma única passada, trecho a trecho.
+ *
+ * Pode ser encadeado ao consumidor de tokens do streaming: cada seção é avisada ao {@link SectionListener}
+ * quando o cabeçalho fecha, a cada linha recebida e quando a seção termina, enquanto o modelo ainda escreve
+ * as seguintes.
+ * Só as linhas que começam com '#' ficam retidas até o fim da linha; o resto vai direto para a seção atual.
+ * Seções com cabeçalho desconhecido, e o texto antes do primeiro cabeçalho, são descartados.
+ *
+ * Não é thread-safe: uma instância por resposta.
+ */
+public class SectionStreamParser implements Consumer<String> {
+
+    private enum LineMode { UNDECIDED, TEXT, HASH }
+
+    private final SectionHeaders headers;
+    private final SectionListener listener;
+    private final Map<ContentType, String> sections = new EnumMap<>(ContentType.class);
+    private final StringBuilder pending = new StringBuilder();
+    private final StringBuilder content = new StringBuilder();
+
+    private LineMode lineMode = LineMode.UNDECIDED;
+    private ContentType current;
+
+    /**
+     * @param listener Ouvinte das seções; pode ser nulo quando só interessa o resultado de {@link #finish()}
+     */
+    public SectionStreamParser(SectionHeaders headers, SectionListener listener) {
+        this.headers = headers;
+        this.listener = listener;
+    }
+
+    /**
+     * Separa uma resposta completa
+     */
+    public static Map<ContentType, String> parse(String text, SectionHeaders headers) {
+        SectionStreamParser parser = new SectionStreamParser(headers, null);
+        parser.accept(text);
+        return parser.finish();
+    }
+
+    @Override
+    public void accept(String chunk) {
+        if (chunk == null) {
+            return;
+        }
+
+        int from = 0;
+        int length = chunk.length();
+        while (from < length) {
+            int newline = chunk.indexOf('\n', from);
+            int end = newline < 0 ? length : newline;
+
+            if (lineMode == LineMode.UNDECIDED) {
+                decideLineMode(chunk, from, end);
+            }
+            if (lineMode == LineMode.TEXT) {
+                if (current != null) {
+                    content.append(pending).append(chunk, from, end);
+                }
+                pending.setLength(0);
+            } else {
+                pending.append(chunk, from, end);
+            }
+
+            if (newline < 0) {
+                break;
+            }
+            endOfLine();
+            from = newline + 1;
+        }
+    }
+
+    /**
+     * Fecha a última seção e devolve todas; se um cabeçalho se repete, vale a última ocorrência
+     */
+    public Map<ContentType, String> finish() {
+        endOfLine();
+        closeSection();
+        return sections;
+    }
+
+    /**
+     * O primeiro caractere visível da linha decide se ela pode ser um cabeçalho
+     */
+    private void decideLineMode(String chunk, int from, int end) {
+        for (int i = from; i < end; i++) {
+            char c = chunk.charAt(i);
+            if (!Character.isWhitespace(c)) {
+                lineMode = c == '#' ? LineMode.HASH : LineMode.TEXT;
+                return;
+            }
+        }
+    }
+
+    private void endOfLine() {
+        String header = lineMode == LineMode.HASH ? headerText(pending) : null;
+        if (header != null) {
+            closeSection();
+            current = headers.match(header);
+            if (current != null && listener != null) {
+                listener.onSectionStarted(current);
+            }
+        } else if (current != null) {
+            content.append(pending).append('\n');
+            if (listener != null) {
+                listener.onSectionProgress(current, content);
+            }
+        }
+        pending.setLength(0);
+        lineMode = LineMode.UNDECIDED;
+    }
+
+    private void closeSection() {
+        if (current == null) {
+            return;
+        }
+        String text = content.toString().trim();
+        sections.put(current, text);
+        if (listener != null) {
+            listener.onSectionCompleted(current, text);
+        }
+        content.setLength(0);
+        current = null;
+    }
+
+    /**
+     * Texto do cabeçalho se a linha for "###" (ou mais '#') seguido de espaço e texto; nulo caso contrário
+     */
+    private static String headerText(CharSequence line) {
+        int i = 0;
+        while (i < line.length() && Character.isWhitespace(line.charAt(i))) {
+            i++;
+        }
+        int hashes = 0;
+        while (i < line.length() && line.charAt(i) == '#') {
+            hashes++;
+            i++;
+        }
+        if (hashes < 3 || i >= line.length() || !Character.isWhitespace(line.charAt(i))) {
+            return null;
+        }
+        String text = line.subSequence(i, line.length()).toString().trim();
+        return text.isEmpty() ? null : text;
+    }
+}
@@ -1,7 +1,9 @@
 package br.com.devluisoliveira.agenteroteiro.core.domain.entity;
 
 import br.com.devluisoliveira.agenteroteiro.core.application.service.enums.AgentType;
+import br.com.devluisoliveira.agenteroteiro.core.application.service.enums.GenerationJobStatus;
 import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonInclude;
 import jakarta.persistence.*;
 import lombok.*;
@@ -39,9 +41,18 @@ public class ContentGeneration {
     @Lob
     private String description;
 
+    // Legado: áudio em Base64 gravado na própria linha. Novos áudios ficam no MinIO (audioObjectKey)
     @Lob
     private String audio;
 
+    @JsonIgnore
+    @Column(name = "audio_object_key", length = 255)
+    private String audioObjectKey;
+
+    // URL pré-assinada do áudio no MinIO, preenchida na leitura
+    @Transient
+    private String audioUrl;
+
     @Column(length = 600)
     private String tags;
 
@@ -52,6 +63,23 @@ public class ContentGeneration {
     @Column(name = "prompt_used", length = 1000)
     private String promptUsed;
 
+    // RUNNING enquanto a geração grava checkpoints; nulo nas linhas anteriores aos checkpoints (concluídas)
+    @Enumerated(EnumType.STRING)
+    @Column(name = "generation_status", length = 20)
+    private GenerationJobStatus generationStatus;
+
+    // Requisição original em JSON, para retomar uma geração interrompida
+    @JsonIgnore
+    @Lob
+    @Column(name = "generation_request")
+    private String generationRequest;
+
+    // Seções já concluídas e a seção parcial (JSON), limpos quando a geração termina. Regravado a cada checkpoint,
+    // por isso text e não @Lob: no PostgreSQL cada escrita num @Lob cria um large object e deixa o anterior órfão
+    @JsonIgnore
+    @Column(name = "checkpoint_content", columnDefinition = "text")
+    private String checkpointContent;
+
     @Column(nullable = false, updatable = false)
     @JsonFormat(shape = JsonFormat.Shape.STRING, pattern="yyyy-MM-dd'T'HH:mm:ss'Z'")
     private LocalDateTime createdAt;
@@ -67,4 +95,12 @@ public class ContentGeneration {
     protected void onUpdate() {
         updatedAt = LocalDateTime.now();
     }
+
+    /**
+     * Conteúdo pronto para o usuário: concluído ou anterior aos checkpoints (status nulo)
+     */
+    @JsonIgnore
+    public boolean isCompleted() {
+        return generationStatus == null || generationStatus == GenerationJobStatus.COMPLETED;
+    }
 }
\ No newline at end of file
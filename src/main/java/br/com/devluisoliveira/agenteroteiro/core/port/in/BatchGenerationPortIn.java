@@ -0,0 +1,27 @@
+package br.com.devluisoliveira.agenteroteiro.core.port.in;
+
+import br.com.devluisoliveira.agenteroteiro.core.domain.entity.User;
+import br.com.devluisoliveira.agenteroteiro.core.port.in.dto.BatchGenerationRequest;
+import br.com.devluisoliveira.agenteroteiro.core.port.out.response.dto.BatchGenerationResponse;
+
+import java.util.Optional;
+import java.util.UUID;
+
+public interface BatchGenerationPortIn {
+
+    /**
+     * Enfileira a geração de todos os itens do lote. Com {@code deduplicate}, itens equivalentes recebem o mesmo texto
+     * @param user Usuário que solicitou
+     * @param request Orações e conteúdos estoicos a gerar
+     * @return Estado inicial do lote, com o batchId para acompanhamento
+     */
+    BatchGenerationResponse submitBatch(User user, BatchGenerationRequest request);
+
+    /**
+     * Consulta o progresso de um lote do usuário
+     * @param user Usuário que solicitou
+     * @param batchId ID do lote
+     * @return Estado do lote, vazio se não existir ou pertencer a outro usuário
+     */
+    Optional<BatchGenerationResponse> findBatch(User user, UUID batchId);
+}
@@ -1,11 +1,22 @@
 package br.com.devluisoliveira.agenteroteiro.core.port.in;
 
+import br.com.devluisoliveira.agenteroteiro.core.application.utils.SectionListener;
 import br.com.devluisoliveira.agenteroteiro.core.domain.entity.User;
 import br.com.devluisoliveira.agenteroteiro.core.port.in.dto.ContentGenerationRequest;
 import br.com.devluisoliveira.agenteroteiro.core.port.out.response.dto.ContentGenerationResponse;
 
+import java.util.function.Consumer;
+
 public interface GenericGenerationPortIn {
     ContentGenerationResponse generateContent(User user, ContentGenerationRequest request);
 
+    ContentGenerationResponse generateContent(User user, ContentGenerationRequest request, Consumer<String> tokenListener);
+
+    ContentGenerationResponse generateContent(User user, ContentGenerationRequest request, Consumer<String> tokenListener,
+                                              SectionListener sectionListener);
+
+    ContentGenerationResponse resumeGeneration(User user, String processId, Consumer<String> tokenListener,
+                                               SectionListener sectionListener);
+
     ContentGenerationResponse checkGenerationStatus(String processId, User user);
 }
@@ -1,9 +1,12 @@
 package br.com.devluisoliveira.agenteroteiro.core.port.in;
 
+import br.com.devluisoliveira.agenteroteiro.core.domain.entity.ContentGeneration;
 import br.com.devluisoliveira.agenteroteiro.core.domain.entity.User;
 import br.com.devluisoliveira.agenteroteiro.core.port.in.dto.PrayerContentGenerationRequest;
 import br.com.devluisoliveira.agenteroteiro.core.port.out.response.dto.ContentGenerationResponse;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.util.UUID;
 
 public interface PrayerContentPortIn {
@@ -41,4 +44,12 @@ public interface PrayerContentPortIn {
             String timeOfDay,
             String intentions,
             String language);
+
+    /**
+     * Escreve o áudio da oração no stream informado. Se o áudio ainda não existir, ele é
+     * sintetizado em streaming, reproduzido ao vivo e gravado no armazenamento ao mesmo tempo.
+     * @param content Conteúdo da oração (já validado como pertencente ao usuário)
+     * @param out Stream de destino do MP3
+     */
+    void streamAudio(ContentGeneration content, OutputStream out) throws IOException;
 }
\ No newline at end of file
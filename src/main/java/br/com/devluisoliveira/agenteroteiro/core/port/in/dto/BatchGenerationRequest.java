@@ -0,0 +1,31 @@
+package br.com.devluisoliveira.agenteroteiro.core.port.in.dto;
+
+import jakarta.validation.Valid;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Requisição de geração em lote, por exemplo a programação de uma semana do canal
+ */
+@Setter
+@Getter
+public class BatchGenerationRequest {
+
+    // Orações do lote
+    @Valid
+    private List<PrayerContentGenerationRequest> prayers = new ArrayList<>();
+
+    // Conteúdos estoicos do lote
+    @Valid
+    private List<StoicContentGenerationRequest> stoics = new ArrayList<>();
+
+    // Modo offline: usa a interface de lote do provedor (mais barata, conclusão em até 24h)
+    private Boolean offline = false;
+
+    // Itens equivalentes (mesmo prompt exceto o processId) compartilham uma única chamada à IA e recebem o mesmo
+    // texto; desligado, cada item tem a sua própria geração
+    private Boolean deduplicate = false;
+}
@@ -1,11 +1,15 @@
 package br.com.devluisoliveira.agenteroteiro.core.port.out;
 
+import br.com.devluisoliveira.agenteroteiro.core.application.service.enums.GenerationJobStatus;
 import br.com.devluisoliveira.agenteroteiro.core.domain.entity.ContentGeneration;
 import br.com.devluisoliveira.agenteroteiro.core.domain.entity.User;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -22,6 +26,33 @@ public interface ContentGenerationPortOut {
      */
     ContentGeneration saveContentGeneration(ContentGeneration contentGeneration);
 
+    /**
+     * Atualiza só o status e o checkpoint (JSON) de uma geração em andamento
+     *
+     * @param contentId ID do conteúdo
+     * @param status Status da geração
+     * @param checkpointContent Seções concluídas e a parcial, em JSON
+     */
+    void updateCheckpoint(UUID contentId, GenerationJobStatus status, String checkpointContent);
+
+    /**
+     * Assume a retomada de uma geração interrompida: FAILED, ou RUNNING sem checkpoint gravado desde
+     * {@code staleBefore} (a instância que gerava parou). Só uma chamada concorrente consegue.
+     *
+     * @param contentId ID do conteúdo
+     * @param staleBefore Checkpoints anteriores a este instante indicam uma geração abandonada
+     * @return Se a geração foi assumida
+     */
+    boolean claimForResume(UUID contentId, LocalDateTime staleBefore);
+
+    /**
+     * Insere vários conteúdos novos em lotes JDBC, numa única transação
+     *
+     * @param contentGenerations Entidades novas a serem inseridas
+     * @return Entidades inseridas
+     */
+    List<ContentGeneration> saveAll(List<ContentGeneration> contentGenerations);
+
     /**
      * Busca um conteúdo pelo seu ID
      *
@@ -31,7 +62,7 @@ public interface ContentGenerationPortOut {
     Optional<ContentGeneration> findById(UUID contentId);
 
     /**
-     * Busca todos os conteúdos de um usuário específico
+     * Busca os conteúdos concluídos de um usuário (sem gerações em andamento ou interrompidas)
      *
      * @param user Usuário
      * @param pageable Informações de paginação
@@ -40,7 +71,7 @@ public interface ContentGenerationPortOut {
     Page<ContentGeneration> findByUser(User user, Pageable pageable);
 
     /**
-     * Conta o número de conteúdos de um usuário
+     * Conta os conteúdos concluídos de um usuário
      *
      * @param user Usuário
      * @return Número de conteúdos
@@ -55,10 +86,27 @@ public interface ContentGenerationPortOut {
     void delete(UUID contentId);
 
     /**
-     * Exclui conteúdos criados antes de uma determinada data
+     * Busca os conteúdos criados antes de uma data com a chave do áudio de cada um, dos mais antigos primeiro
      *
      * @param date Data limite
+     * @param limit Quantidade máxima de conteúdos retornados
+     * @return Chave do áudio no MinIO por ID do conteúdo (nula quando não há objeto), na ordem de criação
+     */
+    Map<UUID, String> findAudioObjectKeysCreatedBefore(LocalDateTime date, int limit);
+
+    /**
+     * Exclui os conteúdos informados
+     *
+     * @param contentIds IDs dos conteúdos a serem excluídos
      * @return Número de registros excluídos
      */
-    int deleteByCreatedAtBefore(LocalDateTime date);
+    int deleteAll(Collection<UUID> contentIds);
+
+    /**
+     * Busca IDs de conteúdos cujo áudio ainda está gravado em Base64 na própria linha
+     *
+     * @param limit Quantidade máxima de IDs retornados
+     * @return IDs dos conteúdos a migrar para o armazenamento de objetos
+     */
+    List<UUID> findIdsWithInlineAudio(int limit);
 }
\ No newline at end of file
@@ -7,5 +7,6 @@ import lombok.Setter;
 @Setter
 public class GenerationResponseDto {
     private String processId;
+    private String status;
     private String message;
 }
@@ -0,0 +1,35 @@
+package br.com.devluisoliveira.agenteroteiro.core.port.out.response.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Estado de uma geração em lote, com o progresso de cada item
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchGenerationResponse {
+
+    private UUID batchId;
+    private String status;
+    private String message;
+    private int progress;
+
+    private int totalItems;
+    private int completedItems;
+    private int failedItems;
+
+    /**
+     * Quantidade de chamadas à IA: com deduplicate, itens com prompts equivalentes compartilham a mesma chamada
+     */
+    private int uniquePrompts;
+
+    private List<BatchItemResponse> items;
+}
@@ -0,0 +1,23 @@
+package br.com.devluisoliveira.agenteroteiro.core.port.out.response.dto;
+
+import br.com.devluisoliveira.agenteroteiro.core.application.service.enums.AgentType;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Estado de um item da geração em lote. Itens concluídos podem ser consultados pelo processId
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchItemResponse {
+
+    private String processId;
+    private AgentType agentType;
+    private String title;
+    private String status;
+    private String message;
+}
@@ -2,6 +2,7 @@ package br.com.devluisoliveira.agenteroteiro.core.port.out.response.dto;
 
 import br.com.devluisoliveira.agenteroteiro.core.application.service.enums.AgentType;
 import br.com.devluisoliveira.agenteroteiro.core.application.service.enums.ContentType;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import lombok.Builder;
 import lombok.Getter;
 import lombok.Setter;
@@ -21,8 +22,11 @@ public class ContentGenerationResponse {
     private String textShort;
     private String description;
     private String audio;
+    @JsonIgnore
+    private String audioObjectKey;
     private String tags;
     private String promptUsed;
     private String status = "COMPLETED";
+    private Integer progress;
     private String message;
 }
@@ -1,17 +1,25 @@
 package br.com.devluisoliveira.agenteroteiro.persistence;
 
+import br.com.devluisoliveira.agenteroteiro.core.application.service.enums.GenerationJobStatus;
 import br.com.devluisoliveira.agenteroteiro.core.domain.entity.ContentGeneration;
 import br.com.devluisoliveira.agenteroteiro.core.domain.entity.User;
 import br.com.devluisoliveira.agenteroteiro.core.port.out.ContentGenerationPortOut;
 import br.com.devluisoliveira.agenteroteiro.persistence.repository.ContentGenerationRepository;
+import jakarta.persistence.EntityManager;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Component;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -24,6 +32,10 @@ import java.util.UUID;
 public class ContentGenerationIntegrator implements ContentGenerationPortOut {
 
     private final ContentGenerationRepository contentGenerationRepository;
+    private final EntityManager entityManager;
+
+    @Value("${spring.jpa.properties.hibernate.jdbc.batch_size:50}")
+    private int jdbcBatchSize;
 
     @Override
     @Transactional
@@ -37,6 +49,55 @@ public class ContentGenerationIntegrator implements ContentGenerationPortOut {
         }
     }
 
+    @Override
+    @Transactional
+    public void updateCheckpoint(UUID contentId, GenerationJobStatus status, String checkpointContent) {
+        log.debug("[ContentGenerationIntegrator.updateCheckpoint] - Gravando checkpoint de {} ({})", contentId, status);
+        try {
+            if (contentGenerationRepository.updateCheckpoint(contentId, status, checkpointContent, LocalDateTime.now()) == 0) {
+                throw new IllegalStateException("Geração " + contentId + " não encontrada");
+            }
+        } catch (Exception e) {
+            log.error("[ContentGenerationIntegrator.updateCheckpoint] - Erro ao gravar checkpoint: {}", e.getMessage(), e);
+            throw new RuntimeException("Erro ao gravar checkpoint: " + e.getMessage());
+        }
+    }
+
+    @Override
+    @Transactional
+    public boolean claimForResume(UUID contentId, LocalDateTime staleBefore) {
+        log.debug("[ContentGenerationIntegrator.claimForResume] - Assumindo a retomada de {}", contentId);
+        try {
+            return contentGenerationRepository.claimForResume(contentId, staleBefore, LocalDateTime.now()) == 1;
+        } catch (Exception e) {
+            log.error("[ContentGenerationIntegrator.claimForResume] - Erro ao assumir a retomada: {}", e.getMessage(), e);
+            throw new RuntimeException("Erro ao assumir a retomada: " + e.getMessage());
+        }
+    }
+
+    @Override
+    @Transactional
+    public List<ContentGeneration> saveAll(List<ContentGeneration> contentGenerations) {
+        log.info("[ContentGenerationIntegrator.saveAll] - Inserindo {} conteúdos em lote", contentGenerations.size());
+        try {
+            // O ID é atribuído pela aplicação, então repository.saveAll faria merge (um SELECT por linha);
+            // persist vai direto para INSERTs agrupados pelo hibernate.jdbc.batch_size
+            for (int i = 0; i < contentGenerations.size(); i++) {
+                entityManager.persist(contentGenerations.get(i));
+                if ((i + 1) % jdbcBatchSize == 0) {
+                    entityManager.flush();
+                    entityManager.clear();
+                }
+            }
+            entityManager.flush();
+            entityManager.clear();
+            return contentGenerations;
+        } catch (Exception e) {
+            log.error("[ContentGenerationIntegrator.saveAll] - Erro ao salvar conteúdos em lote: {}", e.getMessage(), e);
+            throw new RuntimeException("Erro ao salvar conteúdos em lote: " + e.getMessage());
+        }
+    }
+
     @Override
     public Optional<ContentGeneration> findById(UUID contentId) {
         log.info("[ContentGenerationIntegrator.findById] - Buscando conteúdo por ID: {}", contentId);
@@ -52,7 +113,7 @@ public class ContentGenerationIntegrator implements ContentGenerationPortOut {
     public Page<ContentGeneration> findByUser(User user, Pageable pageable) {
         log.info("[ContentGenerationIntegrator.findByUser] - Buscando conteúdos do usuário: {}", user.getUsername());
         try {
-            return contentGenerationRepository.findByUserOrderByCreatedAtDesc(user, pageable);
+            return contentGenerationRepository.findCompletedByUser(user, pageable);
         } catch (Exception e) {
             log.error("[ContentGenerationIntegrator.findByUser] - Erro ao buscar conteúdos do usuário: {}", e.getMessage(), e);
             throw new RuntimeException("Erro ao buscar conteúdos do usuário: " + e.getMessage());
@@ -63,7 +124,7 @@ public class ContentGenerationIntegrator implements ContentGenerationPortOut {
     public Long countByUser(User user) {
         log.info("[ContentGenerationIntegrator.countByUser] - Contando conteúdos do usuário: {}", user.getUsername());
         try {
-            return contentGenerationRepository.countByUser(user);
+            return contentGenerationRepository.countCompletedByUser(user);
         } catch (Exception e) {
             log.error("[ContentGenerationIntegrator.countByUser] - Erro ao contar conteúdos do usuário: {}", e.getMessage(), e);
             throw new RuntimeException("Erro ao contar conteúdos do usuário: " + e.getMessage());
@@ -82,15 +143,41 @@ public class ContentGenerationIntegrator implements ContentGenerationPortOut {
         }
     }
 
+    @Override
+    public Map<UUID, String> findAudioObjectKeysCreatedBefore(LocalDateTime date, int limit) {
+        log.info("[ContentGenerationIntegrator.findAudioObjectKeysCreatedBefore] - Buscando até {} conteúdos anteriores a: {}", limit, date);
+        try {
+            Map<UUID, String> keys = new LinkedHashMap<>();
+            for (Object[] row : contentGenerationRepository.findAudioObjectKeysCreatedBefore(date, PageRequest.of(0, limit))) {
+                keys.put((UUID) row[0], (String) row[1]);
+            }
+            return keys;
+        } catch (Exception e) {
+            log.error("[ContentGenerationIntegrator.findAudioObjectKeysCreatedBefore] - Erro ao buscar conteúdos antigos: {}", e.getMessage(), e);
+            throw new RuntimeException("Erro ao buscar conteúdos antigos: " + e.getMessage());
+        }
+    }
+
     @Override
     @Transactional
-    public int deleteByCreatedAtBefore(LocalDateTime date) {
-        log.info("[ContentGenerationIntegrator.deleteByCreatedAtBefore] - Excluindo conteúdos anteriores a: {}", date);
+    public int deleteAll(Collection<UUID> contentIds) {
+        log.info("[ContentGenerationIntegrator.deleteAll] - Excluindo {} conteúdos", contentIds.size());
+        try {
+            return contentIds.isEmpty() ? 0 : contentGenerationRepository.deleteByContentIds(contentIds);
+        } catch (Exception e) {
+            log.error("[ContentGenerationIntegrator.deleteAll] - Erro ao excluir conteúdos: {}", e.getMessage(), e);
+            throw new RuntimeException("Erro ao excluir conteúdos: " + e.getMessage());
+        }
+    }
+
+    @Override
+    public List<UUID> findIdsWithInlineAudio(int limit) {
+        log.info("[ContentGenerationIntegrator.findIdsWithInlineAudio] - Buscando até {} conteúdos com áudio legado", limit);
         try {
-            return contentGenerationRepository.deleteByCreatedAtBefore(date);
+            return contentGenerationRepository.findIdsWithInlineAudio(PageRequest.of(0, limit));
         } catch (Exception e) {
-            log.error("[ContentGenerationIntegrator.deleteByCreatedAtBefore] - Erro ao excluir conteúdos antigos: {}", e.getMessage(), e);
-            throw new RuntimeException("Erro ao excluir conteúdos antigos: " + e.getMessage());
+            log.error("[ContentGenerationIntegrator.findIdsWithInlineAudio] - Erro ao buscar conteúdos com áudio legado: {}", e.getMessage(), e);
+            throw new RuntimeException("Erro ao buscar conteúdos com áudio legado: " + e.getMessage());
         }
     }
 }
\ No newline at end of file
@@ -1,5 +1,6 @@
 package br.com.devluisoliveira.agenteroteiro.persistence.repository;
 
+import br.com.devluisoliveira.agenteroteiro.core.application.service.enums.GenerationJobStatus;
 import br.com.devluisoliveira.agenteroteiro.core.domain.entity.ContentGeneration;
 import br.com.devluisoliveira.agenteroteiro.core.domain.entity.User;
 import org.springframework.data.domain.Page;
@@ -11,6 +12,8 @@ import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.UUID;
 
 /**
@@ -20,27 +23,74 @@ import java.util.UUID;
 public interface ContentGenerationRepository extends JpaRepository<ContentGeneration, UUID> {
 
     /**
-     * Busca conteúdos por usuário
+     * Busca os conteúdos concluídos do usuário ordenados por data de criação (mais recentes primeiro).
+     * Gerações em andamento ou interrompidas (checkpoints RUNNING/FAILED) ficam de fora; status nulo são
+     * linhas anteriores aos checkpoints, todas concluídas.
      */
-    Page<ContentGeneration> findByUser(User user, Pageable pageable);
+    @Query("SELECT c FROM ContentGeneration c WHERE c.user = :user AND (c.generationStatus IS NULL OR c.generationStatus = "
+            + "br.com.devluisoliveira.agenteroteiro.core.application.service.enums.GenerationJobStatus.COMPLETED) "
+            + "ORDER BY c.createdAt DESC")
+    Page<ContentGeneration> findCompletedByUser(@Param("user") User user, Pageable pageable);
 
     /**
-     * Busca conteúdos por usuário ordenados por data de criação (mais recentes primeiro)
+     * Busca IDs e chaves de áudio dos conteúdos criados antes de uma data, dos mais antigos para os mais recentes
+     *
+     * @param date Data limite
+     * @return Pares [contentId, audioObjectKey]; a chave é nula para conteúdos sem áudio no MinIO
      */
-    Page<ContentGeneration> findByUserOrderByCreatedAtDesc(User user, Pageable pageable);
+    @Query("SELECT c.contentId, c.audioObjectKey FROM ContentGeneration c WHERE c.createdAt < :date ORDER BY c.createdAt")
+    List<Object[]> findAudioObjectKeysCreatedBefore(@Param("date") LocalDateTime date, Pageable pageable);
 
     /**
-     * Exclui conteúdos criados antes de uma determinada data
+     * Exclui os conteúdos informados
      *
-     * @param date Data limite
      * @return Número de registros excluídos
      */
     @Modifying
-    @Query("DELETE FROM ContentGeneration c WHERE c.createdAt < :date")
-    int deleteByCreatedAtBefore(@Param("date") LocalDateTime date);
+    @Query("DELETE FROM ContentGeneration c WHERE c.contentId IN :contentIds")
+    int deleteByContentIds(@Param("contentIds") Collection<UUID> contentIds);
+
+    /**
+     * Conta os conteúdos concluídos de um usuário (mesmo filtro de {@link #findCompletedByUser})
+     */
+    @Query("SELECT COUNT(c) FROM ContentGeneration c WHERE c.user = :user AND (c.generationStatus IS NULL OR c.generationStatus = "
+            + "br.com.devluisoliveira.agenteroteiro.core.application.service.enums.GenerationJobStatus.COMPLETED)")
+    long countCompletedByUser(@Param("user") User user);
+
+    /**
+     * Grava só o status e o checkpoint de uma geração em andamento, sem reescrever as demais colunas (@Lob)
+     *
+     * @return Número de linhas atualizadas
+     */
+    @Modifying
+    @Query("UPDATE ContentGeneration c SET c.generationStatus = :status, c.checkpointContent = :checkpointContent, "
+            + "c.updatedAt = :updatedAt WHERE c.contentId = :contentId")
+    int updateCheckpoint(@Param("contentId") UUID contentId,
+                         @Param("status") GenerationJobStatus status,
+                         @Param("checkpointContent") String checkpointContent,
+                         @Param("updatedAt") LocalDateTime updatedAt);
+
+    /**
+     * Passa para RUNNING uma geração que ninguém está gerando: FAILED, ou RUNNING sem checkpoint gravado desde
+     * {@code staleBefore}. Com duas retomadas ao mesmo tempo, a segunda relê a linha já renovada e não atualiza nada.
+     *
+     * @return Número de linhas atualizadas (0 se a geração está em andamento em alguma instância)
+     */
+    @Modifying
+    @Query("UPDATE ContentGeneration c SET c.generationStatus = "
+            + "br.com.devluisoliveira.agenteroteiro.core.application.service.enums.GenerationJobStatus.RUNNING, "
+            + "c.updatedAt = :now WHERE c.contentId = :contentId AND (c.generationStatus = "
+            + "br.com.devluisoliveira.agenteroteiro.core.application.service.enums.GenerationJobStatus.FAILED "
+            + "OR (c.generationStatus = "
+            + "br.com.devluisoliveira.agenteroteiro.core.application.service.enums.GenerationJobStatus.RUNNING "
+            + "AND COALESCE(c.updatedAt, c.createdAt) < :staleBefore))")
+    int claimForResume(@Param("contentId") UUID contentId,
+                       @Param("staleBefore") LocalDateTime staleBefore,
+                       @Param("now") LocalDateTime now);
 
     /**
-     * Conta o número de conteúdos de um usuário
+     * Busca IDs de conteúdos com áudio legado (Base64 na coluna audio) ainda não migrado
      */
-    long countByUser(User user);
+    @Query("SELECT c.contentId FROM ContentGeneration c WHERE c.audio IS NOT NULL AND c.audioObjectKey IS NULL")
+    List<UUID> findIdsWithInlineAudio(Pageable pageable);
 }
\ No newline at end of file
@@ -0,0 +1,57 @@
+package br.com.devluisoliveira.agenteroteiro.shared.configs;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.ThreadPoolExecutor;
+
+@Slf4j
+@Configuration
+public class AsyncConfig {
+
+    @Value("${generation.stream.core-pool-size:4}")
+    private int streamCorePoolSize;
+
+    @Value("${generation.stream.max-pool-size:16}")
+    private int streamMaxPoolSize;
+
+    @Value("${generation.stream.queue-capacity:50}")
+    private int streamQueueCapacity;
+
+    @Value("${generation.stream.virtual-concurrency-limit:1000}")
+    private int streamVirtualConcurrencyLimit;
+
+    @Value("${spring.threads.virtual.enabled:false}")
+    private boolean virtualThreadsEnabled;
+
+    /**
+     * Executor usado pelos endpoints SSE para rodar a geração fora da thread do Tomcat,
+     * liberando-a enquanto os trechos são enviados ao cliente.
+     * Com spring.threads.virtual.enabled cada geração ganha sua própria virtual thread,
+     * limitada apenas pelo número de streams simultâneos configurado.
+     */
+    @Bean(name = "generationStreamExecutor")
+    public Executor generationStreamExecutor() {
+        if (virtualThreadsEnabled) {
+            log.info("[AsyncConfig] - Executor de streaming usando virtual threads (limite: {})", streamVirtualConcurrencyLimit);
+            SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor("generation-stream-");
+            executor.setVirtualThreads(true);
+            executor.setConcurrencyLimit(streamVirtualConcurrencyLimit);
+            return executor;
+        }
+
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(streamCorePoolSize);
+        executor.setMaxPoolSize(streamMaxPoolSize);
+        executor.setQueueCapacity(streamQueueCapacity);
+        executor.setThreadNamePrefix("generation-stream-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy());
+        executor.initialize();
+        return executor;
+    }
+}
@@ -1,13 +1,20 @@
 package br.com.devluisoliveira.agenteroteiro.shared.configs;
 
+import br.com.devluisoliveira.agenteroteiro.core.application.service.cache.GenerationResponseCache;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.cache.RedisCacheManagerBuilderCustomizer;
 import org.springframework.cache.annotation.EnableCaching;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.cache.RedisCacheConfiguration;
 import org.springframework.data.redis.connection.RedisConnectionFactory;
 import org.springframework.data.redis.core.RedisTemplate;
 import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
+import org.springframework.data.redis.serializer.RedisSerializationContext;
 import org.springframework.data.redis.serializer.StringRedisSerializer;
 
+import java.time.Duration;
+
 @Configuration
 @EnableCaching
 public class RedisConfig {
@@ -20,6 +27,18 @@ public class RedisConfig {
         template.setValueSerializer(new GenericJackson2JsonRedisSerializer());
         return template;
     }
-}
-
 
+    /**
+     * Respostas da IA ficam em um cache próprio, com TTL configurável e valores como texto puro
+     */
+    @Bean
+    public RedisCacheManagerBuilderCustomizer generationResponseCacheCustomizer(
+            @Value("${generation.cache.ttl-minutes:1440}") long ttlMinutes) {
+        return builder -> builder.withCacheConfiguration(GenerationResponseCache.CACHE_NAME,
+                RedisCacheConfiguration.defaultCacheConfig()
+                        .entryTtl(Duration.ofMinutes(ttlMinutes))
+                        .disableCachingNullValues()
+                        .serializeValuesWith(RedisSerializationContext.SerializationPair
+                                .fromSerializer(new StringRedisSerializer())));
+    }
+}
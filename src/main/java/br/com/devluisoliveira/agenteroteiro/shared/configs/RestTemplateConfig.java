@@ -1,14 +1,130 @@
 package br.com.devluisoliveira.agenteroteiro.shared.configs;
 
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.httpcomponents.hc5.PoolingHttpClientConnectionManagerMetricsBinder;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.DefaultConnectionKeepAliveStrategy;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
 import org.springframework.web.client.RestTemplate;
 
+import java.net.http.HttpClient;
+import java.time.Duration;
+
+/**
+ * Camada HTTP compartilhada por todos os serviços que chamam provedores externos
+ * (OpenAI, ElevenLabs...). Mantém as conexões vivas em um pool para evitar um novo
+ * handshake TLS a cada geração.
+ *
+ * O pool por rota deve comportar o bulkhead da dependência (resilience.*.max-concurrent-calls): o bulkhead é
+ * quem limita as chamadas, e uma chamada que passou por ele não deve falhar esperando conexão.
+ *
+ * Há dois timeouts de leitura: o de socket vale para a conexão em geral, e o de resposta é a espera máxima por
+ * bytes da resposta. Gerações longas sem streaming só respondem no fim, então o de resposta precisa cobrir a
+ * geração mais longa.
+ */
+@Slf4j
 @Configuration
 public class RestTemplateConfig {
 
+    @Value("${http.client.max-total:160}")
+    private int maxTotal;
+
+    @Value("${http.client.max-per-route:64}")
+    private int maxPerRoute;
+
+    @Value("${http.client.connect-timeout-ms:5000}")
+    private long connectTimeoutMs;
+
+    @Value("${http.client.read-timeout-ms:120000}")
+    private long readTimeoutMs;
+
+    @Value("${http.client.response-timeout-ms:600000}")
+    private long responseTimeoutMs;
+
+    @Value("${http.client.connection-request-timeout-ms:10000}")
+    private long connectionRequestTimeoutMs;
+
+    @Value("${http.client.idle-eviction-seconds:30}")
+    private long idleEvictionSeconds;
+
+    @Value("${http.client.time-to-live-minutes:5}")
+    private long timeToLiveMinutes;
+
+    @Bean(destroyMethod = "close")
+    @ConditionalOnProperty(name = "http.client.http2-enabled", havingValue = "false", matchIfMissing = true)
+    public PoolingHttpClientConnectionManager providerConnectionManager() {
+        return PoolingHttpClientConnectionManagerBuilder.create()
+                .setMaxConnTotal(maxTotal)
+                .setMaxConnPerRoute(maxPerRoute)
+                .setDefaultConnectionConfig(ConnectionConfig.custom()
+                        .setConnectTimeout(Timeout.ofMilliseconds(connectTimeoutMs))
+                        .setSocketTimeout(Timeout.ofMilliseconds(readTimeoutMs))
+                        .setTimeToLive(TimeValue.ofMinutes(timeToLiveMinutes))
+                        .setValidateAfterInactivity(TimeValue.ofSeconds(2))
+                        .build())
+                .build();
+    }
+
+    @Bean(destroyMethod = "close")
+    @ConditionalOnProperty(name = "http.client.http2-enabled", havingValue = "false", matchIfMissing = true)
+    public CloseableHttpClient providerHttpClient(PoolingHttpClientConnectionManager providerConnectionManager) {
+        return HttpClients.custom()
+                .setConnectionManager(providerConnectionManager)
+                .setDefaultRequestConfig(RequestConfig.custom()
+                        .setConnectionRequestTimeout(Timeout.ofMilliseconds(connectionRequestTimeoutMs))
+                        .setResponseTimeout(Timeout.ofMilliseconds(responseTimeoutMs))
+                        .build())
+                .setKeepAliveStrategy(DefaultConnectionKeepAliveStrategy.INSTANCE)
+                .evictExpiredConnections()
+                .evictIdleConnections(TimeValue.ofSeconds(idleEvictionSeconds))
+                .build();
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "http.client.http2-enabled", havingValue = "false", matchIfMissing = true)
+    public RestTemplate restTemplate(CloseableHttpClient providerHttpClient) {
+        log.info("[RestTemplateConfig] - Usando pool HTTP/1.1 keep-alive (max-total: {}, max-per-route: {})",
+                maxTotal, maxPerRoute);
+        return new RestTemplate(new HttpComponentsClientHttpRequestFactory(providerHttpClient));
+    }
+
+    /**
+     * Cliente do JDK, que negocia HTTP/2 via ALPN (com fallback para HTTP/1.1) e multiplexa as requisições em
+     * uma única conexão por host. Não há pool nem métricas de pool nesse modo, e um stream cancelado é
+     * interrompido fechando o corpo da resposta (o JDK cancela o stream HTTP/2), não abortando a conexão.
+     */
+    @Bean
+    @ConditionalOnProperty(name = "http.client.http2-enabled", havingValue = "true")
+    public RestTemplate http2RestTemplate() {
+        log.info("[RestTemplateConfig] - Usando cliente HTTP do JDK com HTTP/2 habilitado");
+        HttpClient httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_2)
+                .connectTimeout(Duration.ofMillis(connectTimeoutMs))
+                .build();
+        JdkClientHttpRequestFactory factory = new JdkClientHttpRequestFactory(httpClient);
+        factory.setReadTimeout(Duration.ofMillis(responseTimeoutMs));
+        return new RestTemplate(factory);
+    }
+
+    /**
+     * Expõe o estado do pool (conexões livres, alugadas e pendentes) em /actuator/metrics
+     */
     @Bean
-    public RestTemplate restTemplate() {
-        return new RestTemplate();
+    @ConditionalOnProperty(name = "http.client.http2-enabled", havingValue = "false", matchIfMissing = true)
+    public MeterBinder providerConnectionPoolMetrics(PoolingHttpClientConnectionManager providerConnectionManager) {
+        return new PoolingHttpClientConnectionManagerMetricsBinder(providerConnectionManager, "provider-http");
     }
-}
\ No newline at end of file
+}
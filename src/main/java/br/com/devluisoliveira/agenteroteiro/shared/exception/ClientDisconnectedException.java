@@ -0,0 +1,19 @@
+package br.com.devluisoliveira.agenteroteiro.shared.exception;
+
+import java.util.concurrent.CancellationException;
+
+/**
+ * O cliente fechou a conexão no meio de um streaming.
+ *
+ * É um {@link CancellationException}: os provedores de IA derrubam a conexão com o provedor ao recebê-lo
+ * (parando a geração e a cobrança), e o circuit breaker e o roteador não o contam como falha do provedor.
+ */
+public final class ClientDisconnectedException extends CancellationException {
+
+    private static final long serialVersionUID = 1L;
+
+    public ClientDisconnectedException(String message, Throwable cause) {
+        super(message);
+        initCause(cause);
+    }
+}
@@ -0,0 +1,59 @@
+package br.com.devluisoliveira.agenteroteiro.shared.utils;
+
+import java.io.InputStream;
+import java.util.Base64;
+
+/**
+ * Utilitários para decodificar Base64 guardado em String (ex.: áudio legado em data URL) sem copiar o payload
+ */
+public final class Base64Streams {
+
+    private Base64Streams() {
+    }
+
+    /**
+     * Decodifica em streaming o Base64 da String a partir de offset. Os caracteres são lidos direto da String,
+     * sem substring nem getBytes do payload inteiro.
+     */
+    public static InputStream decode(String source, int offset) {
+        return Base64.getDecoder().wrap(new AsciiInputStream(source, offset));
+    }
+
+    /**
+     * Decodifica em streaming o payload de uma data URL (tudo o que vem depois da primeira vírgula)
+     */
+    public static InputStream decodeDataUrl(String dataUrl) {
+        return decode(dataUrl, dataUrl.indexOf(',') + 1);
+    }
+
+    /**
+     * Lê os caracteres ASCII de uma String como bytes, sem copiar a String inteira
+     */
+    private static final class AsciiInputStream extends InputStream {
+
+        private final String source;
+        private int position;
+
+        private AsciiInputStream(String source, int offset) {
+            this.source = source;
+            this.position = offset;
+        }
+
+        @Override
+        public int read() {
+            return position < source.length() ? source.charAt(position++) & 0xFF : -1;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) {
+            if (position >= source.length()) {
+                return -1;
+            }
+            int count = Math.min(len, source.length() - position);
+            for (int i = 0; i < count; i++) {
+                b[off + i] = (byte) source.charAt(position++);
+            }
+            return count;
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package br.com.devluisoliveira.agenteroteiro.shared.utils;
+
+import lombok.extern.slf4j.Slf4j;
+import org.apache.hc.core5.http.io.EofSensorInputStream;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Utilitários para corpos de resposta HTTP lidos em streaming
+ */
+@Slf4j
+public final class HttpStreams {
+
+    private HttpStreams() {
+    }
+
+    /**
+     * Derruba a conexão de um stream que não será mais lido (ex.: cliente desconectado ou tentativa perdedora
+     * de um hedge). Sem isso, o fechamento da resposta leria o stream até o fim e o provedor continuaria gerando
+     * (e cobrando) os tokens restantes.
+     *
+     * Só tem efeito com o cliente HTTP/1.1 do Apache (corpo {@link EofSensorInputStream}); em outros clientes
+     * o stream é apenas fechado.
+     */
+    public static void abort(InputStream body) {
+        try {
+            if (body instanceof EofSensorInputStream sensor) {
+                sensor.abort();
+            } else {
+                body.close();
+            }
+        } catch (IOException e) {
+            log.debug("[HttpStreams.abort] - Erro ao abortar stream: {}", e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package br.com.devluisoliveira.agenteroteiro.shared.utils;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+/**
+ * InputStream que copia para um OutputStream secundário tudo o que é lido do stream principal.
+ *
+ * Falhas na escrita do ramo secundário (ex.: cliente que desconectou no meio da reprodução)
+ * não interrompem a leitura principal: o ramo é desligado e a leitura continua normalmente.
+ */
+@Slf4j
+public class TeeInputStream extends FilterInputStream {
+
+    private final OutputStream branch;
+    private boolean branchOpen = true;
+    private long bytesRead;
+
+    public TeeInputStream(InputStream source, OutputStream branch) {
+        super(source);
+        this.branch = branch;
+    }
+
+    @Override
+    public int read() throws IOException {
+        int b = super.read();
+        if (b != -1) {
+            bytesRead++;
+            if (branchOpen) {
+                try {
+                    branch.write(b);
+                } catch (IOException e) {
+                    closeBranch(e);
+                }
+            }
+        }
+        return b;
+    }
+
+    @Override
+    public int read(byte[] buffer, int offset, int length) throws IOException {
+        int read = super.read(buffer, offset, length);
+        if (read > 0) {
+            bytesRead += read;
+            if (branchOpen) {
+                try {
+                    branch.write(buffer, offset, read);
+                    branch.flush();
+                } catch (IOException e) {
+                    closeBranch(e);
+                }
+            }
+        }
+        return read;
+    }
+
+    @Override
+    public long skip(long n) throws IOException {
+        // Pular bytes deixaria o ramo secundário incompleto; os bytes são lidos e copiados
+        byte[] buffer = new byte[(int) Math.min(n, 8192)];
+        long remaining = n;
+        while (remaining > 0) {
+            int read = read(buffer, 0, (int) Math.min(remaining, buffer.length));
+            if (read == -1) {
+                break;
+            }
+            remaining -= read;
+        }
+        return n - remaining;
+    }
+
+    @Override
+    public boolean markSupported() {
+        return false;
+    }
+
+    public long getBytesRead() {
+        return bytesRead;
+    }
+
+    public boolean isBranchOpen() {
+        return branchOpen;
+    }
+
+    private void closeBranch(IOException cause) {
+        branchOpen = false;
+        log.warn("[TeeInputStream.closeBranch] - Ramo secundário desligado após {} bytes: {}", bytesRead, cause.getMessage());
+    }
+}
@@ -0,0 +1,169 @@
+package br.com.devluisoliveira.agenteroteiro.core.application.service;
+
+import br.com.devluisoliveira.agenteroteiro.core.application.service.enums.GenerationJobStatus;
+import br.com.devluisoliveira.agenteroteiro.core.application.service.resilience.DependencyGuardFactory;
+import br.com.devluisoliveira.agenteroteiro.core.domain.entity.ContentGeneration;
+import br.com.devluisoliveira.agenteroteiro.core.domain.entity.User;
+import br.com.devluisoliveira.agenteroteiro.core.port.out.ContentGenerationPortOut;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+/**
+ * Migração dos áudios legados em lotes: linhas que falham ficam para trás sem travar o laço
+ */
+class AudioStorageMigrationServiceTest {
+
+    private static final byte[] AUDIO = {1, 2, 3, 4};
+
+    private final InMemoryContentGenerationPort port = new InMemoryContentGenerationPort();
+    private final FakeMinioService minioService = new FakeMinioService();
+
+    @Test
+    void migratesWhatItCanAndSkipsRowsThatFail() {
+        UUID migrated = port.add(dataUrl(AUDIO));
+        UUID notBase64 = port.add("https://cdn.exemplo.com/audio.mp3");
+        UUID failing = port.add(dataUrl(new byte[]{9, 9}));
+        UUID another = port.add(dataUrl(AUDIO));
+        minioService.failing = "audio/" + failing + ".mp3";
+
+        // Lote de 1: as linhas com falha continuam voltando na consulta e precisam ser puladas
+        AudioStorageMigrationService service =
+                new AudioStorageMigrationService(port, new AudioStorageService(minioService), true, 1);
+
+        assertEquals(2, service.migrateInlineAudio());
+
+        ContentGeneration content = port.contents.get(migrated);
+        assertEquals("audio/" + migrated + ".mp3", content.getAudioObjectKey());
+        assertNull(content.getAudio());
+        assertArrayEquals(AUDIO, minioService.uploaded.get(content.getAudioObjectKey()));
+        assertEquals("audio/" + another + ".mp3", port.contents.get(another).getAudioObjectKey());
+
+        assertNull(port.contents.get(notBase64).getAudioObjectKey());
+        assertNull(port.contents.get(failing).getAudioObjectKey());
+        assertEquals(2, minioService.uploaded.size());
+    }
+
+    @Test
+    void returnsZeroWhenThereIsNothingToMigrate() {
+        AudioStorageMigrationService service =
+                new AudioStorageMigrationService(port, new AudioStorageService(minioService), true, 10);
+
+        assertEquals(0, service.migrateInlineAudio());
+    }
+
+    private static String dataUrl(byte[] audio) {
+        return "data:audio/mpeg;base64," + Base64.getEncoder().encodeToString(audio);
+    }
+
+    private static class FakeMinioService extends MinioService {
+
+        private final Map<String, byte[]> uploaded = new HashMap<>();
+        private String failing;
+
+        FakeMinioService() {
+            super("http://minio.test", "acesso", "segredo",
+                    new DependencyGuardFactory(new SimpleMeterRegistry(), 10, 2, 0.5, 30_000, 1), 1, 0, 0);
+        }
+
+        @Override
+        public void uploadObject(String objectName, InputStream stream, long size, long partSize, String contentType)
+                throws IOException {
+            if (objectName.equals(failing)) {
+                throw new IOException("MinIO indisponível");
+            }
+            uploaded.put(objectName, stream.readAllBytes());
+        }
+    }
+
+    private static class InMemoryContentGenerationPort implements ContentGenerationPortOut {
+
+        private final Map<UUID, ContentGeneration> contents = new LinkedHashMap<>();
+
+        UUID add(String audio) {
+            ContentGeneration content = ContentGeneration.builder()
+                    .contentId(UUID.randomUUID())
+                    .audio(audio)
+                    .build();
+            contents.put(content.getContentId(), content);
+            return content.getContentId();
+        }
+
+        @Override
+        public ContentGeneration saveContentGeneration(ContentGeneration contentGeneration) {
+            contents.put(contentGeneration.getContentId(), contentGeneration);
+            return contentGeneration;
+        }
+
+        @Override
+        public void updateCheckpoint(UUID contentId, GenerationJobStatus status, String checkpointContent) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public boolean claimForResume(UUID contentId, LocalDateTime staleBefore) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public List<ContentGeneration> saveAll(List<ContentGeneration> contentGenerations) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Optional<ContentGeneration> findById(UUID contentId) {
+            return Optional.ofNullable(contents.get(contentId));
+        }
+
+        @Override
+        public Page<ContentGeneration> findByUser(User user, Pageable pageable) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Long countByUser(User user) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public void delete(UUID contentId) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Map<UUID, String> findAudioObjectKeysCreatedBefore(LocalDateTime date, int limit) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public int deleteAll(Collection<UUID> contentIds) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public List<UUID> findIdsWithInlineAudio(int limit) {
+            return contents.values().stream()
+                    .filter(content -> content.getAudio() != null && content.getAudioObjectKey() == null)
+                    .map(ContentGeneration::getContentId)
+                    .limit(limit)
+                    .toList();
+        }
+    }
+}
@@ -0,0 +1,118 @@
+package br.com.devluisoliveira.agenteroteiro.core.application.service;
+
+import br.com.devluisoliveira.agenteroteiro.core.application.service.resilience.DependencyUnavailableException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Síntese dos trechos em paralelo: remontagem em ordem, nova tentativa do trecho que falhou e erro propagado
+ */
+class ChunkedSpeechSynthesizerTest {
+
+    private final ChunkedSpeechSynthesizer synthesizer = new ChunkedSpeechSynthesizer(null, null, 8, 4, 3, 1, false);
+
+    @AfterEach
+    void tearDown() {
+        synthesizer.shutdown();
+    }
+
+    @Test
+    void reassemblesChunksInOrderWhenTheyFinishOutOfOrder() throws IOException {
+        // O primeiro trecho é o mais lento: os demais ficam prontos antes dele
+        Map<String, Long> delays = Map.of("a", 120L, "b", 60L, "c", 0L, "d", 30L);
+
+        try (InputStream audio = synthesizer.synthesize(List.of("a", "b", "c", "d"), chunk -> {
+            sleep(delays.get(chunk));
+            return bytes(chunk.toUpperCase());
+        })) {
+            assertEquals("ABCD", new String(audio.readAllBytes(), StandardCharsets.UTF_8));
+        }
+    }
+
+    @Test
+    void retriesOnlyTheChunkThatFailed() throws IOException {
+        Map<String, AtomicInteger> calls = new ConcurrentHashMap<>();
+
+        try (InputStream audio = synthesizer.synthesize(List.of("a", "b", "c"), chunk -> {
+            int attempt = calls.computeIfAbsent(chunk, ignored -> new AtomicInteger()).incrementAndGet();
+            if (chunk.equals("b") && attempt < 3) {
+                throw new IllegalStateException("Falha temporária");
+            }
+            return bytes(chunk);
+        })) {
+            assertEquals("abc", new String(audio.readAllBytes(), StandardCharsets.UTF_8));
+        }
+        assertEquals(1, calls.get("a").get());
+        assertEquals(3, calls.get("b").get());
+        assertEquals(1, calls.get("c").get());
+    }
+
+    @Test
+    void failsTheStreamWhenAChunkKeepsFailing() throws IOException {
+        try (InputStream audio = synthesizer.synthesize(List.of("a", "b", "c"), chunk -> {
+            if (chunk.equals("b")) {
+                throw new IllegalStateException("Falha permanente");
+            }
+            return bytes(chunk);
+        })) {
+            assertEquals('a', audio.read());
+            UncheckedIOException error = assertThrows(UncheckedIOException.class, audio::readAllBytes);
+            assertTrue(error.getMessage().contains("trecho 1"));
+        }
+    }
+
+    @Test
+    void doesNotRetryWhenTheDependencyIsUnavailable() {
+        AtomicInteger calls = new AtomicInteger();
+
+        // O primeiro segmento é pedido já na abertura do stream
+        assertThrows(UncheckedIOException.class, () -> readAll(List.of("a"), chunk -> {
+            calls.incrementAndGet();
+            throw new DependencyUnavailableException("elevenlabs", "elevenlabs indisponível: circuito aberto");
+        }));
+        assertEquals(1, calls.get());
+    }
+
+    @Test
+    void treatsEmptyAudioAsAFailure() {
+        AtomicInteger calls = new AtomicInteger();
+
+        assertThrows(UncheckedIOException.class, () -> readAll(List.of("a"), chunk -> {
+            calls.incrementAndGet();
+            return new byte[0];
+        }));
+        assertEquals(3, calls.get());
+    }
+
+    private byte[] readAll(List<String> chunks, Function<String, byte[]> provider) throws IOException {
+        try (InputStream audio = synthesizer.synthesize(chunks, provider)) {
+            return audio.readAllBytes();
+        }
+    }
+
+    private static byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
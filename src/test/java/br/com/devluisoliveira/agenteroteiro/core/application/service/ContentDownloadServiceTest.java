@@ -0,0 +1,118 @@
+package br.com.devluisoliveira.agenteroteiro.core.application.service;
+
+import br.com.devluisoliveira.agenteroteiro.core.application.service.enums.AgentType;
+import br.com.devluisoliveira.agenteroteiro.core.application.service.resilience.DependencyGuardFactory;
+import br.com.devluisoliveira.agenteroteiro.core.domain.entity.ContentGeneration;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.UUID;
+import java.util.zip.CRC32;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Pacote ZIP escrito em streaming: o áudio legado vai como STORED com CRC e tamanho corretos e o do MinIO
+ * é copiado sem compressão
+ */
+class ContentDownloadServiceTest {
+
+    private final byte[] audio = randomAudio();
+    private final FakeMinioService minioService = new FakeMinioService();
+    private final ContentDownloadService service = new ContentDownloadService(new SrtConverterService(), minioService);
+
+    @Test
+    void writesLegacyBase64AudioAsAStoredEntry() throws IOException {
+        ContentGeneration content = content();
+        content.setAudio("data:audio/mpeg;base64," + Base64.getEncoder().encodeToString(audio));
+
+        Map<String, ZipEntry> entries = new HashMap<>();
+        Map<String, byte[]> files = readPackage(content, entries);
+
+        ZipEntry entry = entries.get("audio/audio.mp3");
+        CRC32 crc = new CRC32();
+        crc.update(audio);
+        assertEquals(ZipEntry.STORED, entry.getMethod());
+        assertEquals(audio.length, entry.getSize());
+        assertEquals(audio.length, entry.getCompressedSize());
+        assertEquals(crc.getValue(), entry.getCrc());
+        assertArrayEquals(audio, files.get("audio/audio.mp3"));
+        assertEquals("Roteiro da oração.", new String(files.get("textos/roteiro.txt"), StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void copiesTheStoredAudioFromMinio() throws IOException {
+        ContentGeneration content = content();
+        content.setAudioObjectKey("audio/processo.mp3");
+        minioService.objects.put("audio/processo.mp3", audio);
+
+        Map<String, ZipEntry> entries = new HashMap<>();
+        Map<String, byte[]> files = readPackage(content, entries);
+
+        assertEquals(ZipEntry.DEFLATED, entries.get("audio/audio.mp3").getMethod());
+        assertArrayEquals(audio, files.get("audio/audio.mp3"));
+        assertTrue(files.containsKey("textos/metadados.txt"));
+    }
+
+    private Map<String, byte[]> readPackage(ContentGeneration content, Map<String, ZipEntry> entries) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        service.writeContentPackage(content, out);
+
+        Map<String, byte[]> files = new HashMap<>();
+        try (ZipInputStream zipIn = new ZipInputStream(new ByteArrayInputStream(out.toByteArray()))) {
+            ZipEntry entry;
+            while ((entry = zipIn.getNextEntry()) != null) {
+                // Lê até o fim da entrada para que o ZipInputStream valide CRC e tamanho
+                files.put(entry.getName(), zipIn.readAllBytes());
+                entries.put(entry.getName(), entry);
+            }
+        }
+        return files;
+    }
+
+    private static ContentGeneration content() {
+        return ContentGeneration.builder()
+                .contentId(UUID.randomUUID())
+                .title("Oração da manhã")
+                .agentType(AgentType.PRAYER)
+                .text("Roteiro da oração.")
+                .createdAt(LocalDateTime.of(2026, 1, 1, 8, 0))
+                .build();
+    }
+
+    private static byte[] randomAudio() {
+        // Maior que o buffer de 8 KiB e com tamanho que não é múltiplo de 3 (padding no Base64)
+        byte[] bytes = new byte[20_000];
+        new Random(42).nextBytes(bytes);
+        return bytes;
+    }
+
+    private static class FakeMinioService extends MinioService {
+
+        private final Map<String, byte[]> objects = new HashMap<>();
+
+        FakeMinioService() {
+            super("http://minio.test", "acesso", "segredo",
+                    new DependencyGuardFactory(new SimpleMeterRegistry(), 10, 2, 0.5, 30_000, 1), 1, 0, 0);
+        }
+
+        @Override
+        public InputStream getObject(String objectName) {
+            return new ByteArrayInputStream(objects.get(objectName));
+        }
+    }
+}
@@ -0,0 +1,195 @@
+package br.com.devluisoliveira.agenteroteiro.core.application.service;
+
+import br.com.devluisoliveira.agenteroteiro.core.application.service.enums.GenerationJobStatus;
+import br.com.devluisoliveira.agenteroteiro.core.application.service.resilience.DependencyGuardFactory;
+import br.com.devluisoliveira.agenteroteiro.core.domain.entity.ContentGeneration;
+import br.com.devluisoliveira.agenteroteiro.core.domain.entity.User;
+import br.com.devluisoliveira.agenteroteiro.core.port.out.ContentGenerationPortOut;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Exclusão de conteúdos junto com o áudio no MinIO, sem tocar nos objetos compartilhados do cache de TTS
+ */
+class ContentPersistenceServiceTest {
+
+    private final User user = User.builder().userId(UUID.randomUUID()).username("joao").build();
+    private final InMemoryContentGenerationPort port = new InMemoryContentGenerationPort();
+    private final FakeMinioService minioService = new FakeMinioService();
+    private final ContentPersistenceService service =
+            new ContentPersistenceService(port, new AudioStorageService(minioService));
+
+    @Test
+    void deletesTheAudioObjectTogetherWithTheContent() {
+        UUID contentId = port.add(user, "audio/processo.mp3", 0);
+
+        assertTrue(service.deleteUserContent(contentId, user));
+
+        assertEquals(List.of("audio/processo.mp3"), minioService.removed);
+        assertTrue(port.contents.isEmpty());
+    }
+
+    @Test
+    void keepsTheContentWhenTheAudioCannotBeRemoved() {
+        UUID contentId = port.add(user, "audio/falha.mp3", 0);
+        minioService.failing.add("audio/falha.mp3");
+
+        assertThrows(RuntimeException.class, () -> service.deleteUserContent(contentId, user));
+
+        assertTrue(port.contents.containsKey(contentId));
+    }
+
+    @Test
+    void doesNotDeleteContentOfAnotherUser() {
+        UUID contentId = port.add(User.builder().userId(UUID.randomUUID()).build(), "audio/outro.mp3", 0);
+
+        assertFalse(service.deleteUserContent(contentId, user));
+
+        assertTrue(minioService.removed.isEmpty());
+        assertTrue(port.contents.containsKey(contentId));
+    }
+
+    @Test
+    void deletesExpiredContentInBatchesAndLeavesSharedCacheObjects() {
+        ReflectionTestUtils.setField(service, "cleanupBatchSize", 2);
+        UUID own = port.add(user, "audio/antigo.mp3", 10);
+        UUID cached = port.add(user, "tts-cache/abc.mp3", 9);
+        UUID legacy = port.add(user, null, 9);
+        UUID failing = port.add(user, "audio/falha.mp3", 8);
+        UUID recent = port.add(user, "audio/recente.mp3", 1);
+        minioService.failing.add("audio/falha.mp3");
+
+        assertEquals(3, service.deleteExpiredContent());
+
+        assertEquals(List.of("audio/antigo.mp3"), minioService.removed);
+        assertEquals(Set.of(failing, recent), port.contents.keySet());
+        assertFalse(port.contents.containsKey(own));
+        assertFalse(port.contents.containsKey(cached));
+        assertFalse(port.contents.containsKey(legacy));
+    }
+
+    private static class FakeMinioService extends MinioService {
+
+        private final List<String> removed = new ArrayList<>();
+        private final Set<String> failing = new HashSet<>();
+
+        FakeMinioService() {
+            super("http://minio.test", "acesso", "segredo",
+                    new DependencyGuardFactory(new SimpleMeterRegistry(), 10, 2, 0.5, 30_000, 1), 1, 0, 0);
+        }
+
+        @Override
+        public void removeObject(String objectName) throws IOException {
+            if (failing.contains(objectName)) {
+                throw new IOException("MinIO indisponível");
+            }
+            removed.add(objectName);
+        }
+    }
+
+    private static class InMemoryContentGenerationPort implements ContentGenerationPortOut {
+
+        private final Map<UUID, ContentGeneration> contents = new HashMap<>();
+
+        UUID add(User owner, String audioObjectKey, int daysAgo) {
+            ContentGeneration content = ContentGeneration.builder()
+                    .contentId(UUID.randomUUID())
+                    .user(owner)
+                    .audioObjectKey(audioObjectKey)
+                    .createdAt(LocalDateTime.now(ZoneId.of("UTC")).minusDays(daysAgo))
+                    .build();
+            contents.put(content.getContentId(), content);
+            return content.getContentId();
+        }
+
+        @Override
+        public ContentGeneration saveContentGeneration(ContentGeneration contentGeneration) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public void updateCheckpoint(UUID contentId, GenerationJobStatus status, String checkpointContent) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public boolean claimForResume(UUID contentId, LocalDateTime staleBefore) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public List<ContentGeneration> saveAll(List<ContentGeneration> contentGenerations) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Optional<ContentGeneration> findById(UUID contentId) {
+            return Optional.ofNullable(contents.get(contentId));
+        }
+
+        @Override
+        public Page<ContentGeneration> findByUser(User user, Pageable pageable) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Long countByUser(User user) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public void delete(UUID contentId) {
+            contents.remove(contentId);
+        }
+
+        @Override
+        public Map<UUID, String> findAudioObjectKeysCreatedBefore(LocalDateTime date, int limit) {
+            Map<UUID, String> keys = new LinkedHashMap<>();
+            contents.values().stream()
+                    .filter(content -> content.getCreatedAt().isBefore(date))
+                    .sorted(Comparator.comparing(ContentGeneration::getCreatedAt))
+                    .limit(limit)
+                    .forEach(content -> keys.put(content.getContentId(), content.getAudioObjectKey()));
+            return keys;
+        }
+
+        @Override
+        public int deleteAll(Collection<UUID> contentIds) {
+            int deleted = 0;
+            for (UUID contentId : contentIds) {
+                if (contents.remove(contentId) != null) {
+                    deleted++;
+                }
+            }
+            return deleted;
+        }
+
+        @Override
+        public List<UUID> findIdsWithInlineAudio(int limit) {
+            throw new UnsupportedOperationException();
+        }
+    }
+}
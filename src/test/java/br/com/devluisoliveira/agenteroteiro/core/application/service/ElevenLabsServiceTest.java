@@ -0,0 +1,75 @@
+package br.com.devluisoliveira.agenteroteiro.core.application.service;
+
+import br.com.devluisoliveira.agenteroteiro.core.application.service.resilience.DependencyGuardFactory;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.client.ExpectedCount;
+import org.springframework.test.web.client.MockRestServiceServer;
+import org.springframework.web.client.RestTemplate;
+
+import java.io.IOException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withStatus;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withSuccess;
+
+/**
+ * Circuito da ElevenLabs no streaming: só falhas do provedor contam, não as de quem consome o áudio
+ */
+class ElevenLabsServiceTest {
+
+    private final RestTemplate restTemplate = new RestTemplate();
+    private final MockRestServiceServer server = MockRestServiceServer.bindTo(restTemplate).build();
+    private ElevenLabsService service;
+
+    @BeforeEach
+    void setUp() {
+        DependencyGuardFactory guardFactory = new DependencyGuardFactory(new SimpleMeterRegistry(), 10, 2, 0.5, 30_000, 1);
+        service = new ElevenLabsService(restTemplate, guardFactory, 8, 200, 0);
+        ReflectionTestUtils.setField(service, "apiUrl", "http://elevenlabs.test/v1");
+        ReflectionTestUtils.setField(service, "voiceId", "voz");
+    }
+
+    @Test
+    void handlerFailuresDoNotOpenTheCircuit() {
+        server.expect(ExpectedCount.times(4), request -> { })
+                .andRespond(withSuccess(new byte[]{1, 2, 3}, MediaType.valueOf("audio/mpeg")));
+
+        for (int i = 0; i < 4; i++) {
+            assertThrows(ElevenLabsService.AudioHandlerException.class, () -> service.streamSpeech("texto", audio -> {
+                audio.readAllBytes();
+                throw new IOException("MinIO indisponível");
+            }));
+        }
+
+        assertTrue(service.isAvailable());
+    }
+
+    @Test
+    void providerFailuresOpenTheCircuit() {
+        server.expect(ExpectedCount.times(2), request -> { })
+                .andRespond(withStatus(HttpStatus.INTERNAL_SERVER_ERROR));
+
+        for (int i = 0; i < 2; i++) {
+            assertThrows(RuntimeException.class, () -> service.streamSpeech("texto", audio -> audio.readAllBytes().length));
+        }
+
+        assertFalse(service.isAvailable());
+    }
+
+    @Test
+    void returnsTheHandlerResult() {
+        server.expect(request -> { })
+                .andRespond(withSuccess(new byte[]{1, 2, 3}, MediaType.valueOf("audio/mpeg")));
+
+        int bytes = service.streamSpeech("texto", audio -> audio.readAllBytes().length);
+        assertEquals(3, bytes);
+    }
+}
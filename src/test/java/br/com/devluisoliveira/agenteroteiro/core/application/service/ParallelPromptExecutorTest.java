@@ -0,0 +1,133 @@
+package br.com.devluisoliveira.agenteroteiro.core.application.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Fan-out dos prompts: ordem dos resultados, limite por usuário e cancelamento quando falta permissão
+ */
+class ParallelPromptExecutorTest {
+
+    private final ParallelPromptExecutor executor = new ParallelPromptExecutor(8, 1, 100, false);
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdown();
+    }
+
+    @Test
+    void returnsResultsInTaskOrder() {
+        ParallelPromptExecutor wide = new ParallelPromptExecutor(8, 4, 1_000, false);
+        try {
+            Map<String, Supplier<String>> tasks = new LinkedHashMap<>();
+            tasks.put("a", () -> sleepAndReturn(50, "A"));
+            tasks.put("b", () -> "B");
+            tasks.put("c", () -> sleepAndReturn(20, "C"));
+
+            assertEquals(Map.of("a", "A", "b", "B", "c", "C"), wide.executeAll("user-1", tasks));
+            assertEquals("[a, b, c]", wide.executeAll("user-1", tasks).keySet().toString());
+        } finally {
+            wide.shutdown();
+        }
+    }
+
+    @Test
+    void cancelsSubmittedTasksWhenAPermitTimesOut() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch interrupted = new CountDownLatch(1);
+        AtomicBoolean secondRan = new AtomicBoolean();
+
+        Map<String, Supplier<String>> tasks = new LinkedHashMap<>();
+        tasks.put("slow", () -> {
+            started.countDown();
+            try {
+                Thread.sleep(10_000);
+                return "slow";
+            } catch (InterruptedException e) {
+                interrupted.countDown();
+                throw new IllegalStateException(e);
+            }
+        });
+        tasks.put("second", () -> {
+            secondRan.set(true);
+            return "second";
+        });
+
+        // Limite por usuário = 1: a segunda tarefa espera a primeira e estoura o timeout
+        assertThrows(IllegalStateException.class, () -> executor.executeAll("user-1", tasks));
+        assertTrue(started.await(1, TimeUnit.SECONDS));
+        assertTrue(interrupted.await(1, TimeUnit.SECONDS), "a tarefa em execução deveria ser interrompida");
+        assertFalse(secondRan.get());
+
+        // As permissões voltaram: o mesmo usuário consegue executar de novo
+        assertEquals(Map.of("next", "ok"), executor.executeAll("user-1", Map.of("next", () -> "ok")));
+    }
+
+    @Test
+    void limitIsPerUser() throws InterruptedException {
+        CountDownLatch release = new CountDownLatch(1);
+        Thread blocker = Thread.ofVirtual().start(() -> executor.executeAll("user-1", Map.of("hold", () -> {
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return "done";
+        })));
+
+        try {
+            sleepAndReturn(30, null);
+            assertEquals(Map.of("other", "ok"), executor.executeAll("user-2", Map.of("other", () -> "ok")));
+            assertThrows(IllegalStateException.class,
+                    () -> executor.executeAll("user-1", Map.of("blocked", () -> "ok")));
+        } finally {
+            release.countDown();
+        }
+        assertTrue(blocker.join(Duration.ofSeconds(1)));
+    }
+
+    @Test
+    void propagatesTaskFailureAfterTheOthersFinish() {
+        ParallelPromptExecutor wide = new ParallelPromptExecutor(8, 4, 1_000, false);
+        AtomicBoolean otherFinished = new AtomicBoolean();
+        try {
+            Map<String, Supplier<String>> tasks = new LinkedHashMap<>();
+            tasks.put("fails", () -> {
+                throw new IllegalArgumentException("boom");
+            });
+            tasks.put("ok", () -> {
+                sleepAndReturn(50, null);
+                otherFinished.set(true);
+                return "ok";
+            });
+
+            IllegalArgumentException e = assertThrows(IllegalArgumentException.class, () -> wide.executeAll("user-1", tasks));
+            assertEquals("boom", e.getMessage());
+            assertTrue(otherFinished.get());
+        } finally {
+            wide.shutdown();
+        }
+    }
+
+    private static String sleepAndReturn(long millis, String value) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return value;
+    }
+}
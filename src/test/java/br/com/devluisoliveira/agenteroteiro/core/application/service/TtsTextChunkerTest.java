@@ -0,0 +1,75 @@
+package br.com.devluisoliveira.agenteroteiro.core.application.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Divisão do roteiro em trechos de TTS
+ */
+class TtsTextChunkerTest {
+
+    @Test
+    void keepsShortTextInASingleChunkEvenWhenParagraphAligned() {
+        TtsTextChunker chunker = new TtsTextChunker(100, true);
+
+        List<String> chunks = chunker.split("Primeiro parágrafo.\n\nSegundo parágrafo.\n\nTerceiro.");
+
+        assertEquals(List.of("Primeiro parágrafo.\n\nSegundo parágrafo.\n\nTerceiro."), chunks);
+    }
+
+    @Test
+    void startsEachParagraphInANewChunkWhenAlignedAndTheTextDoesNotFit() {
+        TtsTextChunker chunker = new TtsTextChunker(30, true);
+
+        List<String> chunks = chunker.split("Um parágrafo curto.\n\nOutro curto.\n\nMais um.");
+
+        assertEquals(List.of("Um parágrafo curto.", "Outro curto.", "Mais um."), chunks);
+    }
+
+    @Test
+    void groupsWholeParagraphsWhileTheyFit() {
+        TtsTextChunker chunker = new TtsTextChunker(40, false);
+
+        List<String> chunks = chunker.split("Primeiro parágrafo.\n\nSegundo.\n\n  \n\nTerceiro parágrafo aqui.");
+
+        assertEquals(List.of("Primeiro parágrafo.\n\nSegundo.", "Terceiro parágrafo aqui."), chunks);
+    }
+
+    @Test
+    void splitsLongParagraphsAtSentenceBoundaries() {
+        TtsTextChunker chunker = new TtsTextChunker(30, false);
+
+        List<String> chunks = chunker.split("Frase um é esta. Frase dois aqui! E a três? Fim…");
+
+        assertEquals(List.of("Frase um é esta.", "Frase dois aqui! E a três?", "Fim…"), chunks);
+    }
+
+    @Test
+    void cutsSentencesLongerThanTheLimitAtTheLastSpace() {
+        TtsTextChunker chunker = new TtsTextChunker(10, false);
+
+        List<String> chunks = chunker.split("aaaa bbbb cccc dddd ee");
+
+        assertEquals(List.of("aaaa bbbb", "cccc dddd", "ee"), chunks);
+        chunks.forEach(chunk -> assertTrue(chunk.length() <= 10));
+    }
+
+    @Test
+    void cutsWordsLongerThanTheLimitAtTheLimit() {
+        TtsTextChunker chunker = new TtsTextChunker(4, false);
+
+        assertEquals(List.of("abcd", "efgh", "ij"), chunker.split("abcdefghij"));
+    }
+
+    @Test
+    void returnsNoChunksForBlankText() {
+        TtsTextChunker chunker = new TtsTextChunker(100, false);
+
+        assertTrue(chunker.split(null).isEmpty());
+        assertTrue(chunker.split("  \n\n ").isEmpty());
+    }
+}
@@ -0,0 +1,49 @@
+package br.com.devluisoliveira.agenteroteiro.core.application.service.agentStyle;
+
+import br.com.devluisoliveira.agenteroteiro.core.application.service.enums.PhilosopherType;
+import br.com.devluisoliveira.agenteroteiro.core.application.service.enums.PrayerStyle;
+import br.com.devluisoliveira.agenteroteiro.core.application.service.enums.PrayerType;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+/**
+ * Descritores pré-calculados: combinações de oração e índice de nomes de filósofos
+ */
+class StyleDescriptorRegistryTest {
+
+    private final StyleDescriptorRegistry registry = new StyleDescriptorRegistry();
+
+    @Test
+    void everyPrayerCombinationIsRenderedOnceIncludingMissingStyleOrType() {
+        for (PrayerStyle style : PrayerStyle.values()) {
+            for (PrayerType type : PrayerType.values()) {
+                String combined = registry.combinedPrayerCharacteristics(style, type);
+
+                assertEquals("## CARACTERÍSTICAS DO ESTILO DE ORAÇÃO\n" + registry.prayerStyle(style)
+                        + "\n\n## CARACTERÍSTICAS DO TIPO DE ORAÇÃO\n" + registry.prayerType(type), combined);
+                assertSame(combined, registry.combinedPrayerCharacteristics(style, type));
+            }
+        }
+
+        assertEquals("## CARACTERÍSTICAS DO ESTILO DE ORAÇÃO\n" + registry.prayerStyle(null)
+                        + "\n\n## CARACTERÍSTICAS DO TIPO DE ORAÇÃO\n" + registry.prayerType(PrayerType.INTERCESSION),
+                registry.combinedPrayerCharacteristics(null, PrayerType.INTERCESSION));
+    }
+
+    @Test
+    void philosophersAreFoundByNameAliasOrApproximateSpelling() {
+        assertEquals(PhilosopherType.MARCO_AURELIO, registry.findPhilosopher("Marco Aurélio"));
+        assertEquals(PhilosopherType.MARCO_AURELIO, registry.findPhilosopher("  MARCO AURELIO "));
+        assertEquals(PhilosopherType.MARCO_AURELIO, registry.findPhilosopher("marcus aurelius"));
+        assertEquals(PhilosopherType.SENECA, registry.findPhilosopher("seneca"));
+        assertEquals(PhilosopherType.EPICTETO, registry.findPhilosopher("Epictetus"));
+        assertEquals(PhilosopherType.POSIDONIO_DE_APAMEIA, registry.findPhilosopher("Posidonio de Apameia, o viajante"));
+        assertNull(registry.findPhilosopher("Platão"));
+        assertNull(registry.findPhilosopher(" "));
+
+        assertEquals(registry.philosopherStyle(null), registry.philosopherStyle(PhilosopherType.DIODORO_CRONOS));
+    }
+}
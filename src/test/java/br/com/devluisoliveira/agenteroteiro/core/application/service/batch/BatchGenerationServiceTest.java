@@ -0,0 +1,303 @@
+package br.com.devluisoliveira.agenteroteiro.core.application.service.batch;
+
+import br.com.devluisoliveira.agenteroteiro.core.application.mapper.GenericGeneraMapper;
+import br.com.devluisoliveira.agenteroteiro.core.application.service.AgentGenerationService;
+import br.com.devluisoliveira.agenteroteiro.core.application.service.PrayerContentService;
+import br.com.devluisoliveira.agenteroteiro.core.application.service.StoicContentService;
+import br.com.devluisoliveira.agenteroteiro.core.application.service.context.GenerationContext;
+import br.com.devluisoliveira.agenteroteiro.core.application.service.enums.AgentType;
+import br.com.devluisoliveira.agenteroteiro.core.application.service.enums.DurationType;
+import br.com.devluisoliveira.agenteroteiro.core.application.service.enums.GenerationJobStatus;
+import br.com.devluisoliveira.agenteroteiro.core.domain.entity.ContentGeneration;
+import br.com.devluisoliveira.agenteroteiro.core.domain.entity.User;
+import br.com.devluisoliveira.agenteroteiro.core.port.in.dto.BatchGenerationRequest;
+import br.com.devluisoliveira.agenteroteiro.core.port.in.dto.PrayerContentGenerationRequest;
+import br.com.devluisoliveira.agenteroteiro.core.port.in.dto.StoicContentGenerationRequest;
+import br.com.devluisoliveira.agenteroteiro.core.port.out.ContentGenerationPortOut;
+import br.com.devluisoliveira.agenteroteiro.core.port.out.response.dto.BatchGenerationResponse;
+import br.com.devluisoliveira.agenteroteiro.core.port.out.response.dto.BatchItemResponse;
+import br.com.devluisoliveira.agenteroteiro.core.port.out.response.dto.ContentGenerationResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Lote síncrono com serviços simulados: uma chamada por item, deduplicação opcional e falha parcial
+ */
+class BatchGenerationServiceTest {
+
+    private final User user = User.builder().userId(UUID.randomUUID()).username("joao").build();
+    private final FakeAgentGenerationService agentGenerationService = new FakeAgentGenerationService();
+    private final InMemoryContentGenerationPort contentGenerationPort = new InMemoryContentGenerationPort();
+    private final BatchGenerationService service = new BatchGenerationService(agentGenerationService,
+            new FakePrayerContentService(), new FakeStoicContentService(), new GenericGeneraMapper(),
+            contentGenerationPort, null, null, new ObjectMapper(), 2, 50, 50, 1000, 2, 120, new SimpleMeterRegistry());
+
+    @AfterEach
+    void tearDown() {
+        service.shutdown();
+    }
+
+    @Test
+    void generatesEveryItemSeparatelyByDefault() throws InterruptedException {
+        BatchGenerationRequest request = new BatchGenerationRequest();
+        request.setPrayers(List.of(prayer("Gratidão"), prayer("Gratidão")));
+        request.setStoics(List.of(stoic("Sêneca")));
+
+        BatchGenerationResponse submitted = service.submitBatch(user, request);
+        BatchGenerationResponse finished = awaitFinished(submitted.getBatchId());
+
+        assertEquals(3, submitted.getUniquePrompts());
+        assertEquals(3, agentGenerationService.calls.get());
+        assertEquals(3, finished.getCompletedItems());
+        assertEquals(GenerationJobStatus.COMPLETED.name(), finished.getStatus());
+        assertEquals(3, contentGenerationPort.saved.size());
+        assertTrue(contentGenerationPort.saved.stream().allMatch(content -> content.getUser() == user));
+    }
+
+    @Test
+    void equivalentItemsShareOneCallWhenDeduplicating() throws InterruptedException {
+        BatchGenerationRequest request = new BatchGenerationRequest();
+        request.setDeduplicate(true);
+        request.setPrayers(List.of(prayer("Gratidão"), prayer("Gratidão"), prayer("Perdão")));
+
+        BatchGenerationResponse submitted = service.submitBatch(user, request);
+        BatchGenerationResponse finished = awaitFinished(submitted.getBatchId());
+
+        assertEquals(2, submitted.getUniquePrompts());
+        assertEquals(2, agentGenerationService.calls.get());
+        assertEquals(3, finished.getCompletedItems());
+        // Os itens equivalentes recebem o mesmo texto, cada um com o seu processId
+        Map<String, Long> texts = contentGenerationPort.saved.stream()
+                .collect(Collectors.groupingBy(ContentGeneration::getText, Collectors.counting()));
+        assertEquals(Map.of("Texto para: PRAYER:Gratidão", 2L, "Texto para: PRAYER:Perdão", 1L), texts);
+        assertEquals(3, contentGenerationPort.saved.stream().map(ContentGeneration::getContentId).distinct().count());
+    }
+
+    @Test
+    void failedItemsDoNotStopTheRestOfTheBatch() throws InterruptedException {
+        BatchGenerationRequest request = new BatchGenerationRequest();
+        request.setPrayers(List.of(prayer("Gratidão"), prayer(null)));
+        request.setStoics(List.of(stoic("Sêneca"), stoic(FakeAgentGenerationService.FAILING)));
+
+        BatchGenerationResponse submitted = service.submitBatch(user, request);
+        BatchGenerationResponse finished = awaitFinished(submitted.getBatchId());
+
+        // Item inválido é recusado na preparação, sem chamar a IA
+        assertEquals(3, submitted.getUniquePrompts());
+        assertEquals(2, finished.getCompletedItems());
+        assertEquals(2, finished.getFailedItems());
+        assertEquals(GenerationJobStatus.COMPLETED.name(), finished.getStatus());
+        assertEquals(2, contentGenerationPort.saved.size());
+
+        Map<String, String> messages = finished.getItems().stream()
+                .filter(item -> GenerationJobStatus.FAILED.name().equals(item.getStatus()))
+                .collect(Collectors.toMap(BatchItemResponse::getTitle, BatchItemResponse::getMessage));
+        assertTrue(messages.get("Oração: sem tema").contains("tema"));
+        assertTrue(messages.get("Estoico: " + FakeAgentGenerationService.FAILING).contains("provedor indisponível"));
+    }
+
+    private BatchGenerationResponse awaitFinished(UUID batchId) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (System.currentTimeMillis() < deadline) {
+            BatchGenerationResponse response = service.findBatch(user, batchId).orElseThrow();
+            if (response.getProgress() == 100
+                    && response.getCompletedItems() + response.getFailedItems() == response.getTotalItems()) {
+                return response;
+            }
+            Thread.sleep(10);
+        }
+        throw new AssertionError("Lote " + batchId + " não terminou a tempo");
+    }
+
+    private static PrayerContentGenerationRequest prayer(String theme) {
+        PrayerContentGenerationRequest request = new PrayerContentGenerationRequest();
+        request.setTheme(theme);
+        request.setTitle("Oração: " + (theme != null ? theme : "sem tema"));
+        request.setDurationType(DurationType.MINUTES_30);
+        return request;
+    }
+
+    private static StoicContentGenerationRequest stoic(String philosopher) {
+        StoicContentGenerationRequest request = new StoicContentGenerationRequest();
+        request.setPhilosopherName(philosopher);
+        request.setTitle("Estoico: " + philosopher);
+        request.setDurationType(DurationType.MINUTES_30);
+        return request;
+    }
+
+    private static GenerationContext context(String processId, AgentType agentType, String theme, DurationType durationType) {
+        return GenerationContext.builder()
+                .processId(processId)
+                .agentType(agentType)
+                .theme(theme)
+                .durationType(durationType)
+                .build();
+    }
+
+    private static String processId(String processId) {
+        return processId != null && !processId.isEmpty() ? processId : UUID.randomUUID().toString();
+    }
+
+    /**
+     * O prompt é o agente mais o tema; a IA devolve um texto derivado do prompt ou falha para o tema FAILING
+     */
+    private static class FakeAgentGenerationService extends AgentGenerationService {
+
+        static final String FAILING = "Falha";
+
+        private final AtomicInteger calls = new AtomicInteger();
+
+        FakeAgentGenerationService() {
+            super(Collections.emptyList(), null, null, null, null, null, null, null, null, 0);
+        }
+
+        @Override
+        public String preparePrompt(GenerationContext context) {
+            return context.getAgentType() + ":" + context.getTheme();
+        }
+
+        @Override
+        public String promptKey(String prompt) {
+            return prompt;
+        }
+
+        @Override
+        public String generateFromPrompt(String prompt, AgentType agentType, DurationType durationType) {
+            calls.incrementAndGet();
+            if (prompt.endsWith(FAILING)) {
+                throw new IllegalStateException("provedor indisponível");
+            }
+            return "Texto para: " + prompt;
+        }
+
+        @Override
+        public ContentGenerationResponse processResponse(String aiResponse, GenerationContext context) {
+            return ContentGenerationResponse.builder()
+                    .processId(UUID.fromString(context.getProcessId()))
+                    .agentType(context.getAgentType())
+                    .title(context.getTheme())
+                    .text(aiResponse)
+                    .status("COMPLETED")
+                    .build();
+        }
+    }
+
+    private static class FakePrayerContentService extends PrayerContentService {
+
+        FakePrayerContentService() {
+            super(null, null, null, null, null, null, null, null);
+        }
+
+        @Override
+        public GenerationContext prepareContext(PrayerContentGenerationRequest request) {
+            if (request.getTheme() == null) {
+                throw new IllegalArgumentException("O tema da oração é obrigatório");
+            }
+            request.setProcessId(processId(request.getProcessId()));
+            return context(request.getProcessId(), AgentType.PRAYER, request.getTheme(), request.getDurationType());
+        }
+
+        @Override
+        public ContentGenerationResponse completeResponse(ContentGenerationResponse response,
+                                                          PrayerContentGenerationRequest request) {
+            return response;
+        }
+    }
+
+    private static class FakeStoicContentService extends StoicContentService {
+
+        FakeStoicContentService() {
+            super(null, null, null, null, null);
+        }
+
+        @Override
+        public GenerationContext prepareContext(StoicContentGenerationRequest request) {
+            request.setProcessId(processId(request.getProcessId()));
+            return context(request.getProcessId(), AgentType.STOICISM, request.getPhilosopherName(),
+                    request.getDurationType());
+        }
+    }
+
+    private static class InMemoryContentGenerationPort implements ContentGenerationPortOut {
+
+        private final List<ContentGeneration> saved = Collections.synchronizedList(new ArrayList<>());
+        private final Map<UUID, ContentGeneration> byId = new ConcurrentHashMap<>();
+
+        @Override
+        public ContentGeneration saveContentGeneration(ContentGeneration contentGeneration) {
+            saved.add(contentGeneration);
+            byId.put(contentGeneration.getContentId(), contentGeneration);
+            return contentGeneration;
+        }
+
+        @Override
+        public void updateCheckpoint(UUID contentId, GenerationJobStatus status, String checkpointContent) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public boolean claimForResume(UUID contentId, LocalDateTime staleBefore) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public List<ContentGeneration> saveAll(List<ContentGeneration> contentGenerations) {
+            contentGenerations.forEach(this::saveContentGeneration);
+            return new ArrayList<>(contentGenerations);
+        }
+
+        @Override
+        public Optional<ContentGeneration> findById(UUID contentId) {
+            return Optional.ofNullable(byId.get(contentId));
+        }
+
+        @Override
+        public Page<ContentGeneration> findByUser(User user, Pageable pageable) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Long countByUser(User user) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public void delete(UUID contentId) {
+            byId.remove(contentId);
+        }
+
+        @Override
+        public Map<UUID, String> findAudioObjectKeysCreatedBefore(LocalDateTime date, int limit) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public int deleteAll(Collection<UUID> contentIds) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public List<UUID> findIdsWithInlineAudio(int limit) {
+            throw new UnsupportedOperationException();
+        }
+    }
+}
@@ -0,0 +1,176 @@
+package br.com.devluisoliveira.agenteroteiro.core.application.service.batch.offline;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Ciclo completo do modo offline com o provedor local: fila -> arquivo JSONL -> envio -> consulta -> entrega
+ */
+class OfflineBatchServiceTest {
+
+    @TempDir
+    Path workDir;
+
+    private final Map<String, String> results = new ConcurrentHashMap<>();
+    private final Map<String, String> failures = new ConcurrentHashMap<>();
+
+    @Test
+    void deliversEveryPromptAfterTheProviderFinishes() throws Exception {
+        OfflineBatchService service = new OfflineBatchService(new LocalStubBatchProvider(2), workDir, 2, new SimpleMeterRegistry());
+
+        service.enqueue(prompt("a", "Oração pela família"));
+        service.enqueue(prompt("b", "Oração pela manhã"));
+        service.enqueue(prompt("c", "Sêneca sobre o tempo"));
+
+        // Três prompts com limite de dois por arquivo: dois lotes enviados, cada um com JSONL e manifesto
+        service.submitPending();
+        assertEquals(0, service.getPendingCount());
+        assertEquals(2, service.getSubmittedCount());
+        try (var files = Files.list(workDir)) {
+            assertEquals(4, files.count());
+        }
+
+        // Primeira consulta: ainda em processamento
+        service.pollSubmitted();
+        assertTrue(results.isEmpty());
+
+        service.pollSubmitted();
+        assertEquals(3, results.size());
+        assertTrue(failures.isEmpty());
+        assertEquals(0, service.getSubmittedCount());
+        assertTrue(results.get("a").contains(String.valueOf("Oração pela família".length())));
+        try (var files = Files.list(workDir)) {
+            assertEquals(0, files.count());
+        }
+    }
+
+    @Test
+    void failsPromptsWhenSubmissionFails() {
+        OfflineBatchProvider failingProvider = new LocalStubBatchProvider(1) {
+            @Override
+            public String submit(Path jsonlFile) {
+                throw new IllegalStateException("provedor indisponível");
+            }
+        };
+        OfflineBatchService service = new OfflineBatchService(failingProvider, workDir, 10, new SimpleMeterRegistry());
+
+        service.enqueue(prompt("a", "Oração pela família"));
+        service.submitPending();
+
+        assertEquals(0, service.getSubmittedCount());
+        assertTrue(results.isEmpty());
+        assertTrue(failures.get("a").contains("provedor indisponível"));
+    }
+
+    @Test
+    void keepsTrackingTheBatchWhenTheManifestCannotBeWritten() throws Exception {
+        OfflineBatchProvider provider = new LocalStubBatchProvider(1) {
+            @Override
+            public String submit(Path jsonlFile) {
+                String id = super.submit(jsonlFile);
+                // Um diretório no lugar do manifesto temporário faz a gravação falhar depois do envio
+                String name = jsonlFile.getFileName().toString().replace(".jsonl", ".manifest.json.tmp");
+                try {
+                    Files.createDirectories(jsonlFile.resolveSibling(name).resolve("ocupado"));
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+                return id;
+            }
+        };
+        OfflineBatchService service = new OfflineBatchService(provider, workDir, 10, new SimpleMeterRegistry());
+
+        service.enqueue(prompt("a", "Oração pela família"));
+        service.submitPending();
+
+        // O lote já foi aceito pelo provedor: os prompts não podem ser dados como falhos
+        assertTrue(failures.isEmpty());
+        assertEquals(1, service.getSubmittedCount());
+
+        service.pollSubmitted();
+        assertEquals(1, results.size());
+        assertTrue(failures.isEmpty());
+    }
+
+    @Test
+    void failsPromptsMissingFromTheProviderResult() {
+        OfflineBatchProvider partialProvider = new LocalStubBatchProvider(1) {
+            @Override
+            public OfflineBatchResult poll(String providerBatchId) {
+                return OfflineBatchResult.finished(Map.of(), Map.of("a", "limite de tokens excedido"), "Batch expired");
+            }
+        };
+        OfflineBatchService service = new OfflineBatchService(partialProvider, workDir, 10, new SimpleMeterRegistry());
+
+        service.enqueue(prompt("a", "Oração pela família"));
+        service.enqueue(prompt("b", "Oração pela manhã"));
+        service.submitPending();
+        service.pollSubmitted();
+
+        assertTrue(results.isEmpty());
+        assertEquals("limite de tokens excedido", failures.get("a"));
+        assertTrue(failures.get("b").contains("Batch expired"));
+    }
+
+    @Test
+    void recoversSubmittedBatchesAfterARestart() throws Exception {
+        LocalStubBatchProvider provider = new LocalStubBatchProvider(1);
+        OfflineBatchService before = new OfflineBatchService(provider, workDir, 10, new SimpleMeterRegistry());
+        before.enqueue(prompt("a", "Oração pela família", "item-a"));
+        before.enqueue(prompt("b", "Oração pela manhã", null));
+        before.submitPending();
+
+        // Nova instância no mesmo diretório: os destinos vêm do payload gravado no manifesto
+        OfflineBatchService after = new OfflineBatchService(provider, workDir, 10, new SimpleMeterRegistry());
+        List<OfflinePrompt> stored = new ArrayList<>();
+        int recovered = after.recoverSubmitted(prompts -> {
+            stored.addAll(prompts);
+            Map<String, OfflinePrompt> restored = new HashMap<>();
+            prompts.stream()
+                    .filter(prompt -> prompt.payload() != null)
+                    .forEach(prompt -> restored.put(prompt.customId(), new OfflinePrompt(prompt.customId(), prompt.prompt(),
+                            prompt.maxTokens(), prompt.payload(),
+                            response -> results.put(prompt.payload(), response.content()),
+                            error -> failures.put(prompt.payload(), error))));
+            return restored;
+        });
+
+        assertEquals(1, recovered);
+        assertEquals(2, stored.size());
+        assertEquals(1_000, stored.get(0).maxTokens());
+        assertEquals(1, after.getSubmittedCount());
+
+        after.pollSubmitted();
+        assertEquals(Map.of("item-a", "Conteúdo simulado (lote offline) para um prompt de 19 caracteres"), results);
+        try (var files = Files.list(workDir)) {
+            assertEquals(0, files.count());
+        }
+
+        // Sem manifestos, nada a recuperar
+        assertEquals(0, new OfflineBatchService(provider, workDir, 10, new SimpleMeterRegistry()).recoverSubmitted(prompts -> Map.of()));
+    }
+
+    private OfflinePrompt prompt(String customId, String text) {
+        return prompt(customId, text, null);
+    }
+
+    private OfflinePrompt prompt(String customId, String text, String payload) {
+        return new OfflinePrompt(customId, text, 1_000, payload,
+                response -> results.put(customId, response.content()),
+                error -> failures.put(customId, error));
+    }
+}
@@ -0,0 +1,51 @@
+package br.com.devluisoliveira.agenteroteiro.core.application.service.cache;
+
+import br.com.devluisoliveira.agenteroteiro.core.application.service.enums.AgentType;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Chave do cache de respostas: o que separa e o que junta pedidos
+ */
+class GenerationResponseCacheTest {
+
+    private static final String PROMPT = "Escreva uma oração pela família. Processo 3f1c2a7e-1b2c-4d5e-8f90-123456789abc";
+
+    private final GenerationResponseCache cache = new GenerationResponseCache(
+            new ConcurrentMapCacheManager(GenerationResponseCache.CACHE_NAME), new SimpleMeterRegistry(), true, false, List.of());
+
+    @Test
+    void keySeparatesProvidersModelsAndTokenLimits() {
+        String key = cache.buildKey(PROMPT, "openai", "gpt-4o", 0.7, 4_000);
+
+        assertNotEquals(key, cache.buildKey(PROMPT, "anthropic", "gpt-4o", 0.7, 4_000));
+        assertNotEquals(key, cache.buildKey(PROMPT, "openai", "gpt-4o-mini", 0.7, 4_000));
+        assertNotEquals(key, cache.buildKey(PROMPT, "openai", "gpt-4o", 0.7, 8_000));
+        assertNotEquals(key, cache.buildKey(PROMPT, "openai", "gpt-4o", 0.7, null));
+    }
+
+    @Test
+    void processIdAndWhitespaceDoNotChangeTheKey() {
+        String other = "Escreva  uma ORAÇÃO pela família.\nProcesso 00000000-0000-0000-0000-000000000000";
+
+        assertEquals(cache.buildKey(PROMPT, "openai", "gpt-4o", 0.7, 4_000),
+                cache.buildKey(other, "openai", "gpt-4o", 0.7, 4_000));
+        assertEquals(cache.promptKey(PROMPT), cache.promptKey(other));
+    }
+
+    @Test
+    void storedResponseIsOnlyServedForTheSameKey() {
+        cache.put(cache.buildKey(PROMPT, "anthropic", "claude-3-5-sonnet", 0.7, 4_000), "resposta da reserva");
+
+        assertTrue(cache.get(AgentType.PRAYER, cache.buildKey(PROMPT, "openai", "gpt-4o", 0.7, 4_000)).isEmpty());
+        assertEquals("resposta da reserva",
+                cache.get(AgentType.PRAYER, cache.buildKey(PROMPT, "anthropic", "claude-3-5-sonnet", 0.7, 4_000)).orElseThrow());
+    }
+}
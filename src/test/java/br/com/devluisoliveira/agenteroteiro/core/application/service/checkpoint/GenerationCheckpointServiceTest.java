@@ -0,0 +1,190 @@
+package br.com.devluisoliveira.agenteroteiro.core.application.service.checkpoint;
+
+import br.com.devluisoliveira.agenteroteiro.core.application.service.enums.ContentType;
+import br.com.devluisoliveira.agenteroteiro.core.application.service.enums.DurationType;
+import br.com.devluisoliveira.agenteroteiro.core.application.service.enums.GenerationJobStatus;
+import br.com.devluisoliveira.agenteroteiro.core.application.utils.SectionHeaders;
+import br.com.devluisoliveira.agenteroteiro.core.application.utils.SectionStreamParser;
+import br.com.devluisoliveira.agenteroteiro.core.domain.entity.ContentGeneration;
+import br.com.devluisoliveira.agenteroteiro.core.domain.entity.User;
+import br.com.devluisoliveira.agenteroteiro.core.port.in.dto.ContentGenerationRequest;
+import br.com.devluisoliveira.agenteroteiro.core.port.out.ContentGenerationPortOut;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checkpoints gravados durante o streaming e a retomada a partir deles, com a persistência em memória
+ */
+class GenerationCheckpointServiceTest {
+
+    private static final SectionHeaders HEADERS = SectionHeaders.of(Map.of(
+            "DESCRIÇÃO DO VÍDEO", ContentType.DESCRIPTION,
+            "ROTEIRO", ContentType.SCRIPT,
+            "TAGS", ContentType.TAGS));
+
+    private final InMemoryContentGenerationPort port = new InMemoryContentGenerationPort();
+    private final GenerationCheckpointService service = new GenerationCheckpointService(port, new ObjectMapper(), true, 20, 60_000);
+
+    @Test
+    void savesCompletedSectionsAndThePartialScriptBeforeTheFailure() {
+        ContentGenerationRequest request = request();
+        GenerationCheckpoint checkpoint = service.start(new User(), request);
+        SectionStreamParser parser = new SectionStreamParser(HEADERS, checkpoint);
+
+        parser.accept("### DESCRIÇÃO DO VÍDEO\nSobre a impermanência.\n### ROTEIRO\n");
+        parser.accept("Primeira parte do roteiro, longa o bastante.\nSegunda parte do rot");
+        service.fail(checkpoint);
+
+        ContentGeneration saved = port.saved.get(UUID.fromString(request.getProcessId()));
+        assertEquals(GenerationJobStatus.FAILED, saved.getGenerationStatus());
+        assertTrue(service.isResumable(saved));
+
+        // Uma gravação completa (o INSERT) e depois só o status e o JSON do checkpoint
+        assertEquals(1, port.fullSaves);
+        assertTrue(port.checkpointUpdates > 1);
+        assertEquals("", saved.getText());
+
+        CheckpointContent content = service.readContent(saved);
+        assertEquals(Map.of(ContentType.DESCRIPTION, "Sobre a impermanência."), content.sections());
+        assertEquals(ContentType.SCRIPT, content.partialType());
+        assertEquals("Primeira parte do roteiro, longa o bastante.\n", content.partialContent());
+        assertEquals("Sobre a impermanência.", content.textOf(ContentType.DESCRIPTION));
+        assertEquals("Primeira parte do roteiro, longa o bastante.\n", content.textOf(ContentType.SCRIPT));
+
+        ContentGenerationRequest restored = service.readRequest(saved);
+        assertEquals(DurationType.MINUTES_30, restored.getDurationType());
+        assertEquals(request.getContentTypes(), restored.getContentTypes());
+    }
+
+    @Test
+    void resumedGenerationCannotBeResumedTwiceAtTheSameTime() {
+        GenerationCheckpoint checkpoint = service.start(new User(), request());
+        service.fail(checkpoint);
+        ContentGeneration saved = port.saved.values().iterator().next();
+
+        service.resume(saved);
+
+        assertFalse(service.isResumable(saved));
+        assertThrows(IllegalStateException.class, () -> service.resume(saved));
+    }
+
+    @Test
+    void runningGenerationIsResumableOnlyAfterTheLeaseExpires() {
+        service.start(new User(), request());
+        ContentGeneration saved = port.saved.values().iterator().next();
+
+        // Outra instância ainda gravando checkpoints
+        assertFalse(service.isResumable(saved));
+        assertThrows(IllegalStateException.class, () -> service.resume(saved));
+
+        // Sem checkpoint há mais que a lease: a instância que gerava parou
+        saved.setUpdatedAt(LocalDateTime.now().minusMinutes(5));
+        assertTrue(service.isResumable(saved));
+        service.resume(saved);
+
+        assertEquals(GenerationJobStatus.RUNNING, saved.getGenerationStatus());
+        assertFalse(service.isResumable(saved));
+    }
+
+    private static ContentGenerationRequest request() {
+        ContentGenerationRequest request = new ContentGenerationRequest();
+        request.setProcessId(UUID.randomUUID().toString());
+        request.setTitle("Impermanência");
+        request.setVideoTopic("Estoicismo");
+        request.setDurationType(DurationType.MINUTES_30);
+        request.setContentTypes(List.of(ContentType.DESCRIPTION, ContentType.SCRIPT, ContentType.TAGS));
+        return request;
+    }
+
+    private static class InMemoryContentGenerationPort implements ContentGenerationPortOut {
+
+        private final Map<UUID, ContentGeneration> saved = new HashMap<>();
+        private int fullSaves;
+        private int checkpointUpdates;
+
+        @Override
+        public ContentGeneration saveContentGeneration(ContentGeneration contentGeneration) {
+            fullSaves++;
+            saved.put(contentGeneration.getContentId(), contentGeneration);
+            return contentGeneration;
+        }
+
+        @Override
+        public void updateCheckpoint(UUID contentId, GenerationJobStatus status, String checkpointContent) {
+            checkpointUpdates++;
+            ContentGeneration row = saved.get(contentId);
+            row.setGenerationStatus(status);
+            row.setCheckpointContent(checkpointContent);
+            row.setUpdatedAt(LocalDateTime.now());
+        }
+
+        @Override
+        public boolean claimForResume(UUID contentId, LocalDateTime staleBefore) {
+            ContentGeneration row = saved.get(contentId);
+            boolean abandoned = row.getGenerationStatus() == GenerationJobStatus.FAILED
+                    || (row.getGenerationStatus() == GenerationJobStatus.RUNNING && row.getUpdatedAt().isBefore(staleBefore));
+            if (abandoned) {
+                row.setGenerationStatus(GenerationJobStatus.RUNNING);
+                row.setUpdatedAt(LocalDateTime.now());
+            }
+            return abandoned;
+        }
+
+        @Override
+        public List<ContentGeneration> saveAll(List<ContentGeneration> contentGenerations) {
+            contentGenerations.forEach(this::saveContentGeneration);
+            return new ArrayList<>(contentGenerations);
+        }
+
+        @Override
+        public Optional<ContentGeneration> findById(UUID contentId) {
+            return Optional.ofNullable(saved.get(contentId));
+        }
+
+        @Override
+        public Page<ContentGeneration> findByUser(User user, Pageable pageable) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Long countByUser(User user) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public void delete(UUID contentId) {
+            saved.remove(contentId);
+        }
+
+        @Override
+        public Map<UUID, String> findAudioObjectKeysCreatedBefore(LocalDateTime date, int limit) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public int deleteAll(Collection<UUID> contentIds) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public List<UUID> findIdsWithInlineAudio(int limit) {
+            return List.of();
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package br.com.devluisoliveira.agenteroteiro.core.application.service.context;
+
+import br.com.devluisoliveira.agenteroteiro.core.application.service.enums.AgentType;
+import br.com.devluisoliveira.agenteroteiro.core.application.service.enums.ContentType;
+import br.com.devluisoliveira.agenteroteiro.core.application.service.enums.DurationType;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Campos derivados calculados na construção do contexto
+ */
+class GenerationContextTest {
+
+    @Test
+    void durationIsDerivedFromTheTargetMinutesWhenNotGiven() {
+        GenerationContext context = GenerationContext.builder()
+                .agentType(AgentType.STOICISM)
+                .targetMinutes(14)
+                .build();
+
+        assertEquals(DurationType.MINUTES_15, context.getDurationType());
+        assertEquals(14, context.getTargetMinutes());
+        assertEquals("pt_BR", context.getLanguage());
+        assertTrue(context.isIncludeCallToAction());
+    }
+
+    @Test
+    void shortVersionIsOnlyRequestedForLongerVideos() {
+        List<ContentType> requested = List.of(ContentType.SHORTS_IDEA, ContentType.SCRIPT);
+
+        GenerationContext shortVideo = GenerationContext.builder()
+                .durationType(DurationType.SECONDS_60)
+                .generateShortVersion(true)
+                .contentTypes(requested)
+                .build();
+        GenerationContext longVideo = GenerationContext.builder()
+                .durationType(DurationType.MINUTES_20)
+                .generateShortVersion(true)
+                .contentTypes(requested)
+                .build();
+
+        assertFalse(shortVideo.hasSection(ContentType.SHORTS_IDEA));
+        assertTrue(longVideo.hasSection(ContentType.SHORTS_IDEA));
+        assertEquals(List.of(ContentType.SCRIPT, ContentType.SHORTS_IDEA), List.copyOf(longVideo.getContentTypes()));
+        assertThrows(UnsupportedOperationException.class, () -> longVideo.getContentTypes().add(ContentType.TAGS));
+    }
+}
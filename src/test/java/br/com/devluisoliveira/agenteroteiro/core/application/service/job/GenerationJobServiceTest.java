@@ -0,0 +1,161 @@
+package br.com.devluisoliveira.agenteroteiro.core.application.service.job;
+
+import br.com.devluisoliveira.agenteroteiro.core.application.service.enums.GenerationJobStatus;
+import br.com.devluisoliveira.agenteroteiro.core.port.out.response.dto.ContentGenerationResponse;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Motor de jobs: admissão na fila limitada, transições de status/progresso e remoção dos jobs finalizados
+ */
+class GenerationJobServiceTest {
+
+    private final CountDownLatch release = new CountDownLatch(1);
+    private GenerationJobService service;
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        service.shutdown();
+    }
+
+    @Test
+    void rejectsJobsWhenTheQueueIsFull() throws InterruptedException {
+        service = new GenerationJobService(1, 1, 1, 60, false, new SimpleMeterRegistry());
+        assertRejectsTheThirdJob();
+    }
+
+    @Test
+    void rejectsJobsWhenTheQueueIsFullWithVirtualThreads() throws InterruptedException {
+        service = new GenerationJobService(1, 1, 1, 60, true, new SimpleMeterRegistry());
+        assertRejectsTheThirdJob();
+    }
+
+    @Test
+    void rejectsASecondJobForTheSameProcess() {
+        service = new GenerationJobService(1, 1, 1, 60, false, new SimpleMeterRegistry());
+        service.submit("processo", UUID.randomUUID(), 100, job -> blockUntilReleased());
+
+        assertThrows(IllegalStateException.class,
+                () -> service.submit("processo", UUID.randomUUID(), 100, job -> completed()));
+    }
+
+    @Test
+    void reportsProgressUntilTheJobCompletes() throws InterruptedException {
+        service = new GenerationJobService(1, 1, 1, 60, false, new SimpleMeterRegistry());
+        CountDownLatch halfway = new CountDownLatch(1);
+
+        GenerationJob job = service.submit("processo", UUID.randomUUID(), 100, running -> {
+            running.onToken("x".repeat(50));
+            halfway.countDown();
+            blockUntilReleased();
+            running.onToken("x".repeat(60));
+            return completed();
+        });
+
+        assertTrue(halfway.await(5, TimeUnit.SECONDS));
+        assertEquals(GenerationJobStatus.RUNNING, job.getStatus());
+        assertEquals(50, job.getProgress());
+
+        release.countDown();
+        awaitFinished(job);
+
+        // Mesmo com mais caracteres que o esperado, o progresso é o da conclusão
+        assertEquals(GenerationJobStatus.COMPLETED, job.getStatus());
+        assertEquals(100, job.getProgress());
+        assertEquals("Conteúdo gerado com sucesso", job.getMessage());
+    }
+
+    @Test
+    void marksTheJobFailedWhenTheTaskFailsOrDoesNotComplete() throws InterruptedException {
+        service = new GenerationJobService(2, 2, 2, 60, false, new SimpleMeterRegistry());
+
+        GenerationJob thrown = service.submit("erro", UUID.randomUUID(), 100, job -> {
+            job.onToken("x".repeat(30));
+            throw new IllegalStateException("provedor indisponível");
+        });
+        GenerationJob incomplete = service.submit("incompleto", UUID.randomUUID(), 100,
+                job -> ContentGenerationResponse.builder().status("FAILED").message("Sem conteúdo").build());
+
+        awaitFinished(thrown);
+        awaitFinished(incomplete);
+
+        assertEquals(GenerationJobStatus.FAILED, thrown.getStatus());
+        assertEquals(30, thrown.getProgress());
+        assertTrue(thrown.getMessage().contains("provedor indisponível"));
+        assertEquals(GenerationJobStatus.FAILED, incomplete.getStatus());
+        assertEquals("Sem conteúdo", incomplete.getMessage());
+    }
+
+    @Test
+    void purgesOnlyJobsFinishedBeforeTheRetention() throws InterruptedException {
+        service = new GenerationJobService(2, 2, 2, 0, false, new SimpleMeterRegistry());
+
+        GenerationJob finished = service.submit("finalizado", UUID.randomUUID(), 100, job -> completed());
+        service.submit("rodando", UUID.randomUUID(), 100, job -> blockUntilReleased());
+        awaitFinished(finished);
+        Thread.sleep(5);
+
+        service.purgeFinishedJobs();
+
+        assertTrue(service.findJob("finalizado").isEmpty());
+        assertTrue(service.findJob("rodando").isPresent());
+    }
+
+    /**
+     * Um worker ocupado e uma posição na fila: o terceiro job é recusado e não fica registrado
+     */
+    private void assertRejectsTheThirdJob() throws InterruptedException {
+        CountDownLatch started = new CountDownLatch(1);
+        GenerationJob running = service.submit("rodando", UUID.randomUUID(), 100, job -> {
+            started.countDown();
+            return blockUntilReleased();
+        });
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        GenerationJob queued = service.submit("na-fila", UUID.randomUUID(), 100, job -> completed());
+
+        IllegalStateException error = assertThrows(IllegalStateException.class,
+                () -> service.submit("recusado", UUID.randomUUID(), 100, job -> completed()));
+        assertTrue(error.getMessage().contains("Fila de geração cheia"));
+        assertTrue(service.findJob("recusado").isEmpty());
+        assertEquals(GenerationJobStatus.QUEUED, queued.getStatus());
+        assertEquals(0, queued.getProgress());
+
+        release.countDown();
+        awaitFinished(running);
+        awaitFinished(queued);
+        assertEquals(GenerationJobStatus.COMPLETED, queued.getStatus());
+    }
+
+    private ContentGenerationResponse blockUntilReleased() {
+        try {
+            release.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return completed();
+    }
+
+    private static ContentGenerationResponse completed() {
+        return ContentGenerationResponse.builder().status("COMPLETED").build();
+    }
+
+    private static void awaitFinished(GenerationJob job) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (!job.getStatus().isFinished()) {
+            if (System.currentTimeMillis() > deadline) {
+                throw new AssertionError("Job " + job.getProcessId() + " não terminou a tempo");
+            }
+            Thread.sleep(10);
+        }
+    }
+}
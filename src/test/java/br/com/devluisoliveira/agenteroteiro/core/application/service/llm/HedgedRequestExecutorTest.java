@@ -0,0 +1,124 @@
+package br.com.devluisoliveira.agenteroteiro.core.application.service.llm;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Hedge no mesmo provedor com chamadas simuladas: disparo pelo limiar, cancelamento da perdedora e orçamento
+ */
+class HedgedRequestExecutorTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final ExecutorService executor = Executors.newCachedThreadPool();
+
+    @AfterEach
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void hedgeWinsWhenThePrimaryStallsAndTheLoserIsCancelled() throws InterruptedException {
+        HedgedRequestExecutor hedged = executor(1, 10);
+        AtomicInteger calls = new AtomicInteger();
+        CountDownLatch loserStopped = new CountDownLatch(1);
+        List<String> received = new CopyOnWriteArrayList<>();
+
+        String result = hedged.execute(attempt -> {
+            boolean primary = calls.incrementAndGet() == 1;
+            try {
+                return emitAll(attempt, primary ? 300 : 0, primary ? "lento" : "rápido");
+            } catch (CancellationException e) {
+                loserStopped.countDown();
+                throw e;
+            }
+        }, received::add);
+
+        assertEquals("rápido-rápido", result);
+        assertEquals(List.of("rápido", "-rápido"), received);
+        assertTrue(loserStopped.await(2, TimeUnit.SECONDS), "A tentativa perdedora deveria ser interrompida");
+        assertEquals(1, attempts("launched"));
+        assertEquals(1, attempts("won"));
+    }
+
+    @Test
+    void doesNotHedgeWhenTheFirstTokenArrivesInTime() {
+        HedgedRequestExecutor hedged = executor(1, 10);
+        AtomicInteger calls = new AtomicInteger();
+
+        String result = hedged.execute(attempt -> {
+            calls.incrementAndGet();
+            return emitAll(attempt, 0, "ok");
+        }, null);
+
+        assertEquals("ok-ok", result);
+        assertEquals(1, calls.get());
+        assertEquals(0, attempts("launched"));
+    }
+
+    @Test
+    void respectsTheBudget() {
+        HedgedRequestExecutor hedged = executor(0, 0);
+        AtomicInteger calls = new AtomicInteger();
+
+        String result = hedged.execute(attempt -> {
+            calls.incrementAndGet();
+            return emitAll(attempt, 100, "sem-hedge");
+        }, null);
+
+        assertEquals("sem-hedge-sem-hedge", result);
+        assertEquals(1, calls.get());
+        assertEquals(1, attempts("budget_exhausted"));
+    }
+
+    @Test
+    void propagatesTheErrorWhenEveryAttemptFails() {
+        HedgedRequestExecutor hedged = executor(1, 10);
+
+        RuntimeException error = assertThrows(RuntimeException.class, () -> hedged.execute(attempt -> {
+            throw new RuntimeException("Erro na API do OpenAI: 500");
+        }, null));
+
+        assertEquals("Erro na API do OpenAI: 500", error.getMessage());
+    }
+
+    private HedgedRequestExecutor executor(double budgetRatio, double maxBudget) {
+        // Sem amostras o limiar é o atraso inicial (30 ms)
+        return new HedgedRequestExecutor("test", executor, 50, 5, 0.9, 10, 30,
+                budgetRatio, maxBudget, meterRegistry);
+    }
+
+    private static String emitAll(HedgedRequestExecutor.Attempt attempt, long delayMs, String token) {
+        sleep(delayMs);
+        attempt.emit(token);
+        sleep(20);
+        attempt.emit("-" + token);
+        return token + "-" + token;
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CancellationException("interrompido");
+        }
+    }
+
+    private double attempts(String result) {
+        return meterRegistry.get("llm.hedge.attempts").tag("result", result).counter().count();
+    }
+}
@@ -0,0 +1,229 @@
+package br.com.devluisoliveira.agenteroteiro.core.application.service.llm;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Roteamento com provedores locais: escolha por latência, failover e hedge
+ */
+class LlmRouterTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private LlmRouter router;
+
+    @AfterEach
+    void shutdown() {
+        if (router != null) {
+            router.shutdown();
+        }
+    }
+
+    @Test
+    void routesToTheFastestProviderOnceItHasSamples() {
+        MockLlmProvider slow = new MockLlmProvider("slow", 60, "lento");
+        MockLlmProvider fast = new MockLlmProvider("fast", 5, "rápido");
+        router = router(List.of(slow, fast), false, 10_000);
+
+        // Sem amostras vale a ordem configurada; a falha do primeiro gera amostras do segundo
+        assertEquals("lento", router.complete(LlmRequest.of("prompt")).content());
+        assertEquals("slow", router.rankProviders().get(0).getName());
+
+        slow.setFailing(true);
+        for (int i = 0; i < 3; i++) {
+            assertEquals("rápido", router.complete(LlmRequest.of("prompt")).content());
+        }
+        slow.setFailing(false);
+        for (int i = 0; i < 3; i++) {
+            router.statsFor("slow").recordSuccess(60);
+        }
+
+        assertEquals("fast", router.rankProviders().get(0).getName());
+        assertEquals("rápido", router.complete(LlmRequest.of("prompt")).content());
+    }
+
+    @Test
+    void failsOverAndSkipsUnhealthyProviders() {
+        MockLlmProvider primary = new MockLlmProvider("primary", 1, "principal");
+        MockLlmProvider backup = new MockLlmProvider("backup", 1, "reserva");
+        router = router(List.of(primary, backup), false, 10_000);
+
+        primary.setFailing(true);
+        for (int i = 0; i < 3; i++) {
+            assertEquals("reserva", router.complete(LlmRequest.of("prompt")).content());
+        }
+
+        // Taxa de erro de 100% com amostras suficientes: fora do roteamento durante o período de espera
+        assertEquals(List.of("backup"), router.rankProviders().stream().map(LlmProvider::getName).toList());
+        assertEquals(1.0, router.statsFor("primary").errorRate());
+    }
+
+    @Test
+    void streamFailsOverOnlyBeforeTheFirstToken() {
+        MockLlmProvider primary = new MockLlmProvider("primary", 1, "principal");
+        MockLlmProvider backup = new MockLlmProvider("backup", 1, "texto da reserva");
+        router = router(List.of(primary, backup), false, 10_000);
+        primary.setFailing(true);
+
+        List<String> tokens = new ArrayList<>();
+        assertEquals("texto da reserva", router.stream(LlmRequest.of("prompt"), tokens::add).content());
+        assertEquals("texto da reserva", String.join("", tokens));
+    }
+
+    @Test
+    void clientCancellationIsNeitherAFailureNorAReasonToFailOver() {
+        MockLlmProvider primary = new MockLlmProvider("primary", 1, "principal");
+        MockLlmProvider backup = new MockLlmProvider("backup", 1, "reserva");
+        router = router(List.of(primary, backup), false, 10_000);
+
+        List<String> tokens = new ArrayList<>();
+        assertThrows(CancellationException.class, () -> router.stream(LlmRequest.of("prompt"), token -> {
+            tokens.add(token);
+            throw new CancellationException("cliente desconectado");
+        }));
+
+        assertEquals(1, tokens.size());
+        assertEquals(0, router.statsFor("primary").getOutcomeSamples());
+        assertEquals(0, router.statsFor("backup").getOutcomeSamples());
+    }
+
+    @Test
+    void hedgeAnswersWhenThePrimaryIsSlow() {
+        MockLlmProvider stuck = new MockLlmProvider("stuck", 2_000, "atrasado");
+        MockLlmProvider hedge = new MockLlmProvider("hedge", 5, "hedge");
+        router = router(List.of(stuck, hedge), true, 50);
+
+        long start = System.nanoTime();
+        assertEquals("hedge", router.complete(LlmRequest.of("prompt")).content());
+        long elapsedMs = (System.nanoTime() - start) / 1_000_000;
+
+        assertTrue(elapsedMs < 1_000, "o hedge deveria responder antes do provedor lento: " + elapsedMs + "ms");
+        assertEquals(1.0, meterRegistry.get("llm.router.hedges").tag("result", "won").counter().count());
+    }
+
+    @Test
+    void reportsFailureWhenEveryProviderFails() {
+        MockLlmProvider only = new MockLlmProvider("only", 1, "texto");
+        only.setFailing(true);
+        router = router(List.of(only), true, 50);
+
+        assertThrows(RuntimeException.class, () -> router.complete(LlmRequest.of("prompt")));
+    }
+
+    @Test
+    void losingAttemptIsAbortedInsteadOfRunningToTheEnd() throws InterruptedException {
+        TickingProvider stuck = new TickingProvider("stuck", 40, 50);
+        MockLlmProvider hedge = new MockLlmProvider("hedge", 5, "hedge");
+        router = router(List.of(stuck, hedge), true, 50);
+
+        assertEquals("hedge", router.complete(LlmRequest.of("prompt")).content());
+
+        assertTrue(stuck.aborted.await(1, TimeUnit.SECONDS), "a tentativa perdedora deveria ser abortada");
+        assertTrue(stuck.emitted.get() < 40, "trechos emitidos pela perdedora: " + stuck.emitted.get());
+        assertEquals(0, router.statsFor("stuck").getOutcomeSamples());
+    }
+
+    @Test
+    void noHedgeWithoutBudget() {
+        MockLlmProvider slow = new MockLlmProvider("slow", 200, "principal");
+        MockLlmProvider hedge = new MockLlmProvider("hedge", 5, "hedge");
+        List<LlmProvider> providers = List.of(slow, hedge);
+        router = new LlmRouter(providers, providers.stream().map(LlmProvider::getName).toList(), 50, 3, 0.5, 60_000,
+                true, 0.95, 50, 50, 0, 0, meterRegistry);
+
+        assertEquals("principal", router.complete(LlmRequest.of("prompt")).content());
+        assertEquals(1.0, meterRegistry.get("llm.router.hedges").tag("result", "budget_exhausted").counter().count());
+        assertEquals(0.0, meterRegistry.get("llm.router.hedges").tag("result", "launched").counter().count());
+    }
+
+    @Test
+    void hedgeThresholdIsTrackedPerWorkload() {
+        MockLlmProvider fast = new MockLlmProvider("fast", 1, "rápido");
+        router = router(List.of(fast), false, 10);
+        LlmRequest title = LlmRequest.builder().prompt("prompt").workload("PRAYER:NONE").build();
+        LlmRequest script = LlmRequest.builder().prompt("prompt").workload("STOICISM:MINUTES_60").build();
+
+        for (int i = 0; i < 3; i++) {
+            router.complete(title);
+        }
+
+        // Amostras de títulos não definem o limiar dos roteiros longos, que segue no valor inicial
+        assertTrue(router.hedgeDelayMs(fast, title) < 1_000);
+        assertEquals(10, router.hedgeDelayMs(fast, script));
+        assertEquals(3, router.statsFor("fast").getLatencySamples());
+    }
+
+    private LlmRouter router(List<LlmProvider> providers, boolean hedging, long hedgeDelayMs) {
+        List<String> order = providers.stream().map(LlmProvider::getName).toList();
+        return new LlmRouter(providers, order, 50, 3, 0.5, 60_000,
+                hedging, 0.95, hedgeDelayMs, hedgeDelayMs, 0.1, 10, meterRegistry);
+    }
+
+    /**
+     * Provedor que emite um trecho a cada intervalo e registra quando o consumidor aborta o stream
+     */
+    private static final class TickingProvider implements LlmProvider {
+
+        private final String name;
+        private final int tokens;
+        private final long intervalMs;
+        private final AtomicInteger emitted = new AtomicInteger();
+        private final CountDownLatch aborted = new CountDownLatch(1);
+
+        private TickingProvider(String name, int tokens, long intervalMs) {
+            this.name = name;
+            this.tokens = tokens;
+            this.intervalMs = intervalMs;
+        }
+
+        @Override
+        public String getName() {
+            return name;
+        }
+
+        @Override
+        public String getModel() {
+            return name;
+        }
+
+        @Override
+        public boolean isEnabled() {
+            return true;
+        }
+
+        @Override
+        public LlmResponse complete(LlmRequest request) {
+            return stream(request, token -> { });
+        }
+
+        @Override
+        public LlmResponse stream(LlmRequest request, Consumer<String> onToken) {
+            try {
+                for (int i = 0; i < tokens; i++) {
+                    Thread.sleep(intervalMs);
+                    onToken.accept("t");
+                    emitted.incrementAndGet();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException(e);
+            } catch (CancellationException e) {
+                aborted.countDown();
+                throw e;
+            }
+            return new LlmResponse("t".repeat(tokens), name, name, false);
+        }
+    }
+}
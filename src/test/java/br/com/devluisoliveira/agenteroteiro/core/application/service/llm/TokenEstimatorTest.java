@@ -0,0 +1,77 @@
+package br.com.devluisoliveira.agenteroteiro.core.application.service.llm;
+
+import br.com.devluisoliveira.agenteroteiro.core.application.service.enums.AgentType;
+import br.com.devluisoliveira.agenteroteiro.core.application.service.enums.DurationType;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Orçamento de tokens com o tokenizer local, sem chamar provedores
+ */
+class TokenEstimatorTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    void shortScriptFitsWithinTheModelLimits() {
+        TokenEstimator estimator = estimator("gpt-4o");
+
+        TokenBudget budget = estimator.budgetFor("Escreva um roteiro sobre Marco Aurélio.", AgentType.STOICISM,
+                DurationType.MINUTES_5);
+
+        assertTrue(budget.promptTokens() > 0);
+        assertEquals(budget.expectedCompletionTokens(), budget.maxTokens());
+        assertFalse(budget.truncationRisk());
+    }
+
+    @Test
+    void longScriptOnASmallModelIsFlaggedAsTruncationRisk() {
+        TokenEstimator estimator = estimator("gpt-3.5-turbo");
+
+        TokenBudget budget = estimator.budgetFor("Roteiro longo", AgentType.PRAYER, DurationType.MINUTES_30);
+
+        assertEquals(4_096, budget.maxTokens());
+        assertTrue(budget.truncationRisk());
+        assertFalse(budget.canGrow());
+        assertEquals(1.0, meterRegistry.get("llm.tokens.truncation_risk").tag("agent", "PRAYER").counter().count());
+    }
+
+    @Test
+    void scriptBudgetLeavesRoomToRetryWhenTheModelAllowsMore() {
+        TokenEstimator estimator = estimator("gpt-4o");
+
+        TokenBudget budget = estimator.budgetFor("Roteiro", AgentType.STOICISM, DurationType.MINUTES_10);
+
+        // 1300 palavras x 2,0 tokens/palavra x 1,5 de margem
+        assertEquals(3_900, budget.expectedCompletionTokens());
+        assertEquals(3_900, budget.maxTokens());
+        assertEquals(16_384, budget.availableTokens());
+        assertTrue(budget.canGrow());
+    }
+
+    @Test
+    void promptLargerThanTheContextWindowIsRejected() {
+        TokenEstimator estimator = estimator("gpt-4");
+        String prompt = "palavra ".repeat(9_000);
+
+        assertThrows(IllegalArgumentException.class, () -> estimator.budgetFor(prompt, AgentType.GENERIC, null));
+        assertEquals(1.0, meterRegistry.get("llm.tokens.rejected").counter().count());
+    }
+
+    @Test
+    void longestModelPrefixWins() {
+        assertEquals(8_192, TokenEstimator.limitsFor("gpt-4-0613").contextWindow());
+        assertEquals(128_000, TokenEstimator.limitsFor("gpt-4-turbo-preview").contextWindow());
+        assertEquals(16_384, TokenEstimator.limitsFor("gpt-4o-mini").maxOutputTokens());
+        assertEquals(8_192, TokenEstimator.limitsFor("modelo-desconhecido").contextWindow());
+    }
+
+    private TokenEstimator estimator(String model) {
+        return new TokenEstimator(model, 0, 0, 2.0, 1.5, 256, meterRegistry);
+    }
+}
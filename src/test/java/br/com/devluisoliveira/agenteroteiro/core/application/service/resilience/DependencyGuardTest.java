@@ -0,0 +1,166 @@
+package br.com.devluisoliveira.agenteroteiro.core.application.service.resilience;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Circuit breaker e bulkhead com chamadas simuladas
+ */
+class DependencyGuardTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    void opensAfterFailuresAndRejectsWithoutCallingTheDependency() {
+        DependencyGuard guard = guard(4, 100, 0);
+        AtomicInteger calls = new AtomicInteger();
+
+        for (int i = 0; i < 4; i++) {
+            assertThrows(RuntimeException.class, () -> guard.execute(() -> {
+                calls.incrementAndGet();
+                throw new RuntimeException("Falha ao gerar áudio");
+            }));
+        }
+
+        assertEquals(CircuitBreaker.State.OPEN, guard.getState());
+        assertFalse(guard.isAvailable());
+        assertThrows(DependencyUnavailableException.class, () -> guard.execute(() -> {
+            calls.incrementAndGet();
+            return "ok";
+        }));
+        assertEquals(4, calls.get());
+    }
+
+    @Test
+    void closesAgainAfterASuccessfulTrialCall() throws InterruptedException {
+        DependencyGuard guard = guard(4, 50, 0);
+        for (int i = 0; i < 4; i++) {
+            assertThrows(RuntimeException.class, () -> guard.execute(() -> {
+                throw new RuntimeException("erro");
+            }));
+        }
+
+        Thread.sleep(80);
+        assertTrue(guard.isAvailable());
+        assertEquals("ok", guard.execute(() -> "ok"));
+        assertEquals(CircuitBreaker.State.CLOSED, guard.getState());
+    }
+
+    @Test
+    void rejectsWhenTheBulkheadIsFull() throws Exception {
+        DependencyGuard guard = guard(4, 1_000, 0);
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        CompletableFuture<String> slowCall = CompletableFuture.supplyAsync(() -> guard.execute(() -> {
+            started.countDown();
+            await(release);
+            return "lento";
+        }));
+        assertTrue(started.await(2, TimeUnit.SECONDS));
+
+        assertThrows(DependencyUnavailableException.class, () -> guard.execute(() -> "rápido"));
+        release.countDown();
+        assertEquals("lento", slowCall.get(2, TimeUnit.SECONDS));
+        assertEquals(CircuitBreaker.State.CLOSED, guard.getState());
+    }
+
+    @Test
+    void cancellationsDoNotOpenTheCircuit() {
+        DependencyGuard guard = guard(4, 1_000, 0);
+        for (int i = 0; i < 10; i++) {
+            assertThrows(CancellationException.class, () -> guard.execute(() -> {
+                throw new CancellationException("hedge perdedor");
+            }));
+        }
+        assertEquals(CircuitBreaker.State.CLOSED, guard.getState());
+    }
+
+    @Test
+    void ignoredErrorsDoNotOpenTheCircuit() {
+        CircuitBreaker circuitBreaker = new CircuitBreaker("test", 10, 4, 0.5, 0, 1_000, 1);
+        DependencyGuard guard = new DependencyGuard("test", circuitBreaker, 1, 10,
+                e -> e instanceof IllegalStateException, meterRegistry);
+        for (int i = 0; i < 10; i++) {
+            assertThrows(IllegalStateException.class, () -> guard.execute(() -> {
+                throw new IllegalStateException("limite de uso (429)");
+            }));
+        }
+        assertEquals(CircuitBreaker.State.CLOSED, guard.getState());
+        assertEquals("ok", guard.execute(() -> "ok"));
+    }
+
+    @Test
+    void callsAcquiredBeforeATransitionDoNotDecideTheHalfOpenTrial() throws InterruptedException {
+        CircuitBreaker circuitBreaker = new CircuitBreaker("test", 10, 2, 0.5, 0, 50, 1);
+        CircuitBreaker.Permit stale = circuitBreaker.tryAcquire();
+        CircuitBreaker.Permit otherStale = circuitBreaker.tryAcquire();
+        circuitBreaker.onFailure(circuitBreaker.tryAcquire());
+        circuitBreaker.onFailure(circuitBreaker.tryAcquire());
+        assertEquals(CircuitBreaker.State.OPEN, circuitBreaker.getState());
+
+        Thread.sleep(80);
+        CircuitBreaker.Permit trial = circuitBreaker.tryAcquire();
+        assertTrue(trial.trial());
+
+        // Chamadas antigas terminando no meio-aberto: não fecham o circuito nem liberam a vaga de teste
+        circuitBreaker.onSuccess(stale, 0);
+        circuitBreaker.onIgnored(otherStale);
+        assertEquals(CircuitBreaker.State.HALF_OPEN, circuitBreaker.getState());
+        assertNull(circuitBreaker.tryAcquire());
+
+        circuitBreaker.onFailure(trial);
+        assertEquals(CircuitBreaker.State.OPEN, circuitBreaker.getState());
+    }
+
+    @Test
+    void slowCallsAreJudgedByTheReportedDependencyTime() {
+        DependencyGuard guard = guard(4, 1_000, 20);
+        for (int i = 0; i < 4; i++) {
+            // O chamador demora (ex.: upload do áudio), mas a dependência respondeu rápido
+            guard.execute(() -> {
+                sleep(30);
+                return "ok";
+            }, () -> TimeUnit.MILLISECONDS.toNanos(1));
+        }
+        assertEquals(CircuitBreaker.State.CLOSED, guard.getState());
+
+        for (int i = 0; i < 4; i++) {
+            guard.execute(() -> "ok", () -> TimeUnit.MILLISECONDS.toNanos(50));
+        }
+        assertEquals(CircuitBreaker.State.OPEN, guard.getState());
+    }
+
+    private DependencyGuard guard(int minCalls, long openDurationMs, long slowCallMs) {
+        CircuitBreaker circuitBreaker = new CircuitBreaker("test", 10, minCalls, 0.5, slowCallMs, openDurationMs, 1);
+        return new DependencyGuard("test", circuitBreaker, 1, 10, meterRegistry);
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(2, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package br.com.devluisoliveira.agenteroteiro.core.application.template;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Template compilado: mesma saída que a antiga cadeia de String.replace, inclusive nos casos de borda
+ */
+class PromptTemplateTest {
+
+    private static final Pattern PLACEHOLDER = Pattern.compile("\\{([A-Za-z][A-Za-z0-9_]*)}");
+
+    @Test
+    void replacesKnownPlaceholders() {
+        PromptTemplate template = PromptTemplate.compile("t", "Olá {nome}, tema: {tema_2}.");
+
+        assertEquals("Olá Maria, tema: fé.", template.render(Map.of("nome", "Maria", "tema_2", "fé")));
+        assertTrue(template.hasPlaceholder("tema_2"));
+        assertFalse(template.hasPlaceholder("outro"));
+    }
+
+    @Test
+    void keepsUnknownPlaceholders() {
+        PromptTemplate template = PromptTemplate.compile("t", "{nome} e {desconhecido}");
+
+        assertEquals("Maria e {desconhecido}", template.render(Map.of("nome", "Maria")));
+    }
+
+    @Test
+    void rendersAdjacentPlaceholders() {
+        PromptTemplate template = PromptTemplate.compile("t", "{a}{b}{a}");
+
+        assertEquals("121", template.render(Map.of("a", "1", "b", "2")));
+    }
+
+    @Test
+    void keepsBracesThatAreNotPlaceholders() {
+        String text = "{} { nome} {1a} {a-b} {\"json\": true} {nome {aberto";
+        PromptTemplate template = PromptTemplate.compile("t", text);
+
+        assertEquals(text, template.render(Map.of("nome", "x", "a", "y")));
+        assertEquals("fim {", PromptTemplate.compile("t", "fim {").render(Map.of()));
+        assertEquals("", PromptTemplate.compile("t", "").render(Map.of()));
+    }
+
+    @Test
+    void rendersThePromptFilesLikeTheReplaceChain() throws IOException {
+        Resource[] resources = new PathMatchingResourcePatternResolver().getResources("classpath*:prompts/*.txt");
+        assertTrue(resources.length > 0);
+
+        for (Resource resource : resources) {
+            String text = resource.getContentAsString(StandardCharsets.UTF_8);
+            PromptTemplate template = PromptTemplate.compile(resource.getFilename(), text);
+
+            // Todos os placeholders preenchidos e, depois, só metade (os demais ficam como {nome})
+            Map<String, String> all = new LinkedHashMap<>();
+            Map<String, String> half = new LinkedHashMap<>();
+            Matcher matcher = PLACEHOLDER.matcher(text);
+            int count = 0;
+            while (matcher.find()) {
+                String value = "valor de " + matcher.group(1) + "\ncom $ e \\";
+                all.put(matcher.group(1), value);
+                if (count++ % 2 == 0) {
+                    half.put(matcher.group(1), value);
+                }
+            }
+            assertFalse(all.isEmpty(), resource.getFilename());
+
+            assertEquals(replaceChain(text, all), template.render(all), resource.getFilename());
+            assertEquals(replaceChain(text, half), template.render(half), resource.getFilename());
+        }
+    }
+
+    private static String replaceChain(String text, Map<String, String> values) {
+        String result = text;
+        for (Map.Entry<String, String> entry : values.entrySet()) {
+            result = result.replace("{" + entry.getKey() + "}", entry.getValue());
+        }
+        return result;
+    }
+}
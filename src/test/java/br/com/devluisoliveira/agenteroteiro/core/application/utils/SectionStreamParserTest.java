@@ -0,0 +1,87 @@
+package br.com.devluisoliveira.agenteroteiro.core.application.utils;
+
+import br.com.devluisoliveira.agenteroteiro.core.application.service.enums.ContentType;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+/**
+ * Separação das seções da resposta, inteira e em trechos como chegam no streaming
+ */
+class SectionStreamParserTest {
+
+    private static final SectionHeaders HEADERS = SectionHeaders.of(Map.of(
+            "TÍTULO DO VÍDEO", ContentType.TITLE,
+            "DESCRIÇÃO", ContentType.DESCRIPTION,
+            "DESCRIÇÃO DO VÍDEO", ContentType.DESCRIPTION,
+            "ROTEIRO", ContentType.SCRIPT,
+            "TAGS", ContentType.TAGS));
+
+    private static final String RESPONSE = """
+            Texto solto antes das seções
+            ### Título do Vídeo
+            O obstáculo é o caminho
+
+            ### **DESCRIÇÃO DO VÍDEO**
+            Uma reflexão sobre Marco Aurélio.
+            ### Observações
+            Seção desconhecida, descartada
+            #### ROTEIRO
+            ## Introdução
+            Tudo o que ouvimos é opinião.
+            ###TAGS sem espaço continua no roteiro
+            ### TAGS
+            #estoicismo, #marcoaurelio""";
+
+    @Test
+    void splitsAWholeResponseIntoSections() {
+        Map<ContentType, String> sections = SectionStreamParser.parse(RESPONSE, HEADERS);
+
+        assertEquals("O obstáculo é o caminho", sections.get(ContentType.TITLE));
+        assertEquals("Uma reflexão sobre Marco Aurélio.", sections.get(ContentType.DESCRIPTION));
+        assertEquals("## Introdução\nTudo o que ouvimos é opinião.\n###TAGS sem espaço continua no roteiro",
+                sections.get(ContentType.SCRIPT));
+        assertEquals("#estoicismo, #marcoaurelio", sections.get(ContentType.TAGS));
+        assertEquals(4, sections.size());
+    }
+
+    @Test
+    void streamedChunksGiveTheSameSectionsInOrder() {
+        List<String> events = new ArrayList<>();
+        SectionStreamParser parser = new SectionStreamParser(HEADERS, new SectionListener() {
+            @Override
+            public void onSectionStarted(ContentType type) {
+                events.add("start " + type);
+            }
+
+            @Override
+            public void onSectionCompleted(ContentType type, String content) {
+                events.add("end " + type);
+            }
+        });
+
+        // Trechos pequenos cortam cabeçalhos e quebras de linha no meio
+        for (int i = 0; i < RESPONSE.length(); i += 3) {
+            parser.accept(RESPONSE.substring(i, Math.min(RESPONSE.length(), i + 3)));
+        }
+        Map<ContentType, String> sections = parser.finish();
+
+        assertEquals(SectionStreamParser.parse(RESPONSE, HEADERS), sections);
+        assertEquals(List.of("start TITLE", "end TITLE", "start DESCRIPTION", "end DESCRIPTION",
+                "start SCRIPT", "end SCRIPT", "start TAGS", "end TAGS"), events);
+    }
+
+    @Test
+    void headerMatchingIsCaseInsensitiveAndPrefersTheLongestKey() {
+        assertEquals(ContentType.DESCRIPTION, HEADERS.match("Descrição do Vídeo"));
+        assertEquals(ContentType.SCRIPT, HEADERS.match("1. Roteiro completo"));
+        assertNull(HEADERS.match("Ideia para Thumbnail"));
+        assertFalse(SectionStreamParser.parse("sem cabeçalhos", HEADERS).containsKey(ContentType.SCRIPT));
+    }
+}
@@ -0,0 +1,161 @@
+package br.com.devluisoliveira.agenteroteiro.loadtest;
+
+import br.com.devluisoliveira.agenteroteiro.core.application.service.enums.GenerationJobStatus;
+import br.com.devluisoliveira.agenteroteiro.core.application.service.job.GenerationJob;
+import br.com.devluisoliveira.agenteroteiro.core.application.service.job.GenerationJobService;
+import br.com.devluisoliveira.agenteroteiro.core.application.service.llm.LlmProvider;
+import br.com.devluisoliveira.agenteroteiro.core.application.service.llm.LlmRequest;
+import br.com.devluisoliveira.agenteroteiro.core.application.service.llm.LlmResponse;
+import br.com.devluisoliveira.agenteroteiro.core.application.service.llm.LlmRouter;
+import br.com.devluisoliveira.agenteroteiro.core.port.out.response.dto.ContentGenerationResponse;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Teste de carga do modo virtual threads: o motor de jobs de geração e o roteador de provedores reais,
+ * com um provedor local lento no lugar da OpenAI. Mede quantas gerações ficam abertas no provedor ao
+ * mesmo tempo com os workers de plataforma e com virtual threads.
+ *
+ * Executar com: mvn test -Pload-test
+ */
+@Slf4j
+@Tag("load")
+class VirtualThreadLoadTest {
+
+    private static final int PLATFORM_WORKERS = 4;
+    private static final int VIRTUAL_WORKERS = 256;
+    private static final int GENERATIONS = Integer.getInteger("loadtest.generations", 200);
+    private static final long PROVIDER_LATENCY_MS = Long.getLong("loadtest.latency-ms", 100);
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private SlowProvider provider;
+    private LlmRouter router;
+
+    @BeforeEach
+    void setUp() {
+        provider = new SlowProvider(PROVIDER_LATENCY_MS);
+        router = new LlmRouter(List.of(provider), List.of(provider.getName()), 50, 10, 0.5, 30_000,
+                false, 0.95, 2_000, 30_000, 0.1, 10, meterRegistry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        router.shutdown();
+    }
+
+    @Test
+    void virtualThreadsHoldMoreConcurrentGenerationsThanPlatformWorkers() throws Exception {
+        LoadResult platform = run(false);
+        LoadResult virtual = run(true);
+
+        assertEquals(GENERATIONS, platform.completed());
+        assertEquals(GENERATIONS, virtual.completed());
+        assertTrue(platform.peak() <= PLATFORM_WORKERS, "pico com threads de plataforma: " + platform.peak());
+        assertTrue(virtual.peak() <= VIRTUAL_WORKERS, "pico com virtual threads: " + virtual.peak());
+        assertTrue(virtual.peak() > platform.peak(),
+                "Virtual threads deveriam manter mais gerações abertas simultaneamente que os workers de plataforma");
+        assertTrue(virtual.elapsedMs() < platform.elapsedMs());
+    }
+
+    private LoadResult run(boolean virtualThreads) throws InterruptedException {
+        provider.reset();
+        GenerationJobService jobService = new GenerationJobService(PLATFORM_WORKERS, VIRTUAL_WORKERS, GENERATIONS, 60,
+                virtualThreads, meterRegistry);
+        long start = System.nanoTime();
+
+        try {
+            List<GenerationJob> jobs = new ArrayList<>(GENERATIONS);
+            for (int i = 0; i < GENERATIONS; i++) {
+                jobs.add(jobService.submit(UUID.randomUUID().toString(), UUID.randomUUID(), 10, job -> {
+                    String content = router.complete(LlmRequest.of("prompt")).content();
+                    return ContentGenerationResponse.builder().status("COMPLETED").text(content).build();
+                }));
+            }
+
+            long deadline = System.nanoTime() + TimeUnit.MINUTES.toNanos(2);
+            while (jobs.stream().anyMatch(job -> !job.getStatus().isFinished()) && System.nanoTime() < deadline) {
+                Thread.sleep(20);
+            }
+
+            int completed = (int) jobs.stream().filter(job -> job.getStatus() == GenerationJobStatus.COMPLETED).count();
+            LoadResult result = new LoadResult(completed, provider.peak.get(), (System.nanoTime() - start) / 1_000_000);
+            log.info("[VirtualThreadLoadTest] - {}: {} gerações concluídas, pico simultâneo no provedor: {}, tempo total: {} ms",
+                    virtualThreads ? "virtual threads" : "threads de plataforma",
+                    result.completed(), result.peak(), result.elapsedMs());
+            return result;
+        } finally {
+            jobService.shutdown();
+        }
+    }
+
+    private record LoadResult(int completed, int peak, long elapsedMs) {
+    }
+
+    /**
+     * Provedor que só espera (como a OpenAI gerando) e registra o pico de chamadas simultâneas
+     */
+    private static final class SlowProvider implements LlmProvider {
+
+        private final long latencyMs;
+        private final AtomicInteger inFlight = new AtomicInteger();
+        private final AtomicInteger peak = new AtomicInteger();
+
+        private SlowProvider(long latencyMs) {
+            this.latencyMs = latencyMs;
+        }
+
+        private void reset() {
+            peak.set(0);
+        }
+
+        @Override
+        public String getName() {
+            return "stub";
+        }
+
+        @Override
+        public String getModel() {
+            return "stub";
+        }
+
+        @Override
+        public boolean isEnabled() {
+            return true;
+        }
+
+        @Override
+        public LlmResponse complete(LlmRequest request) {
+            peak.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+            try {
+                Thread.sleep(latencyMs);
+                return new LlmResponse("ok", getName(), getName(), false);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException(e);
+            } finally {
+                inFlight.decrementAndGet();
+            }
+        }
+
+        @Override
+        public LlmResponse stream(LlmRequest request, Consumer<String> onToken) {
+            LlmResponse response = complete(request);
+            onToken.accept(response.content());
+            return response;
+        }
+    }
+}
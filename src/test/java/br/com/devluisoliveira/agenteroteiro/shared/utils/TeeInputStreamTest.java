@@ -0,0 +1,91 @@
+package br.com.devluisoliveira.agenteroteiro.shared.utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Cópia para o ramo secundário sem que as falhas dele afetem a leitura principal
+ */
+class TeeInputStreamTest {
+
+    private final byte[] data = sequence(20_000);
+
+    @Test
+    void copiesEverythingReadToTheBranch() throws IOException {
+        ByteArrayOutputStream branch = new ByteArrayOutputStream();
+
+        try (TeeInputStream tee = new TeeInputStream(new ByteArrayInputStream(data), branch)) {
+            assertEquals(data[0] & 0xFF, tee.read());
+            assertEquals(100, tee.skip(100));
+            byte[] rest = tee.readAllBytes();
+
+            assertEquals(data.length - 101, rest.length);
+            assertEquals(data.length, tee.getBytesRead());
+            assertTrue(tee.isBranchOpen());
+        }
+        assertArrayEquals(data, branch.toByteArray());
+    }
+
+    @Test
+    void keepsReadingWhenTheBranchFails() throws IOException {
+        FailingOutputStream branch = new FailingOutputStream(5_000);
+
+        try (TeeInputStream tee = new TeeInputStream(new ByteArrayInputStream(data), branch)) {
+            byte[] read = tee.readAllBytes();
+
+            // A leitura principal chega inteira; o ramo recebeu só o que cabia antes de falhar
+            assertArrayEquals(data, read);
+            assertEquals(data.length, tee.getBytesRead());
+            assertFalse(tee.isBranchOpen());
+        }
+        assertTrue(branch.written.size() <= 5_000);
+        assertArrayEquals(Arrays.copyOf(data, branch.written.size()), branch.written.toByteArray());
+        assertEquals(1, branch.failures);
+    }
+
+    private static byte[] sequence(int length) {
+        byte[] bytes = new byte[length];
+        for (int i = 0; i < length; i++) {
+            bytes[i] = (byte) i;
+        }
+        return bytes;
+    }
+
+    /**
+     * Simula um cliente que desconecta depois de receber limit bytes
+     */
+    private static class FailingOutputStream extends OutputStream {
+
+        private final int limit;
+        private final ByteArrayOutputStream written = new ByteArrayOutputStream();
+        private int failures;
+
+        FailingOutputStream(int limit) {
+            this.limit = limit;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            write(new byte[]{(byte) b}, 0, 1);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            if (written.size() + len > limit) {
+                failures++;
+                throw new IOException("Cliente desconectado");
+            }
+            written.write(b, off, len);
+        }
+    }
+}